@@ -0,0 +1,50 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.benchmark;
+
+/**
+ * Embedded databases the benchmarks can run against. All of them are in-memory, so the results are reproducible
+ * offline and measure Cayenne rather than the network.
+ *
+ * @since 4.3
+ */
+public enum BenchmarkDatabase {
+
+    hsqldb("org.hsqldb.jdbc.JDBCDriver", "jdbc:hsqldb:mem:%s"),
+
+    derby("org.apache.derby.jdbc.EmbeddedDriver", "jdbc:derby:memory:%s;create=true"),
+
+    h2("org.h2.Driver", "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1");
+
+    private final String driver;
+    private final String urlTemplate;
+
+    BenchmarkDatabase(String driver, String urlTemplate) {
+        this.driver = driver;
+        this.urlTemplate = urlTemplate;
+    }
+
+    public String getDriver() {
+        return driver;
+    }
+
+    public String getUrl(String databaseName) {
+        return String.format(urlTemplate, databaseName);
+    }
+}
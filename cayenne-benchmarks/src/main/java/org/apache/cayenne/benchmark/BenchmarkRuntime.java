@@ -0,0 +1,107 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.access.DataNode;
+import org.apache.cayenne.access.DbGenerator;
+import org.apache.cayenne.benchmark.persistent.Artist;
+import org.apache.cayenne.benchmark.persistent.Painting;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.log.NoopJdbcEventLogger;
+import org.apache.cayenne.map.DataMap;
+
+/**
+ * Bootstraps a {@link ServerRuntime} over an embedded database with a fresh benchmark schema. Shared by all
+ * benchmark states.
+ *
+ * @since 4.3
+ */
+public class BenchmarkRuntime {
+
+    static final String PROJECT_LOCATION = "cayenne-benchmark.xml";
+    static final String DATA_MAP_NAME = "benchmark";
+
+    private BenchmarkRuntime() {
+    }
+
+    /**
+     * Creates a runtime over a new in-memory database of a given type, dropping and recreating benchmark tables.
+     */
+    public static ServerRuntime create(BenchmarkDatabase database) {
+        ServerRuntime runtime = ServerRuntime.builder()
+                .addConfig(PROJECT_LOCATION)
+                .jdbcDriver(database.getDriver())
+                .url(database.getUrl("cayenne_benchmark"))
+                .minConnections(1)
+                .maxConnections(4)
+                .build();
+
+        try {
+            createSchema(runtime);
+        } catch (Exception e) {
+            runtime.shutdown();
+            throw new IllegalStateException("Error creating benchmark schema", e);
+        }
+
+        return runtime;
+    }
+
+    /**
+     * Inserts a given number of artists, each with a given number of paintings.
+     */
+    public static void populate(ServerRuntime runtime, int artists, int paintingsPerArtist) {
+        ObjectContext context = runtime.newContext();
+
+        for (int i = 0; i < artists; i++) {
+            Artist artist = context.newObject(Artist.class);
+            artist.setName("artist" + i);
+            artist.setDateOfBirth(LocalDate.of(1900 + i % 100, 1 + i % 12, 1 + i % 28));
+
+            for (int j = 0; j < paintingsPerArtist; j++) {
+                Painting painting = context.newObject(Painting.class);
+                painting.setTitle("painting" + i + "_" + j);
+                painting.setEstimatedPrice(BigDecimal.valueOf(1000 + j, 2));
+                painting.setArtist(artist);
+            }
+
+            // keep individual commits reasonably small
+            if (i % 100 == 99) {
+                context.commitChanges();
+            }
+        }
+
+        context.commitChanges();
+    }
+
+    private static void createSchema(ServerRuntime runtime) throws Exception {
+        DataNode node = runtime.getDataDomain().getDefaultNode();
+        DataMap map = runtime.getDataDomain().getDataMap(DATA_MAP_NAME);
+
+        DbGenerator generator = new DbGenerator(node.getAdapter(), map, NoopJdbcEventLogger.getInstance());
+        generator.setShouldDropTables(true);
+        generator.setShouldDropPKSupport(true);
+        generator.setShouldCreateTables(true);
+        generator.setShouldCreatePKSupport(true);
+        generator.runGenerator(node.getDataSource());
+    }
+}
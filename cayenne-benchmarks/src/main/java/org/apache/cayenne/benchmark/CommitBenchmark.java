@@ -0,0 +1,129 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.access.DataContext;
+import org.apache.cayenne.access.flush.DefaultDataDomainFlushAction;
+import org.apache.cayenne.benchmark.persistent.Artist;
+import org.apache.cayenne.benchmark.persistent.Painting;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.query.ObjectSelect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DataContext#commitChanges()} going through {@link DefaultDataDomainFlushAction} for inserts of
+ * new object graphs and for updates of previously fetched objects.
+ *
+ * @since 4.3
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommitBenchmark {
+
+    @Param({"hsqldb", "derby", "h2"})
+    public BenchmarkDatabase database;
+
+    @Param({"10", "1000"})
+    public int objects;
+
+    private ServerRuntime runtime;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        runtime = BenchmarkRuntime.create(database);
+        BenchmarkRuntime.populate(runtime, objects, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Benchmark
+    public ObjectContext insert() {
+        ObjectContext context = runtime.newContext();
+
+        for (int i = 0; i < objects; i++) {
+            Artist artist = context.newObject(Artist.class);
+            artist.setName("new_artist" + i);
+            artist.setDateOfBirth(LocalDate.of(1950, 1, 1));
+
+            Painting painting = context.newObject(Painting.class);
+            painting.setTitle("new_painting" + i);
+            painting.setEstimatedPrice(BigDecimal.ONE);
+            painting.setArtist(artist);
+        }
+
+        context.commitChanges();
+        return context;
+    }
+
+    @Benchmark
+    public ObjectContext update(UpdateState state) {
+        String suffix = "_" + (counter++);
+        for (Artist artist : state.artists) {
+            artist.setName("artist" + suffix);
+        }
+
+        state.context.commitChanges();
+        return state.context;
+    }
+
+    /**
+     * Holds objects fetched before each update iteration, so that the fetch is not measured.
+     */
+    @State(Scope.Thread)
+    public static class UpdateState {
+
+        ObjectContext context;
+        List<Artist> artists;
+
+        @Setup(Level.Iteration)
+        public void setUp(CommitBenchmark benchmark) {
+            context = benchmark.runtime.newContext();
+            artists = ObjectSelect.query(Artist.class)
+                    .where(Artist.NAME.startsWith("artist"))
+                    .limit(benchmark.objects)
+                    .select(context);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.benchmark.persistent.Artist;
+import org.apache.cayenne.benchmark.persistent.Painting;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.exp.Expression;
+import org.apache.cayenne.exp.ExpressionFactory;
+import org.apache.cayenne.query.Ordering;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Expression} parsing and in-memory evaluation against uncommitted objects. No SQL is executed.
+ *
+ * @since 4.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionBenchmark {
+
+    static final String EXPRESSION_TEMPLATE = "artist.name like $name and estimatedPrice > $price";
+
+    @Param({"1000"})
+    public int objects;
+
+    private ServerRuntime runtime;
+    private List<Painting> paintings;
+    private Expression qualifier;
+    private List<Ordering> orderings;
+
+    @Setup
+    public void setUp() {
+        runtime = BenchmarkRuntime.create(BenchmarkDatabase.hsqldb);
+
+        ObjectContext context = runtime.newContext();
+        paintings = new ArrayList<>(objects);
+        for (int i = 0; i < objects; i++) {
+            Artist artist = context.newObject(Artist.class);
+            artist.setName("artist" + (i % 10));
+
+            Painting painting = context.newObject(Painting.class);
+            painting.setTitle("painting" + i);
+            painting.setEstimatedPrice(BigDecimal.valueOf(i));
+            painting.setArtist(artist);
+            paintings.add(painting);
+        }
+
+        qualifier = ExpressionFactory.exp(EXPRESSION_TEMPLATE, "artist1%", BigDecimal.valueOf(objects / 2));
+        orderings = List.of(Painting.ARTIST.dot(Artist.NAME).asc(), Painting.ESTIMATED_PRICE.desc());
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Benchmark
+    public Expression parse() {
+        return ExpressionFactory.exp(EXPRESSION_TEMPLATE, "artist1%", BigDecimal.TEN);
+    }
+
+    @Benchmark
+    public List<Painting> filter() {
+        return qualifier.filterObjects(paintings);
+    }
+
+    @Benchmark
+    public List<Painting> sort() {
+        List<Painting> sorted = new ArrayList<>(paintings);
+        Ordering.orderList(sorted, orderings);
+        return sorted;
+    }
+}
@@ -0,0 +1,116 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.PersistenceState;
+import org.apache.cayenne.access.ObjectStore;
+import org.apache.cayenne.benchmark.persistent.Artist;
+import org.apache.cayenne.configuration.ObjectStoreFactory;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ObjectStore} node registration and concurrent lookups, using the ObjectStore created by the
+ * {@link ObjectStoreFactory} configured in the runtime. No SQL is executed.
+ *
+ * @since 4.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectStoreBenchmark {
+
+    @Param({"1000"})
+    public int objects;
+
+    private ServerRuntime runtime;
+    private ObjectStoreFactory objectStoreFactory;
+
+    private ObjectId[] ids;
+    private Artist[] artists;
+    private ObjectStore sharedStore;
+
+    @Setup
+    public void setUp() {
+        runtime = BenchmarkRuntime.create(BenchmarkDatabase.hsqldb);
+        objectStoreFactory = runtime.getInjector().getInstance(ObjectStoreFactory.class);
+
+        ids = new ObjectId[objects];
+        artists = new Artist[objects];
+        for (int i = 0; i < objects; i++) {
+            ids[i] = ObjectId.of("Artist", Artist.ID_PK_COLUMN, i);
+            artists[i] = new Artist();
+            artists[i].setObjectId(ids[i]);
+            artists[i].setPersistenceState(PersistenceState.COMMITTED);
+        }
+
+        sharedStore = register(newObjectStore());
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Benchmark
+    public ObjectStore registerNodes() {
+        return register(newObjectStore());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int concurrentGetNode() {
+        int found = 0;
+        for (ObjectId id : ids) {
+            if (sharedStore.getNode(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private ObjectStore newObjectStore() {
+        return objectStoreFactory.createObjectStore(runtime.getDataDomain().getSharedSnapshotCache());
+    }
+
+    private ObjectStore register(ObjectStore store) {
+        for (int i = 0; i < objects; i++) {
+            store.registerNode(ids[i], artists[i]);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,89 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.DataRow;
+import org.apache.cayenne.benchmark.persistent.Artist;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.query.ObjectSelect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures fetching and materialization of result rows: DataRows read by FullRowReader and persistent
+ * objects read by EntityRowReader. Each invocation uses a fresh context, so objects are always created
+ * and registered anew.
+ *
+ * @since 4.3
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowReaderBenchmark {
+
+    @Param({"hsqldb", "derby", "h2"})
+    public BenchmarkDatabase database;
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private ServerRuntime runtime;
+
+    @Setup
+    public void setUp() {
+        runtime = BenchmarkRuntime.create(database);
+        BenchmarkRuntime.populate(runtime, rows, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Benchmark
+    public List<DataRow> fetchDataRows() {
+        return ObjectSelect.dataRowQuery(Artist.class).select(runtime.newContext());
+    }
+
+    @Benchmark
+    public List<Artist> fetchObjects() {
+        return ObjectSelect.query(Artist.class).select(runtime.newContext());
+    }
+
+    @Benchmark
+    public List<Object[]> fetchColumns() {
+        return ObjectSelect.columnQuery(Artist.class, Artist.NAME, Artist.DATE_OF_BIRTH).select(runtime.newContext());
+    }
+}
@@ -0,0 +1,111 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.access.DataNode;
+import org.apache.cayenne.access.translator.select.DefaultSelectTranslator;
+import org.apache.cayenne.benchmark.persistent.Artist;
+import org.apache.cayenne.benchmark.persistent.Painting;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.query.ColumnSelect;
+import org.apache.cayenne.query.ObjectSelect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures translation of {@link ObjectSelect} and {@link ColumnSelect} queries to SQL by
+ * {@link DefaultSelectTranslator}. No SQL is executed.
+ *
+ * @since 4.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectTranslatorBenchmark {
+
+    @Param({"hsqldb", "derby", "h2"})
+    public BenchmarkDatabase database;
+
+    private ServerRuntime runtime;
+    private DataNode node;
+
+    private ObjectSelect<Artist> simpleSelect;
+    private ObjectSelect<Painting> joinSelect;
+    private ColumnSelect<Object[]> columnSelect;
+
+    @Setup
+    public void setUp() {
+        runtime = BenchmarkRuntime.create(database);
+        node = runtime.getDataDomain().getDefaultNode();
+
+        simpleSelect = ObjectSelect.query(Artist.class)
+                .where(Artist.NAME.eq("artist1"));
+
+        joinSelect = ObjectSelect.query(Painting.class)
+                .where(Painting.TITLE.like("painting1%"))
+                .and(Painting.ARTIST.dot(Artist.NAME).in("artist1", "artist2", "artist3"))
+                .and(Painting.ESTIMATED_PRICE.gt(BigDecimal.ONE))
+                .orderBy(Painting.TITLE.asc(), Painting.ARTIST.dot(Artist.DATE_OF_BIRTH).desc())
+                .prefetch(Painting.ARTIST.disjoint())
+                .limit(100)
+                .offset(10);
+
+        columnSelect = ObjectSelect.columnQuery(Painting.class,
+                        Painting.ARTIST.dot(Artist.NAME),
+                        Painting.ESTIMATED_PRICE.sum())
+                .where(Painting.ESTIMATED_PRICE.isNotNull())
+                .having(Painting.ESTIMATED_PRICE.sum().gt(BigDecimal.TEN));
+    }
+
+    @TearDown
+    public void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Benchmark
+    public String simpleSelect() throws Exception {
+        return new DefaultSelectTranslator(simpleSelect, node.getAdapter(), node.getEntityResolver()).getSql();
+    }
+
+    @Benchmark
+    public String joinSelect() throws Exception {
+        return new DefaultSelectTranslator(joinSelect, node.getAdapter(), node.getEntityResolver()).getSql();
+    }
+
+    @Benchmark
+    public String columnSelect() throws Exception {
+        return new DefaultSelectTranslator(columnSelect, node.getAdapter(), node.getEntityResolver()).getSql();
+    }
+}
@@ -29,7 +29,10 @@ import org.apache.cayenne.cache.QueryCacheEntryFactory;
 
 /**
  * @since 4.0
+ * @deprecated since 4.3 {@link JCacheQueryCache} loads entries via {@link org.apache.cayenne.cache.QueryCacheLoader}
+ * outside of the cache lock, this class is no longer used.
  */
+@Deprecated
 public class JCacheEntryLoader implements EntryProcessor<String, List, List> {
 
     private QueryCacheEntryFactory entryFactory;
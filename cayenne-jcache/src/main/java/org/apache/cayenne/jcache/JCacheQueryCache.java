@@ -21,8 +21,12 @@ package org.apache.cayenne.jcache;
 
 import org.apache.cayenne.cache.QueryCache;
 import org.apache.cayenne.cache.QueryCacheEntryFactory;
+import org.apache.cayenne.cache.QueryCacheLoader;
+import org.apache.cayenne.configuration.Constants;
+import org.apache.cayenne.configuration.RuntimeProperties;
 import org.apache.cayenne.di.BeforeScopeEnd;
 import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.query.QueryCacheStrategy;
 import org.apache.cayenne.query.QueryMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,8 +53,16 @@ public class JCacheQueryCache implements QueryCache {
     @Inject
     protected JCacheConfigurationFactory configurationFactory;
 
+    /**
+     * @since 4.3
+     */
+    @Inject
+    protected RuntimeProperties properties;
+
     private Set<String> seenCacheNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
+    private volatile QueryCacheLoader loader;
+
     @Override
     public List get(QueryMetadata metadata) {
         String key = Objects.requireNonNull(metadata.getCacheKey());
@@ -64,10 +76,11 @@ public class JCacheQueryCache implements QueryCache {
         String key = Objects.requireNonNull(metadata.getCacheKey());
         Cache<String, List> cache = createIfAbsent(metadata);
 
-        List<?> result = cache.get(key);
-        return result != null
-                ? result
-                : cache.invoke(key, new JCacheEntryLoader(factory));
+        // concurrent misses on the same key are collapsed into a single factory call
+        return getLoader().get(cacheName(metadata), key, isRefreshable(metadata),
+                () -> cache.get(key),
+                factory,
+                results -> cache.put(key, results));
     }
 
     @Override
@@ -76,6 +89,7 @@ public class JCacheQueryCache implements QueryCache {
         Cache<String, List> cache = createIfAbsent(metadata);
 
         cache.put(key, results);
+        getLoader().loaded(cacheName(metadata), key);
     }
 
     @Override
@@ -84,6 +98,7 @@ public class JCacheQueryCache implements QueryCache {
             for (String cache : cacheManager.getCacheNames()) {
                 getCache(cache).remove(key);
             }
+            getLoader().remove(key);
         }
     }
 
@@ -93,6 +108,7 @@ public class JCacheQueryCache implements QueryCache {
         if (cache != null) {
             cache.clear();
         }
+        getLoader().removeGroup(groupKey);
     }
 
     @Override
@@ -101,6 +117,7 @@ public class JCacheQueryCache implements QueryCache {
         if (cache != null) {
             cache.clear();
         }
+        getLoader().removeGroup(groupKey);
     }
 
     /**
@@ -113,6 +130,39 @@ public class JCacheQueryCache implements QueryCache {
         for (String name : seenCacheNames) {
             getCache(name).clear();
         }
+        getLoader().clear();
+    }
+
+    /**
+     * Only shared cache entries can be refreshed in background, as local cache entries contain objects
+     * registered in a specific ObjectContext.
+     *
+     * @since 4.3
+     */
+    protected boolean isRefreshable(QueryMetadata metadata) {
+        return metadata.getCacheStrategy() == QueryCacheStrategy.SHARED_CACHE;
+    }
+
+    /**
+     * Returns a loader that coordinates concurrent loads and background refresh of the cache entries.
+     *
+     * @since 4.3
+     */
+    protected QueryCacheLoader getLoader() {
+        QueryCacheLoader loader = this.loader;
+        if (loader == null) {
+            synchronized (this) {
+                loader = this.loader;
+                if (loader == null) {
+                    long staleAfterMs = properties != null
+                            ? properties.getLong(Constants.QUERY_CACHE_STALE_WHILE_REVALIDATE_PROPERTY, 0)
+                            : 0;
+                    loader = new QueryCacheLoader(staleAfterMs, QueryCacheLoader.DEFAULT_TRACKED_ENTRIES);
+                    this.loader = loader;
+                }
+            }
+        }
+        return loader;
     }
 
     protected Cache<String, List> createIfAbsent(QueryMetadata metadata) {
@@ -166,6 +216,10 @@ public class JCacheQueryCache implements QueryCache {
 
     @BeforeScopeEnd
     public void shutdown() {
+        QueryCacheLoader loader = this.loader;
+        if (loader != null) {
+            loader.shutdown();
+        }
         cacheManager.close();
     }
 }
@@ -42,13 +42,17 @@ import org.apache.cayenne.reflect.PropertyVisitor;
 import org.apache.cayenne.reflect.ToManyProperty;
 import org.apache.cayenne.reflect.ToOneProperty;
 import org.apache.cayenne.util.ObjectContextGraphAction;
+import org.apache.cayenne.util.ResultIteratorSpliterator;
+import org.apache.cayenne.util.ThreadBinding;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * A common base superclass for Cayenne ObjectContext implementors.
@@ -64,6 +68,9 @@ public abstract class BaseContext implements ObjectContext {
 	 */
 	protected static final ThreadLocal<ObjectContext> threadObjectContext = new ThreadLocal<ObjectContext>();
 
+	private static volatile ThreadBinding<ObjectContext> threadObjectContextBinding = ThreadBinding
+			.threadLocal(threadObjectContext);
+
 	/**
 	 * Returns the ObjectContext bound to the current thread.
 	 * 
@@ -73,7 +80,7 @@ public abstract class BaseContext implements ObjectContext {
 	 *             if there is no ObjectContext bound to the current thread.
 	 */
 	public static ObjectContext getThreadObjectContext() throws IllegalStateException {
-		ObjectContext context = threadObjectContext.get();
+		ObjectContext context = threadObjectContextBinding.get();
 		if (context == null) {
 			throw new IllegalStateException("Current thread has no bound ObjectContext.");
 		}
@@ -90,7 +97,26 @@ public abstract class BaseContext implements ObjectContext {
 	 * @since 3.0
 	 */
 	public static void bindThreadObjectContext(ObjectContext context) {
-		threadObjectContext.set(context);
+		threadObjectContextBinding.bind(context);
+	}
+
+	/**
+	 * Returns a strategy used to bind ObjectContexts to the current thread.
+	 *
+	 * @since 4.3
+	 */
+	public static ThreadBinding<ObjectContext> getThreadObjectContextBinding() {
+		return threadObjectContextBinding;
+	}
+
+	/**
+	 * Sets a strategy used to bind ObjectContexts to the current thread. Default is a binding over
+	 * {@link #threadObjectContext} ThreadLocal.
+	 *
+	 * @since 4.3
+	 */
+	public static void setThreadObjectContextBinding(ThreadBinding<ObjectContext> binding) {
+		threadObjectContextBinding = Objects.requireNonNull(binding);
 	}
 
 	// transient variables that should be reinitialized on deserialization from
@@ -354,6 +380,23 @@ public abstract class BaseContext implements ObjectContext {
 		return new ResultBatchIterator<T>(iterator(query), size);
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public <T> Stream<T> stream(Select<T> query) {
+		return ResultIteratorSpliterator.stream(iterator(query));
+	}
+
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Stream<T> stream(Select<T> query, int batchSize) {
+		return ResultIteratorSpliterator.stream(iterator(query), batchSize, rows -> (List<T>) rows);
+	}
+
 	@Override
 	public void prepareForAccess(Persistent object, String property, boolean lazyFaulting) {
 		if (object.getPersistenceState() == PersistenceState.HOLLOW) {
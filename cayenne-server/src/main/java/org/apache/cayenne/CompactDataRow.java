@@ -0,0 +1,510 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne;
+
+import java.io.ObjectStreamException;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A {@link DataRow} that stores its values in a flat array, using a {@link ColumnIndex} shared by all rows of
+ * the same result to map keys to array positions. Such rows do not allocate hash tables and entry objects per row,
+ * which considerably reduces heap churn on large fetches. Rows are created in this compact form by the
+ * ResultSet readers.
+ * <p>
+ * CompactDataRow is a fully functional {@link Map}. Reads and updates of the keys present in the column index are
+ * served from the value array. Any other modification (adding a key not in the index, removing a key, etc.)
+ * transparently converts the row to a regular hash-based DataRow, after which it behaves exactly as its superclass.
+ * Serialized form of CompactDataRow is a regular DataRow.
+ * </p>
+ *
+ * @since 4.3
+ */
+public class CompactDataRow extends DataRow {
+
+    private static final long serialVersionUID = -2536815405394296458L;
+
+    protected final ColumnIndex index;
+
+    // null when the row is converted to a regular DataRow
+    protected Object[] values;
+
+    /**
+     * Creates a row with all values set to null.
+     */
+    public CompactDataRow(ColumnIndex index) {
+        this(index, new Object[index.size()]);
+    }
+
+    /**
+     * Creates a row using provided array as its storage. Array positions must match the positions of the index keys.
+     */
+    public CompactDataRow(ColumnIndex index, Object[] values) {
+        super(0);
+
+        if (values.length != index.size()) {
+            throw new IllegalArgumentException("Values array length " + values.length
+                    + " doesn't match the index size " + index.size());
+        }
+
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * Returns true if the row still keeps its values in a flat array, false if it was converted to a regular
+     * hash-based DataRow after a structural modification.
+     */
+    public boolean isCompact() {
+        return values != null;
+    }
+
+    /**
+     * Converts this row to a regular hash-based DataRow.
+     */
+    protected void inflate() {
+        Object[] values = this.values;
+        if (values != null) {
+            this.values = null;
+
+            String[] keys = index.keys;
+            for (int i = 0; i < keys.length; i++) {
+                super.put(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return values != null ? values.length : super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values != null ? values.length == 0 : super.isEmpty();
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object[] values = this.values;
+        if (values != null) {
+            int i = index.position(key);
+            return i >= 0 ? values[i] : null;
+        }
+
+        return super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        Object[] values = this.values;
+        if (values != null) {
+            int i = index.position(key);
+            return i >= 0 ? values[i] : defaultValue;
+        }
+
+        return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return values != null ? index.position(key) >= 0 : super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Object[] values = this.values;
+        if (values != null) {
+            for (Object v : values) {
+                if (value == null ? v == null : value.equals(v)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object[] values = this.values;
+        if (values != null) {
+            int i = index.position(key);
+            if (i >= 0) {
+                Object old = values[i];
+                values[i] = value;
+                return old;
+            }
+
+            inflate();
+        }
+
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        if (values != null) {
+            for (Map.Entry<? extends String, ?> e : m.entrySet()) {
+                put(e.getKey(), e.getValue());
+            }
+            return;
+        }
+
+        super.putAll(m);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        Object[] values = this.values;
+        if (values != null) {
+            int i = index.position(key);
+            if (i >= 0) {
+                Object old = values[i];
+                if (old == null) {
+                    values[i] = value;
+                }
+                return old;
+            }
+
+            inflate();
+        }
+
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        inflate();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        inflate();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public void clear() {
+        inflate();
+        super.clear();
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+        inflate();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+        inflate();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        inflate();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        inflate();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        inflate();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        inflate();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+        Object[] values = this.values;
+        if (values != null) {
+            String[] keys = index.keys;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = function.apply(keys[i], values[i]);
+            }
+            return;
+        }
+
+        super.replaceAll(function);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        Object[] values = this.values;
+        if (values != null) {
+            String[] keys = index.keys;
+            for (int i = 0; i < values.length; i++) {
+                action.accept(keys[i], values[i]);
+            }
+            return;
+        }
+
+        super.forEach(action);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return values != null ? new CompactKeySet() : super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return values != null ? new CompactValues() : super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return values != null ? new CompactEntrySet() : super.entrySet();
+    }
+
+    @Override
+    public Object clone() {
+        Object[] values = this.values;
+        if (values != null) {
+            CompactDataRow clone = new CompactDataRow(index, values.clone());
+            clone.version = version;
+            clone.replacesVersion = replacesVersion;
+            clone.entityName = entityName;
+            return clone;
+        }
+
+        return super.clone();
+    }
+
+    /**
+     * Serializes this row as a regular DataRow.
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        DataRow row = new DataRow(this);
+        row.version = version;
+        row.replacesVersion = replacesVersion;
+        row.entityName = entityName;
+        return row;
+    }
+
+    /**
+     * An immutable mapping of DataRow keys to value positions, shared by all compact rows of the same result.
+     *
+     * @since 4.3
+     */
+    public static final class ColumnIndex {
+
+        private final String[] keys;
+        private final Map<String, Integer> positions;
+        private final int[] columnPositions;
+
+        /**
+         * Creates an index for a given list of result columns labels. Labels may contain duplicates, in which
+         * case a single key is created, so that the last column value wins, same as with a regular DataRow.
+         */
+        public ColumnIndex(String[] columnLabels) {
+            this.positions = new HashMap<>((int) Math.ceil(columnLabels.length / 0.75));
+            this.columnPositions = new int[columnLabels.length];
+
+            int unique = 0;
+            for (int i = 0; i < columnLabels.length; i++) {
+                Integer position = positions.get(columnLabels[i]);
+                if (position == null) {
+                    position = unique++;
+                    positions.put(columnLabels[i], position);
+                }
+                columnPositions[i] = position;
+            }
+
+            this.keys = new String[unique];
+            for (Map.Entry<String, Integer> e : positions.entrySet()) {
+                keys[e.getValue()] = e.getKey();
+            }
+        }
+
+        /**
+         * Returns the number of distinct keys in the index.
+         */
+        public int size() {
+            return keys.length;
+        }
+
+        /**
+         * Returns a position of the key in the value array or -1 if the key is not in the index.
+         */
+        public int position(Object key) {
+            Integer position = positions.get(key);
+            return position != null ? position : -1;
+        }
+
+        /**
+         * Returns a position in the value array for the result column with a given index.
+         */
+        public int columnPosition(int column) {
+            return columnPositions[column];
+        }
+
+        /**
+         * Returns a key at a given position of the value array.
+         */
+        public String key(int position) {
+            return keys[position];
+        }
+    }
+
+    abstract class CompactIterator<T> implements Iterator<T> {
+
+        // iterating over a snapshot of the arrays, so that structural changes of the row do not affect iteration
+        final String[] keys = index.keys;
+        final Object[] snapshot = values;
+        int next;
+        int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < snapshot.length;
+        }
+
+        int nextPosition() {
+            if (next >= snapshot.length) {
+                throw new NoSuchElementException();
+            }
+
+            last = next++;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+
+            CompactDataRow.this.remove(keys[last]);
+            last = -1;
+        }
+    }
+
+    class CompactKeySet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            if (values == null) {
+                return CompactDataRow.super.keySet().iterator();
+            }
+
+            return new CompactIterator<String>() {
+                @Override
+                public String next() {
+                    return keys[nextPosition()];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return CompactDataRow.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+    }
+
+    class CompactValues extends AbstractCollection<Object> {
+
+        @Override
+        public Iterator<Object> iterator() {
+            if (values == null) {
+                return CompactDataRow.super.values().iterator();
+            }
+
+            return new CompactIterator<Object>() {
+                @Override
+                public Object next() {
+                    return snapshot[nextPosition()];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return CompactDataRow.this.size();
+        }
+    }
+
+    class CompactEntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            if (values == null) {
+                return CompactDataRow.super.entrySet().iterator();
+            }
+
+            return new CompactIterator<Map.Entry<String, Object>>() {
+                @Override
+                public Map.Entry<String, Object> next() {
+                    int i = nextPosition();
+                    return new CompactEntry(keys[i], snapshot[i]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return CompactDataRow.this.size();
+        }
+    }
+
+    class CompactEntry extends AbstractMap.SimpleEntry<String, Object> {
+
+        private static final long serialVersionUID = 4262917398415290934L;
+
+        CompactEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
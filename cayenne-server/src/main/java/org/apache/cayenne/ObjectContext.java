@@ -27,6 +27,7 @@ import org.apache.cayenne.query.Select;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A Cayenne object facade to a persistent store. Instances of ObjectContext are
@@ -244,6 +245,30 @@ public interface ObjectContext extends DataChannel, Serializable {
      */
     <T> ResultBatchIterator<T> batchIterator(Select<T> query, int size);
 
+    /**
+     * Creates a lazy sequential Stream over the query results. The stream is
+     * backed by an open result set and holds a database connection until it
+     * is read to the end or closed. So the caller must close the stream
+     * explicitly (e.g. with try-with-resources), unless it is always fully
+     * consumed. JDBC fetch size is taken from the query, if it supports it.
+     *
+     * @since 4.3
+     */
+    <T> Stream<T> stream(Select<T> query);
+
+    /**
+     * Creates a lazy sequential Stream over the query results that reads and
+     * converts result rows in batches of a given size. Implementations may
+     * register Persistent objects returned by the stream in a temporary
+     * context that is replaced for each batch, so that processing a large
+     * result doesn't grow the object store of this context. Such objects can
+     * be brought into this context with {@link #localObject(Persistent)}. Just
+     * like {@link #stream(Select)}, the stream must be closed explicitly.
+     *
+     * @since 4.3
+     */
+    <T> Stream<T> stream(Select<T> query, int batchSize);
+
     /**
      * Executes any kind of query providing the result in a form of
      * QueryResponse.
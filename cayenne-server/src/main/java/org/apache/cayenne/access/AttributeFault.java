@@ -19,15 +19,35 @@
 
 package org.apache.cayenne.access;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.apache.cayenne.Fault;
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.PersistenceState;
 import org.apache.cayenne.Persistent;
 import org.apache.cayenne.exp.Expression;
 import org.apache.cayenne.exp.ExpressionFactory;
+import org.apache.cayenne.exp.property.Property;
 import org.apache.cayenne.exp.property.PropertyFactory;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.map.ObjAttribute;
+import org.apache.cayenne.map.ObjEntity;
 import org.apache.cayenne.query.ObjectSelect;
 import org.apache.cayenne.reflect.AttributeProperty;
+import org.apache.cayenne.reflect.ClassDescriptor;
+import org.apache.cayenne.reflect.PropertyDescriptor;
 
 /**
+ * A fault of a lazy attribute. Resolving it fetches all the attributes of the same lazy group (see
+ * {@link ObjAttribute#getLazyGroup()}) in a single query, not only for the source object, but for all the objects of
+ * the same entity in the context that still have this attribute unresolved.
+ *
  * @since 4.2
  */
 public class AttributeFault extends Fault {
@@ -40,10 +60,163 @@ public class AttributeFault extends Fault {
 
     @Override
     public Object resolveFault(Persistent sourceObject, String attributeName) {
-        return ObjectSelect
-                .columnQuery(sourceObject.getClass(), PropertyFactory.createBase(attributeName, property.getAttribute().getJavaClass()))
-                .where(ExpressionFactory.matchAllDbExp(sourceObject.getObjectId().getIdSnapshot(), Expression.EQUAL_TO))
-                .selectOne(sourceObject.getObjectContext());
+        ObjectContext context = sourceObject.getObjectContext();
+        ClassDescriptor descriptor = context.getEntityResolver()
+                .getClassDescriptor(sourceObject.getObjectId().getEntityName());
+
+        ObjEntity entity = descriptor.getEntity();
+        List<DbAttribute> pks = new ArrayList<>(entity.getDbEntity().getPrimaryKeys());
+        List<AttributeProperty> group = groupProperties(descriptor);
+        Map<Map<String, Object>, Persistent> objects = faultedObjects(context, sourceObject);
+        List<Object[]> rows = fetchGroup(context, sourceObject.getClass(), entity, pks, group, objects.keySet());
+
+        Object value = null;
+        for (Object[] row : rows) {
+            Map<String, Object> id = new HashMap<>();
+            for (int i = 0; i < pks.size(); i++) {
+                id.put(pks.get(i).getName(), row[i]);
+            }
+
+            Persistent object = objects.get(id);
+            if (object == null) {
+                continue;
+            }
+
+            for (int i = 0; i < group.size(); i++) {
+                AttributeProperty groupProperty = group.get(i);
+                Object groupValue = row[pks.size() + i];
+
+                if (object == sourceObject && groupProperty.getName().equals(attributeName)) {
+                    value = groupValue;
+                }
+
+                // don't override the values that were resolved or changed in the meantime
+                if (groupProperty.readPropertyDirectly(object) instanceof Fault) {
+                    groupProperty.writePropertyDirectly(object, null, groupValue);
+                }
+            }
+        }
+
+        return value;
+    }
+
+    private List<AttributeProperty> groupProperties(ClassDescriptor descriptor) {
+        String lazyGroup = property.getAttribute().getLazyGroup();
+        List<AttributeProperty> group = new ArrayList<>();
+        group.add(property);
+
+        if (lazyGroup != null) {
+            for (ObjAttribute attribute : descriptor.getEntity().getAttributes()) {
+                if (attribute.isLazy()
+                        && lazyGroup.equals(attribute.getLazyGroup())
+                        && !attribute.getName().equals(property.getName())) {
+                    PropertyDescriptor groupProperty = descriptor.getProperty(attribute.getName());
+                    if (groupProperty instanceof AttributeProperty) {
+                        group.add((AttributeProperty) groupProperty);
+                    }
+                }
+            }
+        }
+
+        return group;
+    }
+
+    /**
+     * Returns the source object and other objects of the same entity registered in the context, that have the
+     * attribute of this fault unresolved, mapped by their id snapshots. For a DataContext only the objects that had
+     * lazy attribute faults installed are checked, not all the objects of the context.
+     */
+    private Map<Map<String, Object>, Persistent> faultedObjects(ObjectContext context, Persistent sourceObject) {
+        ObjectId sourceId = sourceObject.getObjectId();
+        int maxSize = maxBatchSize(context);
+
+        Map<Map<String, Object>, Persistent> objects = new HashMap<>();
+        objects.put(sourceId.getIdSnapshot(), sourceObject);
+
+        Collection<?> candidates = context instanceof DataContext
+                ? ((DataContext) context).getObjectStore().objectsWithAttributeFaults(sourceId.getEntityName())
+                : context.getGraphManager().registeredNodes();
+
+        for (Object node : candidates) {
+            if (maxSize > 0 && objects.size() >= maxSize) {
+                break;
+            }
+
+            if (node == sourceObject || !(node instanceof Persistent)) {
+                continue;
+            }
+
+            Persistent object = (Persistent) node;
+            ObjectId id = object.getObjectId();
+            if (id == null || id.isTemporary() || !Objects.equals(sourceId.getEntityName(), id.getEntityName())) {
+                continue;
+            }
+
+            switch (object.getPersistenceState()) {
+                case PersistenceState.COMMITTED:
+                case PersistenceState.MODIFIED:
+                case PersistenceState.DELETED:
+                    if (property.readPropertyDirectly(object) instanceof AttributeFault) {
+                        objects.put(id.getIdSnapshot(), object);
+                    }
+                    break;
+            }
+        }
+
+        return objects;
+    }
+
+    private static int maxBatchSize(ObjectContext context) {
+        if (context instanceof DataContext) {
+            DataDomain domain = ((DataContext) context).getParentDataDomain();
+            if (domain != null) {
+                return domain.getMaxIdQualifierSize();
+            }
+        }
+
+        return 0;
     }
 
+    private static List<Object[]> fetchGroup(
+            ObjectContext context,
+            Class<?> type,
+            ObjEntity entity,
+            List<DbAttribute> pks,
+            List<AttributeProperty> group,
+            Collection<Map<String, Object>> ids) {
+
+        // PK columns are selected the same way as when fetching objects, so that the ids can be matched
+        List<Property<?>> columns = new ArrayList<>(pks.size() + group.size());
+        for (DbAttribute pk : pks) {
+            ObjAttribute attribute = entity.getAttributeForDbAttribute(pk);
+            columns.add(attribute != null
+                    ? PropertyFactory.createBase(attribute.getName(), attribute.getJavaClass())
+                    : PropertyFactory.createBase(ExpressionFactory.dbPathExp(pk.getName()), Object.class));
+        }
+
+        for (AttributeProperty groupProperty : group) {
+            columns.add(PropertyFactory.createBase(groupProperty.getName(), groupProperty.getAttribute().getJavaClass()));
+        }
+
+        Expression qualifier;
+        if (pks.size() == 1) {
+            String pkName = pks.get(0).getName();
+            List<Object> values = new ArrayList<>(ids.size());
+            for (Map<String, Object> id : ids) {
+                values.add(id.get(pkName));
+            }
+            qualifier = ExpressionFactory.inDbExp(pkName, values);
+        } else {
+            List<Expression> matches = new ArrayList<>(ids.size());
+            for (Map<String, Object> id : ids) {
+                matches.add(ExpressionFactory.matchAllDbExp(id, Expression.EQUAL_TO));
+            }
+            qualifier = ExpressionFactory.or(matches);
+        }
+
+        return ObjectSelect
+                .columnQuery(type, columns.toArray(new Property<?>[0]))
+                .where(qualifier)
+                .select(context);
+    }
 }
@@ -0,0 +1,159 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.cayenne.DataRow;
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.Persistent;
+import org.apache.cayenne.configuration.ConcurrentObjectStoreFactory;
+
+/**
+ * An {@link ObjectStore} optimized for contexts shared between multiple threads, e.g. a read-only
+ * DataContext used to resolve faults from many request threads. Object lookups do not take any locks,
+ * and registration of individual objects is guarded by one of a fixed set of locks selected by
+ * ObjectId hash, so threads working with different objects do not contend with each other. Operations
+ * that change the state of multiple objects (commit, rollback, snapshot event processing) are still
+ * synchronized on the ObjectStore instance, exactly as in the superclass.
+ * <p>
+ * The object map passed to this store must support concurrent access without external synchronization
+ * (see {@link ObjectMapRetainStrategy#createConcurrentObjectMap()}). To enable this store in a runtime,
+ * bind {@link ConcurrentObjectStoreFactory} as the ObjectStoreFactory.
+ * </p>
+ *
+ * @since 4.3
+ */
+public class ConcurrentObjectStore extends ObjectStore {
+
+    private static final long serialVersionUID = 7092587452383213487L;
+
+    static final int LOCK_STRIPES = 64;
+
+    private final boolean syncWithDataRowCache;
+
+    private transient Object[] locks;
+
+    public ConcurrentObjectStore(DataRowStore dataRowCache, Map<Object, Persistent> objectMap) {
+        this(dataRowCache, objectMap, true);
+    }
+
+    /**
+     * Creates a ConcurrentObjectStore, that will or will not receive notifications on parent's
+     * {@link DataRowStore} events, depending on "syncWithDataRowCache" argument.
+     */
+    public ConcurrentObjectStore(DataRowStore dataRowCache, Map<Object, Persistent> objectMap, boolean syncWithDataRowCache) {
+        // superclass would subscribe to DataRowStore events before "syncWithDataRowCache" is set,
+        // so setting the cache here instead
+        super(null, objectMap);
+        this.syncWithDataRowCache = syncWithDataRowCache;
+        this.locks = createLocks();
+        setDataRowCache(dataRowCache);
+    }
+
+    @Override
+    public void setDataRowCache(DataRowStore dataRowCache) {
+        if (syncWithDataRowCache) {
+            super.setDataRowCache(dataRowCache);
+        } else {
+            // same as NoSyncObjectStore
+            this.dataRowCache = dataRowCache;
+            dataRowCacheSet = dataRowCache != null;
+        }
+    }
+
+    @Override
+    protected <T> T callWithNodeLock(Object nodeId, Supplier<T> operation) {
+        synchronized (lockFor(nodeId)) {
+            return operation.get();
+        }
+    }
+
+    @Override
+    public Object getNode(Object nodeId) {
+        return objectMap.get(nodeId);
+    }
+
+    @Override
+    public void registerNode(Object nodeId, Object nodeObject) {
+        synchronized (lockFor(nodeId)) {
+            objectMap.put(nodeId, (Persistent) nodeObject);
+        }
+    }
+
+    @Override
+    public Collection<Object> registeredNodes() {
+        return new ArrayList<>(objectMap.values());
+    }
+
+    @Override
+    public Iterator<Persistent> getObjectIterator() {
+        return objectMap.values().iterator();
+    }
+
+    @Override
+    public List<Persistent> objectsInState(int state) {
+        List<Persistent> filteredObjects = new ArrayList<>();
+
+        for (Persistent object : objectMap.values()) {
+            if (object.getPersistenceState() == state) {
+                filteredObjects.add(object);
+            }
+        }
+
+        return filteredObjects;
+    }
+
+    /**
+     * Returns a snapshot for ObjectId, same as the superclass, only without locking the ObjectStore
+     * while the snapshot is fetched, as no ObjectStore state is involved.
+     */
+    @Override
+    public DataRow getSnapshot(ObjectId oid) {
+        return getSnapshotNoSync(oid);
+    }
+
+    Object lockFor(Object nodeId) {
+        // spread the hash, so that ids with similar hash codes do not share a lock
+        int h = nodeId.hashCode();
+        h ^= (h >>> 16);
+        return locks[h & (LOCK_STRIPES - 1)];
+    }
+
+    private static Object[] createLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.locks = createLocks();
+    }
+}
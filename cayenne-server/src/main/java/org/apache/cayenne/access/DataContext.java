@@ -25,9 +25,11 @@ import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.cayenne.BaseContext;
 import org.apache.cayenne.CayenneRuntimeException;
@@ -42,6 +44,8 @@ import org.apache.cayenne.Persistent;
 import org.apache.cayenne.QueryResponse;
 import org.apache.cayenne.ResultIterator;
 import org.apache.cayenne.access.util.IteratedSelectObserver;
+import org.apache.cayenne.cache.NestedQueryCache;
+import org.apache.cayenne.cache.QueryCache;
 import org.apache.cayenne.di.Injector;
 import org.apache.cayenne.event.EventManager;
 import org.apache.cayenne.graph.ArcId;
@@ -66,6 +70,7 @@ import org.apache.cayenne.tx.TransactionFactory;
 import org.apache.cayenne.util.EventUtil;
 import org.apache.cayenne.util.GenericResponse;
 import org.apache.cayenne.util.ResultIteratorIterator;
+import org.apache.cayenne.util.ResultIteratorSpliterator;
 import org.apache.cayenne.util.Util;
 
 /**
@@ -686,6 +691,38 @@ public class DataContext extends BaseContext {
         flushToParent(true);
     }
 
+    /**
+     * Commits changes, same as {@link #commitChanges()}, but inserts all new objects as "upserts".
+     *
+     * @see #markForUpsert(Persistent)
+     * @since 4.3
+     */
+    public void commitChangesWithUpsert() throws CayenneRuntimeException {
+        Collection<ObjectDiff> marked = getObjectStore().markNewObjectsForUpsert();
+        try {
+            commitChanges();
+        } catch (RuntimeException e) {
+            // objects stay new after a failed commit, don't let the marks leak into the next one
+            synchronized (getObjectStore()) {
+                marked.forEach(diff -> diff.setUpsert(false));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Marks a new object to be committed as an "upsert". On commit the object is inserted, unless the database
+     * already has a row with the same primary key, that is updated with the object values instead. So the object
+     * primary key must be known before commit, i.e. either meaningful or set in its ObjectId. Upserts are supported
+     * only with the DbAdapters that provide an upsert translator.
+     *
+     * @see org.apache.cayenne.dba.DbAdapter#getUpsertTranslator(org.apache.cayenne.query.UpsertBatchQuery)
+     * @since 4.3
+     */
+    public void markForUpsert(Persistent object) {
+        getObjectStore().markForUpsert(object);
+    }
+
     @Override
     protected GraphDiff onContextFlush(ObjectContext originatingContext, GraphDiff changes, boolean cascade) {
 
@@ -695,6 +732,9 @@ public class DataContext extends BaseContext {
             if (childContext) {
                 getObjectStore().childContextSyncStarted();
                 changes.apply(new ChildDiffLoader(this));
+                if (originatingContext instanceof DataContext) {
+                    getObjectStore().copyUpsertMarks(((DataContext) originatingContext).getObjectStore());
+                }
                 fireDataChannelChanged(originatingContext, changes);
             }
 
@@ -810,6 +850,43 @@ public class DataContext extends BaseContext {
         }
     }
 
+    /**
+     * Creates a stream that resolves Persistent objects in batches, registering each batch in a new
+     * temporary DataContext. This way objects from the already processed batches can be garbage
+     * collected, while this context's ObjectStore doesn't grow.
+     *
+     * @since 4.3
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Stream<T> stream(Select<T> query, int batchSize) {
+        QueryMetadata md = query.getMetaData(getEntityResolver());
+        if (md.isFetchingDataRows() || isObjectArrayResult(md)) {
+            return super.stream(query, batchSize);
+        }
+
+        ResultIterator<?> rows = performIteratedQuery(query);
+        ClassDescriptor descriptor = md.getClassDescriptor();
+        return ResultIteratorSpliterator.stream(rows, batchSize, batch -> {
+            ObjectResolver resolver = new ObjectResolver(createStreamContext(), descriptor, true);
+            return (List<T>) resolver.synchronizedObjectsFromDataRows((List<DataRow>) (List<?>) batch);
+        });
+    }
+
+    private DataContext createStreamContext() {
+        ObjectStore objectStore = new ObjectStore(getObjectStore().getDataRowCache(), new HashMap<>());
+        DataContext context = new DataContext(getChannel(), objectStore);
+        context.setTransactionFactory(getTransactionFactory());
+        context.setValidatingObjectsOnCommit(isValidatingObjectsOnCommit());
+
+        // don't share local cache entries with this context
+        QueryCache queryCache = getQueryCache();
+        context.setQueryCache(queryCache instanceof NestedQueryCache
+                ? new NestedQueryCache(((NestedQueryCache) queryCache).getDelegate())
+                : queryCache);
+        return context;
+    }
+
     /**
      * This method repeats logic of DataDomainQueryAction.interceptObjectConversion() method.
      * The difference is that iterator(or batchIterator) doesn't support "mixed" results.
@@ -1133,9 +1210,9 @@ public class DataContext extends BaseContext {
         // were
         // synchronized, but we had to expand the lock scope to ensure
         // consistent
-        // behavior.
-        synchronized (getGraphManager()) {
-            Persistent cachedObject = (Persistent) getGraphManager().getNode(id);
+        // behavior. The actual lock scope is defined by the ObjectStore.
+        return objectStore.callWithNodeLock(id, () -> {
+            Persistent cachedObject = (Persistent) objectStore.getNode(id);
 
             // return an existing object
             if (cachedObject != null) {
@@ -1161,12 +1238,11 @@ public class DataContext extends BaseContext {
             localObject.setObjectContext(this);
             localObject.setObjectId(id);
 
-            getGraphManager().registerNode(id, localObject);
+            objectStore.registerNode(id, localObject);
             localObject.setPersistenceState(PersistenceState.HOLLOW);
 
             return localObject;
-        }
-
+        });
     }
 
     // this completely meaningless override is needed to expose the method as
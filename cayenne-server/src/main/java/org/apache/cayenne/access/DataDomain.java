@@ -46,6 +46,7 @@ import org.apache.cayenne.query.QueryChain;
 import org.apache.cayenne.tx.BaseTransaction;
 import org.apache.cayenne.tx.Transaction;
 import org.apache.cayenne.tx.TransactionManager;
+import org.apache.cayenne.util.ThreadBindings;
 import org.apache.cayenne.util.ToStringBuilder;
 
 import java.util.Collection;
@@ -55,6 +56,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * DataDomain performs query routing functions in Cayenne. DataDomain creates
@@ -92,6 +97,18 @@ public class DataDomain implements QueryEngine, DataChannel {
 	 */
 	protected int maxIdQualifierSize;
 
+	/**
+	 * @since 4.3
+	 */
+	protected boolean paginatedReadAhead;
+
+	/**
+	 * @since 4.3
+	 */
+	protected int parallelPrefetchThreads;
+
+	private volatile ThreadPoolExecutor prefetchExecutor;
+
 	/**
 	 * @since 4.1
 	 */
@@ -527,6 +544,11 @@ public class DataDomain implements QueryEngine, DataChannel {
 			if (sharedSnapshotCache != null) {
 				sharedSnapshotCache.shutdown();
 			}
+
+			ThreadPoolExecutor executor = this.prefetchExecutor;
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 		}
 	}
 
@@ -830,6 +852,75 @@ public class DataDomain implements QueryEngine, DataChannel {
 		this.maxIdQualifierSize = maxIdQualifierSize;
 	}
 
+	/**
+	 * Returns whether paginated query results should resolve the next page in
+	 * background while the current page is being iterated. Default is false.
+	 * Can be changed either by calling {@link #setPaginatedReadAhead(boolean)}
+	 * or via the {@link Constants#SERVER_PAGINATED_READ_AHEAD_PROPERTY} property.
+	 *
+	 * @since 4.3
+	 */
+	public boolean isPaginatedReadAhead() {
+		return paginatedReadAhead;
+	}
+
+	/**
+	 * @since 4.3
+	 */
+	public void setPaginatedReadAhead(boolean paginatedReadAhead) {
+		this.paginatedReadAhead = paginatedReadAhead;
+	}
+
+	/**
+	 * Returns the max number of threads used to run prefetch queries of a
+	 * single select concurrently. Zero (default) means that prefetch queries
+	 * are run one after another. Can be changed either by calling
+	 * {@link #setParallelPrefetchThreads(int)} or via the
+	 * {@link Constants#SERVER_PARALLEL_PREFETCH_THREADS_PROPERTY} property.
+	 *
+	 * @since 4.3
+	 */
+	public int getParallelPrefetchThreads() {
+		return parallelPrefetchThreads;
+	}
+
+	/**
+	 * @since 4.3
+	 */
+	public void setParallelPrefetchThreads(int parallelPrefetchThreads) {
+		this.parallelPrefetchThreads = parallelPrefetchThreads;
+	}
+
+	/**
+	 * Returns whether prefetch queries can be run concurrently in the current
+	 * thread. This is never the case within an explicit transaction, as
+	 * concurrent queries use separate connections and won't see its changes.
+	 */
+	boolean isParallelPrefetchAvailable() {
+		return parallelPrefetchThreads > 0 && BaseTransaction.getThreadTransaction() == null;
+	}
+
+	/**
+	 * Returns an executor for concurrent prefetch queries. When all its threads
+	 * are busy, a task is run by the submitting thread.
+	 */
+	Executor getPrefetchExecutor() {
+		ThreadPoolExecutor executor = this.prefetchExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				executor = this.prefetchExecutor;
+				if (executor == null) {
+					executor = new ThreadPoolExecutor(0, Math.max(1, parallelPrefetchThreads),
+							30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+							ThreadBindings.daemonThreadFactory("cayenne-prefetch-"), (r, e) -> r.run());
+					this.prefetchExecutor = executor;
+				}
+			}
+		}
+
+		return executor;
+	}
+
 	TransactionManager getTransactionManager() {
 		return transactionManager;
 	}
@@ -24,6 +24,7 @@ import org.apache.cayenne.DataRow;
 import org.apache.cayenne.EmbeddableObject;
 import org.apache.cayenne.ObjectContext;
 import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.PersistenceState;
 import org.apache.cayenne.Persistent;
 import org.apache.cayenne.QueryResponse;
 import org.apache.cayenne.ResultIterator;
@@ -36,9 +37,11 @@ import org.apache.cayenne.map.DbRelationship;
 import org.apache.cayenne.map.Embeddable;
 import org.apache.cayenne.map.EntityInheritanceTree;
 import org.apache.cayenne.map.LifecycleEvent;
+import org.apache.cayenne.map.ObjEntity;
 import org.apache.cayenne.map.ObjRelationship;
 import org.apache.cayenne.query.EmbeddableResultSegment;
 import org.apache.cayenne.query.EntityResultSegment;
+import org.apache.cayenne.query.FluentBulkQuery;
 import org.apache.cayenne.query.ObjectIdQuery;
 import org.apache.cayenne.query.PrefetchSelectQuery;
 import org.apache.cayenne.query.PrefetchTreeNode;
@@ -52,6 +55,7 @@ import org.apache.cayenne.reflect.ClassDescriptor;
 import org.apache.cayenne.reflect.LifecycleCallbackRegistry;
 import org.apache.cayenne.util.GenericResponse;
 import org.apache.cayenne.util.ListResponse;
+import org.apache.cayenne.util.ThreadBindings;
 import org.apache.cayenne.util.Util;
 
 import java.util.ArrayList;
@@ -63,6 +67,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -124,7 +131,9 @@ class DataDomainQueryAction implements QueryRouter, OperationObserver {
                 if (interceptRefreshQuery() != DONE) {
                     if (interceptSharedCache() != DONE) {
                         if (interceptDataDomainQuery() != DONE) {
-                            runQueryInTransaction();
+                            if (interceptBulkQuery() != DONE) {
+                                runQueryInTransaction();
+                            }
                         }
                     }
                 }
@@ -147,6 +156,68 @@ class DataDomainQueryAction implements QueryRouter, OperationObserver {
         return !DONE;
     }
 
+    private boolean interceptBulkQuery() {
+        if (query instanceof FluentBulkQuery) {
+            runQueryInTransaction();
+            invalidateBulkQueryTargets((FluentBulkQuery<?, ?>) query);
+            return DONE;
+        }
+
+        return !DONE;
+    }
+
+    /**
+     * Invalidates all cached snapshots and committed context objects of the entities stored in the table changed by
+     * a bulk query, as there's no way to tell which rows were changed.
+     */
+    private void invalidateBulkQueryTargets(FluentBulkQuery<?, ?> bulkQuery) {
+        ObjEntity root = metadata.getObjEntity();
+        Set<String> entityNames = new HashSet<>();
+        for (ObjEntity entity : domain.getEntityResolver().getObjEntities()) {
+            if (entity == root || entity.getDbEntity() == root.getDbEntity() || entity.isSubentityOf(root)) {
+                entityNames.add(entity.getName());
+            }
+        }
+
+        Set<ObjectId> ids = new HashSet<>();
+        if (cache != null) {
+            ids.addAll(cache.cachedIds(entityNames));
+        }
+
+        Collection<ObjectId> contextIds = new ArrayList<>();
+        if (context != null) {
+            ObjectStore objectStore = context.getObjectStore();
+            synchronized (objectStore) {
+                for (Persistent object : objectStore.objectMap.values()) {
+                    ObjectId id = object.getObjectId();
+                    if (object.getPersistenceState() == PersistenceState.COMMITTED
+                            && entityNames.contains(id.getEntityName())) {
+                        contextIds.add(id);
+                    }
+                }
+            }
+            ids.addAll(contextIds);
+        }
+
+        if (cache != null && !ids.isEmpty()) {
+            // peer contexts are notified via snapshot event, the calling context is processed below
+            Object postedBy = context != null ? context.getObjectStore() : domain;
+            cache.processSnapshotChanges(postedBy, Collections.emptyMap(), Collections.emptyList(), ids,
+                    Collections.emptyList());
+        }
+
+        if (!contextIds.isEmpty()) {
+            ObjectStore objectStore = context.getObjectStore();
+            synchronized (objectStore) {
+                objectStore.processInvalidatedIDs(contextIds);
+            }
+        }
+
+        for (String group : bulkQuery.getCacheGroups()) {
+            domain.getQueryCache().removeGroup(group);
+        }
+    }
+
     private boolean interceptOIDQuery() {
         if (query instanceof ObjectIdQuery) {
 
@@ -417,36 +488,47 @@ class DataDomainQueryAction implements QueryRouter, OperationObserver {
     }
 
     private QueryCacheEntryFactory getCacheObjectFactory() {
+        Thread caller = Thread.currentThread();
         return () -> {
-            runQueryInTransaction();
+            // the cache may refresh the entry in background after this action is finished,
+            // so the query must be run by a separate action to keep this one intact
+            return Thread.currentThread() == caller
+                    ? createCacheEntry()
+                    : new DataDomainQueryAction(context, domain, query).createCacheEntry();
+        };
+    }
 
-            List<?> list = response.firstList();
-            if (list != null) {
+    private List<?> createCacheEntry() {
+        runQueryInTransaction();
 
-                // make an immutable list to make sure callers don't mess it up
-                list = Collections.unmodifiableList(list);
+        List<?> list = response.firstList();
+        if (list != null) {
 
-                // include prefetches in the cached result
-                if (prefetchResultsByPath != null) {
-                    list = new ListWithPrefetches(list, prefetchResultsByPath);
-                }
+            // make an immutable list to make sure callers don't mess it up
+            list = Collections.unmodifiableList(list);
+
+            // include prefetches in the cached result
+            if (prefetchResultsByPath != null) {
+                list = new ListWithPrefetches(list, prefetchResultsByPath);
             }
+        }
 
-            return list;
-        };
+        return list;
     }
 
     /*
      * Gets response from the underlying DataNodes.
      */
     void runQueryInTransaction() {
+        // must be checked before the transaction is bound to the thread
+        boolean parallelPrefetch = domain.isParallelPrefetchAvailable();
         domain.getTransactionManager().performInTransaction(() -> {
-            runQuery();
+            runQuery(parallelPrefetch);
             return null;
         });
     }
 
-    private void runQuery() {
+    private void runQuery(boolean parallelPrefetch) {
         // reset
         this.fullResponse = new GenericResponse();
         this.response = this.fullResponse;
@@ -465,11 +547,75 @@ class DataDomainQueryAction implements QueryRouter, OperationObserver {
             for (Map.Entry<QueryEngine, Collection<Query>> entry : queriesByNode.entrySet()) {
                 QueryEngine nextNode = entry.getKey();
                 Collection<Query> nodeQueries = entry.getValue();
-                nextNode.performQueries(nodeQueries, this);
+                if (parallelPrefetch && prefetchResultsByPath != null && nodeQueries.size() > 1) {
+                    performQueriesWithParallelPrefetches(nextNode, nodeQueries);
+                } else {
+                    nextNode.performQueries(nodeQueries, this);
+                }
             }
         }
     }
 
+    /**
+     * Runs each prefetch query in its own transaction on a separate connection, while the rest of the queries are
+     * run by the calling thread in the calling thread transaction.
+     */
+    private void performQueriesWithParallelPrefetches(QueryEngine node, Collection<Query> nodeQueries) {
+        List<Query> mainQueries = new ArrayList<>(1);
+        List<CompletableFuture<Void>> prefetches = new ArrayList<>(nodeQueries.size());
+        Executor executor = domain.getPrefetchExecutor();
+
+        boolean mainQueriesDone = false;
+        try {
+            for (Query nodeQuery : nodeQueries) {
+                if (nodeQuery instanceof PrefetchSelectQuery) {
+                    // unbind the caller transaction, as the task may be run by the calling thread
+                    // when all the prefetch threads are busy
+                    prefetches.add(CompletableFuture.runAsync(() -> ThreadBindings.callUnbound(
+                            () -> domain.getTransactionManager().performInTransaction(() -> {
+                                node.performQueries(Collections.singletonList(nodeQuery), this);
+                                return null;
+                            })), executor));
+                } else {
+                    mainQueries.add(nodeQuery);
+                }
+            }
+
+            node.performQueries(mainQueries, this);
+            mainQueriesDone = true;
+        } finally {
+            if (mainQueriesDone) {
+                awaitAll(prefetches);
+            } else {
+                // main query failure takes precedence, still don't leave prefetches running in background
+                prefetches.forEach(f -> f.handle((r, th) -> null).join());
+            }
+        }
+    }
+
+    static void awaitAll(Collection<CompletableFuture<Void>> futures) {
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    failure = cause instanceof RuntimeException
+                            ? (RuntimeException) cause
+                            : new CayenneRuntimeException("Error running prefetch query", cause);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void interceptObjectConversion() {
 
@@ -595,7 +741,10 @@ class DataDomainQueryAction implements QueryRouter, OperationObserver {
         // exclude prefetched rows in the main result
         if (prefetchResultsByPath != null && query instanceof PrefetchSelectQuery) {
             PrefetchSelectQuery prefetchQuery = (PrefetchSelectQuery) query;
-            prefetchResultsByPath.put(prefetchQuery.getPrefetchPath(), dataRows);
+            // prefetch rows may arrive from several threads
+            synchronized (prefetchResultsByPath) {
+                prefetchResultsByPath.put(prefetchQuery.getPrefetchPath(), dataRows);
+            }
         } else {
             fullResponse.addResultList(dataRows);
         }
@@ -26,18 +26,22 @@ import org.apache.cayenne.ObjectId;
 import org.apache.cayenne.PersistenceState;
 import org.apache.cayenne.Persistent;
 import org.apache.cayenne.access.event.SnapshotEvent;
+import org.apache.cayenne.access.event.SnapshotEventMetrics;
+import org.apache.cayenne.access.types.LobFlagType;
 import org.apache.cayenne.configuration.Constants;
 import org.apache.cayenne.configuration.RuntimeProperties;
 import org.apache.cayenne.event.EventBridge;
 import org.apache.cayenne.event.EventManager;
 import org.apache.cayenne.event.EventSubject;
 import org.apache.cayenne.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import org.apache.cayenne.value.LobValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -59,6 +63,16 @@ public class DataRowStore implements Serializable {
     public static final long SNAPSHOT_EXPIRATION_DEFAULT = 2 * 60 * 60; // default expiration time is 2 hours
     public static final int SNAPSHOT_CACHE_SIZE_DEFAULT = 10000;
 
+    /**
+     * @since 4.3
+     */
+    public static final long SNAPSHOT_EVENTS_COALESCE_WINDOW_DEFAULT = 0;
+
+    /**
+     * @since 4.3
+     */
+    public static final int SNAPSHOT_EVENTS_COALESCE_SIZE_DEFAULT = 1000;
+
     protected String name;
     private int maxSize;
     protected ConcurrentMap<ObjectId, DataRow> snapshots;
@@ -70,6 +84,13 @@ public class DataRowStore implements Serializable {
     // too early, and thus disabling events.
     protected transient EventSubject eventSubject;
 
+    private long coalesceWindow;
+    private int coalesceSize;
+
+    // non-null only when coalescing of snapshot events is enabled
+    private transient SnapshotEventCoalescer eventCoalescer;
+    private transient SnapshotEventMetrics eventMetrics;
+
     /**
      * Creates new DataRowStore with a specified name and a set of properties. If no
      * properties are defined, default values are used.
@@ -109,6 +130,26 @@ public class DataRowStore implements Serializable {
         this.snapshots = new ConcurrentLinkedHashMap.Builder<ObjectId, DataRow>()
                 .maximumWeightedCapacity(maxSize)
                 .build();
+
+        coalesceWindow = properties.getLong(Constants.SNAPSHOT_EVENTS_COALESCE_WINDOW_PROPERTY,
+                SNAPSHOT_EVENTS_COALESCE_WINDOW_DEFAULT);
+        coalesceSize = properties.getInt(Constants.SNAPSHOT_EVENTS_COALESCE_SIZE_PROPERTY,
+                SNAPSHOT_EVENTS_COALESCE_SIZE_DEFAULT);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("DataRowStore property " + Constants.SNAPSHOT_EVENTS_COALESCE_WINDOW_PROPERTY + " = "
+                    + coalesceWindow);
+        }
+
+        initEventProcessing();
+    }
+
+    private void initEventProcessing() {
+        this.eventMetrics = new SnapshotEventMetrics();
+        this.eventCoalescer = coalesceWindow > 0
+                ? new SnapshotEventCoalescer(coalesceWindow, Math.max(coalesceSize, 1),
+                        this::postUpdateNotification)
+                : null;
     }
 
     protected void setEventBridge(EventBridge eventBridge) {
@@ -163,6 +204,7 @@ public class DataRowStore implements Serializable {
             if (refresh || cachedSnapshot == null) {
 
                 DataRow newSnapshot = snapshots.get(i);
+                removeLobValues(newSnapshot);
 
                 if (cachedSnapshot != null) {
                     // use old snapshot if no changes occurred
@@ -208,10 +250,45 @@ public class DataRowStore implements Serializable {
         return maxSize;
     }
 
+    /**
+     * Returns true if snapshot change events are accumulated over a time window and posted as a single event per
+     * sender, instead of posting one event per change set.
+     *
+     * @since 4.3
+     */
+    public boolean isEventCoalescingEnabled() {
+        return eventCoalescer != null;
+    }
+
+    /**
+     * Returns statistics of the snapshot change events posted by this DataRowStore.
+     *
+     * @since 4.3
+     */
+    public SnapshotEventMetrics getEventMetrics() {
+        return eventMetrics;
+    }
+
+    /**
+     * Immediately posts snapshot change events accumulated by this DataRowStore when event coalescing is enabled.
+     * Does nothing otherwise.
+     *
+     * @since 4.3
+     */
+    public void flushEvents() {
+        if (eventCoalescer != null) {
+            eventCoalescer.flush();
+        }
+    }
+
     /**
      * Shuts down any remote notification connections, and clears internal cache.
      */
     public void shutdown() {
+        if (eventCoalescer != null) {
+            eventCoalescer.shutdown();
+        }
+
         stopListeners();
         clear();
     }
@@ -269,6 +346,21 @@ public class DataRowStore implements Serializable {
         return eventSubject;
     }
 
+    /**
+     * Returns ids of all cached snapshots of the named entities.
+     *
+     * @since 4.3
+     */
+    Collection<ObjectId> cachedIds(Collection<String> entityNames) {
+        Collection<ObjectId> ids = new ArrayList<>();
+        for (ObjectId id : snapshots.keySet()) {
+            if (entityNames.contains(id.getEntityName())) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
     /**
      * Expires and removes all stored snapshots without sending any notification events.
      */
@@ -378,6 +470,7 @@ public class DataRowStore implements Serializable {
             for (Map.Entry<ObjectId, DataRow> entry : updatedSnapshots.entrySet()) {
                 ObjectId key = entry.getKey();
                 DataRow newSnapshot = entry.getValue();
+                boolean lobsRemoved = removeLobValues(newSnapshot);
                 DataRow oldSnapshot = snapshots.put(key, newSnapshot);
 
                 // generate diff for the updated event, if this not a new
@@ -419,6 +512,11 @@ public class DataRowStore implements Serializable {
 
                     DataRow diff = oldSnapshot.createDiff(newSnapshot);
 
+                    // LOB changes are not visible in the diff, still the listeners must refresh their objects
+                    if (diff == null && lobsRemoved) {
+                        diff = new DataRow(1);
+                    }
+
                     if (diff != null) {
                         if (diffs == null) {
                             diffs = new HashMap<>();
@@ -433,6 +531,15 @@ public class DataRowStore implements Serializable {
         return diffs;
     }
 
+    /**
+     * Removes LOB values from the snapshot, keeping the snapshot version. LOB values can be huge or readable only once,
+     * so they are never cached, and are read from the database on first access instead. Markers of the LOB values that
+     * were not fetched are removed as well.
+     */
+    private static boolean removeLobValues(DataRow snapshot) {
+        return snapshot.values().removeIf(value -> value instanceof LobValue || value == LobFlagType.NOT_NULL);
+    }
+
     private void processUpdateDiffs(Map<ObjectId, DataRow> diffs) {
         // apply snapshot diffs
         if (!diffs.isEmpty()) {
@@ -463,22 +570,40 @@ public class DataRowStore implements Serializable {
                 || (invalidatedSnapshotIDs != null && !invalidatedSnapshotIDs.isEmpty())
                 || (indirectlyModifiedIds != null && !indirectlyModifiedIds.isEmpty())) {
 
-            SnapshotEvent event = new SnapshotEvent(
-                    this,
-                    postedBy,
-                    diffs,
-                    deletedSnapshotIDs,
-                    invalidatedSnapshotIDs,
-                    indirectlyModifiedIds);
+            eventMetrics.changeSetReceived();
 
-            if (logger.isDebugEnabled()) {
-                logger.debug("postSnapshotsChangeEvent: " + event);
+            if (eventCoalescer != null) {
+                eventCoalescer.add(postedBy, diffs, deletedSnapshotIDs, invalidatedSnapshotIDs, indirectlyModifiedIds);
+            } else {
+                postUpdateNotification(postedBy, diffs, deletedSnapshotIDs, invalidatedSnapshotIDs,
+                        indirectlyModifiedIds);
             }
+        }
+    }
 
-            // synchronously notify listeners; leaving it up to the listeners to
-            // register as "non-blocking" if needed.
-            eventManager.postEvent(event, getSnapshotEventSubject());
+    private void postUpdateNotification(
+            Object postedBy,
+            Map<ObjectId, DataRow> diffs,
+            Collection<ObjectId> deletedSnapshotIDs,
+            Collection<ObjectId> invalidatedSnapshotIDs,
+            Collection<ObjectId> indirectlyModifiedIds) {
+
+        SnapshotEvent event = new SnapshotEvent(
+                this,
+                postedBy,
+                diffs,
+                deletedSnapshotIDs,
+                invalidatedSnapshotIDs,
+                indirectlyModifiedIds);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("postSnapshotsChangeEvent: " + event);
         }
+
+        // synchronously notify listeners; leaving it up to the listeners to
+        // register as "non-blocking" if needed.
+        eventManager.postEvent(event, getSnapshotEventSubject());
+        eventMetrics.eventPosted();
     }
 
     // deserialization support
@@ -489,6 +614,7 @@ public class DataRowStore implements Serializable {
 
         // restore subjects
         this.eventSubject = createSubject();
+        initEventProcessing();
     }
 
     void stopListeners() {
@@ -25,6 +25,7 @@ import org.apache.cayenne.DataRow;
 import org.apache.cayenne.ObjectId;
 import org.apache.cayenne.PersistenceState;
 import org.apache.cayenne.Persistent;
+import org.apache.cayenne.access.types.LobFlagType;
 import org.apache.cayenne.map.DbJoin;
 import org.apache.cayenne.map.DbRelationship;
 import org.apache.cayenne.map.ObjAttribute;
@@ -78,6 +79,7 @@ class DataRowUtils {
             final boolean invalidateToManyRelationships) {
 
         final boolean[] isPartialSnapshot = new boolean[1];
+        final boolean[] hasAttributeFaults = new boolean[1];
 
         descriptor.visitProperties(new PropertyVisitor() {
 
@@ -86,6 +88,12 @@ class DataRowUtils {
                 String dbAttrPath = attr.getDbAttributePath();
 
                 Object value = snapshot.get(dbAttrPath);
+                if (value == LobFlagType.NOT_NULL) {
+                    // LOB value was not fetched with the object, read it from the DB on first access
+                    property.writePropertyDirectly(object, null, LobValueFaults.lobFault(object, property));
+                    return true;
+                }
+
                 property.writePropertyDirectly(object, null, value);
 
                 // note that a check "snaphsot.get(..) == null" would be incorrect in this
@@ -94,6 +102,10 @@ class DataRowUtils {
                 if (value == null && !snapshot.containsKey(dbAttrPath)) {
                     if(attr.isLazy()) {
                         property.writePropertyDirectly(object, null, new AttributeFault(property));
+                        hasAttributeFaults[0] = true;
+                    } else if(LobValueFaults.isLobAttribute(attr)) {
+                        // LOB values are never cached, read them from the DB on first access
+                        property.writePropertyDirectly(object, null, LobValueFaults.lobFault(object, property));
                     } else {
                         isPartialSnapshot[0] = true;
                     }
@@ -118,6 +130,10 @@ class DataRowUtils {
             }
         });
 
+        if (hasAttributeFaults[0] && object.getObjectContext() instanceof DataContext) {
+            ((DataContext) object.getObjectContext()).getObjectStore().attributeFaultInstalled(object);
+        }
+
         object.setPersistenceState(isPartialSnapshot[0]
                 ? PersistenceState.HOLLOW
                 : PersistenceState.COMMITTED);
@@ -144,6 +160,11 @@ class DataRowUtils {
                 // for a key... so check for partial snapshot
                 // only if the value is null
                 Object newValue = snapshot.get(dbAttrPath);
+                if (newValue == LobFlagType.NOT_NULL) {
+                    // LOB value was not fetched, keep the current one
+                    return true;
+                }
+
                 if (newValue != null || snapshot.containsKey(dbAttrPath)) {
 
                     Object curValue = property.readPropertyDirectly(object);
@@ -32,12 +32,16 @@ import org.apache.cayenne.query.PrefetchSelectQuery;
 import org.apache.cayenne.query.PrefetchTreeNode;
 import org.apache.cayenne.query.QueryMetadata;
 import org.apache.cayenne.reflect.ClassDescriptor;
+import org.apache.cayenne.util.ThreadBindings;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Processes a number of DataRow sets corresponding to a given prefetch tree, resolving
@@ -76,7 +80,9 @@ class HierarchicalObjectResolver {
         PrefetchProcessorNode decoratedTree = decorateTree(tree, mainResultRows, extraResultsByPath);
 
         // prepare data for disjoint by id prefetches
-        decoratedTree.traverse(new DisjointByIdProcessor());
+        DisjointByIdProcessor byIdProcessor = new DisjointByIdProcessor();
+        decoratedTree.traverse(byIdProcessor);
+        byIdProcessor.awaitPrefetches();
 
         // resolve objects under global lock to keep object graph consistent
         synchronized (context.getObjectStore()) {
@@ -103,6 +109,30 @@ class HierarchicalObjectResolver {
 
     final class DisjointByIdProcessor implements PrefetchProcessor {
 
+        // when prefetches run in parallel, sibling nodes are fetched concurrently,
+        // while each node waits for its parent node rows. The DataContext is not thread-safe,
+        // so parallel prefetches run directly against the DataDomain, never touching the context
+        private final DataDomain domain;
+        private final Map<PrefetchTreeNode, CompletableFuture<Void>> prefetches;
+        private final Executor executor;
+
+        DisjointByIdProcessor() {
+            this.domain = context.getParentDataDomain();
+            if (domain != null && domain.isParallelPrefetchAvailable()) {
+                this.prefetches = new HashMap<>();
+                this.executor = domain.getPrefetchExecutor();
+            } else {
+                this.prefetches = null;
+                this.executor = null;
+            }
+        }
+
+        void awaitPrefetches() {
+            if (prefetches != null) {
+                DataDomainQueryAction.awaitAll(prefetches.values());
+            }
+        }
+
         @Override
         public boolean startDisjointByIdPrefetch(PrefetchTreeNode node) {
             if (node.getParent().isPhantom()) {
@@ -110,6 +140,25 @@ class HierarchicalObjectResolver {
                 return true;
             }
 
+            if (prefetches == null) {
+                fetchDisjointById(node);
+                return true;
+            }
+
+            Runnable fetch = () -> fetchDisjointById(node);
+            CompletableFuture<Void> parentFetch = null;
+            for (PrefetchTreeNode parent = node.getParent(); parent != null && parentFetch == null;
+                 parent = parent.getParent()) {
+                parentFetch = prefetches.get(parent);
+            }
+
+            prefetches.put(node, parentFetch != null
+                    ? parentFetch.thenRunAsync(fetch, executor)
+                    : CompletableFuture.runAsync(fetch, executor));
+            return true;
+        }
+
+        private void fetchDisjointById(PrefetchTreeNode node) {
             PrefetchProcessorNode processorNode = (PrefetchProcessorNode) node;
             PrefetchProcessorNode parentProcessorNode = (PrefetchProcessorNode) processorNode.getParent();
             ObjRelationship relationship = processorNode.getIncoming().getRelationship();
@@ -142,7 +191,7 @@ class HierarchicalObjectResolver {
                 parentDataRows = parentProcessorNode.getDataRows();
             }
 
-            int maxIdQualifierSize = context.getParentDataDomain().getMaxIdQualifierSize();
+            int maxIdQualifierSize = domain.getMaxIdQualifierSize();
             List<DbJoin> joins = lastDbRelationship.getJoins();
 
             List<PrefetchSelectQuery<DataRow>> queries = new ArrayList<>();
@@ -196,11 +245,18 @@ class HierarchicalObjectResolver {
                     query.addResultPath(reversePath);
                 }
 
-                dataRows.addAll(query.select(context));
+                dataRows.addAll(prefetches != null ? selectUnbound(query) : query.select(context));
             }
             processorNode.setDataRows(dataRows);
+        }
 
-            return true;
+        /**
+         * Runs the query against the DataDomain in its own transaction, as the caller may be a prefetch thread or
+         * the calling thread with its transaction bound.
+         */
+        @SuppressWarnings("unchecked")
+        private List<DataRow> selectUnbound(PrefetchSelectQuery<DataRow> query) {
+            return ThreadBindings.callUnbound(() -> (List<DataRow>) domain.onQuery(null, query).firstList());
         }
 
         private void createDisjointByIdPrefetchQualifier(String pathPrefix, PrefetchSelectQuery<?> currentQuery,
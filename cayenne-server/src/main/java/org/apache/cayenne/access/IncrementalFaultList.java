@@ -20,6 +20,7 @@
 package org.apache.cayenne.access;
 
 import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.DataRow;
 import org.apache.cayenne.Persistent;
 import org.apache.cayenne.ResultIterator;
 import org.apache.cayenne.exp.Expression;
@@ -28,6 +29,7 @@ import org.apache.cayenne.map.ObjEntity;
 import org.apache.cayenne.query.ObjectSelect;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.QueryMetadata;
+import org.apache.cayenne.util.ThreadBindings;
 import org.apache.cayenne.util.Util;
 
 import java.io.Serializable;
@@ -39,6 +41,14 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A synchronized list that serves as a container of DataObjects. It is returned
@@ -52,6 +62,12 @@ import java.util.NoSuchElementException;
  * types will result in an exception.
  * </p>
  * <p>
+ * Pages are resolved without holding the list lock during the database call,
+ * so readers of the already resolved pages are not blocked. Optionally the
+ * list can fetch the next page in background while the current page is
+ * iterated, see {@link #setReadAhead(boolean)}.
+ * </p>
+ * <p>
  * Performance note: certain operations like <code>toArray</code> would trigger
  * full list fetch.
  * </p>
@@ -89,6 +105,20 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 	// limit of
 	// 10,000 nested expressions.
 
+	/**
+	 * Whether the next page should be fetched in background when the current
+	 * page is accessed.
+	 * 
+	 * @since 4.3
+	 */
+	protected boolean readAhead;
+
+	// pages that are being resolved by some thread right now
+	private transient volatile ConcurrentMap<Integer, CompletableFuture<Void>> pageFetches;
+
+	// data rows of the pages fetched in background, not yet registered in the context
+	transient volatile ConcurrentMap<Integer, PageReadAhead> pageReadAheads;
+
 	/**
 	 * Creates a new IncrementalFaultList using a given DataContext and query.
 	 * 
@@ -197,6 +227,7 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 			return;
 		}
 
+		List<Object> ids;
 		synchronized (elements) {
 			if (elements.size() == 0) {
 				return;
@@ -211,55 +242,269 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 				toIndex = elements.size();
 			}
 
-			List<Expression> quals = new ArrayList<>(pageSize);
-			List<Object> ids = new ArrayList<>(pageSize);
+			ids = unresolvedIds(fromIndex, toIndex);
+		}
+
+		int idsSize = ids.size();
+		if (idsSize == 0) {
+			return;
+		}
+
+		// fetch the range of objects in fetchSize chunks, the list is not locked
+		// here, so the readers of other pages are not blocked by the database call
+		List<Object> objects = new ArrayList<>(idsSize);
+
+		int fetchSize = maxFetchSize > 0 ? maxFetchSize : Integer.MAX_VALUE;
+
+		int fetchEnd = Math.min(idsSize, fetchSize);
+		int fetchBegin = 0;
+		while (fetchBegin < idsSize) {
+			ObjectSelect<Persistent> query = createSelectQuery(buildIdsQualifier(ids.subList(fetchBegin, fetchEnd)));
+			@SuppressWarnings("unchecked")
+			List<Object> fetched = dataContext.performQuery(query);
+			objects.addAll(fetched);
+			fetchBegin = fetchEnd;
+			fetchEnd += Math.min(fetchSize, idsSize - fetchEnd);
+		}
+
+		// sanity check - database data may have changed
+		checkPageResultConsistency(objects, ids);
+
+		// replace ids in the list with objects
+		synchronized (elements) {
+			updatePageWithResults(objects, fromIndex, toIndex);
+		}
+	}
+
+	/**
+	 * Returns unresolved ids found in a given range of the list.
+	 */
+	List<Object> unresolvedIds(int fromIndex, int toIndex) {
+		synchronized (elements) {
+			fromIndex = Math.max(fromIndex, 0);
+			toIndex = Math.min(toIndex, elements.size());
+
+			List<Object> ids = new ArrayList<>(Math.max(toIndex - fromIndex, 0));
 			for (int i = fromIndex; i < toIndex; i++) {
 				Object object = elements.get(i);
 				if (getHelper().unresolvedSuspect(object)) {
-					quals.add(buildIdQualifier(object));
 					ids.add(object);
 				}
 			}
 
-			int qualsSize = quals.size();
-			if (qualsSize == 0) {
+			return ids;
+		}
+	}
+
+	/**
+	 * Resolves a page with a given index. If the page is already being resolved
+	 * by another thread (e.g. by read-ahead), waits for that resolution instead
+	 * of fetching the same objects again.
+	 * 
+	 * @since 4.3
+	 */
+	protected void resolvePage(int pageIndex) {
+		int pageStart = pageIndex * pageSize;
+		ConcurrentMap<Integer, CompletableFuture<Void>> fetches = getPageFetches();
+
+		CompletableFuture<Void> fetch = new CompletableFuture<>();
+		CompletableFuture<Void> existing = fetches.putIfAbsent(pageIndex, fetch);
+		if (existing != null) {
+			// can't wait while holding the lock, as the other thread needs it to
+			// complete, so fall back to resolving the page in this thread
+			if (!Thread.holdsLock(elements)) {
+				try {
+					existing.join();
+				} catch (CompletionException e) {
+					// ignore, the page will be resolved (or the error rethrown) below
+				}
+			}
+
+			resolveInterval(pageStart, pageStart + pageSize);
+			return;
+		}
+
+		try {
+			applyReadAhead(pageIndex);
+			resolveInterval(pageStart, pageStart + pageSize);
+			fetch.complete(null);
+		} catch (RuntimeException e) {
+			fetch.completeExceptionally(e);
+			throw e;
+		} finally {
+			fetches.remove(pageIndex, fetch);
+		}
+	}
+
+	/**
+	 * Starts background fetch of a page with a given index, unless it is
+	 * already resolved or being resolved. Only the data rows are fetched in
+	 * background, in a separate transaction and without touching the
+	 * DataContext, the objects are registered in the context by the thread
+	 * accessing the page. Errors are ignored here, the page is resolved
+	 * normally on access if the fetch fails.
+	 */
+	void readAheadPage(int pageIndex) {
+
+		// the rows are fetched bypassing the context, so prefetches can't be
+		// processed
+		if (!metadata.isFetchingDataRows() && metadata.getPrefetchTree() != null) {
+			return;
+		}
+
+		DataDomain domain = dataContext.getParentDataDomain();
+		if (domain == null) {
+			return;
+		}
+
+		int pageStart = pageIndex * pageSize;
+		synchronized (elements) {
+			if (pageStart >= elements.size() || !getHelper().unresolvedSuspect(elements.get(pageStart))) {
 				return;
 			}
+		}
 
-			// fetch the range of objects in fetchSize chunks
-			List<Object> objects = new ArrayList<>(qualsSize);
+		ConcurrentMap<Integer, PageReadAhead> readAheads = getPageReadAheads();
+		if (readAheads.containsKey(pageIndex) || getPageFetches().containsKey(pageIndex)) {
+			return;
+		}
 
-			int fetchSize = maxFetchSize > 0 ? maxFetchSize : Integer.MAX_VALUE;
+		List<Object> ids = unresolvedIds(pageStart, pageStart + pageSize);
+		if (ids.isEmpty()) {
+			return;
+		}
 
-			int fetchEnd = Math.min(qualsSize, fetchSize);
-			int fetchBegin = 0;
-			while (fetchBegin < qualsSize) {
-				ObjectSelect<Persistent> query = createSelectQuery(quals.subList(fetchBegin, fetchEnd));
-				objects.addAll(dataContext.performQuery(query));
-				fetchBegin = fetchEnd;
-				fetchEnd += Math.min(fetchSize, qualsSize - fetchEnd);
+		PageReadAhead readAhead = new PageReadAhead(ids);
+		if (readAheads.putIfAbsent(pageIndex, readAhead) != null) {
+			return;
+		}
+
+		Runnable task = () -> {
+			try {
+				// never join a transaction of the thread that started the read-ahead,
+				// the query starts its own transaction instead
+				readAhead.rows.complete(ThreadBindings.callUnbound(() -> fetchRows(domain, ids)));
+			} catch (Throwable th) {
+				readAhead.rows.completeExceptionally(th);
 			}
+		};
 
-			// sanity check - database data may have changed
-			checkPageResultConsistency(objects, ids);
+		try {
+			ReadAheadExecutorHolder.EXECUTOR.execute(task);
+		} catch (RejectedExecutionException e) {
+			// all read-ahead threads are busy, the page will be resolved on access
+			readAheads.remove(pageIndex, readAhead);
+			readAhead.rows.completeExceptionally(e);
+		}
+	}
 
-			// replace ids in the list with objects
-			updatePageWithResults(objects, fromIndex, toIndex);
+	/**
+	 * Fetches data rows for the ids in fetchSize chunks, running the queries
+	 * directly against the DataDomain.
+	 */
+	List<DataRow> fetchRows(DataDomain domain, List<Object> ids) {
+		int idsSize = ids.size();
+		List<DataRow> rows = new ArrayList<>(idsSize);
+
+		int fetchSize = maxFetchSize > 0 ? maxFetchSize : Integer.MAX_VALUE;
+
+		int fetchEnd = Math.min(idsSize, fetchSize);
+		int fetchBegin = 0;
+		while (fetchBegin < idsSize) {
+			ObjectSelect<DataRow> query = ObjectSelect.query(Persistent.class)
+					.entityName(rootEntity.getName())
+					.where(buildIdsQualifier(ids.subList(fetchBegin, fetchEnd)))
+					.fetchDataRows();
+			@SuppressWarnings("unchecked")
+			List<DataRow> fetched = domain.onQuery(null, query).firstList();
+			rows.addAll(fetched);
+			fetchBegin = fetchEnd;
+			fetchEnd += Math.min(fetchSize, idsSize - fetchEnd);
 		}
+
+		return rows;
 	}
 
-	void updatePageWithResults(List<Object> objects, int fromIndex, int toIndex) {
+	/**
+	 * Registers in the context and puts to the list the objects for the rows
+	 * fetched in background for a given page, if any. If the fetch failed or
+	 * the rows don't match the page anymore, the page is left to the regular
+	 * resolution.
+	 */
+	void applyReadAhead(int pageIndex) {
+		ConcurrentMap<Integer, PageReadAhead> readAheads = this.pageReadAheads;
+		PageReadAhead readAhead = readAheads != null ? readAheads.remove(pageIndex) : null;
+		if (readAhead == null) {
+			return;
+		}
+
+		List<DataRow> rows;
+		try {
+			rows = readAhead.rows.join();
+		} catch (CompletionException e) {
+			return;
+		}
+
+		if (rows.size() != readAhead.ids.size()) {
+			return;
+		}
+
+		List<?> objects = metadata.isFetchingDataRows()
+				? rows
+				: dataContext.objectsFromDataRows(
+						dataContext.getEntityResolver().getClassDescriptor(rootEntity.getName()), rows);
+
+		int pageStart = pageIndex * pageSize;
+		synchronized (elements) {
+			updatePageWithResults(objects, pageStart, pageStart + pageSize);
+		}
+	}
+
+	private ConcurrentMap<Integer, PageReadAhead> getPageReadAheads() {
+		ConcurrentMap<Integer, PageReadAhead> readAheads = this.pageReadAheads;
+		if (readAheads == null) {
+			synchronized (elements) {
+				readAheads = this.pageReadAheads;
+				if (readAheads == null) {
+					readAheads = new ConcurrentHashMap<>();
+					this.pageReadAheads = readAheads;
+				}
+			}
+		}
+
+		return readAheads;
+	}
+
+	private ConcurrentMap<Integer, CompletableFuture<Void>> getPageFetches() {
+		ConcurrentMap<Integer, CompletableFuture<Void>> fetches = this.pageFetches;
+		if (fetches == null) {
+			synchronized (elements) {
+				fetches = this.pageFetches;
+				if (fetches == null) {
+					fetches = new ConcurrentHashMap<>();
+					this.pageFetches = fetches;
+				}
+			}
+		}
+
+		return fetches;
+	}
+
+	void updatePageWithResults(List<?> objects, int fromIndex, int toIndex) {
+		int resolved = 0;
 		for (Object object : objects) {
-			getHelper().updateWithResolvedObjectInRange(object, fromIndex, toIndex);
+			if (getHelper().updateWithResolvedObjectInRange(object, fromIndex, toIndex)) {
+				resolved++;
+			}
 		}
 
-		unfetchedObjects -= objects.size();
+		unfetchedObjects -= resolved;
 	}
 
-	ObjectSelect<Persistent> createSelectQuery(List<Expression> expressions) {
+	ObjectSelect<Persistent> createSelectQuery(Expression qualifier) {
 		ObjectSelect<Persistent> query = ObjectSelect.query(Persistent.class)
 				.entityName(rootEntity.getName())
-				.where(ExpressionFactory.joinExp(Expression.OR, expressions));
+				.where(qualifier);
 
 		if(metadata.isFetchingDataRows()) {
 			query.fetchDataRows();
@@ -285,6 +530,20 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 		return ExpressionFactory.matchAllDbExp(map, Expression.EQUAL_TO);
 	}
 
+	/**
+	 * Returns a qualifier expression matching all of the unresolved id objects.
+	 * 
+	 * @since 4.3
+	 */
+	Expression buildIdsQualifier(List<Object> ids) {
+		List<Expression> quals = new ArrayList<>(ids.size());
+		for (Object id : ids) {
+			quals.add(buildIdQualifier(id));
+		}
+
+		return ExpressionFactory.joinExp(Expression.OR, quals);
+	}
+
 	/**
 	 * @since 3.0
 	 */
@@ -359,6 +618,29 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 		this.maxFetchSize = fetchSize;
 	}
 
+	/**
+	 * Returns whether the list fetches the next page in background when the
+	 * current page is accessed.
+	 * 
+	 * @since 4.3
+	 */
+	public boolean isReadAhead() {
+		return readAhead;
+	}
+
+	/**
+	 * Enables or disables background fetch of the next page when the current
+	 * page is accessed. The read-ahead thread only fetches the data rows in its
+	 * own transaction, never touching this list's DataContext, and the objects
+	 * are registered in the context when the page is accessed. Pages of the
+	 * queries with prefetches are not read ahead.
+	 * 
+	 * @since 4.3
+	 */
+	public void setReadAhead(boolean readAhead) {
+		this.readAhead = readAhead;
+	}
+
 	/**
 	 * Returns the dataContext.
 	 * 
@@ -501,19 +783,26 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 	}
 
 	public E get(int index) {
+		Object o;
 		synchronized (elements) {
-			Object o = elements.get(index);
+			o = elements.get(index);
+		}
 
-			if (getHelper().unresolvedSuspect(o)) {
-				// read this page
-				int pageStart = pageIndex(index) * pageSize;
-				resolveInterval(pageStart, pageStart + pageSize);
+		int pageIndex = index / pageSize;
+		if (getHelper().unresolvedSuspect(o)) {
+			// read this page
+			resolvePage(pageIndex);
 
-				return (E) elements.get(index);
-			} else {
-				return (E) o;
+			synchronized (elements) {
+				o = elements.get(index);
 			}
 		}
+
+		if (readAhead) {
+			readAheadPage(pageIndex + 1);
+		}
+
+		return (E) o;
 	}
 
 	/**
@@ -584,8 +873,9 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 	}
 
 	public List<E> subList(int fromIndex, int toIndex) {
+		resolveInterval(fromIndex, toIndex);
+
 		synchronized (elements) {
-			resolveInterval(fromIndex, toIndex);
 			return elements.subList(fromIndex, toIndex);
 		}
 	}
@@ -609,6 +899,35 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 		return unfetchedObjects;
 	}
 
+	/**
+	 * Ids of a page and the data rows fetched for them in background.
+	 */
+	static class PageReadAhead {
+
+		final List<Object> ids;
+		final CompletableFuture<List<DataRow>> rows;
+
+		PageReadAhead(List<Object> ids) {
+			this.ids = ids;
+			this.rows = new CompletableFuture<>();
+		}
+	}
+
+	/**
+	 * Lazily created pool of daemon threads shared by all lists for the
+	 * read-ahead page resolution.
+	 */
+	private static class ReadAheadExecutorHolder {
+
+		static final ThreadPoolExecutor EXECUTOR;
+
+		static {
+			EXECUTOR = new ThreadPoolExecutor(0, Math.max(2, Runtime.getRuntime().availableProcessors()),
+					30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+					ThreadBindings.daemonThreadFactory("cayenne-paginated-read-ahead-"));
+		}
+	}
+
 	abstract class IncrementalListHelper implements Serializable {
 
 		int indexOfObject(Object object) {
@@ -642,23 +961,30 @@ public class IncrementalFaultList<E> implements List<E>, Serializable {
 			return -1;
 		}
 
-		void updateWithResolvedObjectInRange(Object object, int from, int to) {
-			boolean found = false;
-
+		/**
+		 * Replaces an unresolved id with the object, returning false if the
+		 * object was already resolved by another thread.
+		 */
+		boolean updateWithResolvedObjectInRange(Object object, int from, int to) {
 			synchronized (elements) {
+				to = Math.min(to, elements.size());
 
 				for (int i = from; i < to; i++) {
 					if (replacesObject(object, elements.get(i))) {
 						elements.set(i, object);
-						found = true;
-						break;
+						return true;
 					}
 				}
-			}
 
-			if (!found) {
-				throw new CayenneRuntimeException("Can't find id for %s", object);
+				// the page might have been resolved concurrently
+				for (int i = from; i < to; i++) {
+					if (objectsAreEqual(object, elements.get(i))) {
+						return false;
+					}
+				}
 			}
+
+			throw new CayenneRuntimeException("Can't find id for %s", object);
 		}
 
 		/**
@@ -0,0 +1,100 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.Persistent;
+import org.apache.cayenne.map.ObjAttribute;
+import org.apache.cayenne.reflect.AttributeProperty;
+import org.apache.cayenne.reflect.ClassDescriptor;
+import org.apache.cayenne.reflect.PropertyVisitor;
+import org.apache.cayenne.reflect.ToManyProperty;
+import org.apache.cayenne.reflect.ToOneProperty;
+import org.apache.cayenne.value.BlobValue;
+import org.apache.cayenne.value.ClobValue;
+import org.apache.cayenne.value.LobValue;
+
+/**
+ * Creates LOB values that are read from the database on first access. Such values are used in place of the LOB values
+ * that are not stored in the cached snapshots, or that can't be read again after commit.
+ *
+ * @since 4.3
+ */
+public final class LobValueFaults {
+
+    private LobValueFaults() {
+    }
+
+    public static boolean isLobAttribute(ObjAttribute attribute) {
+        Class<?> javaClass = attribute.getJavaClass();
+        return javaClass != null && LobValue.class.isAssignableFrom(javaClass);
+    }
+
+    /**
+     * Returns a LOB value of the object property that is read from the database each time it is opened.
+     */
+    public static LobValue<?, ?> lobFault(Persistent object, AttributeProperty property) {
+        Class<?> javaClass = property.getAttribute().getJavaClass();
+        if (BlobValue.class.isAssignableFrom(javaClass)) {
+            return BlobValue.of(() -> ((BlobValue) resolve(object, property)).openStream(), -1);
+        } else if (ClobValue.class.isAssignableFrom(javaClass)) {
+            return ClobValue.of(() -> ((ClobValue) resolve(object, property)).openReader(), -1);
+        }
+
+        throw new CayenneRuntimeException("Unsupported LOB value type: %s", javaClass.getName());
+    }
+
+    /**
+     * Replaces LOB values of the committed object, that can't be read again, with the values read from the database.
+     */
+    public static void replaceConsumedLobValues(ClassDescriptor descriptor, Persistent object) {
+        descriptor.visitProperties(new PropertyVisitor() {
+
+            @Override
+            public boolean visitAttribute(AttributeProperty property) {
+                Object value = property.readPropertyDirectly(object);
+                if (value instanceof LobValue && !((LobValue<?, ?>) value).isRepeatable()) {
+                    property.writePropertyDirectly(object, value, lobFault(object, property));
+                }
+                return true;
+            }
+
+            @Override
+            public boolean visitToOne(ToOneProperty property) {
+                return true;
+            }
+
+            @Override
+            public boolean visitToMany(ToManyProperty property) {
+                return true;
+            }
+        });
+    }
+
+    private static LobValue<?, ?> resolve(Persistent object, AttributeProperty property) {
+        Object value = new AttributeFault(property).resolveFault(object, property.getName());
+        if (value == null) {
+            throw new CayenneRuntimeException("No LOB value found in the database for %s.%s",
+                    object.getObjectId(), property.getName());
+        }
+
+        return (LobValue<?, ?>) value;
+    }
+}
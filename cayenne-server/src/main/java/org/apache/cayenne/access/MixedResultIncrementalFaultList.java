@@ -110,6 +110,14 @@ class MixedResultIncrementalFaultList<E> extends IncrementalFaultList<E> {
         unfetchedObjects = elementsList.size();
     }
 
+    /**
+     * Mixed result rows can't be fetched bypassing the context, so the pages are
+     * only resolved on access.
+     */
+    @Override
+    void readAheadPage(int pageIndex) {
+    }
+
     @Override
     protected void resolveInterval(int fromIndex, int toIndex) {
         if (fromIndex >= toIndex || scalarResult) {
@@ -67,6 +67,8 @@ public class ObjectDiff extends NodeDiff {
 
     private Persistent object;
 
+    private boolean upsert;
+
     ObjectDiff(final Persistent object) {
 
         super(object.getObjectId());
@@ -175,6 +177,20 @@ public class ObjectDiff extends NodeDiff {
         return (ObjectId) value;
     }
 
+    /**
+     * Returns whether a new object should be committed as an "upsert", i.e. should update the existing DB row with
+     * the same PK instead of failing on it.
+     *
+     * @since 4.3
+     */
+    public boolean isUpsert() {
+        return upsert;
+    }
+
+    void setUpsert(boolean upsert) {
+        this.upsert = upsert;
+    }
+
     boolean containsArcSnapshot(String propertyName) {
         return arcSnapshot != null && arcSnapshot.containsKey(propertyName);
     }
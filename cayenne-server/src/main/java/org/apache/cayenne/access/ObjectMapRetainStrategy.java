@@ -18,6 +18,7 @@
  ****************************************************************/
 package org.apache.cayenne.access;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.apache.cayenne.Persistent;
@@ -31,4 +32,15 @@ import org.apache.cayenne.Persistent;
 public interface ObjectMapRetainStrategy {
 
     Map<Object, Persistent> createObjectMap();
+
+    /**
+     * Creates an object map that can be safely accessed by multiple threads without
+     * external synchronization. Used by {@link ConcurrentObjectStore}. Default
+     * implementation wraps {@link #createObjectMap()} in a synchronized map.
+     *
+     * @since 4.3
+     */
+    default Map<Object, Persistent> createConcurrentObjectMap() {
+        return Collections.synchronizedMap(createObjectMap());
+    }
 }
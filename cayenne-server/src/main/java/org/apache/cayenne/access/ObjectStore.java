@@ -54,7 +54,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * ObjectStore stores objects using their ObjectId as a key. It works as a dedicated
@@ -95,6 +97,10 @@ public class ObjectStore implements Serializable, SnapshotEventListener, GraphMa
 
     private Collection<GraphDiff> lifecycleEventInducedChanges;
 
+    // objects that had lazy attribute faults installed, by entity name, so that such attributes can be resolved in
+    // batches without scanning the whole store; weak, as the objects may be released by the object map
+    private transient Map<String, Set<Persistent>> attributeFaultObjects;
+
     /**
      * The DataContext that owns this ObjectStore.
      */
@@ -222,6 +228,31 @@ public class ObjectStore implements Serializable, SnapshotEventListener, GraphMa
         return objectMap.size();
     }
 
+    /**
+     * Records that the object has a lazy attribute fault installed.
+     *
+     * @since 4.3
+     */
+    synchronized void attributeFaultInstalled(Persistent object) {
+        if (attributeFaultObjects == null) {
+            attributeFaultObjects = new HashMap<>();
+        }
+
+        attributeFaultObjects
+                .computeIfAbsent(object.getObjectId().getEntityName(), name -> Collections.newSetFromMap(new WeakHashMap<>()))
+                .add(object);
+    }
+
+    /**
+     * Returns objects of the entity that had lazy attribute faults installed. Some of them may be already resolved.
+     *
+     * @since 4.3
+     */
+    synchronized Collection<Persistent> objectsWithAttributeFaults(String entityName) {
+        Set<Persistent> objects = attributeFaultObjects != null ? attributeFaultObjects.get(entityName) : null;
+        return objects != null ? new ArrayList<>(objects) : Collections.emptyList();
+    }
+
     /**
      * Returns a DataRowStore associated with this ObjectStore.
      */
@@ -384,6 +415,56 @@ public class ObjectStore implements Serializable, SnapshotEventListener, GraphMa
         return changes;
     }
 
+    /**
+     * Marks a new object to be committed as an "upsert".
+     *
+     * @since 4.3
+     */
+    synchronized void markForUpsert(Persistent object) {
+        ObjectDiff diff = object.getPersistenceState() == PersistenceState.NEW
+                ? changes.get(object.getObjectId())
+                : null;
+
+        if (diff == null) {
+            throw new CayenneRuntimeException("Only new objects registered in the context can be upserted: %s", object);
+        }
+
+        diff.setUpsert(true);
+    }
+
+    /**
+     * Marks all new objects to be committed as "upserts", returning the diffs of the objects that were not marked
+     * before.
+     *
+     * @since 4.3
+     */
+    synchronized Collection<ObjectDiff> markNewObjectsForUpsert() {
+        Collection<ObjectDiff> marked = new ArrayList<>();
+        for (ObjectDiff diff : changes.values()) {
+            if (!diff.isUpsert() && ((Persistent) diff.getObject()).getPersistenceState() == PersistenceState.NEW) {
+                diff.setUpsert(true);
+                marked.add(diff);
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Copies upsert marks of the child context objects, that were just flushed to this store.
+     *
+     * @since 4.3
+     */
+    synchronized void copyUpsertMarks(ObjectStore childStore) {
+        for (ObjectDiff childDiff : childStore.changes.values()) {
+            if (childDiff.isUpsert()) {
+                ObjectDiff diff = changes.get(childDiff.getNodeId());
+                if (diff != null) {
+                    diff.setUpsert(true);
+                }
+            }
+        }
+    }
+
     /**
      * @since 1.2
      */
@@ -493,6 +574,11 @@ public class ObjectStore implements Serializable, SnapshotEventListener, GraphMa
      * @since 1.2
      */
     public synchronized DataRow getSnapshot(ObjectId oid) {
+        return getSnapshotNoSync(oid);
+    }
+
+    // non-synchronized version of getSnapshot for private use
+    final DataRow getSnapshotNoSync(ObjectId oid) {
 
         if (context != null && context.getChannel() != null) {
             ObjectIdQuery query = new ObjectIdQuery(oid, true, ObjectIdQuery.CACHE);
@@ -885,6 +971,19 @@ public class ObjectStore implements Serializable, SnapshotEventListener, GraphMa
         objectMap.put(nodeId, (Persistent) nodeObject);
     }
 
+    /**
+     * Runs a compound operation over a single node (e.g. a lookup followed by registration of a new object)
+     * atomically with respect to other operations on the same node. This implementation locks the entire
+     * ObjectStore. Subclasses may use a finer grained lock.
+     *
+     * @since 4.3
+     */
+    protected <T> T callWithNodeLock(Object nodeId, Supplier<T> operation) {
+        synchronized (this) {
+            return operation.get();
+        }
+    }
+
     /**
      * @since 1.2
      */
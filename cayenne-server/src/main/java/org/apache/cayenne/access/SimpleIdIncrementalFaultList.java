@@ -19,6 +19,7 @@
 package org.apache.cayenne.access;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.cayenne.Persistent;
@@ -68,6 +69,16 @@ class SimpleIdIncrementalFaultList<E> extends IncrementalFaultList<E> {
         return ExpressionFactory.matchDbExp(pk.getName(), id);
     }
 
+    /**
+     * Builds a single "IN" qualifier instead of a chain of "OR"-ed comparisons.
+     *
+     * @since 4.3
+     */
+    @Override
+    Expression buildIdsQualifier(List<Object> ids) {
+        return ExpressionFactory.inDbExp(pk.getName(), ids);
+    }
+
     class SingleIdPersistentListHelper extends
             IncrementalFaultList<E>.PersistentListHelper {
 
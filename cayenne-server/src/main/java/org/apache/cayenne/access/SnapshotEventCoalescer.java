@@ -0,0 +1,224 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.DataRow;
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.util.ThreadBindings;
+
+/**
+ * Accumulates snapshot changes submitted to a {@link DataRowStore} and posts them as a single SnapshotEvent per
+ * sender once a time window expires or the number of accumulated ids reaches a size threshold, whichever comes
+ * first. Changes from different senders are never merged together, as listeners rely on the event "postedBy"
+ * property to skip their own changes.
+ *
+ * @since 4.3
+ */
+class SnapshotEventCoalescer {
+
+    /**
+     * A callback that posts a merged event.
+     */
+    interface EventSink {
+
+        void post(
+                Object postedBy,
+                Map<ObjectId, DataRow> diffs,
+                Collection<ObjectId> deletedIds,
+                Collection<ObjectId> invalidatedIds,
+                Collection<ObjectId> indirectlyModifiedIds);
+    }
+
+    private final long window;
+    private final int maxSize;
+    private final EventSink sink;
+
+    // guards draining and posting of the batches, so that the events are posted in the order they were drained
+    private final Object postLock;
+
+    private final Map<Object, Batch> pending;
+    private int pendingSize;
+    private ScheduledFuture<?> scheduledFlush;
+
+    SnapshotEventCoalescer(long window, int maxSize, EventSink sink) {
+        this.window = window;
+        this.maxSize = maxSize;
+        this.sink = sink;
+        this.postLock = new Object();
+        this.pending = new LinkedHashMap<>();
+    }
+
+    long getWindow() {
+        return window;
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Adds snapshot changes to the pending batch of a given sender. May post pending events in the calling thread
+     * if the size threshold is reached.
+     */
+    void add(
+            Object postedBy,
+            Map<ObjectId, DataRow> diffs,
+            Collection<ObjectId> deletedIds,
+            Collection<ObjectId> invalidatedIds,
+            Collection<ObjectId> indirectlyModifiedIds) {
+
+        boolean flushNow;
+        synchronized (this) {
+            Batch batch = pending.computeIfAbsent(postedBy, Batch::new);
+            pendingSize += batch.merge(diffs, deletedIds, invalidatedIds, indirectlyModifiedIds);
+
+            flushNow = pendingSize >= maxSize;
+            if (!flushNow && scheduledFlush == null) {
+                scheduledFlush = TimerHolder.TIMER.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    /**
+     * Posts all pending events.
+     */
+    void flush() {
+        synchronized (postLock) {
+            List<Batch> batches;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+
+                batches = new ArrayList<>(pending.values());
+                pending.clear();
+                pendingSize = 0;
+
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            }
+
+            for (Batch batch : batches) {
+                sink.post(batch.postedBy, batch.diffs, batch.deletedIds, batch.invalidatedIds,
+                        batch.indirectlyModifiedIds);
+            }
+        }
+    }
+
+    /**
+     * Posts pending events. The timer is shared by all coalescers, so there is nothing else to stop.
+     */
+    void shutdown() {
+        flush();
+    }
+
+    /**
+     * Lazily created timer shared by all coalescers. Its only thread stops when idle, so the stores that are never
+     * shut down (e.g. per-context stores or deserialized ones) don't leak threads.
+     */
+    static class TimerHolder {
+
+        static final ScheduledThreadPoolExecutor TIMER;
+
+        static {
+            TIMER = new ScheduledThreadPoolExecutor(1,
+                    ThreadBindings.daemonThreadFactory("cayenne-snapshot-events-"));
+            TIMER.setKeepAliveTime(30, TimeUnit.SECONDS);
+            TIMER.allowCoreThreadTimeOut(true);
+            TIMER.setRemoveOnCancelPolicy(true);
+        }
+    }
+
+    static class Batch {
+
+        final Object postedBy;
+        final Map<ObjectId, DataRow> diffs;
+        final Set<ObjectId> deletedIds;
+        final Set<ObjectId> invalidatedIds;
+        final Set<ObjectId> indirectlyModifiedIds;
+
+        Batch(Object postedBy) {
+            this.postedBy = postedBy;
+            this.diffs = new HashMap<>();
+            this.deletedIds = new LinkedHashSet<>();
+            this.invalidatedIds = new LinkedHashSet<>();
+            this.indirectlyModifiedIds = new LinkedHashSet<>();
+        }
+
+        /**
+         * Merges a change set into this batch, returning the number of ids in the change set.
+         */
+        int merge(
+                Map<ObjectId, DataRow> diffs,
+                Collection<ObjectId> deletedIds,
+                Collection<ObjectId> invalidatedIds,
+                Collection<ObjectId> indirectlyModifiedIds) {
+
+            int size = 0;
+
+            if (diffs != null) {
+                for (Map.Entry<ObjectId, DataRow> entry : diffs.entrySet()) {
+                    // later diffs override the values of the earlier ones
+                    this.diffs.merge(entry.getKey(), entry.getValue(), DataRow::applyDiff);
+                    this.deletedIds.remove(entry.getKey());
+                }
+                size += diffs.size();
+            }
+
+            if (deletedIds != null) {
+                for (ObjectId id : deletedIds) {
+                    this.diffs.remove(id);
+                    this.deletedIds.add(id);
+                }
+                size += deletedIds.size();
+            }
+
+            if (invalidatedIds != null) {
+                this.invalidatedIds.addAll(invalidatedIds);
+                size += invalidatedIds.size();
+            }
+
+            if (indirectlyModifiedIds != null) {
+                this.indirectlyModifiedIds.addAll(indirectlyModifiedIds);
+                size += indirectlyModifiedIds.size();
+            }
+
+            return size;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.event;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics of snapshot change notifications of a single DataRowStore. Counts the number of snapshot
+ * change sets submitted to the store and the number of {@link SnapshotEvent SnapshotEvents} actually posted, that
+ * may be lower when event coalescing is enabled.
+ *
+ * @since 4.3
+ */
+public class SnapshotEventMetrics {
+
+    private final LongAdder changeSets;
+    private final LongAdder events;
+    private volatile long startTime;
+
+    public SnapshotEventMetrics() {
+        this.changeSets = new LongAdder();
+        this.events = new LongAdder();
+        this.startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Records a change set submitted for event notification.
+     */
+    public void changeSetReceived() {
+        changeSets.increment();
+    }
+
+    /**
+     * Records a posted SnapshotEvent.
+     */
+    public void eventPosted() {
+        events.increment();
+    }
+
+    /**
+     * Returns the number of change sets submitted for notification since creation or last reset.
+     */
+    public long getChangeSetCount() {
+        return changeSets.sum();
+    }
+
+    /**
+     * Returns the number of SnapshotEvents posted since creation or last reset.
+     */
+    public long getEventCount() {
+        return events.sum();
+    }
+
+    /**
+     * Returns the average number of change sets merged into a single posted event. Returns 1 when no events were
+     * posted yet.
+     */
+    public double getCoalescingRatio() {
+        long events = getEventCount();
+        return events > 0 ? (double) getChangeSetCount() / events : 1d;
+    }
+
+    /**
+     * Returns the average number of events posted per second since creation or last reset.
+     */
+    public double getEventRate() {
+        long elapsed = System.currentTimeMillis() - startTime;
+        return elapsed > 0 ? getEventCount() * 1000d / elapsed : 0d;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        changeSets.reset();
+        events.reset();
+        startTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "[SnapshotEventMetrics] change sets: " + getChangeSetCount()
+                + ", events: " + getEventCount()
+                + ", coalescing ratio: " + String.format("%.2f", getCoalescingRatio())
+                + ", events/sec: " + String.format("%.2f", getEventRate());
+    }
+}
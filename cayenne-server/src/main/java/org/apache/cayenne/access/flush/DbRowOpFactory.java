@@ -35,6 +35,7 @@ import org.apache.cayenne.access.flush.operation.DbRowOpType;
 import org.apache.cayenne.access.flush.operation.DeleteDbRowOp;
 import org.apache.cayenne.access.flush.operation.InsertDbRowOp;
 import org.apache.cayenne.access.flush.operation.UpdateDbRowOp;
+import org.apache.cayenne.access.flush.operation.UpsertDbRowOp;
 import org.apache.cayenne.exp.parser.ASTDbPath;
 import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.map.EntityResolver;
@@ -100,7 +101,10 @@ class DbRowOpFactory {
         }
         switch (type) {
             case INSERT:
-                return new InsertDbRowOp(object, entity, id);
+                // all the rows inserted for an upserted object are upserted too
+                return diff.isUpsert()
+                        ? new UpsertDbRowOp(object, entity, id)
+                        : new InsertDbRowOp(object, entity, id);
             case UPDATE:
                 return new UpdateDbRowOp(object, entity, id);
             case DELETE:
@@ -24,15 +24,19 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.ObjectId;
 import org.apache.cayenne.access.DataContext;
 import org.apache.cayenne.access.DataDomain;
+import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.ObjectDiff;
 import org.apache.cayenne.access.ObjectStore;
 import org.apache.cayenne.access.ObjectStoreGraphDiff;
@@ -47,6 +51,8 @@ import org.apache.cayenne.graph.GraphDiff;
 import org.apache.cayenne.log.JdbcEventLogger;
 import org.apache.cayenne.map.EntityResolver;
 import org.apache.cayenne.query.Query;
+import org.apache.cayenne.tx.BaseTransaction;
+import org.apache.cayenne.tx.Transaction;
 
 /**
  * Default implementation of {@link DataDomainFlushAction}.
@@ -60,11 +66,30 @@ public class DefaultDataDomainFlushAction implements DataDomainFlushAction {
     protected final JdbcEventLogger jdbcEventLogger;
     protected final OperationObserver observer;
 
+    /**
+     * @since 4.3
+     */
+    protected final Executor commitExecutor;
+
     protected DefaultDataDomainFlushAction(DataDomain dataDomain, DbRowOpSorter dbRowOpSorter, JdbcEventLogger jdbcEventLogger) {
+        this(dataDomain, dbRowOpSorter, jdbcEventLogger, null);
+    }
+
+    /**
+     * @param commitExecutor executor to run queries of different DataNodes concurrently, or null to run them one
+     *                       after another
+     * @since 4.3
+     */
+    protected DefaultDataDomainFlushAction(
+            DataDomain dataDomain,
+            DbRowOpSorter dbRowOpSorter,
+            JdbcEventLogger jdbcEventLogger,
+            Executor commitExecutor) {
         this.dataDomain = dataDomain;
         this.dbRowOpSorter = dbRowOpSorter;
         this.jdbcEventLogger = jdbcEventLogger;
         this.observer = new FlushObserver(jdbcEventLogger);
+        this.commitExecutor = commitExecutor;
     }
 
     @Override
@@ -165,16 +190,67 @@ public class DefaultDataDomainFlushAction implements DataDomainFlushAction {
     }
 
     /**
-     * Execute queries, grouping them by nodes
+     * Execute queries, grouping them by nodes. Nodes are processed concurrently if there's a commit executor and
+     * more than one node, otherwise one after another.
      * @param queries to execute
      */
     protected void executeQueries(List<? extends Query> queries) {
         EntityResolver entityResolver = dataDomain.getEntityResolver();
-        queries.stream()
-                .collect(Collectors.groupingBy(query
-                        -> dataDomain.lookupDataNode(query.getMetaData(entityResolver).getDataMap())))
-                .forEach((node, nodeQueries)
-                        -> node.performQueries(nodeQueries, observer));
+        Map<DataNode, List<Query>> queriesByNode = new LinkedHashMap<>();
+        for (Query query : queries) {
+            DataNode node = dataDomain.lookupDataNode(query.getMetaData(entityResolver).getDataMap());
+            queriesByNode.computeIfAbsent(node, n -> new ArrayList<>()).add(query);
+        }
+
+        Transaction transaction = BaseTransaction.getThreadTransaction();
+        if (commitExecutor != null && transaction != null && queriesByNode.size() > 1) {
+            executeQueriesInParallel(transaction, queriesByNode);
+        } else {
+            queriesByNode.forEach((node, nodeQueries) -> node.performQueries(nodeQueries, observer));
+        }
+    }
+
+    /**
+     * Runs queries of each node in a separate task within the shared transaction, waiting for all the tasks to finish.
+     *
+     * @since 4.3
+     */
+    protected void executeQueriesInParallel(Transaction transaction, Map<DataNode, List<Query>> queriesByNode) {
+        // transaction is not thread-safe when attaching new connections, so open them all before going parallel
+        for (DataNode node : queriesByNode.keySet()) {
+            try {
+                // closing a transaction connection leaves it open and attached to the transaction
+                node.getDataSource().getConnection().close();
+            } catch (Exception ex) {
+                jdbcEventLogger.logQueryError(ex);
+                transaction.setRollbackOnly();
+                observer.nextGlobalException(ex);
+                return;
+            }
+        }
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[queriesByNode.size()];
+        int i = 0;
+        for (Map.Entry<DataNode, List<Query>> entry : queriesByNode.entrySet()) {
+            DataNode node = entry.getKey();
+            List<Query> nodeQueries = entry.getValue();
+            tasks[i++] = CompletableFuture.runAsync(() -> BaseTransaction.getThreadBinding().callWith(transaction, () -> {
+                node.performQueries(nodeQueries, observer);
+                return null;
+            }), commitExecutor);
+        }
+
+        // waits for all the tasks, even if some of them failed, as the connections can't be rolled back while in use
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException ex) {
+            transaction.setRollbackOnly();
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CayenneRuntimeException(cause);
+        }
     }
 
     /**
@@ -19,10 +19,19 @@
 
 package org.apache.cayenne.access.flush;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.cayenne.access.DataDomain;
 import org.apache.cayenne.access.flush.operation.DbRowOpSorter;
+import org.apache.cayenne.configuration.Constants;
+import org.apache.cayenne.configuration.RuntimeProperties;
+import org.apache.cayenne.di.BeforeScopeEnd;
 import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.log.JdbcEventLogger;
+import org.apache.cayenne.util.ThreadBindings;
 
 /**
  * Factory that produces {@link DefaultDataDomainFlushAction}.
@@ -37,8 +46,53 @@ public class DefaultDataDomainFlushActionFactory implements DataDomainFlushActio
     @Inject
     private JdbcEventLogger jdbcEventLogger;
 
+    @Inject
+    private RuntimeProperties runtimeProperties;
+
+    private volatile ThreadPoolExecutor commitExecutor;
+
     @Override
     public DataDomainFlushAction createFlushAction(DataDomain dataDomain) {
-        return new DefaultDataDomainFlushAction(dataDomain, operationSorter, jdbcEventLogger);
+        return new DefaultDataDomainFlushAction(dataDomain, operationSorter, jdbcEventLogger, getCommitExecutor());
+    }
+
+    /**
+     * Returns an executor for concurrent commits of multiple DataNodes, or null if parallel commit is disabled via
+     * {@link Constants#SERVER_PARALLEL_COMMIT_THREADS_PROPERTY}. When all its threads are busy, a task is run by the
+     * submitting thread.
+     *
+     * @since 4.3
+     */
+    protected Executor getCommitExecutor() {
+        int threads = runtimeProperties.getInt(Constants.SERVER_PARALLEL_COMMIT_THREADS_PROPERTY, 0);
+        if (threads <= 0) {
+            return null;
+        }
+
+        ThreadPoolExecutor executor = this.commitExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.commitExecutor;
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(0, threads,
+                            30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                            ThreadBindings.daemonThreadFactory("cayenne-commit-"), (r, e) -> r.run());
+                    this.commitExecutor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * @since 4.3
+     */
+    @BeforeScopeEnd
+    public void shutdown() {
+        ThreadPoolExecutor executor = this.commitExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
     }
 }
@@ -30,6 +30,7 @@ import org.apache.cayenne.DataObject;
 import org.apache.cayenne.DataRow;
 import org.apache.cayenne.ObjectId;
 import org.apache.cayenne.access.DataContext;
+import org.apache.cayenne.access.LobValueFaults;
 import org.apache.cayenne.access.flush.operation.DbRowOp;
 import org.apache.cayenne.access.flush.operation.DbRowOpVisitor;
 import org.apache.cayenne.access.flush.operation.DeleteDbRowOp;
@@ -39,6 +40,7 @@ import org.apache.cayenne.exp.parser.ASTDbPath;
 import org.apache.cayenne.reflect.ArcProperty;
 import org.apache.cayenne.reflect.ClassDescriptor;
 import org.apache.cayenne.reflect.ToManyMapProperty;
+import org.apache.cayenne.value.LobValue;
 
 /**
  * @since 4.2
@@ -83,8 +85,17 @@ class PostprocessVisitor implements DbRowOpVisitor<Void> {
         }
         updatedSnapshots.put(dbRow.getObject().getObjectId(), dataRow);
 
-        // update Map reverse relationships
         ClassDescriptor descriptor = context.getEntityResolver().getClassDescriptor(dbRow.getChangeId().getEntityName());
+
+        // stream based LOB values were consumed by the commit, they should be read from the DB on next access
+        for (Object value : dataRow.values()) {
+            if (value instanceof LobValue && !((LobValue<?, ?>) value).isRepeatable()) {
+                LobValueFaults.replaceConsumedLobValues(descriptor, dbRow.getObject());
+                break;
+            }
+        }
+
+        // update Map reverse relationships
         for (ArcProperty arc : descriptor.getMapArcProperties()) {
             ToManyMapProperty reverseArc = (ToManyMapProperty) arc.getComplimentaryReverseArc();
 
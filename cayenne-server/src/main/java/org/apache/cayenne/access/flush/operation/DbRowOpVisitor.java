@@ -35,4 +35,13 @@ public interface DbRowOpVisitor<T> {
     default T visitDelete(DeleteDbRowOp dbRow) {
         return null;
     }
+
+    /**
+     * Upsert is an insert for all the visitors that don't care about the difference.
+     *
+     * @since 4.3
+     */
+    default T visitUpsert(UpsertDbRowOp dbRow) {
+        return visitInsert(dbRow);
+    }
 }
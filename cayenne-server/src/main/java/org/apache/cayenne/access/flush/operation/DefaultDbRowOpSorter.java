@@ -19,18 +19,30 @@
 
 package org.apache.cayenne.access.flush.operation;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 
 import org.apache.cayenne.access.DataDomain;
 import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.di.Provider;
+import org.apache.cayenne.map.DataMap;
 import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.map.EntityResolver;
 import org.apache.cayenne.map.EntitySorter;
 import org.apache.cayenne.map.ObjEntity;
 
 /**
+ * Sorts operations by type and entity dependencies, and reflexive operations of the same entity by the object
+ * relationships. Order of the entities is resolved once and cached, so that sorting of the operations takes linear
+ * time, only reflexive entities require additional per-row sorting. If there is an entity unknown to the cache, the
+ * operations are sorted using a comparator.
+ *
  * @since 4.2
  */
 public class DefaultDbRowOpSorter implements DbRowOpSorter {
@@ -38,20 +50,79 @@ public class DefaultDbRowOpSorter implements DbRowOpSorter {
     protected final Provider<DataDomain> dataDomainProvider;
     protected volatile Comparator<DbRowOp> comparator;
 
+    /**
+     * @since 4.3
+     */
+    protected volatile EntityOrder entityOrder;
+
     public DefaultDbRowOpSorter(@Inject Provider<DataDomain> dataDomainProvider) {
         this.dataDomainProvider = dataDomainProvider;
     }
 
     @Override
     public List<DbRowOp> sort(List<DbRowOp> dbRows) {
-        // sort by id, operation type and entity relations
-        dbRows.sort(getComparator());
+        // sort by operation type and entity relations
+        if (!sortByEntityOrder(dbRows)) {
+            dbRows.sort(getComparator());
+        }
         // sort reflexively dependent objects
         sortReflexive(dbRows);
 
         return dbRows;
     }
 
+    /**
+     * Sorts operations by type and cached entity order using a stable counting sort, that gives the same result as
+     * sorting with {@link DbRowComparator}.
+     *
+     * @return false if some of the entities are missing in the entity order, and the rows were not sorted
+     * @since 4.3
+     */
+    protected boolean sortByEntityOrder(List<DbRowOp> dbRows) {
+        int len = dbRows.size();
+        if (len < 2) {
+            return true;
+        }
+
+        EntityOrder order = getEntityOrder();
+        int[] keys = new int[len];
+        int i = 0;
+        for (DbRowOp row : dbRows) {
+            int key = order.key(row);
+            if (key < 0) {
+                // the model has changed, reindex and try again
+                order = createEntityOrder();
+                entityOrder = order;
+                key = order.key(row);
+                if (key < 0) {
+                    return false;
+                }
+            }
+            keys[i++] = key;
+        }
+
+        int[] offsets = new int[order.keyCount() + 1];
+        for (int key : keys) {
+            offsets[key + 1]++;
+        }
+        for (int k = 1; k < offsets.length; k++) {
+            offsets[k] += offsets[k - 1];
+        }
+
+        DbRowOp[] sorted = new DbRowOp[len];
+        i = 0;
+        for (DbRowOp row : dbRows) {
+            sorted[offsets[keys[i++]]++] = row;
+        }
+
+        ListIterator<DbRowOp> it = dbRows.listIterator();
+        for (DbRowOp row : sorted) {
+            it.next();
+            it.set(row);
+        }
+        return true;
+    }
+
     protected void sortReflexive(List<DbRowOp> sortedDbRows) {
         DataDomain dataDomain = dataDomainProvider.get();
         EntitySorter sorter = dataDomain.getEntitySorter();
@@ -82,6 +153,32 @@ public class DefaultDbRowOpSorter implements DbRowOpSorter {
         }
     }
 
+    /**
+     * Returns cached entity order, rebuilding it if the domain entity sorter was replaced, or DataMaps were added to
+     * or removed from the domain, as the sorter is reindexed in this case.
+     *
+     * @since 4.3
+     */
+    protected EntityOrder getEntityOrder() {
+        EntityOrder local = entityOrder;
+        DataDomain dataDomain = dataDomainProvider.get();
+        if(local == null || !local.isValidFor(dataDomain.getEntitySorter(), dataDomain.getEntityResolver())) {
+            // rebuilding is idempotent, so no need to synchronize
+            local = createEntityOrder();
+            entityOrder = local;
+        }
+        return local;
+    }
+
+    /**
+     * @since 4.3
+     */
+    protected EntityOrder createEntityOrder() {
+        DataDomain dataDomain = dataDomainProvider.get();
+        EntityResolver resolver = dataDomain.getEntityResolver();
+        return new EntityOrder(resolver.getDataMaps(), resolver.getDbEntities(), dataDomain.getEntitySorter());
+    }
+
     protected Comparator<DbRowOp> getComparator() {
         Comparator<DbRowOp> local = comparator;
         if(local == null) {
@@ -128,6 +225,83 @@ public class DefaultDbRowOpSorter implements DbRowOpSorter {
         }
     }
 
+    /**
+     * Immutable ranks of all the DbEntities in the order defined by the {@link EntitySorter}. Entities that the sorter
+     * considers equal, e.g. the ones with cyclic dependencies, share the same rank.
+     *
+     * @since 4.3
+     */
+    protected static class EntityOrder {
+
+        private static final int TYPE_COUNT = DbRowOpType.values().length;
+
+        private final EntitySorter entitySorter;
+        private final List<DataMap> dataMaps;
+        private final Map<DbEntity, Integer> ranks;
+        private final int rankCount;
+
+        protected EntityOrder(Collection<DataMap> dataMaps, Collection<DbEntity> entities, EntitySorter entitySorter) {
+            this.entitySorter = entitySorter;
+            this.dataMaps = new ArrayList<>(dataMaps);
+            List<DbEntity> sorted = new ArrayList<>(entities);
+            Comparator<DbEntity> entityComparator = entitySorter.getDbEntityComparator();
+            sorted.sort(entityComparator);
+
+            this.ranks = new HashMap<>(sorted.size());
+            int rank = -1;
+            DbEntity previous = null;
+            for (DbEntity entity : sorted) {
+                if (previous == null || entityComparator.compare(previous, entity) != 0) {
+                    rank++;
+                }
+                ranks.put(entity, rank);
+                previous = entity;
+            }
+            this.rankCount = rank + 1;
+        }
+
+        /**
+         * Checks that the order was built by the same sorter for the same set of DataMaps.
+         */
+        boolean isValidFor(EntitySorter entitySorter, EntityResolver resolver) {
+            if (this.entitySorter != entitySorter) {
+                return false;
+            }
+
+            Collection<DataMap> currentMaps = resolver.getDataMaps();
+            if (currentMaps.size() != dataMaps.size()) {
+                return false;
+            }
+
+            Iterator<DataMap> it = dataMaps.iterator();
+            for (DataMap map : currentMaps) {
+                if (map != it.next()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int keyCount() {
+            return TYPE_COUNT * rankCount;
+        }
+
+        /**
+         * Returns a sort key of the row, or -1 if the row entity is unknown.
+         */
+        int key(DbRowOp row) {
+            Integer rank = ranks.get(row.getEntity());
+            if (rank == null) {
+                return -1;
+            }
+
+            DbRowOpType type = row.accept(DbRowTypeVisitor.INSTANCE);
+            // dependent entities go first for delete
+            int entityKey = type == DbRowOpType.DELETE ? rankCount - 1 - rank : rank;
+            return type.ordinal() * rankCount + entityKey;
+        }
+    }
+
     protected static class DbRowTypeVisitor implements DbRowOpVisitor<DbRowOpType> {
 
         private static final DbRowTypeVisitor INSTANCE = new DbRowTypeVisitor();
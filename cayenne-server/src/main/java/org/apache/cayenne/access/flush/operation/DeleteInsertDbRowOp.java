@@ -39,7 +39,8 @@ public class DeleteInsertDbRowOp extends BaseDbRowOp {
     @Override
     public <T> T accept(DbRowOpVisitor<T> visitor) {
         visitor.visitDelete(delete);
-        return visitor.visitInsert(insert);
+        // insert may be an upsert
+        return insert.accept(visitor);
     }
 
     @Override
@@ -58,7 +58,8 @@ public class InsertDbRowOp extends BaseDbRowOp implements DbRowOpWithValues {
 
     @Override
     public boolean isSameBatch(DbRowOp rowOp) {
-        if(!(rowOp instanceof InsertDbRowOp)) {
+        // upserts are executed by a different query
+        if(!(rowOp instanceof InsertDbRowOp) || rowOp instanceof UpsertDbRowOp) {
             return false;
         }
         return rowOp.getEntity().getName().equals(getEntity().getName());
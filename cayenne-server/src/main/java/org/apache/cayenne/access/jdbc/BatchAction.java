@@ -27,6 +27,7 @@ import org.apache.cayenne.access.OptimisticLockException;
 import org.apache.cayenne.access.jdbc.reader.RowReader;
 import org.apache.cayenne.access.translator.DbAttributeBinding;
 import org.apache.cayenne.access.translator.batch.BatchTranslator;
+import org.apache.cayenne.access.translator.batch.InsertBatchTranslator;
 import org.apache.cayenne.dba.DbAdapter;
 import org.apache.cayenne.dba.TypesMapping;
 import org.apache.cayenne.log.JdbcEventLogger;
@@ -84,6 +85,19 @@ public class BatchAction extends BaseSQLAction {
 	public void performAction(Connection connection, OperationObserver observer) throws Exception {
 		BatchTranslator translator = createTranslator();
 
+		if (splitsIntoDependencyLevels(translator)) {
+			performActionByDependencyLevels(connection, translator, observer);
+			return;
+		}
+
+		int multiRowInsertSize = multiRowInsertSize(translator, query.getRows());
+		if (multiRowInsertSize > 1) {
+			boolean generatesKeys = hasGeneratedKeys() && supportsGeneratedKeys(true);
+			runAsMultiRowInserts(connection, (InsertBatchTranslator) translator, observer, generatesKeys,
+					multiRowInsertSize, query.getRows());
+			return;
+		}
+
 		boolean isBatch = canRunAsBatch();
 		boolean generatesKeys = hasGeneratedKeys() && supportsGeneratedKeys(isBatch);
 
@@ -94,26 +108,138 @@ public class BatchAction extends BaseSQLAction {
 		}
 	}
 
+	/**
+	 * Executes the rows of a reflexive insert level by level, each level depending only on the rows already
+	 * inserted. The rows are sorted so that the referenced rows go first, so a level ends at the first row that
+	 * can't be resolved yet, and a single pass over the rows is enough. Each level is executed via the row list
+	 * flavors of {@link #canRunAsBatch(List)}, {@link #runAsBatch(Connection, BatchTranslator, OperationObserver,
+	 * boolean, List)} and {@link #runAsIndividualQueries(Connection, BatchTranslator, OperationObserver, boolean,
+	 * List)}.
+	 */
+	private void performActionByDependencyLevels(Connection connection, BatchTranslator translator,
+			OperationObserver observer) throws Exception {
+
+		List<BatchQueryRow> level = new ArrayList<>();
+		for (BatchQueryRow row : query.getRows()) {
+
+			// if the row is still unresolved after its level is executed, the rows are not sorted properly,
+			// still proceed with it, its unresolved values will be reported on binding
+			if (!level.isEmpty() && row.hasUnresolvedValues()) {
+				performLevel(connection, translator, observer, level);
+				level = new ArrayList<>();
+			}
+
+			level.add(row);
+		}
+
+		performLevel(connection, translator, observer, level);
+	}
+
+	private void performLevel(Connection connection, BatchTranslator translator, OperationObserver observer,
+			List<BatchQueryRow> rows) throws Exception {
+
+		int multiRowInsertSize = multiRowInsertSize(translator, rows);
+		if (multiRowInsertSize > 1) {
+			boolean generatesKeys = hasGeneratedKeys() && supportsGeneratedKeys(true);
+			runAsMultiRowInserts(connection, (InsertBatchTranslator) translator, observer, generatesKeys,
+					multiRowInsertSize, rows);
+			return;
+		}
+
+		boolean isBatch = canRunAsBatch(rows);
+		boolean generatesKeys = hasGeneratedKeys() && supportsGeneratedKeys(isBatch);
+
+		if (isBatch) {
+			runAsBatch(connection, translator, observer, generatesKeys, rows);
+		} else {
+			runAsIndividualQueries(connection, translator, observer, generatesKeys, rows);
+		}
+	}
+
+	/**
+	 * Returns whether the whole query can be executed as a single JDBC batch. Used unless the query is split into
+	 * dependency levels, in which case {@link #canRunAsBatch(List)} is checked for each level.
+	 */
 	protected boolean canRunAsBatch() {
-		if(!runningAsBatch || query.getRows().size() <= 1) {
+		// rows of a reflexive entity with generated keys can only be batched when split into dependency levels
+		return canRunAsBatch(query.getRows()) && !(hasGeneratedKeys() && isReflexive());
+	}
+
+	/**
+	 * Returns whether the rows can be executed as a single JDBC batch. The rows are assumed to be independent of
+	 * each other.
+	 *
+	 * @since 4.3
+	 */
+	protected boolean canRunAsBatch(List<BatchQueryRow> rows) {
+		if(!runningAsBatch || rows.size() <= 1) {
 			return false;
 		}
 
 		if (hasGeneratedKeys()) {
 			// turn off batch mode if we generate keys but can't do so in a batch
-			return supportsGeneratedKeys(true) &&
-					!dataNode.getEntityResolver().getEntitySorter().isReflexive(query.getDbEntity());
+			return supportsGeneratedKeys(true);
 		}
 
 		return true;
 	}
 
+	/**
+	 * Returns whether the query rows should be split into dependency levels. This is needed for the inserts into a
+	 * reflexive entity with generated keys, as the keys are not known until the referenced rows are inserted. Without
+	 * the split such inserts can't be batched and are executed one by one.
+	 *
+	 * @since 4.3
+	 */
+	protected boolean splitsIntoDependencyLevels(BatchTranslator translator) {
+		if (query.getRows().size() <= 1 || !hasGeneratedKeys() || !supportsGeneratedKeys(true) || !isReflexive()) {
+			return false;
+		}
+
+		// only makes sense if the levels can be batched in one way or the other
+		return runningAsBatch || multiRowInsertSize(translator, query.getRows()) > 1;
+	}
+
+	private boolean isReflexive() {
+		return dataNode.getEntityResolver().getEntitySorter().isReflexive(query.getDbEntity());
+	}
+
+	/**
+	 * Returns the max number of rows to insert with a single multi-row statement, or 1 if multi-row inserts can't be
+	 * used for the rows. The rows are assumed to be independent of each other.
+	 *
+	 * @since 4.3
+	 */
+	protected int multiRowInsertSize(BatchTranslator translator, List<BatchQueryRow> rows) {
+		if (!(translator instanceof InsertBatchTranslator) || rows.size() <= 1) {
+			return 1;
+		}
+
+		if (hasGeneratedKeys() && supportsGeneratedKeys(false) && !supportsGeneratedKeys(true)) {
+			// generated keys are read for the whole statement, so the same rules apply as for the JDBC batches
+			return 1;
+		}
+
+		int parametersPerRow = ((InsertBatchTranslator) translator).getParametersPerRow();
+		return dataNode.getAdapter().getMaxMultiRowInsertSize(parametersPerRow);
+	}
+
 	protected BatchTranslator createTranslator() {
 		return dataNode.batchTranslator(query, null);
 	}
 
 	protected void runAsBatch(Connection con, BatchTranslator translator, OperationObserver delegate, boolean generatesKeys)
 			throws Exception {
+		runAsBatch(con, translator, delegate, generatesKeys, query.getRows());
+	}
+
+	/**
+	 * Executes given rows of the query as a single JDBC batch.
+	 *
+	 * @since 4.3
+	 */
+	protected void runAsBatch(Connection con, BatchTranslator translator, OperationObserver delegate,
+			boolean generatesKeys, List<BatchQueryRow> rows) throws Exception {
 
 		String sql = translator.getSql();
 		JdbcEventLogger logger = dataNode.getJdbcEventLogger();
@@ -127,7 +253,7 @@ public class BatchAction extends BaseSQLAction {
 		DbAdapter adapter = dataNode.getAdapter();
 
 		try (PreparedStatement statement = prepareStatement(con, sql, adapter, generatesKeys)) {
-			for (BatchQueryRow row : query.getRows()) {
+			for (BatchQueryRow row : rows) {
 
 				DbAttributeBinding[] bindings = translator.updateBindings(row);
 				logger.logQueryParameters("batch bind", bindings);
@@ -141,7 +267,7 @@ public class BatchAction extends BaseSQLAction {
 			delegate.nextBatchCount(query, results);
 
 			if (generatesKeys) {
-				processGeneratedKeys(statement, delegate, query.getRows());
+				processGeneratedKeys(statement, delegate, rows);
 			}
 			
 			if (isLoggable) {
@@ -163,13 +289,74 @@ public class BatchAction extends BaseSQLAction {
 		}
 	}
 
+	/**
+	 * Executes given rows of the insert batch as a series of multi-row "INSERT ... VALUES (...), (...)" statements,
+	 * each inserting up to "maxRows" rows.
+	 *
+	 * @since 4.3
+	 */
+	protected void runAsMultiRowInserts(Connection connection, InsertBatchTranslator translator,
+			OperationObserver delegate, boolean generatesKeys, int maxRows, List<BatchQueryRow> rows)
+			throws Exception {
+
+		JdbcEventLogger logger = dataNode.getJdbcEventLogger();
+		DbAdapter adapter = dataNode.getAdapter();
+
+		// all chunks except maybe the last one have the same size, so the statement is prepared at most twice
+		PreparedStatement statement = null;
+		int statementRows = 0;
+		try {
+			for (int from = 0; from < rows.size(); from += maxRows) {
+				List<BatchQueryRow> chunk = rows.subList(from, Math.min(from + maxRows, rows.size()));
+
+				if (chunk.size() != statementRows) {
+					if (statement != null) {
+						statement.close();
+					}
+
+					String sql = translator.getSql(chunk.size());
+					logger.log(sql);
+					statement = prepareStatement(connection, sql, adapter, generatesKeys);
+					statementRows = chunk.size();
+				}
+
+				DbAttributeBinding[] bindings = translator.updateBindings(chunk);
+				logger.logQueryParameters("bind", bindings);
+				bind(adapter, statement, bindings);
+
+				int updated = statement.executeUpdate();
+				delegate.nextCount(query, updated);
+
+				if (generatesKeys) {
+					processGeneratedKeys(statement, delegate, chunk);
+				}
+
+				logger.logUpdateCount(updated);
+			}
+		} finally {
+			if (statement != null) {
+				statement.close();
+			}
+		}
+	}
+
 	/**
 	 * Executes batch as individual queries over the same prepared statement.
 	 */
 	protected void runAsIndividualQueries(Connection connection, BatchTranslator translator,
 			OperationObserver delegate, boolean generatesKeys) throws SQLException, Exception {
+		runAsIndividualQueries(connection, translator, delegate, generatesKeys, query.getRows());
+	}
+
+	/**
+	 * Executes given rows of the query as individual queries over the same prepared statement.
+	 *
+	 * @since 4.3
+	 */
+	protected void runAsIndividualQueries(Connection connection, BatchTranslator translator,
+			OperationObserver delegate, boolean generatesKeys, List<BatchQueryRow> rows) throws Exception {
 
-		if(query.getRows().isEmpty()) {
+		if(rows.isEmpty()) {
 			return;
 		}
 
@@ -186,7 +373,7 @@ public class BatchAction extends BaseSQLAction {
 		DbAdapter adapter = dataNode.getAdapter();
 
 		try (PreparedStatement statement = prepareStatement(connection, queryStr, adapter, generatesKeys)) {
-			for (BatchQueryRow row : query.getRows()) {
+			for (BatchQueryRow row : rows) {
 
 				DbAttributeBinding[] bindings = translator.updateBindings(row);
 				logger.logQueryParameters("bind", bindings);
@@ -0,0 +1,68 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import org.apache.cayenne.access.DataNode;
+import org.apache.cayenne.access.OperationObserver;
+import org.apache.cayenne.access.translator.DbAttributeBinding;
+import org.apache.cayenne.access.translator.bulk.BulkTranslator;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.log.JdbcEventLogger;
+import org.apache.cayenne.query.FluentBulkQuery;
+
+/**
+ * Executes a bulk UPDATE or DELETE query as a single statement.
+ *
+ * @since 4.3
+ */
+public class BulkAction extends BaseSQLAction {
+
+    protected FluentBulkQuery<?, ?> query;
+
+    public BulkAction(FluentBulkQuery<?, ?> query, DataNode dataNode) {
+        super(dataNode);
+        this.query = query;
+    }
+
+    @Override
+    public void performAction(Connection connection, OperationObserver observer) throws Exception {
+        DbAdapter adapter = dataNode.getAdapter();
+        BulkTranslator translator = new BulkTranslator(query, adapter, dataNode.getEntityResolver());
+
+        String sql = translator.getSql();
+        DbAttributeBinding[] bindings = translator.getParameterBindings();
+
+        JdbcEventLogger logger = dataNode.getJdbcEventLogger();
+        logger.logQuery(sql, bindings);
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (DbAttributeBinding binding : bindings) {
+                adapter.bindParameter(statement, binding);
+            }
+
+            int updated = statement.executeUpdate();
+            logger.logUpdateCount(updated);
+            observer.nextCount(query, updated);
+        }
+    }
+}
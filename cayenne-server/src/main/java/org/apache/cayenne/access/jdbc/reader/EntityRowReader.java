@@ -21,6 +21,7 @@ package org.apache.cayenne.access.jdbc.reader;
 import java.sql.ResultSet;
 
 import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.CompactDataRow;
 import org.apache.cayenne.DataRow;
 import org.apache.cayenne.access.jdbc.ColumnDescriptor;
 import org.apache.cayenne.access.jdbc.RowDescriptor;
@@ -39,7 +40,7 @@ class EntityRowReader implements RowReader<DataRow> {
     private int[] types;
 
     String entityName;
-    private int mapCapacity;
+    private CompactDataRow.ColumnIndex columnIndex;
     private int startIndex;
 
     DataRowPostProcessor postProcessor;
@@ -77,23 +78,25 @@ class EntityRowReader implements RowReader<DataRow> {
                 labels[i] = segmentMetadata.getColumnPath(columns[startIndex + i].getDataRowKey());
             }
         }
-        this.mapCapacity = (int) Math.ceil(segmentWidth / 0.75);
+        this.columnIndex = new CompactDataRow.ColumnIndex(labels);
     }
 
     @Override
     public DataRow readRow(ResultSet resultSet) {
 
         try {
-            DataRow row = new DataRow(mapCapacity);
+            Object[] values = new Object[columnIndex.size()];
             int len = converters.length;
 
             for (int i = 0; i < len; i++) {
 
                 // note: jdbc column indexes start from 1, not 0 as in arrays
                 Object val = converters[i].materializeObject(resultSet, startIndex + i + 1, types[i]);
-                row.put(labels[i], val);
+                values[columnIndex.columnPosition(i)] = val;
             }
 
+            DataRow row = new CompactDataRow(columnIndex, values);
+
             postprocessRow(resultSet, row);
 
             return row;
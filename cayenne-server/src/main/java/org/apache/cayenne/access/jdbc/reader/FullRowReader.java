@@ -21,6 +21,7 @@ package org.apache.cayenne.access.jdbc.reader;
 import java.sql.ResultSet;
 
 import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.CompactDataRow;
 import org.apache.cayenne.DataRow;
 import org.apache.cayenne.access.jdbc.RowDescriptor;
 import org.apache.cayenne.query.QueryMetadata;
@@ -31,17 +32,18 @@ import org.apache.cayenne.util.Util;
  */
 class FullRowReader extends BaseRowReader<DataRow> {
 
-    int mapCapacity;
+    // shared by all rows produced by this reader
+    CompactDataRow.ColumnIndex columnIndex;
 
     FullRowReader(RowDescriptor descriptor, QueryMetadata queryMetadata, DataRowPostProcessor postProcessor) {
         super(descriptor, queryMetadata, postProcessor);
-        this.mapCapacity = (int) Math.ceil((descriptor.getWidth()) / 0.75);
+        this.columnIndex = new CompactDataRow.ColumnIndex(labels);
     }
 
     @Override
     public DataRow readRow(ResultSet resultSet) {
         try {
-            DataRow dataRow = new DataRow(mapCapacity);
+            Object[] values = new Object[columnIndex.size()];
 
             int resultWidth = labels.length;
 
@@ -50,9 +52,11 @@ class FullRowReader extends BaseRowReader<DataRow> {
                 // note: jdbc column indexes start from 1, not 0 unlike
                 // everywhere else
                 Object val = converters[i].materializeObject(resultSet, i + 1, types[i]);
-                dataRow.put(labels[i], val);
+                values[columnIndex.columnPosition(i)] = val;
             }
 
+            DataRow dataRow = new CompactDataRow(columnIndex, values);
+
             postprocessRow(resultSet, dataRow);
 
             return dataRow;
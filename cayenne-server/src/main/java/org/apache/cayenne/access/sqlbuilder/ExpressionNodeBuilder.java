@@ -88,6 +88,16 @@ public class ExpressionNodeBuilder implements ExpressionTrait {
         return new ExpressionNodeBuilder(new ExpNodeBuilder(operand, ">="));
     }
 
+    /**
+     * Creates an IN condition, operand is expected to be a subquery.
+     *
+     * @since 4.3
+     */
+    @Override
+    public ExpressionNodeBuilder in(NodeBuilder operand) {
+        return new ExpressionNodeBuilder(new ExpNodeBuilder(operand, "IN"));
+    }
+
     public ExpressionNodeBuilder not() {
         return new ExpressionNodeBuilder(() -> {
             Node and = new NotNode();
@@ -59,4 +59,11 @@ interface ExpressionTrait extends NodeBuilder {
     default ExpressionNodeBuilder div(NodeBuilder nodeBuilder) {
         return new ExpressionNodeBuilder(this).div(nodeBuilder);
     }
+
+    /**
+     * @since 4.3
+     */
+    default ExpressionNodeBuilder in(NodeBuilder nodeBuilder) {
+        return new ExpressionNodeBuilder(this).in(nodeBuilder);
+    }
 }
@@ -19,10 +19,15 @@
 
 package org.apache.cayenne.access.sqlbuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.cayenne.access.sqlbuilder.sqltree.InsertColumnsNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.InsertNode;
-import org.apache.cayenne.access.sqlbuilder.sqltree.TableNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.InsertValuesNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.InsertValuesRowNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.sqlbuilder.sqltree.TableNode;
 import org.apache.cayenne.map.DbEntity;
 
 /**
@@ -38,6 +43,11 @@ public class InsertBuilder extends BaseBuilder {
     private static final int COLUMNS_NODE = 1;
     private static final int VALUES_NODE  = 2;
 
+    /**
+     * Rows of values following the first one, for multi-row inserts
+     */
+    private List<Node> nextRows;
+
     public InsertBuilder(String table) {
         super(new InsertNode(), VALUES_NODE + 1);
         node(TABLE_NODE, () -> new TableNode(table, null));
@@ -54,7 +64,35 @@ public class InsertBuilder extends BaseBuilder {
     }
 
     public InsertBuilder value(ValueNodeBuilder valueNode) {
-        node(VALUES_NODE, InsertValuesNode::new).addChild(valueNode.build());
+        Node row = nextRows == null
+                ? node(VALUES_NODE, InsertValuesNode::new)
+                : nextRows.get(nextRows.size() - 1);
+        row.addChild(valueNode.build());
         return this;
     }
+
+    /**
+     * Starts a new row of values. All subsequent {@link #value(ValueNodeBuilder)} calls will add values to this row.
+     *
+     * @since 4.3
+     */
+    public InsertBuilder nextRow() {
+        node(VALUES_NODE, InsertValuesNode::new);
+        if (nextRows == null) {
+            nextRows = new ArrayList<>();
+        }
+        nextRows.add(new InsertValuesRowNode());
+        return this;
+    }
+
+    @Override
+    public Node build() {
+        super.build();
+        if (nextRows != null) {
+            for (Node row : nextRows) {
+                root.addChild(row);
+            }
+        }
+        return root;
+    }
 }
@@ -19,6 +19,8 @@
 
 package org.apache.cayenne.access.translator.batch;
 
+import java.util.List;
+
 import org.apache.cayenne.access.sqlbuilder.InsertBuilder;
 import org.apache.cayenne.access.sqlbuilder.SQLBuilder;
 import org.apache.cayenne.access.translator.DbAttributeBinding;
@@ -39,29 +41,86 @@ public class InsertBatchTranslator extends BaseBatchTranslator<InsertBatchQuery>
 
     @Override
     public String getSql() {
+        return getSql(1);
+    }
+
+    /**
+     * Returns SQL for a multi-row insert, i.e. "INSERT INTO t (a, b) VALUES (?, ?), (?, ?)". Bindings for this SQL
+     * should be updated via {@link #updateBindings(List)} call.
+     *
+     * @param rowCount number of rows to insert with a single statement
+     * @since 4.3
+     */
+    public String getSql(int rowCount) {
         InsertBatchQuery query = context.getQuery();
         InsertBuilder insertBuilder = SQLBuilder.insert(context.getRootDbEntity());
 
+        // reset bindings, left from the previous translation
+        context.getBindings().clear();
+
         for(DbAttribute attribute : query.getDbAttributes()) {
             // skip generated attributes, if needed
             if(excludeInBatch(attribute)) {
                 continue;
             }
-            insertBuilder
-                    .column(SQLBuilder.column(attribute.getName()).attribute(attribute))
-                    // We can use here any non-null value, to create attribute binding,
-                    // actual value and ExtendedType will be set at updateBindings() call.
-                    .value(SQLBuilder.value(1).attribute(attribute));
+            insertBuilder.column(SQLBuilder.column(attribute.getName()).attribute(attribute));
+        }
+
+        for(int row = 0; row < rowCount; row++) {
+            if(row > 0) {
+                insertBuilder.nextRow();
+            }
+            for(DbAttribute attribute : query.getDbAttributes()) {
+                if(excludeInBatch(attribute)) {
+                    continue;
+                }
+                // We can use here any non-null value, to create attribute binding,
+                // actual value and ExtendedType will be set at updateBindings() call.
+                insertBuilder.value(SQLBuilder.value(1).attribute(attribute));
+            }
         }
 
         return doTranslate(insertBuilder);
     }
 
+    /**
+     * Returns the number of parameters bound for each inserted row.
+     *
+     * @since 4.3
+     */
+    public int getParametersPerRow() {
+        int count = 0;
+        for(DbAttribute attribute : context.getQuery().getDbAttributes()) {
+            if(!excludeInBatch(attribute)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public DbAttributeBinding[] updateBindings(BatchQueryRow row) {
+        updateBindings(row, 0);
+        return bindings;
+    }
+
+    /**
+     * Updates bindings of a multi-row insert SQL, created by {@link #getSql(int)} call.
+     *
+     * @since 4.3
+     */
+    public DbAttributeBinding[] updateBindings(List<BatchQueryRow> rows) {
+        int offset = 0;
+        for(BatchQueryRow row : rows) {
+            offset = updateBindings(row, offset);
+        }
+        return bindings;
+    }
+
+    private int updateBindings(BatchQueryRow row, int offset) {
         InsertBatchQuery query = context.getQuery();
         int i=0;
-        int j=0;
+        int j=offset;
         for(DbAttribute attribute : query.getDbAttributes()) {
             if(excludeInBatch(attribute)) {
                 i++;
@@ -74,7 +133,7 @@ public class InsertBatchTranslator extends BaseBatchTranslator<InsertBatchQuery>
                     : context.getAdapter().getExtendedTypes().getDefaultType();
             bindings[j].include(++j, value, extendedType);
         }
-        return bindings;
+        return j;
     }
 
     protected boolean excludeInBatch(DbAttribute attribute) {
@@ -0,0 +1,101 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.batch;
+
+import java.util.List;
+
+import org.apache.cayenne.access.sqlbuilder.sqltree.InsertValuesNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.sqlbuilder.sqltree.TableNode;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.query.UpsertBatchQuery;
+
+/**
+ * Upsert translator for the databases supporting standard SQL "MERGE" statement, like HSQLDB, H2, DB2, SQL Server
+ * and Oracle:
+ * <pre>
+ * MERGE INTO t t0 USING (VALUES(?, ?, ?)) s0(id, a, b) ON (t0.id = s0.id)
+ * WHEN MATCHED THEN UPDATE SET a = s0.a, b = s0.b
+ * WHEN NOT MATCHED THEN INSERT(id, a, b) VALUES(s0.id, s0.a, s0.b)
+ * </pre>
+ *
+ * @since 4.3
+ */
+public class MergeUpsertBatchTranslator extends UpsertBatchTranslator {
+
+    protected static final String TARGET_ALIAS = "t0";
+    protected static final String SOURCE_ALIAS = "s0";
+
+    public MergeUpsertBatchTranslator(UpsertBatchQuery query, DbAdapter adapter) {
+        super(query, adapter);
+    }
+
+    @Override
+    protected Node createUpsert() {
+        List<DbAttribute> inserted = getInsertedAttributes();
+
+        Node root = root();
+        root.addChild(text("MERGE INTO"));
+        root.addChild(new TableNode(context.getRootDbEntity(), TARGET_ALIAS));
+        root.addChild(text(" USING"));
+        appendSource(root, inserted);
+
+        root.addChild(text(" ON ("));
+        boolean first = true;
+        for(DbAttribute attribute : getKeyAttributes()) {
+            if(!first) {
+                root.addChild(text(" AND"));
+            }
+            first = false;
+            root.addChild(column(TARGET_ALIAS, attribute));
+            root.addChild(text(" ="));
+            root.addChild(column(SOURCE_ALIAS, attribute));
+        }
+        root.addChild(text(")"));
+
+        List<DbAttribute> updated = getUpdatedAttributes();
+        if(!updated.isEmpty()) {
+            root.addChild(text(" WHEN MATCHED THEN UPDATE SET"));
+            appendAssignments(root, updated, SOURCE_ALIAS);
+        }
+
+        root.addChild(text(" WHEN NOT MATCHED THEN INSERT"));
+        root.addChild(columns(inserted));
+        Node values = new InsertValuesNode();
+        for(DbAttribute attribute : inserted) {
+            values.addChild(column(SOURCE_ALIAS, attribute));
+        }
+        root.addChild(values);
+        return root;
+    }
+
+    /**
+     * Appends the source of the merged values, a single row derived table aliased as {@link #SOURCE_ALIAS}, with
+     * the columns named after the inserted attributes.
+     */
+    protected void appendSource(Node root, List<DbAttribute> inserted) {
+        root.addChild(text(" ("));
+        root.addChild(values());
+        root.addChild(text(")"));
+        root.addChild(new TableNode(SOURCE_ALIAS, null));
+        root.addChild(columns(inserted));
+    }
+}
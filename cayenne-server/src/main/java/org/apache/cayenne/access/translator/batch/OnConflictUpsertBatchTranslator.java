@@ -0,0 +1,62 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.batch;
+
+import java.util.List;
+
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.query.UpsertBatchQuery;
+
+/**
+ * Upsert translator for the databases supporting "INSERT ... ON CONFLICT" clause, like PostgreSQL and SQLite:
+ * <pre>
+ * INSERT INTO t(id, a, b) VALUES(?, ?, ?) ON CONFLICT(id) DO UPDATE SET a = excluded.a, b = excluded.b
+ * </pre>
+ *
+ * @since 4.3
+ */
+public class OnConflictUpsertBatchTranslator extends UpsertBatchTranslator {
+
+    // lower case, so that it is still recognized when identifiers are quoted
+    private static final String EXCLUDED_TABLE = "excluded";
+
+    public OnConflictUpsertBatchTranslator(UpsertBatchQuery query, DbAdapter adapter) {
+        super(query, adapter);
+    }
+
+    @Override
+    protected Node createUpsert() {
+        Node root = root();
+        root.addChild(insert());
+        root.addChild(text(" ON CONFLICT"));
+        root.addChild(columns(getKeyAttributes()));
+
+        List<DbAttribute> updated = getUpdatedAttributes();
+        if(updated.isEmpty()) {
+            root.addChild(text(" DO NOTHING"));
+        } else {
+            root.addChild(text(" DO UPDATE SET"));
+            appendAssignments(root, updated, EXCLUDED_TABLE);
+        }
+        return root;
+    }
+}
@@ -0,0 +1,73 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.batch;
+
+import java.util.List;
+
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.query.UpsertBatchQuery;
+
+/**
+ * Upsert translator for the databases supporting "INSERT ... ON DUPLICATE KEY UPDATE" clause, like MySQL and
+ * MariaDB:
+ * <pre>
+ * INSERT INTO t(id, a, b) VALUES(?, ?, ?) ON DUPLICATE KEY UPDATE a = VALUES(a), b = VALUES(b)
+ * </pre>
+ *
+ * @since 4.3
+ */
+public class OnDuplicateKeyUpsertBatchTranslator extends UpsertBatchTranslator {
+
+    public OnDuplicateKeyUpsertBatchTranslator(UpsertBatchQuery query, DbAdapter adapter) {
+        super(query, adapter);
+    }
+
+    @Override
+    protected Node createUpsert() {
+        Node root = root();
+        root.addChild(insert());
+        root.addChild(text(" ON DUPLICATE KEY UPDATE"));
+
+        List<DbAttribute> updated = getUpdatedAttributes();
+        if(updated.isEmpty()) {
+            // the clause can't be empty, so just keep the existing row as is
+            DbAttribute pk = getKeyAttributes().get(0);
+            root.addChild(column(null, pk));
+            root.addChild(text(" ="));
+            root.addChild(column(null, pk));
+            return root;
+        }
+
+        boolean first = true;
+        for(DbAttribute attribute : updated) {
+            if(!first) {
+                root.addChild(text(","));
+            }
+            first = false;
+            root.addChild(column(null, attribute));
+            root.addChild(text(" = VALUES("));
+            root.addChild(column(null, attribute));
+            root.addChild(text(")"));
+        }
+        return root;
+    }
+}
@@ -0,0 +1,190 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cayenne.access.sqlbuilder.InsertBuilder;
+import org.apache.cayenne.access.sqlbuilder.SQLBuilder;
+import org.apache.cayenne.access.sqlbuilder.sqltree.ColumnNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.EmptyNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.InsertColumnsNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.InsertValuesNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.sqlbuilder.sqltree.TextNode;
+import org.apache.cayenne.access.translator.DbAttributeBinding;
+import org.apache.cayenne.access.types.ExtendedType;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.query.BatchQueryRow;
+import org.apache.cayenne.query.UpsertBatchQuery;
+
+/**
+ * Base translator of the "upsert" batches. Subclasses generate the database specific upsert statement, that must
+ * bind the values of the {@link #getInsertedAttributes() inserted attributes} exactly once and in the same order.
+ *
+ * @since 4.3
+ */
+public abstract class UpsertBatchTranslator extends BaseBatchTranslator<UpsertBatchQuery> implements BatchTranslator {
+
+    public UpsertBatchTranslator(UpsertBatchQuery query, DbAdapter adapter) {
+        super(query, adapter);
+    }
+
+    @Override
+    public String getSql() {
+        // reset bindings, left from the previous translation
+        context.getBindings().clear();
+        return doTranslate(SQLBuilder.node(createUpsert()));
+    }
+
+    /**
+     * Creates SQL tree of the upsert statement.
+     */
+    protected abstract Node createUpsert();
+
+    @Override
+    public DbAttributeBinding[] updateBindings(BatchQueryRow row) {
+        UpsertBatchQuery query = context.getQuery();
+        int i = 0;
+        int j = 0;
+        for(DbAttribute attribute : query.getDbAttributes()) {
+            if(excludeInBatch(attribute)) {
+                i++;
+                continue;
+            }
+
+            Object value = row.getValue(i++);
+            ExtendedType<?> extendedType = value != null
+                    ? context.getAdapter().getExtendedTypes().getRegisteredType(value.getClass())
+                    : context.getAdapter().getExtendedTypes().getDefaultType();
+            bindings[j].include(++j, value, extendedType);
+        }
+        return bindings;
+    }
+
+    protected boolean excludeInBatch(DbAttribute attribute) {
+        // unlike inserts, upserts can't skip generated PK, its value is needed to find the existing row
+        return attribute.isGenerated() && !attribute.isPrimaryKey();
+    }
+
+    @Override
+    protected boolean isNullAttribute(DbAttribute attribute) {
+        return false;
+    }
+
+    /**
+     * Returns attributes which values are inserted, in the order of binding.
+     */
+    protected List<DbAttribute> getInsertedAttributes() {
+        List<DbAttribute> attributes = new ArrayList<>();
+        for(DbAttribute attribute : context.getQuery().getDbAttributes()) {
+            if(!excludeInBatch(attribute)) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Returns attributes that are updated in the existing row, i.e. all the inserted attributes except for PK.
+     */
+    protected List<DbAttribute> getUpdatedAttributes() {
+        List<DbAttribute> attributes = new ArrayList<>();
+        for(DbAttribute attribute : getInsertedAttributes()) {
+            if(!attribute.isPrimaryKey()) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Returns attributes that identify the existing row.
+     */
+    protected List<DbAttribute> getKeyAttributes() {
+        return new ArrayList<>(context.getRootDbEntity().getPrimaryKeys());
+    }
+
+    /**
+     * Creates the "INSERT INTO t(a, b, c) VALUES(?, ?, ?)" statement for the inserted attributes.
+     */
+    protected Node insert() {
+        InsertBuilder insert = SQLBuilder.insert(context.getRootDbEntity());
+        for(DbAttribute attribute : getInsertedAttributes()) {
+            insert.column(SQLBuilder.column(attribute.getName()).attribute(attribute));
+            insert.value(SQLBuilder.value(1).attribute(attribute));
+        }
+        return insert.build();
+    }
+
+    /**
+     * Creates the "(a, b, c)" list of columns.
+     */
+    protected Node columns(List<DbAttribute> attributes) {
+        Node columns = new InsertColumnsNode();
+        for(DbAttribute attribute : attributes) {
+            columns.addChild(column(null, attribute));
+        }
+        return columns;
+    }
+
+    /**
+     * Creates the "VALUES(?, ?, ?)" list of parameters for the inserted attributes.
+     */
+    protected Node values() {
+        Node values = new InsertValuesNode();
+        for(DbAttribute attribute : getInsertedAttributes()) {
+            // We can use here any non-null value, to create attribute binding,
+            // actual value and ExtendedType will be set at updateBindings() call.
+            values.addChild(SQLBuilder.value(1).attribute(attribute).build());
+        }
+        return values;
+    }
+
+    /**
+     * Appends comma separated "column = value" assignments to the parent node.
+     */
+    protected void appendAssignments(Node parent, List<DbAttribute> attributes, String valueTable) {
+        boolean first = true;
+        for(DbAttribute attribute : attributes) {
+            if(!first) {
+                parent.addChild(text(","));
+            }
+            first = false;
+            parent.addChild(column(null, attribute));
+            parent.addChild(text(" ="));
+            parent.addChild(column(valueTable, attribute));
+        }
+    }
+
+    protected static Node column(String table, DbAttribute attribute) {
+        return new ColumnNode(table, attribute.getName(), null, attribute);
+    }
+
+    protected static Node text(String text) {
+        return new TextNode(text);
+    }
+
+    protected static Node root() {
+        return new EmptyNode();
+    }
+}
@@ -0,0 +1,222 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.bulk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.Persistent;
+import org.apache.cayenne.access.sqlbuilder.BaseBuilder;
+import org.apache.cayenne.access.sqlbuilder.NodeBuilder;
+import org.apache.cayenne.access.sqlbuilder.SQLBuilder;
+import org.apache.cayenne.access.sqlbuilder.SQLGenerationContext;
+import org.apache.cayenne.access.sqlbuilder.SQLGenerationVisitor;
+import org.apache.cayenne.access.sqlbuilder.UpdateBuilder;
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.translator.DbAttributeBinding;
+import org.apache.cayenne.access.translator.select.BulkQualifierTranslator;
+import org.apache.cayenne.access.translator.select.DefaultQuotingAppendable;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.dba.QuotingStrategy;
+import org.apache.cayenne.exp.Expression;
+import org.apache.cayenne.exp.property.Property;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.map.DbEntity;
+import org.apache.cayenne.map.DbJoin;
+import org.apache.cayenne.map.DbRelationship;
+import org.apache.cayenne.map.EntityResolver;
+import org.apache.cayenne.map.ObjAttribute;
+import org.apache.cayenne.map.ObjEntity;
+import org.apache.cayenne.map.ObjRelationship;
+import org.apache.cayenne.query.FluentBulkQuery;
+import org.apache.cayenne.query.ObjectUpdate;
+
+/**
+ * Translates {@link ObjectUpdate} and {@link org.apache.cayenne.query.ObjectDelete} queries to a single UPDATE or
+ * DELETE statement.
+ *
+ * @since 4.3
+ */
+public class BulkTranslator implements SQLGenerationContext {
+
+    private final FluentBulkQuery<?, ?> query;
+    private final DbAdapter adapter;
+    private final EntityResolver resolver;
+    private final ObjEntity entity;
+    private final List<DbAttributeBinding> bindings;
+
+    public BulkTranslator(FluentBulkQuery<?, ?> query, DbAdapter adapter, EntityResolver resolver) {
+        this.query = query;
+        this.adapter = adapter;
+        this.resolver = resolver;
+        this.entity = query.getMetaData(resolver).getObjEntity();
+        this.bindings = new ArrayList<>();
+    }
+
+    public String getSql() {
+        DbEntity dbEntity = entity.getDbEntity();
+        NodeBuilder qualifier = new BulkQualifierTranslator(adapter, resolver).translate(entity, query.getWhere());
+
+        BaseBuilder builder;
+        if (query instanceof ObjectUpdate) {
+            Map<Property<?>, Object> values = ((ObjectUpdate<?>) query).getValues();
+            if (values.isEmpty()) {
+                throw new CayenneRuntimeException("No properties to update are set for entity '%s'", entity.getName());
+            }
+
+            UpdateBuilder update = SQLBuilder.update(dbEntity);
+            values.forEach((property, value) -> appendSet(update, property, value));
+            builder = update.where(qualifier);
+        } else {
+            builder = SQLBuilder.delete(dbEntity).where(qualifier);
+        }
+
+        bindings.clear();
+        Node node = builder.build();
+        // convert to database flavour
+        node = adapter.getSqlTreeProcessor().process(node);
+        // generate SQL
+        SQLGenerationVisitor visitor = new SQLGenerationVisitor(new DefaultQuotingAppendable(this));
+        node.visit(visitor);
+        return visitor.getSQLString();
+    }
+
+    /**
+     * Returns parameter bindings of the SQL returned by the last {@link #getSql()} call.
+     */
+    public DbAttributeBinding[] getParameterBindings() {
+        return bindings.toArray(new DbAttributeBinding[0]);
+    }
+
+    protected void appendSet(UpdateBuilder update, Property<?> property, Object value) {
+        Expression expression = property.getExpression();
+        String path = (String) expression.getOperand(0);
+
+        if (expression.getType() == Expression.DB_PATH) {
+            DbAttribute attribute = entity.getDbEntity().getAttribute(path);
+            if (attribute == null) {
+                throw new CayenneRuntimeException("Invalid DB attribute '%s' of entity '%s'", path, entity.getName());
+            }
+
+            appendSet(update, attribute, value);
+            return;
+        }
+
+        if (expression.getType() == Expression.OBJ_PATH) {
+            ObjAttribute attribute = entity.getAttribute(path);
+            if (attribute != null && !attribute.isFlattened()) {
+                appendSet(update, attribute.getDbAttribute(), value);
+                return;
+            }
+
+            ObjRelationship relationship = entity.getRelationship(path);
+            if (relationship != null
+                    && !relationship.isToMany()
+                    && !relationship.isFlattened()
+                    && !relationship.isSourceIndependentFromTargetChange()) {
+                appendSetForeignKey(update, relationship.getDbRelationships().get(0), value);
+                return;
+            }
+        }
+
+        throw new CayenneRuntimeException("Property '%s' can't be updated in bulk, only attributes and to-one " +
+                "relationships of entity '%s' itself are supported", property.getName(), entity.getName());
+    }
+
+    /**
+     * Sets FK columns of a to-one relationship. The value can be a persistent object, an ObjectId, a map of target
+     * column values (e.g. an id snapshot), or a raw target column value for a single column join.
+     */
+    protected void appendSetForeignKey(UpdateBuilder update, DbRelationship relationship, Object value) {
+        Map<String, ?> targetValues = foreignKeyTargetValues(relationship, value);
+
+        for (DbJoin join : relationship.getJoins()) {
+            Object targetValue = null;
+            if (targetValues != null) {
+                if (!targetValues.containsKey(join.getTargetName())) {
+                    throw new CayenneRuntimeException("No value for column '%s' to set relationship '%s': %s",
+                            join.getTargetName(), relationship.getName(), value);
+                }
+                targetValue = targetValues.get(join.getTargetName());
+            }
+
+            appendSet(update, join.getSource(), targetValue);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> foreignKeyTargetValues(DbRelationship relationship, Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof Map) {
+            return (Map<String, ?>) value;
+        }
+
+        if (value instanceof Persistent || value instanceof ObjectId) {
+            ObjectId id = value instanceof Persistent ? ((Persistent) value).getObjectId() : (ObjectId) value;
+            if (id == null || id.isTemporary()) {
+                throw new CayenneRuntimeException("Can't set relationship '%s' to an uncommitted object %s",
+                        relationship.getName(), value);
+            }
+
+            return id.getIdSnapshot();
+        }
+
+        List<DbJoin> joins = relationship.getJoins();
+        if (joins.size() != 1) {
+            throw new CayenneRuntimeException("Can't set relationship '%s' with %d join columns to a single value %s, " +
+                    "use an object, an ObjectId or a map of column values", relationship.getName(), joins.size(), value);
+        }
+
+        return Collections.singletonMap(joins.get(0).getTargetName(), value);
+    }
+
+    protected void appendSet(UpdateBuilder update, DbAttribute attribute, Object value) {
+        update.set(SQLBuilder.column(attribute.getName()).attribute(attribute)
+                .eq(SQLBuilder.value(value).attribute(attribute)));
+    }
+
+    @Override
+    public DbAdapter getAdapter() {
+        return adapter;
+    }
+
+    @Override
+    public Collection<DbAttributeBinding> getBindings() {
+        return bindings;
+    }
+
+    @Override
+    public QuotingStrategy getQuotingStrategy() {
+        return adapter.getQuotingStrategy();
+    }
+
+    @Override
+    public DbEntity getRootDbEntity() {
+        return entity.getDbEntity();
+    }
+}
@@ -0,0 +1,131 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.select;
+
+import java.util.Collection;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.access.sqlbuilder.NodeBuilder;
+import org.apache.cayenne.access.sqlbuilder.sqltree.ColumnNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.sqlbuilder.sqltree.SelectNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.UnescapedColumnNode;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.exp.Expression;
+import org.apache.cayenne.exp.ExpressionFactory;
+import org.apache.cayenne.exp.property.PropertyFactory;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.map.EntityResolver;
+import org.apache.cayenne.map.ObjEntity;
+import org.apache.cayenne.query.FluentSelect;
+import org.apache.cayenne.query.ObjectSelect;
+
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.column;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.node;
+
+/**
+ * Translates a qualifier of a bulk UPDATE or DELETE query to a condition over the unaliased entity table. Qualifier
+ * is translated the same way as the one of a select query, including entity and inheritance qualifiers. If the
+ * qualifier requires joins, the condition matches entity primary key against a subquery.
+ *
+ * @since 4.3
+ */
+public class BulkQualifierTranslator {
+
+    private final DbAdapter adapter;
+    private final EntityResolver resolver;
+
+    public BulkQualifierTranslator(DbAdapter adapter, EntityResolver resolver) {
+        this.adapter = adapter;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns a condition matching the entity rows, or null if all rows should match.
+     */
+    public NodeBuilder translate(ObjEntity entity, Expression qualifier) {
+        TranslatorContext context = translate(ObjectSelect.query(Object.class, entity.getName()).where(qualifier));
+
+        Node qualifierNode = context.getQualifierNode();
+        if (qualifierNode == null) {
+            return null;
+        }
+
+        if (context.getTableCount() == 1 && !hasSubquery(qualifierNode)) {
+            // single table, so column names can be used without aliases
+            return node(unaliased(qualifierNode));
+        }
+
+        Collection<DbAttribute> pks = entity.getDbEntity().getPrimaryKeys();
+        if (pks.size() != 1) {
+            throw new CayenneRuntimeException("Can't translate qualifier with joins for entity '%s' with %d PK columns: %s",
+                    entity.getName(), pks.size(), qualifier);
+        }
+
+        DbAttribute pk = pks.iterator().next();
+        TranslatorContext subqueryContext = translate(ObjectSelect.query(Object.class, entity.getName())
+                .where(qualifier)
+                .column(PropertyFactory.createBase(ExpressionFactory.dbPathExp(pk.getName()), Object.class)));
+
+        return column(pk.getName()).attribute(pk).in(node(subqueryContext.getSelectBuilder().build()));
+    }
+
+    private TranslatorContext translate(FluentSelect<?, ?> select) {
+        DefaultSelectTranslator translator = new DefaultSelectTranslator(select, adapter, resolver);
+        // SQL is generated for the whole UPDATE or DELETE tree by the caller
+        translator.getContext().setSkipSQLGeneration(true);
+        translator.translate();
+        return translator.getContext();
+    }
+
+    private static boolean hasSubquery(Node node) {
+        if (node instanceof SelectNode) {
+            return true;
+        }
+
+        for (int i = 0; i < node.getChildrenCount(); i++) {
+            if (hasSubquery(node.getChild(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // the tree is built for this translation only, so it is safe to modify it in place
+    private static Node unaliased(Node node) {
+        if (node instanceof ColumnNode) {
+            ColumnNode column = (ColumnNode) node;
+            return column instanceof UnescapedColumnNode
+                    ? new UnescapedColumnNode(null, column.getColumn(), column.getAlias(), column.getAttribute())
+                    : new ColumnNode(null, column.getColumn(), column.getAlias(), column.getAttribute());
+        }
+
+        for (int i = 0; i < node.getChildrenCount(); i++) {
+            Node child = node.getChild(i);
+            Node unaliasedChild = unaliased(child);
+            if (unaliasedChild != child) {
+                node.replaceChild(i, unaliasedChild);
+            }
+        }
+
+        return node;
+    }
+}
@@ -0,0 +1,106 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.select;
+
+import java.util.Map;
+
+import org.apache.cayenne.access.jdbc.ColumnDescriptor;
+import org.apache.cayenne.access.translator.DbAttributeBinding;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.map.EntityResolver;
+import org.apache.cayenne.map.ObjAttribute;
+import org.apache.cayenne.query.FluentSelect;
+
+/**
+ * Select translator that looks up translation result in the {@link SelectTranslationCache} and falls back to the
+ * adapter-provided translator on a cache miss.
+ *
+ * @since 4.3
+ */
+class CachingSelectTranslator implements SelectTranslator {
+
+    private final SelectTranslationCache cache;
+    private final FluentSelect<?, ?> query;
+    private final DbAdapter adapter;
+    private final EntityResolver resolver;
+
+    private SelectTranslationCache.Entry entry;
+    private DbAttributeBinding[] bindings;
+    private SelectTranslator delegate;
+
+    CachingSelectTranslator(SelectTranslationCache cache, FluentSelect<?, ?> query, DbAdapter adapter, EntityResolver resolver) {
+        this.cache = cache;
+        this.query = query;
+        this.adapter = adapter;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public String getSql() throws Exception {
+        SelectQueryShape shape = SelectQueryShape.of(query, adapter, resolver);
+        if(shape != null) {
+            SelectTranslationCache.Entry cached = cache.get(shape);
+            if(cached != null) {
+                if(cached.resultSetMapping != null) {
+                    query.getMetaData(resolver).setResultSetMapping(cached.resultSetMapping);
+                }
+                this.entry = cached;
+                this.bindings = cached.bind(shape.getParameters());
+                return cached.sql;
+            }
+        }
+
+        delegate = adapter.getSelectTranslator(query, resolver);
+        String sql = delegate.getSql();
+        if(shape != null) {
+            SelectTranslationCache.Entry created = SelectTranslationCache.Entry
+                    .create(sql, delegate, shape, query.getMetaData(resolver).getResultSetMapping());
+            if(created != null) {
+                cache.put(shape, created);
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public DbAttributeBinding[] getBindings() {
+        return entry != null ? bindings : delegate.getBindings();
+    }
+
+    @Override
+    public Map<ObjAttribute, ColumnDescriptor> getAttributeOverrides() {
+        return entry != null ? entry.attributeOverrides : delegate.getAttributeOverrides();
+    }
+
+    @Override
+    public ColumnDescriptor[] getResultColumns() {
+        return entry != null ? entry.resultColumns.clone() : delegate.getResultColumns();
+    }
+
+    @Override
+    public boolean isSuppressingDistinct() {
+        return entry != null ? entry.suppressingDistinct : delegate.isSuppressingDistinct();
+    }
+
+    @Override
+    public boolean hasJoins() {
+        return entry != null ? entry.hasJoins : delegate.hasJoins();
+    }
+}
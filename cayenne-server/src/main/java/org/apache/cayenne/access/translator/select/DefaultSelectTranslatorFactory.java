@@ -19,22 +19,52 @@
 package org.apache.cayenne.access.translator.select;
 
 import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.configuration.Constants;
+import org.apache.cayenne.configuration.RuntimeProperties;
 import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.map.EntityResolver;
 import org.apache.cayenne.query.FluentSelect;
 import org.apache.cayenne.query.Select;
 
 /**
  * A {@link SelectTranslator} factory that delegates translator creation to
- * DbAdapter.
+ * DbAdapter. Optionally caches translated queries by their shape, see
+ * {@link Constants#SERVER_SELECT_TRANSLATION_CACHE_SIZE_PROPERTY}.
  * 
  * @since 4.0
  */
 public class DefaultSelectTranslatorFactory implements SelectTranslatorFactory {
 
+	private final SelectTranslationCache translationCache;
+
+	public DefaultSelectTranslatorFactory() {
+		this.translationCache = null;
+	}
+
+	/**
+	 * @since 4.3
+	 */
+	public DefaultSelectTranslatorFactory(@Inject RuntimeProperties properties) {
+		int cacheSize = properties.getInt(Constants.SERVER_SELECT_TRANSLATION_CACHE_SIZE_PROPERTY, 0);
+		this.translationCache = cacheSize > 0 ? new SelectTranslationCache(cacheSize) : null;
+	}
+
+	/**
+	 * Returns a cache of translated queries or null if translation caching is disabled.
+	 *
+	 * @since 4.3
+	 */
+	public SelectTranslationCache getTranslationCache() {
+		return translationCache;
+	}
+
 	@Override
 	public SelectTranslator translator(Select<?> query, DbAdapter adapter, EntityResolver entityResolver) {
 		if(query instanceof FluentSelect) {
+			if(translationCache != null) {
+				return translationCache.translator((FluentSelect<?, ?>)query, adapter, entityResolver);
+			}
 			return adapter.getSelectTranslator((FluentSelect<?, ?>)query, entityResolver);
 		}
 		throw new CayenneRuntimeException("Unsupported type of Select query %s", query);
@@ -23,7 +23,11 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.access.LobValueFaults;
+import org.apache.cayenne.access.sqlbuilder.sqltree.EmptyNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.sqlbuilder.sqltree.TextNode;
+import org.apache.cayenne.access.types.LobFlagType;
 import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.map.EntityResult;
@@ -113,13 +117,16 @@ class DescriptorColumnExtractor extends BaseColumnExtractor implements PropertyV
             return true;
         }
 
+        // LOB values of the fetched objects are read on first access, only check if they are NULL here
+        boolean lobFlag = LobValueFaults.isLobAttribute(oa) && !context.getMetadata().isFetchingDataRows();
+
         PathTranslationResult result = pathTranslator.translatePath(oa.getEntity(), property.getName(), prefix);
 
         int count = result.getDbAttributes().size();
         for(int i=0; i<count; i++) {
-            ResultNodeDescriptor resultNodeDescriptor = processTranslationResult(result, i);
+            ResultNodeDescriptor resultNodeDescriptor = processTranslationResult(result, i, lobFlag && i == count - 1);
             if(resultNodeDescriptor != null && i == count - 1) {
-                resultNodeDescriptor.setJavaType(oa.getType());
+                resultNodeDescriptor.setJavaType(lobFlag ? LobFlagType.class.getName() : oa.getType());
                 addEntityResultField(oa.getDbAttribute());
             }
         }
@@ -139,14 +146,14 @@ class DescriptorColumnExtractor extends BaseColumnExtractor implements PropertyV
 
         int count = result.getDbAttributes().size();
         for(int i=0; i<count; i++) {
-            processTranslationResult(result, i);
+            processTranslationResult(result, i, false);
             addEntityResultField(result.getDbAttributes().get(i));
         }
 
         return true;
     }
 
-    private ResultNodeDescriptor processTranslationResult(PathTranslationResult result, int i) {
+    private ResultNodeDescriptor processTranslationResult(PathTranslationResult result, int i, boolean lobFlag) {
         String path = result.getAttributePaths().get(i);
         String alias = context.getTableTree().aliasForPath(path);
         DbAttribute attribute = result.getDbAttributes().get(i);
@@ -164,12 +171,23 @@ class DescriptorColumnExtractor extends BaseColumnExtractor implements PropertyV
                     : columnLabelPrefix + '.' + attribute.getName();
 
             Node columnNode = table(alias).column(attribute).build();
+            if(lobFlag) {
+                columnNode = lobFlagNode(columnNode);
+            }
             return context.addResultNode(columnNode, attributeName).setDbAttribute(attribute);
         }
 
         return null;
     }
 
+    private static Node lobFlagNode(Node columnNode) {
+        Node node = new EmptyNode();
+        node.addChild(new TextNode(" CASE WHEN"));
+        node.addChild(columnNode);
+        node.addChild(new TextNode(" IS NULL THEN 0 ELSE 1 END"));
+        return node;
+    }
+
     private void addEntityResultField(DbAttribute attribute) {
         String name = labelPrefix == null ? attribute.getName() : labelPrefix + '.' + attribute.getName();
         if(context.getQuery().needsResultSetMapping()) {
@@ -0,0 +1,326 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.select;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.time.temporal.TemporalAccessor;
+
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.exp.Expression;
+import org.apache.cayenne.exp.parser.ASTCustomOperator;
+import org.apache.cayenne.exp.parser.ASTEnclosingObject;
+import org.apache.cayenne.exp.parser.ASTExtract;
+import org.apache.cayenne.exp.parser.ASTFunctionCall;
+import org.apache.cayenne.exp.parser.ASTList;
+import org.apache.cayenne.exp.parser.ASTNamedParameter;
+import org.apache.cayenne.exp.parser.ASTPath;
+import org.apache.cayenne.exp.parser.ASTScalar;
+import org.apache.cayenne.exp.parser.ASTSubquery;
+import org.apache.cayenne.exp.parser.PatternMatchNode;
+import org.apache.cayenne.exp.parser.SimpleNode;
+import org.apache.cayenne.exp.property.Property;
+import org.apache.cayenne.map.EntityResolver;
+import org.apache.cayenne.query.ColumnSelect;
+import org.apache.cayenne.query.FluentSelect;
+import org.apache.cayenne.query.ObjectSelect;
+import org.apache.cayenne.query.Ordering;
+import org.apache.cayenne.query.PrefetchTreeNode;
+import org.apache.cayenne.query.QueryMetadata;
+
+/**
+ * Structural "shape" of a {@link FluentSelect} query, i.e. everything that affects generated SQL except
+ * the values of the scalar parameters in the "where" and "having" qualifiers. Two queries with equal shapes
+ * are translated to the same SQL and differ only in parameter bindings.
+ *
+ * @since 4.3
+ */
+final class SelectQueryShape {
+
+    private final DbAdapter adapter;
+    private final EntityResolver resolver;
+    private final String key;
+    private final int hashCode;
+
+    // parameter values in the order of appearance in the query qualifiers, not part of the shape identity
+    private final List<Object> parameters;
+
+    private SelectQueryShape(DbAdapter adapter, EntityResolver resolver, String key, List<Object> parameters) {
+        this.adapter = adapter;
+        this.resolver = resolver;
+        this.key = key;
+        this.parameters = parameters;
+        this.hashCode = 31 * (31 * System.identityHashCode(adapter) + System.identityHashCode(resolver)) + key.hashCode();
+    }
+
+    /**
+     * Builds a shape of a given query, returning null if the query can't be safely cached, e.g. it contains
+     * subqueries, unresolved parameters or values that are expanded into multiple bindings during translation.
+     */
+    static SelectQueryShape of(FluentSelect<?, ?> query, DbAdapter adapter, EntityResolver resolver) {
+        // subclasses (like PrefetchSelectQuery) may carry translation-relevant state not visible here
+        if(query.getClass() != ObjectSelect.class && query.getClass() != ColumnSelect.class) {
+            return null;
+        }
+
+        Builder builder = new Builder();
+        return builder.append(query, resolver)
+                ? new SelectQueryShape(adapter, resolver, builder.key.toString(), builder.parameters)
+                : null;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    List<Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SelectQueryShape)) {
+            return false;
+        }
+        SelectQueryShape that = (SelectQueryShape) o;
+        return adapter == that.adapter
+                && resolver == that.resolver
+                && hashCode == that.hashCode
+                && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    static boolean isParameterValue(Object value) {
+        return value instanceof String
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum
+                || value instanceof java.util.Date
+                || value instanceof Calendar
+                || value instanceof TemporalAccessor
+                || value instanceof UUID
+                || value instanceof byte[];
+    }
+
+    private static class Builder {
+
+        private final StringBuilder key = new StringBuilder(128);
+        private final List<Object> parameters = new ArrayList<>(4);
+
+        boolean append(FluentSelect<?, ?> query, EntityResolver resolver) {
+            QueryMetadata metadata = query.getMetaData(resolver);
+
+            key.append(query.getClass().getSimpleName())
+                    .append('|').append(metadata.getObjEntity() != null ? metadata.getObjEntity().getName() : null)
+                    .append('|').append(metadata.getDbEntity() != null ? metadata.getDbEntity().getName() : null)
+                    .append('|').append(metadata.isFetchingDataRows())
+                    .append('|').append(metadata.getPageSize() > 0)
+                    .append('|').append(metadata.getFetchLimit())
+                    .append('|').append(metadata.getFetchOffset())
+                    .append('|').append(metadata.isSuppressingDistinct())
+                    .append('|').append(query.isDistinct());
+
+            Map<String, String> splitAliases = metadata.getPathSplitAliases();
+            if(splitAliases != null && !splitAliases.isEmpty()) {
+                key.append("|aliases:").append(new TreeMap<>(splitAliases));
+            }
+
+            key.append("|columns:");
+            if(!appendColumns(query.getColumns())) {
+                return false;
+            }
+
+            key.append("|where:");
+            if(!appendExpression(query.getWhere(), true)) {
+                return false;
+            }
+
+            key.append("|having:");
+            if(!appendExpression(query.getHaving(), true)) {
+                return false;
+            }
+
+            key.append("|order:");
+            if(!appendOrderings(query.getOrderings())) {
+                return false;
+            }
+
+            key.append("|prefetch:");
+            appendPrefetch(metadata.getPrefetchTree());
+            return true;
+        }
+
+        private boolean appendColumns(Collection<Property<?>> columns) {
+            if(columns == null) {
+                return true;
+            }
+
+            for(Property<?> column : columns) {
+                key.append('[').append(column.getClass().getName())
+                        .append(',').append(column.getName())
+                        .append(',').append(column.getAlias())
+                        .append(',').append(column.getType() != null ? column.getType().getName() : null)
+                        .append(',');
+                // values in the columns and orderings are part of the shape
+                if(!appendExpression(column.getExpression(), false)) {
+                    return false;
+                }
+                key.append(']');
+            }
+            return true;
+        }
+
+        private boolean appendOrderings(Collection<Ordering> orderings) {
+            if(orderings == null) {
+                return true;
+            }
+
+            for(Ordering ordering : orderings) {
+                key.append('[').append(ordering.getSortOrder())
+                        .append(',').append(ordering.isNullSortedFirst())
+                        .append(',');
+                if(!appendExpression(ordering.getSortSpec(), false)) {
+                    return false;
+                }
+                key.append(']');
+            }
+            return true;
+        }
+
+        private void appendPrefetch(PrefetchTreeNode node) {
+            if(node == null) {
+                return;
+            }
+
+            key.append('[').append(node.getPath())
+                    .append(',').append(node.getSemantics())
+                    .append(',').append(node.isPhantom());
+            for(PrefetchTreeNode child : node.getChildren()) {
+                appendPrefetch(child);
+            }
+            key.append(']');
+        }
+
+        private boolean appendExpression(Expression exp, boolean parametrized) {
+            if(exp == null) {
+                key.append("null");
+                return true;
+            }
+
+            if(exp instanceof ASTSubquery || exp instanceof ASTEnclosingObject || exp instanceof ASTNamedParameter
+                    || !(exp instanceof SimpleNode)) {
+                return false;
+            }
+
+            key.append(exp.getClass().getSimpleName()).append(':').append(exp.getType());
+
+            if(exp instanceof ASTScalar) {
+                return appendValue(((ASTScalar) exp).getValue(), parametrized);
+            }
+
+            if(exp instanceof ASTList) {
+                Object[] values = (Object[]) exp.getOperand(0);
+                if(values == null) {
+                    return false;
+                }
+                key.append('(');
+                for(Object value : values) {
+                    if(value == null || !appendValue(value, parametrized)) {
+                        return false;
+                    }
+                    key.append(',');
+                }
+                key.append(')');
+                return true;
+            }
+
+            if(exp instanceof ASTPath) {
+                key.append('(').append(((ASTPath) exp).getPath());
+                Map<String, String> aliases = ((ASTPath) exp).getPathAliases();
+                if(aliases != null && !aliases.isEmpty()) {
+                    key.append(',').append(new TreeMap<>(aliases));
+                }
+                key.append(')');
+                return true;
+            }
+
+            if(exp instanceof ASTFunctionCall) {
+                key.append(',').append(((ASTFunctionCall) exp).getFunctionName());
+                if(exp instanceof ASTExtract) {
+                    key.append(',').append(((ASTExtract) exp).getPart());
+                }
+            } else if(exp instanceof ASTCustomOperator) {
+                key.append(',').append(((ASTCustomOperator) exp).getOperator());
+            } else if(exp instanceof PatternMatchNode) {
+                key.append(',').append((int) ((PatternMatchNode) exp).getEscapeChar());
+            }
+
+            key.append('(');
+            SimpleNode node = (SimpleNode) exp;
+            for(int i = 0; i < node.jjtGetNumChildren(); i++) {
+                if(!appendExpression((Expression) node.jjtGetChild(i), parametrized)) {
+                    return false;
+                }
+                key.append(',');
+            }
+            key.append(')');
+            return true;
+        }
+
+        private boolean appendValue(Object value, boolean parametrized) {
+            if(value == null) {
+                // null changes generated SQL (e.g. "IS NULL"), so it is a part of the shape
+                key.append("(null)");
+                return true;
+            }
+
+            if(!isParameterValue(value) || (!parametrized && value instanceof byte[])) {
+                return false;
+            }
+
+            key.append('(').append(value.getClass().getName());
+            if(parametrized) {
+                parameters.add(value);
+            } else {
+                key.append('=').append(value);
+            }
+            key.append(')');
+            return true;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.select;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.cayenne.access.jdbc.ColumnDescriptor;
+import org.apache.cayenne.access.translator.DbAttributeBinding;
+import org.apache.cayenne.access.types.ExtendedType;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.map.EntityResolver;
+import org.apache.cayenne.map.ObjAttribute;
+import org.apache.cayenne.query.FluentSelect;
+import org.apache.cayenne.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+
+/**
+ * A bounded LRU cache of translated {@link FluentSelect} queries keyed by the query "shape" (root entity,
+ * qualifier structure with parameter slots, orderings, prefetches, columns, limit and offset). Queries with
+ * the same shape reuse previously generated SQL and result {@link ColumnDescriptor}s, only the values of the
+ * qualifier parameters are bound anew.
+ *
+ * @see org.apache.cayenne.configuration.Constants#SERVER_SELECT_TRANSLATION_CACHE_SIZE_PROPERTY
+ * @since 4.3
+ */
+public class SelectTranslationCache {
+
+    private final Map<SelectQueryShape, Entry> entries;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public SelectTranslationCache(int maxSize) {
+        if(maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.entries = new ConcurrentLinkedHashMap.Builder<SelectQueryShape, Entry>()
+                .maximumWeightedCapacity(maxSize)
+                .build();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * Returns a translator for the query that uses this cache.
+     */
+    public SelectTranslator translator(FluentSelect<?, ?> query, DbAdapter adapter, EntityResolver resolver) {
+        return new CachingSelectTranslator(this, query, adapter, resolver);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    Entry get(SelectQueryShape shape) {
+        Entry entry = entries.get(shape);
+        if(entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    void put(SelectQueryShape shape, Entry entry) {
+        entries.put(shape, entry);
+    }
+
+    /**
+     * Immutable result of a query translation with a template of parameter bindings.
+     */
+    static class Entry {
+
+        final String sql;
+        final ColumnDescriptor[] resultColumns;
+        final Map<ObjAttribute, ColumnDescriptor> attributeOverrides;
+        final boolean suppressingDistinct;
+        final boolean hasJoins;
+        final List<Object> resultSetMapping;
+
+        private final DbAttribute[] bindingAttributes;
+        private final ExtendedType<?>[] bindingTypes;
+        private final int[] bindingPositions;
+        // index of a shape parameter for each binding, or -1 for a constant binding (e.g. from an entity qualifier)
+        private final int[] parameterIndexes;
+        private final Object[] constantValues;
+
+        private Entry(String sql,
+                      SelectTranslator translator,
+                      DbAttributeBinding[] bindings,
+                      int[] parameterIndexes,
+                      List<Object> resultSetMapping) {
+            this.sql = sql;
+            this.resultColumns = translator.getResultColumns();
+            this.attributeOverrides = translator.getAttributeOverrides();
+            this.suppressingDistinct = translator.isSuppressingDistinct();
+            this.hasJoins = translator.hasJoins();
+            this.resultSetMapping = resultSetMapping;
+            this.parameterIndexes = parameterIndexes;
+
+            int len = bindings.length;
+            this.bindingAttributes = new DbAttribute[len];
+            this.bindingTypes = new ExtendedType[len];
+            this.bindingPositions = new int[len];
+            this.constantValues = new Object[len];
+            for(int i = 0; i < len; i++) {
+                bindingAttributes[i] = bindings[i].getAttribute();
+                bindingTypes[i] = bindings[i].getExtendedType();
+                bindingPositions[i] = bindings[i].getStatementPosition();
+                if(parameterIndexes[i] < 0) {
+                    constantValues[i] = bindings[i].getValue();
+                }
+            }
+        }
+
+        /**
+         * Creates a cache entry from a freshly translated query, returning null if bindings can't be unambiguously
+         * matched with the shape parameters.
+         */
+        static Entry create(String sql, SelectTranslator translator, SelectQueryShape shape, List<Object> resultSetMapping) {
+            List<Object> parameters = shape.getParameters();
+            DbAttributeBinding[] bindings = translator.getBindings();
+
+            // parameter values are matched with bindings by identity, so each of them must be distinct
+            Map<Object, Integer> parameterIndex = new IdentityHashMap<>(parameters.size());
+            for(int i = 0; i < parameters.size(); i++) {
+                if(parameterIndex.put(parameters.get(i), i) != null) {
+                    return null;
+                }
+            }
+
+            int[] parameterIndexes = new int[bindings.length];
+            boolean[] used = new boolean[parameters.size()];
+            int usedCount = 0;
+            for(int i = 0; i < bindings.length; i++) {
+                Integer index = parameterIndex.get(bindings[i].getValue());
+                if(index == null) {
+                    parameterIndexes[i] = -1;
+                    continue;
+                }
+
+                // same value bound twice, can't tell which one comes from the parameter
+                if(used[index]) {
+                    return null;
+                }
+                used[index] = true;
+                usedCount++;
+                parameterIndexes[i] = index;
+            }
+
+            // some parameter was transformed or inlined during translation
+            if(usedCount != parameters.size()) {
+                return null;
+            }
+
+            return new Entry(sql, translator, bindings, parameterIndexes, resultSetMapping);
+        }
+
+        DbAttributeBinding[] bind(List<Object> parameters) {
+            DbAttributeBinding[] bindings = new DbAttributeBinding[bindingAttributes.length];
+            for(int i = 0; i < bindings.length; i++) {
+                DbAttributeBinding binding = new DbAttributeBinding(bindingAttributes[i]);
+                binding.setStatementPosition(bindingPositions[i]);
+                binding.setExtendedType(bindingTypes[i]);
+                binding.setValue(parameterIndexes[i] < 0 ? constantValues[i] : parameters.get(parameterIndexes[i]));
+                bindings[i] = binding;
+            }
+            return bindings;
+        }
+    }
+}
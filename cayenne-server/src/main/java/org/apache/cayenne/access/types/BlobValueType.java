@@ -0,0 +1,128 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.types;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.apache.cayenne.value.BlobValue;
+
+/**
+ * Handles {@link BlobValue}, binding it as a binary stream. Values read from the database are spooled to a temporary
+ * file, unless smaller than the configured threshold.
+ *
+ * @since 4.3
+ */
+public class BlobValueType implements ExtendedType<BlobValue> {
+
+    public static final int DEFAULT_MEMORY_THRESHOLD = 64 * 1024;
+
+    private final int memoryThreshold;
+
+    public BlobValueType() {
+        this(DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    /**
+     * @param memoryThreshold max number of bytes of a value read from the database that is kept in memory
+     */
+    public BlobValueType(int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    @Override
+    public String getClassName() {
+        return BlobValue.class.getName();
+    }
+
+    @Override
+    public void setJdbcObject(PreparedStatement statement, BlobValue value, int pos, int type, int scale) throws Exception {
+        if (value == null) {
+            statement.setNull(pos, type);
+            return;
+        }
+
+        // the driver reads the stream on statement execution, so it can't be closed here
+        InputStream in = new ClosingAtEofInputStream(value.openStream());
+        long length = value.getLength();
+        if (length >= 0) {
+            statement.setBinaryStream(pos, in, length);
+        } else {
+            statement.setBinaryStream(pos, in);
+        }
+    }
+
+    @Override
+    public BlobValue materializeObject(ResultSet rs, int index, int type) throws Exception {
+        try (InputStream in = rs.getBinaryStream(index)) {
+            return in != null ? BlobValue.spool(in, memoryThreshold) : null;
+        }
+    }
+
+    @Override
+    public BlobValue materializeObject(CallableStatement rs, int index, int type) throws Exception {
+        Blob blob = rs.getBlob(index);
+        if (blob == null) {
+            return null;
+        }
+
+        try (InputStream in = blob.getBinaryStream()) {
+            return BlobValue.spool(in, memoryThreshold);
+        }
+    }
+
+    @Override
+    public String toString(BlobValue value) {
+        return value != null ? value.toString() : "NULL";
+    }
+
+    public int getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    static class ClosingAtEofInputStream extends FilterInputStream {
+
+        ClosingAtEofInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return closeAtEof(super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return closeAtEof(super.read(b, off, len));
+        }
+
+        private int closeAtEof(int read) throws IOException {
+            if (read < 0) {
+                close();
+            }
+            return read;
+        }
+    }
+}
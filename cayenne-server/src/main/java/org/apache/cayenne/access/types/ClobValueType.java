@@ -0,0 +1,128 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.types;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.apache.cayenne.value.ClobValue;
+
+/**
+ * Handles {@link ClobValue}, binding it as a character stream. Values read from the database are spooled to a
+ * temporary file, unless smaller than the configured threshold.
+ *
+ * @since 4.3
+ */
+public class ClobValueType implements ExtendedType<ClobValue> {
+
+    public static final int DEFAULT_MEMORY_THRESHOLD = 64 * 1024;
+
+    private final int memoryThreshold;
+
+    public ClobValueType() {
+        this(DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    /**
+     * @param memoryThreshold max number of chars of a value read from the database that is kept in memory
+     */
+    public ClobValueType(int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    @Override
+    public String getClassName() {
+        return ClobValue.class.getName();
+    }
+
+    @Override
+    public void setJdbcObject(PreparedStatement statement, ClobValue value, int pos, int type, int scale) throws Exception {
+        if (value == null) {
+            statement.setNull(pos, type);
+            return;
+        }
+
+        // the driver reads the stream on statement execution, so it can't be closed here
+        Reader reader = new ClosingAtEofReader(value.openReader());
+        long length = value.getLength();
+        if (length >= 0) {
+            statement.setCharacterStream(pos, reader, length);
+        } else {
+            statement.setCharacterStream(pos, reader);
+        }
+    }
+
+    @Override
+    public ClobValue materializeObject(ResultSet rs, int index, int type) throws Exception {
+        try (Reader reader = rs.getCharacterStream(index)) {
+            return reader != null ? ClobValue.spool(reader, memoryThreshold) : null;
+        }
+    }
+
+    @Override
+    public ClobValue materializeObject(CallableStatement rs, int index, int type) throws Exception {
+        Clob clob = rs.getClob(index);
+        if (clob == null) {
+            return null;
+        }
+
+        try (Reader reader = clob.getCharacterStream()) {
+            return ClobValue.spool(reader, memoryThreshold);
+        }
+    }
+
+    @Override
+    public String toString(ClobValue value) {
+        return value != null ? value.toString() : "NULL";
+    }
+
+    public int getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    static class ClosingAtEofReader extends FilterReader {
+
+        ClosingAtEofReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return closeAtEof(super.read());
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return closeAtEof(super.read(cbuf, off, len));
+        }
+
+        private int closeAtEof(int read) throws IOException {
+            if (read < 0) {
+                close();
+            }
+            return read;
+        }
+    }
+}
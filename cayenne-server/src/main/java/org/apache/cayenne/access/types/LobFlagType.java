@@ -0,0 +1,70 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.types;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Reads a flag selected in place of a LOB column when fetching objects, so that the LOB itself is not read until
+ * accessed. The flag is expected to be 0 for a NULL column and 1 otherwise, and is materialized as null or as the
+ * {@link #NOT_NULL} marker respectively.
+ *
+ * @since 4.3
+ */
+public class LobFlagType implements ExtendedType<Object> {
+
+    /**
+     * A data row value of a LOB column that is not NULL, but was not fetched.
+     */
+    public static final Object NOT_NULL = new Object() {
+
+        @Override
+        public String toString() {
+            return "<LOB>";
+        }
+    };
+
+    @Override
+    public String getClassName() {
+        return LobFlagType.class.getName();
+    }
+
+    @Override
+    public void setJdbcObject(PreparedStatement statement, Object value, int pos, int type, int scale) {
+        throw new UnsupportedOperationException("LOB flag can't be bound as a parameter");
+    }
+
+    @Override
+    public Object materializeObject(ResultSet rs, int index, int type) throws Exception {
+        return rs.getInt(index) != 0 ? NOT_NULL : null;
+    }
+
+    @Override
+    public Object materializeObject(CallableStatement rs, int index, int type) throws Exception {
+        return rs.getInt(index) != 0 ? NOT_NULL : null;
+    }
+
+    @Override
+    public String toString(Object value) {
+        return value == null ? "NULL" : value.toString();
+    }
+}
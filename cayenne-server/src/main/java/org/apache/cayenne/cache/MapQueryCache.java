@@ -19,17 +19,21 @@
 package org.apache.cayenne.cache;
 
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.query.QueryCacheStrategy;
 import org.apache.cayenne.query.QueryMetadata;
 import org.apache.cayenne.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 
 /**
  * A default implementation of the {@link QueryCache} interface that stores data in a
- * non-expiring LRUMap.
+ * LRUMap per cache group. By default each group holds a fixed number of non-expiring
+ * entries. Optionally entries may expire after a per-group TTL, and group capacity may
+ * be measured with a {@link QueryCacheWeigher} instead of the number of entries.
  * 
  * @since 3.0
  */
@@ -43,13 +47,40 @@ public class MapQueryCache implements QueryCache, Serializable {
 
     private int maxSize;
 
+    private long staleAfterMs;
+
+    private QueryCacheWeigher weigher;
+
+    private long ttlMs;
+
+    private final Map<String, Integer> groupSizes;
+
+    private final Map<String, Long> groupTtls;
+
+    private transient volatile QueryCacheLoader loader;
+
     public MapQueryCache() {
         this(DEFAULT_CACHE_SIZE);
     }
 
     public MapQueryCache(int maxSize) {
+        this(maxSize, 0);
+    }
+
+    /**
+     * @param maxSize      max number of entries in each cache group
+     * @param staleAfterMs age of an entry in milliseconds after which it is still returned by
+     *                     {@link #get(QueryMetadata, QueryCacheEntryFactory)}, but is refreshed in background.
+     *                     Zero disables background refresh.
+     * @since 4.3
+     */
+    public MapQueryCache(int maxSize, long staleAfterMs) {
         this.cacheGroups = new ConcurrentHashMap<>();
         this.maxSize = maxSize;
+        this.staleAfterMs = staleAfterMs;
+        this.weigher = QueryCacheWeigher.ENTRY;
+        this.groupSizes = new ConcurrentHashMap<>();
+        this.groupTtls = new ConcurrentHashMap<>();
     }
 
     public List get(QueryMetadata metadata) {
@@ -59,30 +90,41 @@ public class MapQueryCache implements QueryCache, Serializable {
         }
         Map<String, List<?>> map = createIfAbsent(metadata);
         synchronized (map) {
-            return map.get(key);
+            List<?> result = map.get(key);
+            if (result instanceof ExpiringList) {
+                ExpiringList expiring = (ExpiringList) result;
+                if (expiring.isExpired(System.currentTimeMillis())) {
+                    map.remove(key);
+                    return null;
+                }
+                return expiring.getDelegate();
+            }
+            return result;
         }
     }
 
     /**
      * Returns a non-null cached value. If it is not present in the cache, it is obtained
-     * by calling {@link QueryCacheEntryFactory#createObject()} without blocking the cache. As
-     * a result there is a potential of multiple threads to be updating cache in parallel -
-     * this wouldn't lead to corruption of the cache, but can be suboptimal.
+     * by calling {@link QueryCacheEntryFactory#createObject()} without blocking the cache.
+     * Concurrent calls for the same missing key wait for a single factory call instead of
+     * querying the database in parallel. If the entry is older than the "stale after"
+     * interval, it is returned as is, while a single background refresh is started.
      */
     @SuppressWarnings("rawtypes")
     public List get(QueryMetadata metadata, QueryCacheEntryFactory factory) {
-        List result = get(metadata);
-        if (result == null) {
-            List newObject = factory.createObject();
-            if (newObject == null) {
-                throw new CayenneRuntimeException("Null on cache rebuilding: %s", metadata.getCacheKey());
+        String key = metadata.getCacheKey();
+        if (key == null) {
+            List result = factory.createObject();
+            if (result == null) {
+                throw new CayenneRuntimeException("Null on cache rebuilding: %s", key);
             }
-
-            result = newObject;
-            put(metadata, result);
+            return result;
         }
 
-        return result;
+        return getLoader().get(cacheName(metadata), key, isRefreshable(metadata),
+                () -> get(metadata),
+                factory,
+                results -> put(metadata, results));
     }
 
     public void put(QueryMetadata metadata, List results) {
@@ -91,10 +133,15 @@ public class MapQueryCache implements QueryCache, Serializable {
             return;
         }
 
-        Map<String, List<?>> map = createIfAbsent(metadata);
+        String cacheName = cacheName(metadata);
+        long ttl = getGroupTtlMs(cacheName);
+        List<?> value = ttl > 0 ? new ExpiringList(results, System.currentTimeMillis() + ttl) : results;
+
+        Map<String, List<?>> map = createIfAbsent(cacheName);
         synchronized (map) {
-            map.put(key, results);
+            map.put(key, value);
         }
+        getLoader().loaded(cacheName, key);
     }
 
     public void remove(String key) {
@@ -107,11 +154,13 @@ public class MapQueryCache implements QueryCache, Serializable {
                 map.remove(key);
             }
         }
+        getLoader().remove(key);
     }
 
     public void removeGroup(String groupKey) {
         if (groupKey != null) {
             cacheGroups.remove(groupKey);
+            getLoader().removeGroup(groupKey);
         }
     }
 
@@ -121,6 +170,7 @@ public class MapQueryCache implements QueryCache, Serializable {
 
     public void clear() {
         cacheGroups.clear();
+        getLoader().clear();
     }
 
     public int size() {
@@ -133,6 +183,114 @@ public class MapQueryCache implements QueryCache, Serializable {
         return size;
     }
 
+    /**
+     * @since 4.3
+     */
+    public long getStaleAfterMs() {
+        return staleAfterMs;
+    }
+
+    /**
+     * @since 4.3
+     */
+    public QueryCacheWeigher getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * Sets a weigher used to measure capacity of the cache groups created after this call.
+     * The group size is then a max total weight of the group entries.
+     *
+     * @since 4.3
+     */
+    public void setWeigher(QueryCacheWeigher weigher) {
+        this.weigher = weigher != null ? weigher : QueryCacheWeigher.ENTRY;
+    }
+
+    /**
+     * @since 4.3
+     */
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    /**
+     * Sets time in milliseconds after which an entry of a group with no explicit TTL expires.
+     * Zero means that entries never expire.
+     *
+     * @since 4.3
+     */
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Returns capacity of a given cache group, measured by the cache weigher.
+     *
+     * @since 4.3
+     */
+    public int getGroupSize(String cacheName) {
+        Integer size = groupSizes.get(cacheName);
+        return size != null ? size : maxSize;
+    }
+
+    /**
+     * Sets capacity of a given cache group, measured by the cache weigher. Only affects the group if
+     * it is not created yet.
+     *
+     * @since 4.3
+     */
+    public void setGroupSize(String cacheName, int size) {
+        groupSizes.put(cacheName, size);
+    }
+
+    /**
+     * @since 4.3
+     */
+    public long getGroupTtlMs(String cacheName) {
+        Long ttl = groupTtls.get(cacheName);
+        return ttl != null ? ttl : ttlMs;
+    }
+
+    /**
+     * Sets time in milliseconds after which an entry of a given cache group expires. Zero means
+     * that the group entries never expire.
+     *
+     * @since 4.3
+     */
+    public void setGroupTtlMs(String cacheName, long ttlMs) {
+        groupTtls.put(cacheName, ttlMs);
+    }
+
+    /**
+     * Only shared cache entries can be refreshed in background, as local cache entries contain objects
+     * registered in a specific ObjectContext.
+     *
+     * @since 4.3
+     */
+    protected boolean isRefreshable(QueryMetadata metadata) {
+        return metadata.getCacheStrategy() == QueryCacheStrategy.SHARED_CACHE;
+    }
+
+    /**
+     * Returns a loader that coordinates concurrent loads and background refresh of the cache entries.
+     *
+     * @since 4.3
+     */
+    protected QueryCacheLoader getLoader() {
+        QueryCacheLoader loader = this.loader;
+        if (loader == null) {
+            synchronized (this) {
+                loader = this.loader;
+                if (loader == null) {
+                    loader = new QueryCacheLoader(staleAfterMs, QueryCacheLoader.DEFAULT_TRACKED_ENTRIES);
+                    this.loader = loader;
+                }
+            }
+        }
+        return loader;
+    }
+
     protected Map<String, List<?>> createIfAbsent(QueryMetadata metadata) {
         return createIfAbsent(cacheName(metadata));
     }
@@ -153,7 +311,10 @@ public class MapQueryCache implements QueryCache, Serializable {
             return map;
         }
 
-        map = new ConcurrentLinkedHashMap.Builder<String, List<?>>().maximumWeightedCapacity(maxSize).build();
+        map = new ConcurrentLinkedHashMap.Builder<String, List<?>>()
+                .maximumWeightedCapacity(getGroupSize(cacheName))
+                .weigher(weigher)
+                .build();
         cacheGroups.put(cacheName, map);
         return map;
     }
@@ -172,4 +333,37 @@ public class MapQueryCache implements QueryCache, Serializable {
         // no explicit cache group
         return DEFAULT_CACHE_NAME;
     }
+
+    /**
+     * A cached result with an expiration time. Only exists inside the cache, callers get the
+     * original list.
+     */
+    static class ExpiringList extends AbstractList<Object> implements Serializable {
+
+        private final List<?> delegate;
+        private final long expiresAt;
+
+        ExpiringList(List<?> delegate, long expiresAt) {
+            this.delegate = delegate;
+            this.expiresAt = expiresAt;
+        }
+
+        List<?> getDelegate() {
+            return delegate;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        @Override
+        public Object get(int index) {
+            return delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+    }
 }
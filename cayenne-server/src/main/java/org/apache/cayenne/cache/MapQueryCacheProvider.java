@@ -18,6 +18,10 @@
  ****************************************************************/
 package org.apache.cayenne.cache;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.cayenne.ConfigurationException;
 import org.apache.cayenne.configuration.Constants;
 import org.apache.cayenne.configuration.RuntimeProperties;
@@ -40,6 +44,70 @@ public class MapQueryCacheProvider implements Provider<QueryCache> {
         int size = properties.getInt(
                 Constants.QUERY_CACHE_SIZE_PROPERTY,
                 MapQueryCache.DEFAULT_CACHE_SIZE);
-        return new MapQueryCache(size);
+        long staleAfterMs = properties.getLong(Constants.QUERY_CACHE_STALE_WHILE_REVALIDATE_PROPERTY, 0);
+        MapQueryCache cache = new MapQueryCache(size, staleAfterMs);
+
+        cache.setWeigher(weigher());
+        cache.setTtlMs(properties.getLong(Constants.QUERY_CACHE_TTL_PROPERTY, 0));
+
+        for (Map.Entry<String, String> groupSize : groupValues(Constants.QUERY_CACHE_GROUP_SIZE_PROPERTY).entrySet()) {
+            try {
+                cache.setGroupSize(groupSize.getKey(), Integer.parseInt(groupSize.getValue()));
+            } catch (NumberFormatException e) {
+                throw new ConfigurationException("Invalid size of cache group '%s': %s",
+                        e, groupSize.getKey(), groupSize.getValue());
+            }
+        }
+
+        for (Map.Entry<String, String> groupTtl : groupValues(Constants.QUERY_CACHE_GROUP_TTL_PROPERTY).entrySet()) {
+            try {
+                cache.setGroupTtlMs(groupTtl.getKey(), Long.parseLong(groupTtl.getValue()));
+            } catch (NumberFormatException e) {
+                throw new ConfigurationException("Invalid TTL of cache group '%s': %s",
+                        e, groupTtl.getKey(), groupTtl.getValue());
+            }
+        }
+
+        return cache;
+    }
+
+    protected QueryCacheWeigher weigher() {
+        String weigher = properties.get(Constants.QUERY_CACHE_WEIGHER_PROPERTY);
+        if (weigher == null || weigher.trim().isEmpty()) {
+            return QueryCacheWeigher.ENTRY;
+        }
+
+        try {
+            return QueryCacheWeigher.valueOf(weigher.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException("Invalid query cache weigher '%s', expected one of 'entry', 'size' or 'bytes'",
+                    e, weigher);
+        }
+    }
+
+    /**
+     * Parses a property with comma-separated "group:value" pairs.
+     */
+    protected Map<String, String> groupValues(String property) {
+        String value = properties.get(property);
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (String pair : value.split(",")) {
+            if (pair.trim().isEmpty()) {
+                continue;
+            }
+
+            // group names may contain colons, so split on the last one
+            int separator = pair.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new ConfigurationException("Invalid value of '%s' property, expected 'group:value' pairs: %s",
+                        property, value);
+            }
+            values.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+        }
+        return values;
     }
 }
@@ -0,0 +1,285 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.util.ThreadBindings;
+import org.apache.cayenne.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coordinates loading of {@link QueryCache} entries. Concurrent misses on the same cache key are collapsed into a
+ * single call to {@link QueryCacheEntryFactory#createObject()}, while the rest of the callers wait for its result.
+ * Optionally entries older than a "stale after" interval are returned as is, while a single background refresh of
+ * the entry runs.
+ *
+ * @see org.apache.cayenne.configuration.Constants#QUERY_CACHE_STALE_WHILE_REVALIDATE_PROPERTY
+ * @since 4.3
+ */
+public class QueryCacheLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryCacheLoader.class);
+
+    public static final int DEFAULT_TRACKED_ENTRIES = 10000;
+
+
+    private final ConcurrentMap<String, CompletableFuture<List>> loads;
+    private final long staleAfterMs;
+    private final Map<String, Long> loadTimes;
+
+    private volatile ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * Creates a loader that only collapses concurrent loads and never refreshes entries in background.
+     */
+    public QueryCacheLoader() {
+        this(0, DEFAULT_TRACKED_ENTRIES);
+    }
+
+    /**
+     * @param staleAfterMs age of an entry in milliseconds after which it is refreshed in background. Zero or a negative
+     *                     value disables background refresh.
+     * @param trackedEntries max number of entries whose load time is tracked.
+     */
+    public QueryCacheLoader(long staleAfterMs, int trackedEntries) {
+        this.loads = new ConcurrentHashMap<>();
+        this.staleAfterMs = staleAfterMs;
+        this.loadTimes = staleAfterMs > 0
+                ? new ConcurrentLinkedHashMap.Builder<String, Long>().maximumWeightedCapacity(trackedEntries).build()
+                : null;
+    }
+
+    public long getStaleAfterMs() {
+        return staleAfterMs;
+    }
+
+    /**
+     * Returns a non-null cached value, loading it with the factory if it is not present in the cache.
+     *
+     * @param cacheName   name of the cache group of the entry
+     * @param key         cache key of the entry
+     * @param refreshable whether a stale entry can be refreshed in background. Must be false for the entries
+     *                    whose factory is bound to the calling thread (e.g. ObjectContext local cache).
+     * @param lookup      returns current value of the entry from the underlying cache or null if it is missing
+     * @param factory     creates a new value of the entry
+     * @param store       stores the new value in the underlying cache
+     */
+    public List get(String cacheName,
+                    String key,
+                    boolean refreshable,
+                    Supplier<List> lookup,
+                    QueryCacheEntryFactory factory,
+                    Consumer<List> store) {
+
+        List result = lookup.get();
+        if (result != null) {
+            if (refreshable && isStale(cacheName, key)) {
+                refresh(cacheName, key, lookup, factory, store);
+            }
+            return result;
+        }
+
+        return load(cacheName, key, lookup, factory, store);
+    }
+
+    /**
+     * Records that the entry was stored in the cache, so that its age is counted from now.
+     */
+    public void loaded(String cacheName, String key) {
+        if (loadTimes != null) {
+            loadTimes.put(entryId(cacheName, key), System.currentTimeMillis());
+        }
+    }
+
+    public void remove(String key) {
+        if (loadTimes != null) {
+            String suffix = '\u0000' + key;
+            loadTimes.keySet().removeIf(id -> id.endsWith(suffix));
+        }
+    }
+
+    public void removeGroup(String cacheName) {
+        if (loadTimes != null) {
+            String prefix = cacheName + '\u0000';
+            loadTimes.keySet().removeIf(id -> id.startsWith(prefix));
+        }
+    }
+
+    public void clear() {
+        if (loadTimes != null) {
+            loadTimes.clear();
+        }
+    }
+
+    /**
+     * Stops background refresh threads, if any were started.
+     */
+    public void shutdown() {
+        ThreadPoolExecutor executor = this.refreshExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    boolean isStale(String cacheName, String key) {
+        if (loadTimes == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        Long loadTime = loadTimes.putIfAbsent(entryId(cacheName, key), now);
+
+        // an entry loaded by someone else or not tracked anymore is considered fresh
+        return loadTime != null && now - loadTime >= staleAfterMs;
+    }
+
+    private List load(String cacheName,
+                      String key,
+                      Supplier<List> lookup,
+                      QueryCacheEntryFactory factory,
+                      Consumer<List> store) {
+
+        String id = entryId(cacheName, key);
+        CompletableFuture<List> future = new CompletableFuture<>();
+        CompletableFuture<List> existing = loads.putIfAbsent(id, future);
+        if (existing != null) {
+            return await(existing, key);
+        }
+
+        try {
+            // the entry may have been loaded while we were acquiring the load
+            List result = lookup.get();
+            if (result == null) {
+                result = factory.createObject();
+                if (result == null) {
+                    throw new CayenneRuntimeException("Null on cache rebuilding: %s", key);
+                }
+
+                store.accept(result);
+                loaded(cacheName, key);
+            }
+
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(id, future);
+        }
+    }
+
+    private void refresh(String cacheName,
+                         String key,
+                         Supplier<List> lookup,
+                         QueryCacheEntryFactory factory,
+                         Consumer<List> store) {
+
+        String id = entryId(cacheName, key);
+        CompletableFuture<List> future = new CompletableFuture<>();
+        if (loads.putIfAbsent(id, future) != null) {
+            // refresh is already in progress
+            return;
+        }
+
+        Runnable task = () -> {
+            try {
+                List result = factory.createObject();
+                if (result == null) {
+                    throw new CayenneRuntimeException("Null on cache rebuilding: %s", key);
+                }
+
+                // don't resurrect an entry that was invalidated while refreshing
+                if (lookup.get() != null) {
+                    store.accept(result);
+                    loaded(cacheName, key);
+                }
+                future.complete(result);
+            } catch (Throwable th) {
+                LOGGER.warn("Error refreshing query cache entry '" + key + "'", th);
+                future.completeExceptionally(th);
+            } finally {
+                loads.remove(id, future);
+            }
+        };
+
+        try {
+            getRefreshExecutor().execute(ThreadBindings.unbound(task));
+        } catch (RejectedExecutionException e) {
+            // all refresh threads are busy, the entry will be refreshed on one of the next calls
+            loads.remove(id, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private List await(CompletableFuture<List> future, String key) {
+        try {
+            List result = future.join();
+            if (result == null) {
+                throw new CayenneRuntimeException("Null on cache rebuilding: %s", key);
+            }
+            return result;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CayenneRuntimeException("Error loading cache entry: %s", cause, key);
+        }
+    }
+
+    private ThreadPoolExecutor getRefreshExecutor() {
+        ThreadPoolExecutor executor = this.refreshExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.refreshExecutor;
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(0, Math.max(2, Runtime.getRuntime().availableProcessors()),
+                            30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                            ThreadBindings.daemonThreadFactory("cayenne-query-cache-refresh-"));
+                    this.refreshExecutor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    private static String entryId(String cacheName, String key) {
+        return cacheName + '\u0000' + key;
+    }
+}
@@ -0,0 +1,146 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.cache;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cayenne.Persistent;
+import org.apache.cayenne.util.concurrentlinkedhashmap.Weigher;
+
+/**
+ * Defines how much of a {@link MapQueryCache} group capacity a single cached result consumes.
+ *
+ * @see org.apache.cayenne.configuration.Constants#QUERY_CACHE_WEIGHER_PROPERTY
+ * @since 4.3
+ */
+public enum QueryCacheWeigher implements Weigher<List<?>> {
+
+    /**
+     * Each cached result has a weight of 1, so the group capacity is a max number of cached results.
+     */
+    ENTRY {
+        @Override
+        public int weightOf(List<?> value) {
+            return 1;
+        }
+    },
+
+    /**
+     * Weight of a cached result is the number of objects in it, so the group capacity is a max number of cached
+     * objects or rows.
+     */
+    SIZE {
+        @Override
+        public int weightOf(List<?> value) {
+            return Math.max(1, unwrap(value).size());
+        }
+    },
+
+    /**
+     * Weight of a cached result is a rough estimate of its memory footprint in bytes, so the group capacity is
+     * a memory budget. Persistent objects are counted with a fixed overhead, as their snapshots are stored
+     * elsewhere.
+     */
+    BYTES {
+        @Override
+        public int weightOf(List<?> value) {
+            return (int) Math.max(1, Math.min(MAX_WEIGHT, estimateBytes(unwrap(value))));
+        }
+    };
+
+    // the limit of a single entry weight in ConcurrentLinkedHashMap
+    static final long MAX_WEIGHT = 1 << 29;
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int MAP_ENTRY_OVERHEAD = 32;
+    private static final int PERSISTENT_OVERHEAD = 64;
+
+    static List<?> unwrap(List<?> value) {
+        return value instanceof MapQueryCache.ExpiringList
+                ? ((MapQueryCache.ExpiringList) value).getDelegate()
+                : value;
+    }
+
+    static long estimateBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof String) {
+            return OBJECT_OVERHEAD + 24 + 2L * ((String) value).length();
+        }
+
+        if (value instanceof byte[]) {
+            return OBJECT_OVERHEAD + ((byte[]) value).length;
+        }
+
+        if (value instanceof char[]) {
+            return OBJECT_OVERHEAD + 2L * ((char[]) value).length;
+        }
+
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum) {
+            return OBJECT_OVERHEAD + 8;
+        }
+
+        if (value instanceof Date || value instanceof TemporalAccessor) {
+            return OBJECT_OVERHEAD + 16;
+        }
+
+        if (value instanceof Persistent) {
+            return PERSISTENT_OVERHEAD;
+        }
+
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            long size = OBJECT_OVERHEAD + (long) REFERENCE_SIZE * array.length;
+            for (Object element : array) {
+                size += estimateBytes(element);
+            }
+            return size;
+        }
+
+        if (value instanceof Map) {
+            // DataRow or another map; keys are normally shared column names and are not counted
+            Map<?, ?> map = (Map<?, ?>) value;
+            long size = OBJECT_OVERHEAD * 3 + (long) MAP_ENTRY_OVERHEAD * map.size();
+            for (Object element : map.values()) {
+                size += estimateBytes(element);
+            }
+            return size;
+        }
+
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            long size = OBJECT_OVERHEAD * 2 + (long) REFERENCE_SIZE * collection.size();
+            for (Object element : collection) {
+                size += estimateBytes(element);
+            }
+            return size;
+        }
+
+        return OBJECT_OVERHEAD;
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.cayenne.di.BeforeScopeEnd;
 import org.apache.cayenne.di.DIBootstrap;
 import org.apache.cayenne.di.Injector;
 import org.apache.cayenne.di.Module;
+import org.apache.cayenne.util.ThreadBinding;
 
 import java.util.Collection;
 import java.util.Objects;
@@ -48,6 +49,8 @@ public abstract class CayenneRuntime {
      */
     protected static final ThreadLocal<Injector> threadInjector = new ThreadLocal<Injector>();
 
+    private static volatile ThreadBinding<Injector> threadInjectorBinding = ThreadBinding.threadLocal(threadInjector);
+
     /**
      * Binds a DI {@link Injector} bound to the current thread. It is primarily
      * intended for deserialization of ObjectContexts.
@@ -55,7 +58,7 @@ public abstract class CayenneRuntime {
      * @since 3.1
      */
     public static void bindThreadInjector(Injector injector) {
-        threadInjector.set(injector);
+        threadInjectorBinding.bind(injector);
     }
 
     /**
@@ -65,7 +68,26 @@ public abstract class CayenneRuntime {
      * @since 3.1
      */
     public static Injector getThreadInjector() {
-        return threadInjector.get();
+        return threadInjectorBinding.get();
+    }
+
+    /**
+     * Returns a strategy used to bind Injectors to the current thread.
+     *
+     * @since 4.3
+     */
+    public static ThreadBinding<Injector> getThreadInjectorBinding() {
+        return threadInjectorBinding;
+    }
+
+    /**
+     * Sets a strategy used to bind Injectors to the current thread. Default is a binding over
+     * {@link #threadInjector} ThreadLocal.
+     *
+     * @since 4.3
+     */
+    public static void setThreadInjectorBinding(ThreadBinding<Injector> binding) {
+        threadInjectorBinding = Objects.requireNonNull(binding);
     }
 
     protected Injector injector;
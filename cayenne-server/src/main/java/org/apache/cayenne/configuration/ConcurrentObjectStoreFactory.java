@@ -0,0 +1,53 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.configuration;
+
+import org.apache.cayenne.access.ConcurrentObjectStore;
+import org.apache.cayenne.access.DataRowStore;
+import org.apache.cayenne.access.ObjectMapRetainStrategy;
+import org.apache.cayenne.access.ObjectStore;
+import org.apache.cayenne.di.Inject;
+
+/**
+ * An {@link ObjectStoreFactory} that creates {@link ConcurrentObjectStore}s, suitable for contexts
+ * shared between multiple threads. Same as {@link DefaultObjectStoreFactory}, it turns ObjectStore
+ * syncing with parent {@link DataRowStore} on or off basing on {@link RuntimeProperties}. To use it,
+ * override the default binding in a custom module:
+ *
+ * <pre>
+ * binder.bind(ObjectStoreFactory.class).to(ConcurrentObjectStoreFactory.class);
+ * </pre>
+ *
+ * @since 4.3
+ */
+public class ConcurrentObjectStoreFactory implements ObjectStoreFactory {
+
+    @Inject
+    protected RuntimeProperties runtimeProperties;
+
+    @Inject
+    protected ObjectMapRetainStrategy retainStrategy;
+
+    @Override
+    public ObjectStore createObjectStore(DataRowStore dataRowCache) {
+        boolean sync = runtimeProperties.getBoolean(Constants.SERVER_CONTEXTS_SYNC_PROPERTY, false);
+        return new ConcurrentObjectStore(dataRowCache, retainStrategy.createConcurrentObjectMap(), sync);
+    }
+}
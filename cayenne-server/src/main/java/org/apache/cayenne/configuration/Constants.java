@@ -116,6 +116,15 @@ public interface Constants {
      */
     String JDBC_VALIDATION_QUERY_PROPERTY = "cayenne.jdbc.validation_query";
 
+    /**
+     * A boolean property that enables a high-throughput mode of the connection pool, with lock-free connection
+     * checkout, thread-affine connection reuse and lazy validation. Default is "false".
+     *
+     * @see org.apache.cayenne.datasource.PoolingDataSourceBuilder#highThroughput(boolean)
+     * @since 4.3
+     */
+    String JDBC_HIGH_THROUGHPUT_POOL_PROPERTY = "cayenne.jdbc.high_throughput_pool";
+
     /**
      * An integer property defining the maximum number of entries in the query
      * cache. Note that not all QueryCache providers may respect this property.
@@ -124,6 +133,53 @@ public interface Constants {
      */
     String QUERY_CACHE_SIZE_PROPERTY = "cayenne.querycache.size";
 
+    /**
+     * A long property defining the age in milliseconds after which a query cache entry is considered
+     * stale. Stale entries are still returned to the callers, while a single background refresh of
+     * the entry runs. Default is 0, meaning that entries are never refreshed in background. Respected
+     * by MapQueryCache and JCacheQueryCache.
+     *
+     * @since 4.3
+     */
+    String QUERY_CACHE_STALE_WHILE_REVALIDATE_PROPERTY = "cayenne.querycache.stale_while_revalidate";
+
+    /**
+     * A property defining how MapQueryCache measures capacity of the cache groups. Possible values
+     * are "entry" (default, each cached result weighs 1), "size" (each cached result weighs as much
+     * as the number of objects in it) and "bytes" (rough estimate of the result memory footprint).
+     * Capacity of the groups defined by {@link #QUERY_CACHE_SIZE_PROPERTY} and
+     * {@link #QUERY_CACHE_GROUP_SIZE_PROPERTY} is measured in the same units.
+     *
+     * @since 4.3
+     */
+    String QUERY_CACHE_WEIGHER_PROPERTY = "cayenne.querycache.weigher";
+
+    /**
+     * A property defining capacity of individual MapQueryCache groups in the form of comma-separated
+     * "group:size" pairs, e.g. "g1:5000,g2:100". Groups not listed here use
+     * {@link #QUERY_CACHE_SIZE_PROPERTY}.
+     *
+     * @since 4.3
+     */
+    String QUERY_CACHE_GROUP_SIZE_PROPERTY = "cayenne.querycache.group_size";
+
+    /**
+     * A long property defining time in milliseconds after which MapQueryCache entries expire. Default
+     * is 0, meaning that entries never expire.
+     *
+     * @since 4.3
+     */
+    String QUERY_CACHE_TTL_PROPERTY = "cayenne.querycache.ttl";
+
+    /**
+     * A property defining entry expiration time in milliseconds for individual MapQueryCache groups in
+     * the form of comma-separated "group:ttl" pairs, e.g. "g1:60000,g2:1000". Groups not listed here
+     * use {@link #QUERY_CACHE_TTL_PROPERTY}.
+     *
+     * @since 4.3
+     */
+    String QUERY_CACHE_GROUP_TTL_PROPERTY = "cayenne.querycache.group_ttl";
+
     /**
      * An optional name of the runtime DataDomain. If not specified (which is
      * normally the case), the name is inferred from the configuration name.
@@ -138,6 +194,43 @@ public interface Constants {
      */
     String SERVER_CONTEXTS_SYNC_PROPERTY = "cayenne.server.contexts_sync_strategy";
 
+    /**
+     * A boolean property defining whether {@link org.apache.cayenne.event.ConcurrentEventManager} should be used
+     * instead of {@link org.apache.cayenne.event.DefaultEventManager} when cross-contexts synchronization is enabled.
+     * Possible values are "true" or "false". Default is "false".
+     *
+     * @since 4.3
+     */
+    String SERVER_CONCURRENT_EVENT_MANAGER_PROPERTY = "cayenne.server.concurrent_event_manager";
+
+    /**
+     * A boolean property defining whether {@link org.apache.cayenne.dba.JdbcPkGenerator} should fetch primary key
+     * ranges in the background before the cached range is exhausted. Possible values are "true" or "false". Default
+     * is "false".
+     *
+     * @since 4.3
+     */
+    String SERVER_PK_PREFETCH_PROPERTY = "cayenne.server.pk_prefetch";
+
+    /**
+     * A boolean property defining whether batch inserts should be executed as multi-row
+     * "INSERT ... VALUES (...), (...)" statements on the databases that support them. Possible values are "true" or
+     * "false". Default is "false".
+     *
+     * @since 4.3
+     */
+    String SERVER_MULTI_ROW_INSERT_PROPERTY = "cayenne.server.multi_row_insert";
+
+    /**
+     * An integer property defining the maximum number of translated select queries (SQL, result columns and
+     * parameter binding templates) cached by their structural shape, so that repeated {@link org.apache.cayenne.query.ObjectSelect}
+     * and {@link org.apache.cayenne.query.ColumnSelect} queries that differ only in qualifier parameter values skip
+     * translation. Default is "0", that disables the cache.
+     *
+     * @since 4.3
+     */
+    String SERVER_SELECT_TRANSLATION_CACHE_SIZE_PROPERTY = "cayenne.server.select_translation_cache_size";
+
     /**
      * A String property that defines how ObjectContexts should retain cached
      * committed objects. Possible values are "weak", "soft", "hard".
@@ -159,6 +252,33 @@ public interface Constants {
      */
     String SERVER_MAX_ID_QUALIFIER_SIZE_PROPERTY = "cayenne.server.max_id_qualifier_size";
 
+    /**
+     * A boolean property defining whether paginated query results should resolve the next page in background while
+     * the current page is being iterated. Possible values are "true" or "false". Default is "false".
+     *
+     * @since 4.3
+     */
+    String SERVER_PAGINATED_READ_AHEAD_PROPERTY = "cayenne.server.paginated_read_ahead";
+
+    /**
+     * An integer property defining the max number of threads used to run disjoint and disjoint-by-id
+     * prefetch queries of a single select concurrently on separate connections. Default is 0, meaning
+     * that prefetch queries run one after another. Prefetches are never run concurrently within an
+     * explicit transaction bound to the calling thread.
+     *
+     * @since 4.3
+     */
+    String SERVER_PARALLEL_PREFETCH_THREADS_PROPERTY = "cayenne.server.parallel_prefetch_threads";
+
+    /**
+     * An integer property defining the max number of threads used to run commit queries of the DataNodes of a
+     * single commit concurrently. All nodes still share the commit transaction. Default is 0, meaning that nodes are
+     * committed one after another.
+     *
+     * @since 4.3
+     */
+    String SERVER_PARALLEL_COMMIT_THREADS_PROPERTY = "cayenne.server.parallel_commit_threads";
+
     /**
      * Defines if database uses case-insensitive collation
      */
@@ -182,4 +302,22 @@ public interface Constants {
      */
     String SNAPSHOT_CACHE_SIZE_PROPERTY = "cayenne.DataRowStore.snapshot.size";
 
+    /**
+     * A time window in milliseconds during which snapshot changes are accumulated by the DataRowStore and then posted
+     * as a single SnapshotEvent per sender. Zero (default) disables coalescing, posting one event per commit.
+     *
+     * @see org.apache.cayenne.configuration.server.ServerModule#setSnapshotEventsCoalescing(Binder, long, int)
+     * @since 4.3
+     */
+    String SNAPSHOT_EVENTS_COALESCE_WINDOW_PROPERTY = "cayenne.DataRowStore.events.coalesce.window";
+
+    /**
+     * Max number of changed ids accumulated by the DataRowStore before coalesced snapshot events are posted,
+     * regardless of the time window. Default is 1000.
+     *
+     * @see org.apache.cayenne.configuration.server.ServerModule#setSnapshotEventsCoalescing(Binder, long, int)
+     * @since 4.3
+     */
+    String SNAPSHOT_EVENTS_COALESCE_SIZE_PROPERTY = "cayenne.DataRowStore.events.coalesce.size";
+
 }
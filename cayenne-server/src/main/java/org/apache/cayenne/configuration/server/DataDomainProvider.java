@@ -127,6 +127,8 @@ public class DataDomainProvider implements Provider<DataDomain> {
 		DataDomain dataDomain = createDataDomain(descriptor.getName());
 
 		dataDomain.setMaxIdQualifierSize(runtimeProperties.getInt(Constants.SERVER_MAX_ID_QUALIFIER_SIZE_PROPERTY, -1));
+		dataDomain.setPaginatedReadAhead(runtimeProperties.getBoolean(Constants.SERVER_PAGINATED_READ_AHEAD_PROPERTY, false));
+		dataDomain.setParallelPrefetchThreads(runtimeProperties.getInt(Constants.SERVER_PARALLEL_PREFETCH_THREADS_PROPERTY, 0));
 
 		dataDomain.setQueryCache(new NestedQueryCache(queryCache));
 		dataDomain.setEntitySorter(injector.getInstance(EntitySorter.class));
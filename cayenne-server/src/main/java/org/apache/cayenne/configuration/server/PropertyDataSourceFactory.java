@@ -70,11 +70,12 @@ public class PropertyDataSourceFactory implements DataSourceFactory {
 		long maxQueueWaitTime = properties.getLong(Constants.JDBC_MAX_QUEUE_WAIT_TIME,
 				UnmanagedPoolingDataSource.MAX_QUEUE_WAIT_DEFAULT);
 		String validationQuery = properties.get(Constants.JDBC_VALIDATION_QUERY_PROPERTY);
+		boolean highThroughput = properties.getBoolean(Constants.JDBC_HIGH_THROUGHPUT_POOL_PROPERTY, false);
 
 		Driver driver = (Driver)objectFactory.getJavaClass(driverClass).getDeclaredConstructor().newInstance();
 		return DataSourceBuilder.url(url).driver(driver).userName(username).password(password)
 				.pool(minConnections, maxConnections).maxQueueWaitTime(maxQueueWaitTime)
-				.validationQuery(validationQuery).build();
+				.validationQuery(validationQuery).highThroughput(highThroughput).build();
 	}
 
 	protected int getIntProperty(String propertyName, String suffix, int defaultValue) {
@@ -45,11 +45,13 @@ import org.apache.cayenne.access.translator.select.SelectTranslatorFactory;
 import org.apache.cayenne.access.types.BigDecimalType;
 import org.apache.cayenne.access.types.BigDecimalValueType;
 import org.apache.cayenne.access.types.BigIntegerValueType;
+import org.apache.cayenne.access.types.BlobValueType;
 import org.apache.cayenne.access.types.BooleanType;
 import org.apache.cayenne.access.types.ByteArrayType;
 import org.apache.cayenne.access.types.ByteType;
 import org.apache.cayenne.access.types.CalendarType;
 import org.apache.cayenne.access.types.CharType;
+import org.apache.cayenne.access.types.ClobValueType;
 import org.apache.cayenne.access.types.CharacterValueType;
 import org.apache.cayenne.access.types.DateType;
 import org.apache.cayenne.access.types.DefaultValueObjectTypeRegistry;
@@ -61,6 +63,7 @@ import org.apache.cayenne.access.types.FloatType;
 import org.apache.cayenne.access.types.GeoJsonType;
 import org.apache.cayenne.access.types.IntegerType;
 import org.apache.cayenne.access.types.InternalUnsupportedTypeFactory;
+import org.apache.cayenne.access.types.LobFlagType;
 import org.apache.cayenne.access.types.LocalDateTimeValueType;
 import org.apache.cayenne.access.types.LocalDateValueType;
 import org.apache.cayenne.access.types.LocalTimeValueType;
@@ -194,6 +197,21 @@ public class ServerModule implements Module {
         contributeProperties(binder).put(Constants.SNAPSHOT_CACHE_SIZE_PROPERTY, Integer.toString(size));
     }
 
+    /**
+     * Enables coalescing of snapshot change events, so that changes committed within a time window (or until the
+     * number of changed ids reaches a size threshold) are posted as a single SnapshotEvent per sender.
+     *
+     * @param binder  DI binder passed to the module during injector startup.
+     * @param window  coalescing time window in milliseconds. Zero or negative value disables coalescing.
+     * @param maxSize max number of changed ids accumulated before the events are posted regardless of the window.
+     * @since 4.3
+     */
+    public static void setSnapshotEventsCoalescing(Binder binder, long window, int maxSize) {
+        contributeProperties(binder)
+                .put(Constants.SNAPSHOT_EVENTS_COALESCE_WINDOW_PROPERTY, Long.toString(window))
+                .put(Constants.SNAPSHOT_EVENTS_COALESCE_SIZE_PROPERTY, Integer.toString(maxSize));
+    }
+
     /**
      * Provides access to a DI collection builder for String locations that allows downstream modules to
      * "contribute" their own Cayenne project locations.
@@ -411,7 +429,10 @@ public class ServerModule implements Module {
                 .add(new CalendarType<>(Calendar.class))
                 // non-standard types
                 .add(GeoJsonType.class)
-                .add(WktType.class);
+                .add(WktType.class)
+                .add(new BlobValueType())
+                .add(new ClobValueType())
+                .add(new LobFlagType());
         contributeUserTypes(binder);
         contributeTypeFactories(binder)
                 .add(new InternalUnsupportedTypeFactory());
@@ -65,6 +65,7 @@ public class XMLPoolingDataSourceFactory implements DataSourceFactory {
 
 		long maxQueueWaitTime = properties
 				.getLong(Constants.JDBC_MAX_QUEUE_WAIT_TIME, UnmanagedPoolingDataSource.MAX_QUEUE_WAIT_DEFAULT);
+		boolean highThroughput = properties.getBoolean(Constants.JDBC_HIGH_THROUGHPUT_POOL_PROPERTY, false);
 
 		Driver driver = (Driver)objectFactory.getJavaClass(descriptor.getJdbcDriver())
 				.getDeclaredConstructor().newInstance();
@@ -75,6 +76,7 @@ public class XMLPoolingDataSourceFactory implements DataSourceFactory {
 				.password(descriptor.getPassword())
 				.pool(descriptor.getMinConnections(), descriptor.getMaxConnections())
 				.maxQueueWaitTime(maxQueueWaitTime)
+				.highThroughput(highThroughput)
 				.build();
 	}
 
@@ -151,6 +151,7 @@ public class ObjEntityHandler extends NamespaceAwareNestedTagHandler {
         lastAttribute.setType(attributes.getValue("type"));
         lastAttribute.setUsedForLocking(DataMapHandler.TRUE.equalsIgnoreCase(attributes.getValue("lock")));
         lastAttribute.setLazy(DataMapHandler.TRUE.equalsIgnoreCase(attributes.getValue("lazy")));
+        lastAttribute.setLazyGroup(attributes.getValue("lazy-group"));
         lastAttribute.setDbAttributePath(dbPath);
         entity.addAttribute(lastAttribute);
     }
@@ -0,0 +1,205 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.datasource;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free {@link ConnectionBag} for high-throughput pools, modeled after
+ * HikariCP ConcurrentBag. All pooled connections stay in a shared
+ * copy-on-write list and are claimed via CAS on their state. Each thread
+ * remembers connections it returned and tries them first, so in a steady
+ * state a thread keeps reusing the same connection without contention.
+ * Returned connections are handed off directly to the waiting threads, if
+ * there are any.
+ * 
+ * @since 4.3
+ */
+class ConcurrentConnectionBag implements ConnectionBag {
+
+	static final int STATE_NOT_IN_USE = 0;
+	static final int STATE_IN_USE = 1;
+	static final int STATE_REMOVED = -1;
+
+	// max number of connections remembered by a single thread
+	private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+
+	private final CopyOnWriteArrayList<Entry> sharedList;
+	private final ConcurrentMap<PoolAwareConnection, Entry> entries;
+	private final ThreadLocal<List<WeakReference<Entry>>> threadList;
+	private final AtomicInteger waiters;
+	private final SynchronousQueue<Entry> handoffQueue;
+
+	ConcurrentConnectionBag() {
+		this.sharedList = new CopyOnWriteArrayList<>();
+		this.entries = new ConcurrentHashMap<>();
+		this.threadList = ThreadLocal.withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_ENTRIES));
+		this.waiters = new AtomicInteger();
+		this.handoffQueue = new SynchronousQueue<>(true);
+	}
+
+	@Override
+	public boolean offer(PoolAwareConnection connection) {
+
+		Entry entry = entries.get(connection);
+		if (entry == null) {
+			// a new connection joining the pool
+			entry = new Entry(connection);
+			Entry existing = entries.putIfAbsent(connection, entry);
+			if (existing != null) {
+				entry = existing;
+			} else {
+				sharedList.add(entry);
+			}
+		}
+
+		if (!entry.state.compareAndSet(STATE_IN_USE, STATE_NOT_IN_USE)) {
+			// either already idle (i.e. returned twice), or removed from the
+			// pool
+			return entry.state.get() == STATE_NOT_IN_USE;
+		}
+
+		// try to pass the connection to one of the waiting threads
+		for (int i = 0; waiters.get() > 0; i++) {
+			if (entry.state.get() != STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+				return true;
+			}
+
+			if ((i & 0xff) == 0xff) {
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+			} else {
+				Thread.yield();
+			}
+		}
+
+		List<WeakReference<Entry>> localList = threadList.get();
+		if (localList.size() < MAX_THREAD_LOCAL_ENTRIES) {
+			localList.add(new WeakReference<>(entry));
+		}
+
+		return true;
+	}
+
+	@Override
+	public PoolAwareConnection poll() {
+
+		// try the connections previously used by this thread
+		List<WeakReference<Entry>> localList = threadList.get();
+		for (int i = localList.size() - 1; i >= 0; i--) {
+			Entry entry = localList.remove(i).get();
+			if (entry != null && entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+				return entry.connection;
+			}
+		}
+
+		for (Entry entry : sharedList) {
+			if (entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+				return entry.connection;
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public PoolAwareConnection poll(long timeoutMs) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+		waiters.incrementAndGet();
+		try {
+			while (true) {
+				PoolAwareConnection connection = poll();
+				if (connection != null) {
+					return connection;
+				}
+
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return null;
+				}
+
+				Entry entry = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+				if (entry != null && entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+					return entry.connection;
+				}
+			}
+		} finally {
+			waiters.decrementAndGet();
+		}
+	}
+
+	@Override
+	public boolean reserve(PoolAwareConnection connection) {
+		Entry entry = entries.get(connection);
+		return entry != null && entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE);
+	}
+
+	@Override
+	public void remove(PoolAwareConnection connection) {
+		Entry entry = entries.remove(connection);
+		if (entry != null) {
+			entry.state.set(STATE_REMOVED);
+			sharedList.remove(entry);
+		}
+	}
+
+	@Override
+	public int size() {
+		int size = 0;
+		for (Entry entry : sharedList) {
+			if (entry.state.get() == STATE_NOT_IN_USE) {
+				size++;
+			}
+		}
+
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		for (Entry entry : sharedList) {
+			entry.state.set(STATE_REMOVED);
+		}
+
+		sharedList.clear();
+		entries.clear();
+	}
+
+	static final class Entry {
+
+		final PoolAwareConnection connection;
+
+		// new entries are created on connection return, i.e. "in use"
+		final AtomicInteger state;
+
+		Entry(PoolAwareConnection connection) {
+			this.connection = connection;
+			this.state = new AtomicInteger(STATE_IN_USE);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.datasource;
+
+/**
+ * A storage of idle connections of {@link UnmanagedPoolingDataSource}.
+ * 
+ * @since 4.3
+ */
+interface ConnectionBag {
+
+	/**
+	 * Returns an idle connection to the bag. Returns false if the bag can not
+	 * accept the connection.
+	 */
+	boolean offer(PoolAwareConnection connection);
+
+	/**
+	 * Takes an idle connection from the bag without waiting. Returns null if
+	 * no idle connections are available.
+	 */
+	PoolAwareConnection poll();
+
+	/**
+	 * Takes an idle connection from the bag, waiting up to the specified time
+	 * for a connection to be returned. Returns null if the wait time elapsed.
+	 */
+	PoolAwareConnection poll(long timeoutMs) throws InterruptedException;
+
+	/**
+	 * Takes a given connection from the bag if it is idle. Returns false if
+	 * the connection is in use or is not in the bag.
+	 */
+	boolean reserve(PoolAwareConnection connection);
+
+	/**
+	 * Notifies the bag that the connection is permanently removed from the
+	 * pool.
+	 */
+	void remove(PoolAwareConnection connection);
+
+	/**
+	 * Returns the number of idle connections in the bag.
+	 */
+	int size();
+
+	/**
+	 * Removes all connections from the bag.
+	 */
+	void clear();
+}
@@ -67,6 +67,14 @@ public class ManagedPoolingDataSource implements PoolingDataSource, ScopeEventLi
 		return dataSourceManager.getDataSource().canExpandSize();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public PoolingDataSourceMetrics getMetrics() {
+		return dataSourceManager.getDataSource().getMetrics();
+	}
+
 	/**
 	 * Calls {@link #shutdown()} to drain the underlying pool, close open
 	 * connections and block the DataSource from creating any new connections.
@@ -51,6 +51,11 @@ public class PoolAwareConnection implements Connection {
 	private Connection connection;
 	private String validationQuery;
 
+	// pool bookkeeping; written by the user threads and read by the pool
+	// manager thread
+	volatile long lastReturnedNanos;
+	volatile long checkoutNanos;
+
 	public PoolAwareConnection(UnmanagedPoolingDataSource parent, Connection connection, String validationQuery) {
 		this.parent = parent;
 		this.connection = connection;
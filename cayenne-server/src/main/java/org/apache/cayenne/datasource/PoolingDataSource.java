@@ -28,4 +28,13 @@ import javax.sql.DataSource;
  */
 public interface PoolingDataSource extends DataSource, AutoCloseable {
 
+	/**
+	 * Returns runtime statistics of the pool, or null if the implementation
+	 * doesn't collect them.
+	 * 
+	 * @since 4.3
+	 */
+	default PoolingDataSourceMetrics getMetrics() {
+		return null;
+	}
 }
@@ -63,6 +63,18 @@ public class PoolingDataSourceBuilder {
 		return this;
 	}
 
+	/**
+	 * Enables a high-throughput pool mode, with lock-free connection checkout
+	 * and return, thread-affine connection reuse and lazy background
+	 * validation of idle connections.
+	 * 
+	 * @since 4.3
+	 */
+	public PoolingDataSourceBuilder highThroughput(boolean highThroughput) {
+		poolParameters.setHighThroughput(highThroughput);
+		return this;
+	}
+
 	/**
 	 * Builds a pooling DataSource that needs to be explicitly closed by the
 	 * caller when no longer in use.
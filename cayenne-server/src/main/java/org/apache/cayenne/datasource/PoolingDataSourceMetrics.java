@@ -0,0 +1,226 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.datasource;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics of a connection pool: histograms of the time spent
+ * waiting for a connection and of the time a connection was in use, as well
+ * as the counts of created and retired connections and of the timed out
+ * connection requests. All times are in microseconds.
+ * 
+ * @since 4.3
+ */
+public class PoolingDataSourceMetrics {
+
+	private final Histogram waitTime;
+	private final Histogram usageTime;
+	private final LongAdder created;
+	private final LongAdder retired;
+	private final LongAdder timeouts;
+
+	public PoolingDataSourceMetrics() {
+		this.waitTime = new Histogram();
+		this.usageTime = new Histogram();
+		this.created = new LongAdder();
+		this.retired = new LongAdder();
+		this.timeouts = new LongAdder();
+	}
+
+	/**
+	 * Returns a histogram of the time in microseconds spent by the callers
+	 * waiting for a connection.
+	 */
+	public Histogram getWaitTime() {
+		return waitTime;
+	}
+
+	/**
+	 * Returns a histogram of the time in microseconds between connection
+	 * checkout and its return to the pool.
+	 */
+	public Histogram getUsageTime() {
+		return usageTime;
+	}
+
+	public long getCreatedCount() {
+		return created.sum();
+	}
+
+	public long getRetiredCount() {
+		return retired.sum();
+	}
+
+	/**
+	 * Returns the number of connection requests that failed because no
+	 * connection became available within the max queue wait time.
+	 */
+	public long getTimeoutCount() {
+		return timeouts.sum();
+	}
+
+	void connectionCreated() {
+		created.increment();
+	}
+
+	void connectionRetired() {
+		retired.increment();
+	}
+
+	void requestTimedOut() {
+		timeouts.increment();
+	}
+
+	/**
+	 * Resets all statistics.
+	 */
+	public void reset() {
+		waitTime.reset();
+		usageTime.reset();
+		created.reset();
+		retired.reset();
+		timeouts.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "[PoolingDataSourceMetrics] wait time: " + waitTime + ", usage time: " + usageTime + ", created: "
+				+ getCreatedCount() + ", retired: " + getRetiredCount() + ", timeouts: " + getTimeoutCount();
+	}
+
+	/**
+	 * A histogram with exponential (power of 2) buckets, that can be updated
+	 * concurrently without contention. Bucket zero counts zero values, bucket
+	 * "i" counts values in the range [2^(i-1), 2^i), the last bucket counts all
+	 * the remaining values.
+	 */
+	public static class Histogram {
+
+		static final int BUCKETS = 32;
+
+		private final LongAdder[] buckets;
+		private final LongAdder sum;
+		private final LongAccumulator max;
+
+		Histogram() {
+			this.buckets = new LongAdder[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				buckets[i] = new LongAdder();
+			}
+
+			this.sum = new LongAdder();
+			this.max = new LongAccumulator(Math::max, 0);
+		}
+
+		static int bucket(long value) {
+			return value <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+		}
+
+		void record(long value) {
+			buckets[bucket(value)].increment();
+			sum.add(value);
+			max.accumulate(value);
+		}
+
+		void reset() {
+			for (LongAdder bucket : buckets) {
+				bucket.reset();
+			}
+
+			sum.reset();
+			max.reset();
+		}
+
+		public long getCount() {
+			long count = 0;
+			for (LongAdder bucket : buckets) {
+				count += bucket.sum();
+			}
+			return count;
+		}
+
+		public long getMax() {
+			return max.get();
+		}
+
+		public double getMean() {
+			long count = getCount();
+			return count > 0 ? (double) sum.sum() / count : 0d;
+		}
+
+		/**
+		 * Returns a snapshot of the bucket counts.
+		 */
+		public long[] getBucketCounts() {
+			long[] counts = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] = buckets[i].sum();
+			}
+			return counts;
+		}
+
+		/**
+		 * Returns an inclusive upper bound of the values counted in a given
+		 * bucket.
+		 */
+		public long getBucketUpperBound(int bucket) {
+			if (bucket == 0) {
+				return 0;
+			}
+
+			return bucket < BUCKETS - 1 ? (1L << bucket) - 1 : Long.MAX_VALUE;
+		}
+
+		/**
+		 * Returns an estimate of a given percentile (a value between 0 and
+		 * 100), computed as the upper bound of the bucket that contains it.
+		 */
+		public long getPercentile(double percentile) {
+			long[] counts = getBucketCounts();
+
+			long total = 0;
+			for (long c : counts) {
+				total += c;
+			}
+
+			if (total == 0) {
+				return 0;
+			}
+
+			long threshold = (long) Math.ceil(total * percentile / 100d);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += counts[i];
+				if (seen >= threshold) {
+					return Math.min(getBucketUpperBound(i), getMax());
+				}
+			}
+
+			return getMax();
+		}
+
+		@Override
+		public String toString() {
+			return "{count: " + getCount() + ", mean: " + String.format("%.1f", getMean()) + ", p50: "
+					+ getPercentile(50) + ", p99: " + getPercentile(99) + ", max: " + getMax() + "}";
+		}
+	}
+}
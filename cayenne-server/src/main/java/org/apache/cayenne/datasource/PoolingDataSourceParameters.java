@@ -29,6 +29,7 @@ public class PoolingDataSourceParameters {
 	private int minConnections;
 	private int maxConnections;
 	private long maxQueueWaitTime;
+	private boolean highThroughput;
 
 	public int getMinConnections() {
 		return minConnections;
@@ -61,4 +62,22 @@ public class PoolingDataSourceParameters {
 	public void setValidationQuery(String validationQuery) {
 		this.validationQuery = validationQuery;
 	}
+
+	/**
+	 * @since 4.3
+	 */
+	public boolean isHighThroughput() {
+		return highThroughput;
+	}
+
+	/**
+	 * Sets whether the pool should use a lock-free connection storage with
+	 * thread-affine connection reuse and lazy validation, optimized for a
+	 * large number of concurrent threads.
+	 * 
+	 * @since 4.3
+	 */
+	public void setHighThroughput(boolean highThroughput) {
+		this.highThroughput = highThroughput;
+	}
 }
@@ -22,10 +22,9 @@ import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -88,6 +87,15 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 	 */
 	public static final int MAX_QUEUE_WAIT_DEFAULT = 20000;
 
+	/**
+	 * Defines a time in milliseconds since the connection was last returned
+	 * to a high-throughput pool, during which the connection is handed out
+	 * without running a validation query.
+	 * 
+	 * @since 4.3
+	 */
+	public static final long VALIDATION_BYPASS_WINDOW = 500;
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(UnmanagedPoolingDataSource.class);
 
 	private DataSource nonPoolingDataSource;
@@ -95,7 +103,9 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 
 	private Map<PoolAwareConnection, Object> pool;
 	private Semaphore poolCap;
-	private BlockingQueue<PoolAwareConnection> available;
+	private ConnectionBag available;
+	private boolean highThroughput;
+	private PoolingDataSourceMetrics metrics;
 
 	private int maxIdleConnections;
 	private int minConnections;
@@ -130,8 +140,10 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 		this.validationQuery = parameters.getValidationQuery();
 		this.minConnections = minConnections;
 		this.maxConnections = maxConnections;
+		this.highThroughput = parameters.isHighThroughput();
 		this.pool = new ConcurrentHashMap<PoolAwareConnection, Object>((int) (maxConnections / 0.75));
-		this.available = new ArrayBlockingQueue<PoolAwareConnection>(maxConnections);
+		this.available = highThroughput ? new ConcurrentConnectionBag() : new QueueConnectionBag(maxConnections);
+		this.metrics = new PoolingDataSourceMetrics();
 		this.poolCap = new Semaphore(maxConnections);
 		this.maxIdleConnections = maxIdleConnections(minConnections, maxConnections);
 
@@ -160,6 +172,14 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 		return poolCap.availablePermits();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public PoolingDataSourceMetrics getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public void close() {
 
@@ -200,6 +220,29 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 			}
 		}
 
+		// high-throughput pool skips validation of recently used connections
+		// on checkout, so validate idle connections in the background
+		if (highThroughput && validationQuery != null) {
+			validateIdle();
+		}
+	}
+
+	void validateIdle() {
+		// iterate over a snapshot of the pool, so that each idle connection
+		// is validated once, regardless of the order the bag returns them in
+		for (PoolAwareConnection c : new ArrayList<>(pool.keySet())) {
+			if (!available.reserve(c)) {
+				// in use or already retired
+				continue;
+			}
+
+			if (c.validate()) {
+				c.lastReturnedNanos = System.nanoTime();
+				reclaimUnchecked(c);
+			} else {
+				retire(c);
+			}
+		}
 	}
 
 	/**
@@ -207,9 +250,15 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 	 * be an unchecked connection.
 	 */
 	void retire(PoolAwareConnection connection) {
-		pool.remove(connection);
 
+		// protect from double retirement, that would corrupt the pool cap
+		if (pool.remove(connection) == null) {
+			return;
+		}
+
+		available.remove(connection);
 		poolCap.release();
+		metrics.connectionRetired();
 
 		try {
 			connection.getConnection().close();
@@ -224,6 +273,18 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 	 */
 	void reclaim(PoolAwareConnection connection) {
 
+		long now = System.nanoTime();
+		if (connection.checkoutNanos != 0) {
+			metrics.getUsageTime().record(TimeUnit.NANOSECONDS.toMicros(now - connection.checkoutNanos));
+			connection.checkoutNanos = 0;
+		}
+
+		connection.lastReturnedNanos = now;
+		reclaimUnchecked(connection);
+	}
+
+	private void reclaimUnchecked(PoolAwareConnection connection) {
+
 		// TODO: rollback any in-process tx?
 
 		// the queue may overflow potentially and we won't be able to add the
@@ -241,7 +302,7 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 	PoolAwareConnection uncheckBlocking(boolean validate) {
 		PoolAwareConnection c;
 		try {
-			c = available.poll(maxQueueWaitTime, TimeUnit.MILLISECONDS);
+			c = available.poll(maxQueueWaitTime);
 		} catch (InterruptedException e) {
 			return null;
 		}
@@ -251,7 +312,7 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 
 	PoolAwareConnection validateUnchecked(PoolAwareConnection c) {
 
-		if (c == null || c.validate()) {
+		if (c == null || !needsValidation(c) || c.validate()) {
 			return c;
 		}
 
@@ -261,6 +322,11 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 		return validateUnchecked(available.poll());
 	}
 
+	private boolean needsValidation(PoolAwareConnection c) {
+		return !highThroughput
+				|| System.nanoTime() - c.lastReturnedNanos > TimeUnit.MILLISECONDS.toNanos(VALIDATION_BYPASS_WINDOW);
+	}
+
 	PoolAwareConnection createUnchecked() throws SQLException {
 
 		if (!poolCap.tryAcquire()) {
@@ -276,6 +342,7 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 		}
 
 		pool.put(c, 1);
+		metrics.connectionCreated();
 
 		// even though we got a fresh connection, let's still validate it...
 		// This will provide consistent behavior between cached and uncached
@@ -327,23 +394,26 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 		// 2. create new one
 		// 3. wait for a user to return connection
 
+		long t0 = System.nanoTime();
 		PoolAwareConnection c;
 
 		c = uncheckNonBlocking(true);
 		if (c != null) {
-			return resetState(c);
+			return checkout(c, t0);
 		}
 
 		c = createUnchecked();
 		if (c != null) {
-			return resetState(c);
+			return checkout(c, t0);
 		}
 
 		c = uncheckBlocking(true);
 		if (c != null) {
-			return resetState(c);
+			return checkout(c, t0);
 		}
 
+		metrics.requestTimedOut();
+
 		int poolSize = poolSize();
 		int canGrow = poolCap.availablePermits();
 
@@ -351,6 +421,15 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 				+ poolSize + ", can expand by: " + canGrow);
 	}
 
+	private Connection checkout(PoolAwareConnection c, long requestNanos) throws SQLException {
+		resetState(c);
+
+		long now = System.nanoTime();
+		metrics.getWaitTime().record(TimeUnit.NANOSECONDS.toMicros(now - requestNanos));
+		c.checkoutNanos = now;
+		return c;
+	}
+
 	@Override
 	public Connection getConnection(String userName, String password) throws SQLException {
 		throw new UnsupportedOperationException(
@@ -412,4 +491,8 @@ public class UnmanagedPoolingDataSource implements PoolingDataSource {
 	int getMaxConnections() {
 		return maxConnections;
 	}
+
+	boolean isHighThroughput() {
+		return highThroughput;
+	}
 }
@@ -28,6 +28,7 @@ import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
 import org.apache.cayenne.access.translator.ParameterBinding;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
 import org.apache.cayenne.access.translator.ejbql.EJBQLTranslatorFactory;
 import org.apache.cayenne.access.translator.select.SelectTranslator;
 import org.apache.cayenne.access.types.ExtendedTypeMap;
@@ -40,6 +41,7 @@ import org.apache.cayenne.map.EntityResolver;
 import org.apache.cayenne.query.FluentSelect;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 
 /**
  * A DbAdapter that automatically detects the kind of database it is running on
@@ -143,6 +145,22 @@ public class AutoAdapter implements DbAdapter {
 		return getAdapter().supportsGeneratedKeysForBatchInserts();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public int getMaxMultiRowInsertSize(int parametersPerRow) {
+		return getAdapter().getMaxMultiRowInsertSize(parametersPerRow);
+	}
+
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+		return getAdapter().getUpsertTranslator(query);
+	}
+
 	@Override
 	public boolean supportsBatchUpdates() {
 		return getAdapter().supportsBatchUpdates();
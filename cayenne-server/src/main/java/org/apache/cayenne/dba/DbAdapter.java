@@ -26,6 +26,7 @@ import java.util.List;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
 import org.apache.cayenne.access.translator.ParameterBinding;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
 import org.apache.cayenne.access.translator.ejbql.EJBQLTranslatorFactory;
 import org.apache.cayenne.access.translator.select.SelectTranslator;
 import org.apache.cayenne.access.types.ExtendedTypeMap;
@@ -36,6 +37,7 @@ import org.apache.cayenne.map.EntityResolver;
 import org.apache.cayenne.query.FluentSelect;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 
 /**
  * A Cayenne extension point that abstracts the differences between specifics of
@@ -103,6 +105,27 @@ public interface DbAdapter {
     	return supportsGeneratedKeys();
     }
 
+	/**
+	 * Returns the max number of rows that can be inserted with a single multi-row
+	 * "INSERT ... VALUES (...), (...)" statement, when each row binds a given number of parameters.
+	 * Values less than 2 mean that multi-row inserts should not be used.
+	 *
+	 * @since 4.3
+	 */
+	default int getMaxMultiRowInsertSize(int parametersPerRow) {
+		return 1;
+	}
+
+	/**
+	 * Returns a translator of the "upsert" batch, i.e. a batch of inserts that update the existing rows with the same
+	 * PK, or null if the target database doesn't support upserts.
+	 *
+	 * @since 4.3
+	 */
+	default BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+		return null;
+	}
+
 	/**
 	 * Returns <code>true</code> if the target database supports batch updates.
 	 */
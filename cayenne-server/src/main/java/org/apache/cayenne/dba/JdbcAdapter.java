@@ -72,6 +72,21 @@ public class JdbcAdapter implements DbAdapter {
     protected boolean supportsBatchUpdates;
     protected boolean supportsUniqueConstraints;
     protected boolean supportsGeneratedKeys;
+
+    /**
+     * @since 4.3
+     */
+    protected boolean multiRowInsert;
+
+    /**
+     * @since 4.3
+     */
+    protected int multiRowInsertMaxParameters;
+
+    /**
+     * @since 4.3
+     */
+    protected int multiRowInsertMaxRows;
     protected EJBQLTranslatorFactory ejbqlTranslatorFactory;
 
     protected ResourceLocator resourceLocator;
@@ -94,6 +109,7 @@ public class JdbcAdapter implements DbAdapter {
         this.setSupportsBatchUpdates(false);
         this.setSupportsUniqueConstraints(true);
         this.caseInsensitiveCollations = runtimeProperties.getBoolean(Constants.CI_PROPERTY, false);
+        this.multiRowInsert = runtimeProperties.getBoolean(Constants.SERVER_MULTI_ROW_INSERT_PROPERTY, false);
         this.resourceLocator = resourceLocator;
 
         this.quotingStrategy = createQuotingStrategy();
@@ -541,6 +557,51 @@ public class JdbcAdapter implements DbAdapter {
         this.supportsBatchUpdates = flag;
     }
 
+    /**
+     * Returns the max number of rows in a multi-row insert. It is limited by the max number of parameters a database
+     * can bind in a single statement and by the max number of rows in the "VALUES" clause. Returns 1 if multi-row
+     * inserts are disabled or not supported by this adapter.
+     *
+     * @since 4.3
+     */
+    @Override
+    public int getMaxMultiRowInsertSize(int parametersPerRow) {
+        if (!multiRowInsert || multiRowInsertMaxParameters <= 0 || parametersPerRow <= 0) {
+            return 1;
+        }
+
+        return Math.min(multiRowInsertMaxParameters / parametersPerRow, multiRowInsertMaxRows);
+    }
+
+    /**
+     * @since 4.3
+     */
+    public boolean isMultiRowInsert() {
+        return multiRowInsert;
+    }
+
+    /**
+     * Enables or disables multi-row inserts. Has effect only for adapters that set multi-row insert limits. By
+     * default is set from the {@link Constants#SERVER_MULTI_ROW_INSERT_PROPERTY} property.
+     *
+     * @since 4.3
+     */
+    public void setMultiRowInsert(boolean flag) {
+        this.multiRowInsert = flag;
+    }
+
+    /**
+     * Sets limits for the multi-row inserts supported by the target database.
+     *
+     * @param maxParameters max number of parameters that can be bound in a single statement
+     * @param maxRows max number of rows in the "VALUES" clause of a single statement
+     * @since 4.3
+     */
+    public void setMultiRowInsertLimits(int maxParameters, int maxRows) {
+        this.multiRowInsertMaxParameters = maxParameters;
+        this.multiRowInsertMaxRows = maxRows;
+    }
+
     /**
      * @since 1.2
      */
@@ -25,12 +25,22 @@ import org.apache.cayenne.ObjectId;
 import org.apache.cayenne.ResultIterator;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.OperationObserver;
+import org.apache.cayenne.configuration.Constants;
+import org.apache.cayenne.configuration.RuntimeProperties;
+import org.apache.cayenne.di.BeforeScopeEnd;
+import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.map.DbKeyGenerator;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLTemplate;
+import org.apache.cayenne.tx.BaseTransaction;
+import org.apache.cayenne.tx.CayenneTransaction;
+import org.apache.cayenne.tx.Transaction;
 import org.apache.cayenne.util.IDUtil;
+import org.apache.cayenne.util.ThreadBindings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -42,8 +52,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Default primary key generator implementation. Uses a lookup table named
@@ -51,14 +64,38 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class JdbcPkGenerator implements PkGenerator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcPkGenerator.class);
+
     public static final int DEFAULT_PK_CACHE_SIZE = 20;
     static final long DEFAULT_PK_START_VALUE = 200;
 
+    /**
+     * Max number of key ranges per entity that can be fetched ahead of time when prefetching is enabled.
+     *
+     * @since 4.3
+     */
+    public static final int PK_PREFETCH_MAX_RANGES = 8;
+
     protected JdbcAdapter adapter;
+
+    /**
+     * @deprecated since 4.3 cached keys are stored as ranges, and this map is no longer used by the generator.
+     */
+    @Deprecated
     protected ConcurrentMap<String, Queue<Long>> pkCache = new ConcurrentHashMap<>();
     protected int pkCacheSize = DEFAULT_PK_CACHE_SIZE;
     protected long pkStartValue = DEFAULT_PK_START_VALUE;
 
+    /**
+     * @since 4.3
+     */
+    @Inject
+    protected RuntimeProperties runtimeProperties;
+
+    private final ConcurrentMap<String, PkRangeCache> pkRanges = new ConcurrentHashMap<>();
+    private volatile Boolean pkPrefetch;
+    private volatile ThreadPoolExecutor prefetchExecutor;
+
     /**
      * @since 4.1
      */
@@ -213,29 +250,29 @@ public class JdbcPkGenerator implements PkGenerator {
             cacheSize = getPkCacheSize();
         }
 
-        Long value;
+        long value;
 
         // if no caching, always generate fresh
         if (cacheSize <= 1) {
             value = longPkFromDatabase(node, entity);
         } else {
-            Queue<Long> pks = pkCache.get(entity.getName());
-
-            if (pks == null) {
-                // created exhausted LongPkRange
-                pks = new ConcurrentLinkedQueue<>();
-                Queue<Long> previousPks = pkCache.putIfAbsent(entity.getName(), pks);
-                if (previousPks != null) {
-                    pks = previousPks;
-                }
+            long blockSize = cacheSize;
+            PkRangeCache range = pkRanges.computeIfAbsent(entity.getName(),
+                    n -> new PkRangeCache(blockSize, PK_PREFETCH_MAX_RANGES));
+
+            // waiting for a refill in progress prevents concurrent key fetches, which is important for the default
+            // implementation that doesn't lock the key table. Still the wait is bounded, as the refill may be blocked
+            // by the locks held by the current transaction.
+            value = range.awaitNext();
+            if (value == PkRangeCache.EMPTY) {
+                long start = System.nanoTime();
+                value = longPkFromDatabase(node, entity);
+                range.recordFetchLatency(System.nanoTime() - start);
+                range.addRange(value + 1, value + cacheSize);
             }
 
-            value = pks.poll();
-            if (value == null) {
-                value = longPkFromDatabase(node, entity);
-                for (long i = value + 1; i < value + cacheSize; i++) {
-                    pks.add(i);
-                }
+            if (isPkPrefetch() && range.startRefill()) {
+                prefetch(node, entity, range, cacheSize);
             }
         }
 
@@ -243,8 +280,85 @@ public class JdbcPkGenerator implements PkGenerator {
             return value;
         } else {
             // leaving it up to the user to ensure that PK does not exceed max int...
-            return value.intValue();
+            return (int) value;
+        }
+    }
+
+    /**
+     * Fetches the next range of keys in the background. The calling thread never waits for the result indefinitely:
+     * if the cache is exhausted and the prefetch is not done in time, the key is fetched synchronously. So a commit
+     * that holds a lock on the key table can't deadlock waiting for the prefetch that needs that same lock.
+     * <p>
+     * The keys are fetched in a separate transaction, never in the transaction of the commit that triggered the
+     * prefetch, as that transaction is used concurrently by the commit thread and may be finished at any moment.
+     */
+    private void prefetch(DataNode node, DbEntity entity, PkRangeCache range, long cacheSize) {
+        Runnable task = () -> {
+            try {
+                long start = System.nanoTime();
+                long lo = ThreadBindings.callUnbound(() -> longPkFromDatabaseInTransaction(node, entity));
+                range.recordFetchLatency(System.nanoTime() - start);
+                range.addRange(lo, lo + cacheSize);
+            } catch (Exception e) {
+                LOGGER.warn("Error prefetching PK range for entity '" + entity.getName() + "'", e);
+            } finally {
+                range.refillDone();
+            }
+        };
+
+        try {
+            getPrefetchExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            // the generator is shut down, keys will be fetched synchronously
+            range.refillDone();
+        }
+    }
+
+    private long longPkFromDatabaseInTransaction(DataNode node, DbEntity entity) {
+        Transaction transaction = new CayenneTransaction(node.getJdbcEventLogger());
+        transaction.begin();
+        try {
+            long pk = BaseTransaction.getThreadBinding().callWith(transaction, () -> {
+                try {
+                    return longPkFromDatabase(node, entity);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CayenneRuntimeException("Error fetching PK range for entity '%s'", e, entity.getName());
+                }
+            });
+
+            transaction.commit();
+            return pk;
+        } catch (RuntimeException e) {
+            transaction.setRollbackOnly();
+            throw e;
+        } finally {
+            if (transaction.isRollbackOnly()) {
+                try {
+                    transaction.rollback();
+                } catch (Exception e) {
+                    // ignore, the original exception is already reported
+                }
+            }
+        }
+    }
+
+    private ThreadPoolExecutor getPrefetchExecutor() {
+        ThreadPoolExecutor executor = this.prefetchExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.prefetchExecutor;
+                if (executor == null) {
+                    executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                            ThreadBindings.daemonThreadFactory("cayenne-pk-prefetch-"));
+                    executor.allowCoreThreadTimeOut(true);
+                    this.prefetchExecutor = executor;
+                }
+            }
         }
+
+        return executor;
     }
 
     @Override
@@ -303,6 +417,34 @@ public class JdbcPkGenerator implements PkGenerator {
         this.pkCacheSize = (pkCacheSize < 1) ? 1 : pkCacheSize;
     }
 
+    /**
+     * Returns whether primary key ranges are fetched in the background before the cached range is exhausted. Unless
+     * set explicitly, the value is taken from the {@link Constants#SERVER_PK_PREFETCH_PROPERTY} property.
+     *
+     * @since 4.3
+     */
+    public boolean isPkPrefetch() {
+        Boolean prefetch = this.pkPrefetch;
+        if (prefetch == null) {
+            prefetch = runtimeProperties != null
+                    && runtimeProperties.getBoolean(Constants.SERVER_PK_PREFETCH_PROPERTY, false);
+            this.pkPrefetch = prefetch;
+        }
+
+        return prefetch;
+    }
+
+    /**
+     * Enables or disables fetching of primary key ranges in the background. When enabled, the number of ranges
+     * fetched ahead of time depends on the insert rate of each entity and on the latency of the key lookup, up to
+     * {@link #PK_PREFETCH_MAX_RANGES}. Note that prefetching creates gaps in the key sequence on application restart.
+     *
+     * @since 4.3
+     */
+    public void setPkPrefetch(boolean pkPrefetch) {
+        this.pkPrefetch = pkPrefetch;
+    }
+
     long getPkStartValue() {
         return pkStartValue;
     }
@@ -312,9 +454,23 @@ public class JdbcPkGenerator implements PkGenerator {
     }
 
     public void reset() {
+        pkRanges.clear();
         pkCache.clear();
     }
 
+    /**
+     * Stops the background key prefetching thread, if it was started.
+     *
+     * @since 4.3
+     */
+    @BeforeScopeEnd
+    public void shutdown() {
+        ThreadPoolExecutor executor = this.prefetchExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     /**
      * OperationObserver for primary key retrieval.
      */
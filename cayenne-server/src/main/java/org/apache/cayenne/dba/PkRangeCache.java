@@ -0,0 +1,202 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.dba;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of primary key ranges for a single entity used by {@link JdbcPkGenerator}. Keeps the current range and a
+ * queue of ranges fetched ahead of time as primitive lo/hi pairs. Also tracks the rate at which keys are consumed and
+ * the latency of the database round trips, so that the generator could decide when to fetch the next range in the
+ * background.
+ *
+ * @since 4.3
+ */
+class PkRangeCache {
+
+    static final long EMPTY = Long.MIN_VALUE;
+
+    // min time to wait for a refill in progress, when all keys are exhausted
+    private static final long MIN_REFILL_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    // weight of the latest sample in the exponential moving averages
+    private static final double EWMA_WEIGHT = 0.3;
+
+    private final long blockSize;
+    private final int maxRangesAhead;
+
+    // current range, "hi" is exclusive
+    private long next;
+    private long hi;
+
+    // ring buffer of pending ranges, stored as lo/hi pairs
+    private long[] ranges;
+    private int head;
+    private int count;
+
+    private boolean refillInProgress;
+
+    // statistics used to estimate how many keys need to be available ahead of time
+    private long rangeSize;
+    private long rangeStartNanos;
+    private double keysPerNano;
+    private double fetchLatencyNanos;
+
+    PkRangeCache(long blockSize, int maxRangesAhead) {
+        this.blockSize = blockSize;
+        this.maxRangesAhead = Math.max(maxRangesAhead, 1);
+        this.ranges = new long[2 * (this.maxRangesAhead + 1)];
+    }
+
+    /**
+     * Returns the next key, or {@link #EMPTY} if all cached ranges are exhausted.
+     */
+    synchronized long next() {
+        if (next >= hi && !nextRange()) {
+            return EMPTY;
+        }
+
+        return next++;
+    }
+
+    /**
+     * Returns the next key. If all cached ranges are exhausted, but there's a refill in progress, waits for it to
+     * complete for a time proportional to the average fetch latency. Returns {@link #EMPTY} if no key is available
+     * after that.
+     */
+    synchronized long awaitNext() throws InterruptedException {
+        long value = next();
+        if (value != EMPTY || !refillInProgress) {
+            return value;
+        }
+
+        long deadline = System.nanoTime() + Math.max((long) fetchLatencyNanos * 4, MIN_REFILL_WAIT_NANOS);
+        while (refillInProgress && count == 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        return next();
+    }
+
+    private boolean nextRange() {
+
+        long now = System.nanoTime();
+        if (rangeStartNanos != 0 && rangeSize > 0) {
+            // the previous range was fully consumed, update the consumption rate
+            keysPerNano = ewma(keysPerNano, (double) rangeSize / Math.max(now - rangeStartNanos, 1));
+            rangeStartNanos = 0;
+        }
+
+        if (count == 0) {
+            return false;
+        }
+
+        next = ranges[head];
+        hi = ranges[head + 1];
+        head = (head + 2) % ranges.length;
+        count--;
+
+        rangeSize = hi - next;
+        rangeStartNanos = now;
+        return true;
+    }
+
+    /**
+     * Appends a range of keys to the queue of pending ranges.
+     *
+     * @param lo the first key of the range
+     * @param hi the key following the last key of the range
+     */
+    synchronized void addRange(long lo, long hi) {
+        if (lo >= hi) {
+            return;
+        }
+
+        if (count * 2 == ranges.length) {
+            // concurrent synchronous fetches can overflow the buffer, grow it instead of losing the keys
+            long[] grown = new long[ranges.length * 2];
+            for (int i = 0; i < count * 2; i++) {
+                grown[i] = ranges[(head + i) % ranges.length];
+            }
+            ranges = grown;
+            head = 0;
+        }
+
+        int tail = (head + count * 2) % ranges.length;
+        ranges[tail] = lo;
+        ranges[tail + 1] = hi;
+        count++;
+        notifyAll();
+    }
+
+    /**
+     * Returns the number of keys available without a database round trip.
+     */
+    synchronized long available() {
+        long available = Math.max(hi - next, 0);
+        for (int i = 0; i < count; i++) {
+            int pos = (head + i * 2) % ranges.length;
+            available += ranges[pos + 1] - ranges[pos];
+        }
+        return available;
+    }
+
+    /**
+     * Checks whether the number of the available keys dropped below the low watermark, and if so, marks the cache as
+     * being refilled. Returns true if the caller is responsible for fetching the next range.
+     */
+    synchronized boolean startRefill() {
+        if (refillInProgress || count >= maxRangesAhead || available() > lowWatermark()) {
+            return false;
+        }
+
+        refillInProgress = true;
+        return true;
+    }
+
+    synchronized void refillDone() {
+        refillInProgress = false;
+        notifyAll();
+    }
+
+    synchronized void recordFetchLatency(long latencyNanos) {
+        if (latencyNanos > 0) {
+            fetchLatencyNanos = ewma(fetchLatencyNanos, latencyNanos);
+        }
+    }
+
+    /**
+     * Returns the number of keys that should be available to survive two database round trips at the current
+     * consumption rate. It is never less than a half of a block and never more than the max number of blocks ahead.
+     */
+    synchronized long lowWatermark() {
+        long expected = (long) Math.ceil(keysPerNano * fetchLatencyNanos * 2);
+        return Math.min(Math.max(expected, blockSize / 2), blockSize * maxRangesAhead);
+    }
+
+    private static double ewma(double average, double sample) {
+        return average == 0 ? sample : average + EWMA_WEIGHT * (sample - average);
+    }
+}
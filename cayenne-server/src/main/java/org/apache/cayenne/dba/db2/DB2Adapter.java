@@ -27,6 +27,8 @@ import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
 import org.apache.cayenne.access.translator.ParameterBinding;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
+import org.apache.cayenne.access.translator.batch.MergeUpsertBatchTranslator;
 import org.apache.cayenne.access.translator.ejbql.EJBQLTranslatorFactory;
 import org.apache.cayenne.access.translator.ejbql.JdbcEJBQLTranslatorFactory;
 import org.apache.cayenne.access.types.BooleanType;
@@ -44,6 +46,7 @@ import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 /**
@@ -137,6 +140,14 @@ public class DB2Adapter extends JdbcAdapter {
         return new DB2SQLTreeProcessor();
     }
 
+    /**
+     * @since 4.3
+     */
+    @Override
+    public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+        return new MergeUpsertBatchTranslator(query, this);
+    }
+
     /**
      * @since 4.0
      */
@@ -21,6 +21,8 @@ package org.apache.cayenne.dba.h2;
 
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
+import org.apache.cayenne.access.translator.batch.MergeUpsertBatchTranslator;
 import org.apache.cayenne.access.translator.ejbql.EJBQLTranslatorFactory;
 import org.apache.cayenne.access.translator.ejbql.JdbcEJBQLTranslatorFactory;
 import org.apache.cayenne.access.types.ExtendedType;
@@ -34,6 +36,7 @@ import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 import java.util.List;
@@ -61,6 +64,7 @@ public class H2Adapter extends JdbcAdapter {
             @Inject ValueObjectTypeRegistry valueObjectTypeRegistry) {
         super(runtimeProperties, defaultExtendedTypes, userExtendedTypes, extendedTypeFactories, resourceLocator, valueObjectTypeRegistry);
         setSupportsGeneratedKeys(true);
+        setMultiRowInsertLimits(32767, 1000);
     }
 
     @Override
@@ -80,6 +84,14 @@ public class H2Adapter extends JdbcAdapter {
         return new H2SQLTreeProcessor();
     }
 
+    /**
+     * @since 4.3
+     */
+    @Override
+    public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+        return new MergeUpsertBatchTranslator(query, this);
+    }
+
     /**
      * @return translator factory for EJBQL queries
      * @since 4.3
@@ -22,6 +22,8 @@ package org.apache.cayenne.dba.hsqldb;
 import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
+import org.apache.cayenne.access.translator.batch.MergeUpsertBatchTranslator;
 import org.apache.cayenne.access.translator.ejbql.EJBQLTranslatorFactory;
 import org.apache.cayenne.access.translator.ejbql.JdbcEJBQLTranslatorFactory;
 import org.apache.cayenne.access.types.CharType;
@@ -39,6 +41,7 @@ import org.apache.cayenne.map.DbJoin;
 import org.apache.cayenne.map.DbRelationship;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 import java.sql.Types;
@@ -70,6 +73,7 @@ public class HSQLDBAdapter extends JdbcAdapter {
 		    @Inject ValueObjectTypeRegistry valueObjectTypeRegistry) {
 		super(runtimeProperties, defaultExtendedTypes, userExtendedTypes, extendedTypeFactories, resourceLocator, valueObjectTypeRegistry);
 		setSupportsGeneratedKeys(true);
+		setMultiRowInsertLimits(32767, 1000);
 	}
 
 	/**
@@ -91,6 +95,14 @@ public class HSQLDBAdapter extends JdbcAdapter {
 		return new HSQLTreeProcessor();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+		return new MergeUpsertBatchTranslator(query, this);
+	}
+
 	/**
 	 * @since 4.0
 	 */
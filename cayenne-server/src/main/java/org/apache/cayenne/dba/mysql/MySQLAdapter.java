@@ -32,6 +32,8 @@ import java.util.List;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
 import org.apache.cayenne.access.translator.ParameterBinding;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
+import org.apache.cayenne.access.translator.batch.OnDuplicateKeyUpsertBatchTranslator;
 import org.apache.cayenne.access.translator.ejbql.EJBQLTranslatorFactory;
 import org.apache.cayenne.access.translator.ejbql.JdbcEJBQLTranslatorFactory;
 import org.apache.cayenne.access.types.ByteArrayType;
@@ -57,6 +59,7 @@ import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 /**
@@ -100,6 +103,7 @@ public class MySQLAdapter extends JdbcAdapter {
 		setSupportsBatchUpdates(true);
 		setSupportsUniqueConstraints(true);
 		setSupportsGeneratedKeys(true);
+		setMultiRowInsertLimits(65535, 1000);
 	}
 
 	@Override
@@ -115,6 +119,14 @@ public class MySQLAdapter extends JdbcAdapter {
 		return MySQLTreeProcessor.getInstance();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+		return new OnDuplicateKeyUpsertBatchTranslator(query, this);
+	}
+
 	/**
 	 * Uses special action builder to create the right action.
 	 *
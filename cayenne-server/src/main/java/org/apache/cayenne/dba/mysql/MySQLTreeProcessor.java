@@ -26,13 +26,22 @@ import org.apache.cayenne.access.sqlbuilder.sqltree.FunctionNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.LikeNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.LimitOffsetNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.sqlbuilder.sqltree.DeleteNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.EmptyNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.NodeType;
+import org.apache.cayenne.access.sqlbuilder.sqltree.SelectNode;
+import org.apache.cayenne.access.sqlbuilder.sqltree.UpdateNode;
 import org.apache.cayenne.access.translator.select.TypeAwareSQLTreeProcessor;
 import org.apache.cayenne.dba.mysql.sqltree.MysqlLikeNode;
 import org.apache.cayenne.dba.mysql.sqltree.MysqlLimitOffsetNode;
 import org.apache.cayenne.value.GeoJson;
 import org.apache.cayenne.value.Wkt;
 
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.aliased;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.all;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.node;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.select;
+
 /**
  * @since 4.2
  */
@@ -60,6 +69,34 @@ public class MySQLTreeProcessor extends TypeAwareSQLTreeProcessor {
                 -> Optional.of(wrapInFunction(child, "ST_GeomFromGeoJSON")));
     }
 
+    @Override
+    public Node process(Node node) {
+        if (node instanceof UpdateNode || node instanceof DeleteNode) {
+            wrapSubqueries(node);
+        }
+        return super.process(node);
+    }
+
+    /**
+     * MySQL doesn't allow a subquery in UPDATE or DELETE to select from the table being changed (error 1093), unless
+     * the subquery is wrapped in a derived table that is materialized first. The nested subqueries are left as is,
+     * as they are covered by the wrapping of the outer one.
+     *
+     * @since 4.3
+     */
+    protected void wrapSubqueries(Node node) {
+        for (int i = 0; i < node.getChildrenCount(); i++) {
+            Node child = node.getChild(i);
+            if (child instanceof SelectNode) {
+                // detach the subquery first, as replacing a child resets its parent
+                node.replaceChild(i, new EmptyNode());
+                node.replaceChild(i, select(all()).from(aliased(node(child), "bulk_ids")).build());
+            } else {
+                wrapSubqueries(child);
+            }
+        }
+    }
+
     protected Optional<Node> onLikeNode(Node parent, LikeNode child, int index) {
         if(!child.isIgnoreCase()) {
             return Optional.of(new MysqlLikeNode(child.isNot(), child.getEscape()));
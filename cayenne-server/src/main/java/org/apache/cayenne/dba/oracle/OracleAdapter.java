@@ -34,6 +34,7 @@ import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
 import org.apache.cayenne.access.translator.ParameterBinding;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
 import org.apache.cayenne.access.translator.ejbql.EJBQLTranslatorFactory;
 import org.apache.cayenne.access.types.ByteType;
 import org.apache.cayenne.access.types.ExtendedType;
@@ -53,6 +54,7 @@ import org.apache.cayenne.query.InsertBatchQuery;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
 import org.apache.cayenne.query.UpdateBatchQuery;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 /**
@@ -183,6 +185,14 @@ public class OracleAdapter extends JdbcAdapter {
 		return new OracleSQLTreeProcessor();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+		return new OracleUpsertBatchTranslator(query, this);
+	}
+
 	/**
 	 * @since 3.0
 	 */
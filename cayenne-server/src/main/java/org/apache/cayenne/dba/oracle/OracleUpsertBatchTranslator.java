@@ -0,0 +1,59 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.dba.oracle;
+
+import java.util.List;
+
+import org.apache.cayenne.access.sqlbuilder.SQLBuilder;
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.access.sqlbuilder.sqltree.TableNode;
+import org.apache.cayenne.access.translator.batch.MergeUpsertBatchTranslator;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.map.DbAttribute;
+import org.apache.cayenne.query.UpsertBatchQuery;
+
+/**
+ * Oracle flavor of the MERGE upsert, that has no "VALUES" table constructor and selects the merged values from
+ * DUAL instead.
+ *
+ * @since 4.3
+ */
+public class OracleUpsertBatchTranslator extends MergeUpsertBatchTranslator {
+
+    public OracleUpsertBatchTranslator(UpsertBatchQuery query, DbAdapter adapter) {
+        super(query, adapter);
+    }
+
+    @Override
+    protected void appendSource(Node root, List<DbAttribute> inserted) {
+        root.addChild(text(" (SELECT"));
+        boolean first = true;
+        for(DbAttribute attribute : inserted) {
+            if(!first) {
+                root.addChild(text(","));
+            }
+            first = false;
+            root.addChild(SQLBuilder.value(1).attribute(attribute).build());
+            root.addChild(column(null, attribute));
+        }
+        root.addChild(text(" FROM DUAL)"));
+        root.addChild(new TableNode(SOURCE_ALIAS, null));
+    }
+}
@@ -32,6 +32,8 @@ import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
 import org.apache.cayenne.access.translator.ParameterBinding;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
+import org.apache.cayenne.access.translator.batch.OnConflictUpsertBatchTranslator;
 import org.apache.cayenne.access.types.CharType;
 import org.apache.cayenne.access.types.ExtendedType;
 import org.apache.cayenne.access.types.ExtendedTypeFactory;
@@ -49,6 +51,7 @@ import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 /**
@@ -78,6 +81,8 @@ public class PostgresAdapter extends JdbcAdapter {
 		super(runtimeProperties, defaultExtendedTypes, userExtendedTypes, extendedTypeFactories, resourceLocator, valueObjectTypeRegistry);
 		setSupportsBatchUpdates(true);
 		setSupportsGeneratedKeys(true);
+		// protocol limits the number of bind parameters to a 16-bit value
+		setMultiRowInsertLimits(32767, 1000);
 	}
 
     /**
@@ -88,6 +93,14 @@ public class PostgresAdapter extends JdbcAdapter {
 		return new PostgreSQLTreeProcessor();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+		return new OnConflictUpsertBatchTranslator(query, this);
+	}
+
 	/**
 	 * Uses PostgresActionBuilder to create the right action.
 	 *
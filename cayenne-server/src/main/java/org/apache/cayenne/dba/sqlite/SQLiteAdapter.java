@@ -20,6 +20,8 @@ package org.apache.cayenne.dba.sqlite;
 
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
+import org.apache.cayenne.access.translator.batch.OnConflictUpsertBatchTranslator;
 import org.apache.cayenne.access.types.ExtendedType;
 import org.apache.cayenne.access.types.ExtendedTypeFactory;
 import org.apache.cayenne.access.types.ExtendedTypeMap;
@@ -33,6 +35,7 @@ import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.map.DbRelationship;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 import java.util.Calendar;
@@ -92,6 +95,14 @@ public class SQLiteAdapter extends JdbcAdapter {
         return new SQLiteTreeProcessor();
     }
 
+    /**
+     * @since 4.3
+     */
+    @Override
+    public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+        return new OnConflictUpsertBatchTranslator(query, this);
+    }
+
     @Override
     public String createFkConstraint(DbRelationship rel) {
         return null;
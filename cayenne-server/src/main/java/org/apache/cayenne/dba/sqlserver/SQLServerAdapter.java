@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.apache.cayenne.access.DataNode;
 import org.apache.cayenne.access.sqlbuilder.sqltree.SQLTreeProcessor;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
 import org.apache.cayenne.access.types.ExtendedType;
 import org.apache.cayenne.access.types.ExtendedTypeFactory;
 import org.apache.cayenne.access.types.ValueObjectTypeRegistry;
@@ -33,6 +34,7 @@ import org.apache.cayenne.dba.sybase.SybaseAdapter;
 import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.query.Query;
 import org.apache.cayenne.query.SQLAction;
+import org.apache.cayenne.query.UpsertBatchQuery;
 import org.apache.cayenne.resource.ResourceLocator;
 
 /**
@@ -98,6 +100,9 @@ public class SQLServerAdapter extends SybaseAdapter {
 		super(runtimeProperties, defaultExtendedTypes, userExtendedTypes, extendedTypeFactories, resourceLocator, valueObjectTypeRegistry);
 
 		this.setSupportsBatchUpdates(true);
+		// SQL Server allows up to 2100 parameters per statement (leaving some room for the driver)
+		// and up to 1000 rows in a "VALUES" clause
+		this.setMultiRowInsertLimits(2000, 1000);
 	}
 
     /**
@@ -119,6 +124,14 @@ public class SQLServerAdapter extends SybaseAdapter {
 		return new SQLServerTreeProcessor();
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public BatchTranslator getUpsertTranslator(UpsertBatchQuery query) {
+		return new SQLServerUpsertBatchTranslator(query, this);
+	}
+
 	/**
 	 * Uses SQLServerActionBuilder to create the right action.
 	 *
@@ -0,0 +1,537 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.event;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.di.BeforeScopeEnd;
+import org.apache.cayenne.util.Invocation;
+import org.apache.cayenne.util.ThreadBindings;
+
+/**
+ * An {@link EventManager} optimized for high event rates. Unlike {@link DefaultEventManager}, it doesn't have a
+ * global event queue or a global lock. Listeners of each {@link EventSubject} are stored in copy-on-write arrays,
+ * so posting an event requires no locking. Non-blocking events are placed in a lock-free queue of their subject,
+ * that is drained by an {@link Executor}, so events of the same subject are delivered in the order they were posted,
+ * while events of different subjects are delivered in parallel.
+ * <p>
+ * The executor is either a fixed pool of daemon threads owned by the EventManager, or a user-provided executor
+ * (e.g. one running each task in a virtual thread on JVMs supporting them), whose lifecycle is managed by the
+ * caller.
+ * </p>
+ * <p>
+ * Unlike DefaultEventManager, this EventManager references event subjects strongly, so subject listener
+ * collections are only released via {@link #removeAllListeners(EventSubject)}. Listeners and senders are still
+ * referenced weakly.
+ * </p>
+ *
+ * @since 4.3
+ */
+public class ConcurrentEventManager implements EventManager {
+
+    private static final int DEFAULT_DISPATCH_THREAD_COUNT = 5;
+
+    // max number of events delivered by a single executor task before giving way to the other subjects
+    private static final int MAX_DRAIN_BATCH = 256;
+
+    private static final Invocation[] NO_INVOCATIONS = new Invocation[0];
+
+    protected final ConcurrentMap<EventSubject, SubjectChannel> subjects;
+    protected final Executor executor;
+    protected final boolean ownsExecutor;
+
+    protected volatile boolean stopped;
+
+    /**
+     * Creates an EventManager with a default number of dispatch threads.
+     */
+    public ConcurrentEventManager() {
+        this(DEFAULT_DISPATCH_THREAD_COUNT);
+    }
+
+    /**
+     * Creates an EventManager starting the specified number of threads for non-blocking dispatch. To create a
+     * single-threaded EventManager, use thread count of zero or less.
+     */
+    public ConcurrentEventManager(int dispatchThreadCount) {
+        this(dispatchThreadCount > 0 ? createExecutor(dispatchThreadCount) : null, true);
+    }
+
+    /**
+     * Creates an EventManager that delivers non-blocking events using the provided executor. The executor is not
+     * shut down by the EventManager.
+     */
+    public ConcurrentEventManager(Executor executor) {
+        this(executor, false);
+
+        if (executor == null) {
+            throw new IllegalArgumentException("Null executor");
+        }
+    }
+
+    private ConcurrentEventManager(Executor executor, boolean ownsExecutor) {
+        this.subjects = new ConcurrentHashMap<>();
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    private static ExecutorService createExecutor(int threadCount) {
+        return Executors.newFixedThreadPool(threadCount, ThreadBindings.daemonThreadFactory("cayenne-event-"));
+    }
+
+    /**
+     * Returns true if the EventManager was stopped via {@link #shutdown()} method.
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    @Override
+    public boolean isSingleThreaded() {
+        return executor == null;
+    }
+
+    /**
+     * Stops event dispatching. If the executor was created by this EventManager, it is shut down as well. After the
+     * EventManager is stopped, it can not be restarted and should be discarded.
+     */
+    @BeforeScopeEnd
+    public void shutdown() {
+        if (!stopped) {
+            stopped = true;
+
+            if (ownsExecutor && executor != null) {
+                ((ExecutorService) executor).shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public void addListener(Object listener, String methodName, Class<?> eventParameterClass, EventSubject subject) {
+        addListener(listener, methodName, eventParameterClass, subject, null, true);
+    }
+
+    @Override
+    public void addNonBlockingListener(
+            Object listener,
+            String methodName,
+            Class<?> eventParameterClass,
+            EventSubject subject) {
+
+        checkMultiThreaded();
+        addListener(listener, methodName, eventParameterClass, subject, null, false);
+    }
+
+    @Override
+    public void addListener(
+            Object listener,
+            String methodName,
+            Class<?> eventParameterClass,
+            EventSubject subject,
+            Object sender) {
+        addListener(listener, methodName, eventParameterClass, subject, sender, true);
+    }
+
+    @Override
+    public void addNonBlockingListener(
+            Object listener,
+            String methodName,
+            Class<?> eventParameterClass,
+            EventSubject subject,
+            Object sender) {
+
+        checkMultiThreaded();
+        addListener(listener, methodName, eventParameterClass, subject, sender, false);
+    }
+
+    protected void addListener(
+            Object listener,
+            String methodName,
+            Class<?> eventParameterClass,
+            EventSubject subject,
+            Object sender,
+            boolean blocking) {
+
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null.");
+        }
+
+        if (eventParameterClass == null) {
+            throw new IllegalArgumentException("Event class must not be null.");
+        }
+
+        if (subject == null) {
+            throw new IllegalArgumentException("Subject must not be null.");
+        }
+
+        try {
+            Invocation invocation = blocking
+                    ? new Invocation(listener, methodName, eventParameterClass)
+                    : new NonBlockingInvocation(listener, methodName, eventParameterClass);
+            subjects.computeIfAbsent(subject, s -> new SubjectChannel()).addInvocation(invocation, sender);
+        } catch (NoSuchMethodException nsm) {
+            throw new CayenneRuntimeException("Error adding listener, method name: %s", nsm, methodName);
+        }
+    }
+
+    @Override
+    public boolean removeListener(Object listener) {
+        if (listener == null) {
+            return false;
+        }
+
+        boolean didRemove = false;
+        for (SubjectChannel channel : subjects.values()) {
+            didRemove = channel.removeInvocations(listener, null) || didRemove;
+        }
+
+        return didRemove;
+    }
+
+    @Override
+    public boolean removeAllListeners(EventSubject subject) {
+        return subject != null && subjects.remove(subject) != null;
+    }
+
+    @Override
+    public boolean removeListener(Object listener, EventSubject subject) {
+        return removeListener(listener, subject, null);
+    }
+
+    @Override
+    public boolean removeListener(Object listener, EventSubject subject, Object sender) {
+        if (listener == null || subject == null) {
+            return false;
+        }
+
+        SubjectChannel channel = subjects.get(subject);
+        return channel != null && channel.removeInvocations(listener, sender);
+    }
+
+    /**
+     * Sends an event to all registered listeners of a given subject. Blocking listeners are notified in the
+     * calling thread, non-blocking ones - in the dispatch thread.
+     */
+    @Override
+    public void postEvent(EventObject event, EventSubject subject) {
+        SubjectChannel channel = subjects.get(subject);
+        if (channel != null) {
+            channel.dispatch(new EventObject[]{event}, false);
+        }
+    }
+
+    /**
+     * Queues an event, releasing the sender thread. The event is later dispatched to all registered listeners of a
+     * given subject in a dispatch thread.
+     */
+    @Override
+    public void postNonBlockingEvent(EventObject event, EventSubject subject) {
+        checkMultiThreaded();
+
+        SubjectChannel channel = subjects.get(subject);
+        if (channel != null) {
+            EventObject[] eventArgument = {event};
+            channel.enqueue(() -> channel.dispatch(eventArgument, true));
+        }
+    }
+
+    private void checkMultiThreaded() {
+        if (isSingleThreaded()) {
+            throw new IllegalStateException("ConcurrentEventManager is configured to be single-threaded.");
+        }
+    }
+
+    /**
+     * Listeners and a queue of pending non-blocking events of a single EventSubject.
+     */
+    protected class SubjectChannel {
+
+        // copy-on-write arrays and maps; mutated only under the channel lock
+        private volatile Invocation[] anySenderInvocations;
+        private volatile Map<SenderKey, Invocation[]> senderInvocations;
+
+        // GC'd sender keys
+        private final ReferenceQueue<Object> releasedSenders;
+
+        private final Queue<Runnable> queue;
+        private final AtomicBoolean draining;
+
+        SubjectChannel() {
+            this.anySenderInvocations = NO_INVOCATIONS;
+            this.senderInvocations = Collections.emptyMap();
+            this.releasedSenders = new ReferenceQueue<>();
+            this.queue = new ConcurrentLinkedQueue<>();
+            this.draining = new AtomicBoolean();
+        }
+
+        synchronized void addInvocation(Invocation invocation, Object sender) {
+            if (sender == null) {
+                anySenderInvocations = append(anySenderInvocations, invocation);
+            } else {
+                Map<SenderKey, Invocation[]> copy = new HashMap<>(senderInvocations);
+                copy.keySet().removeIf(key -> key.get() == null);
+                SenderKey key = new SenderKey(sender, releasedSenders);
+                copy.put(key, append(copy.getOrDefault(key, NO_INVOCATIONS), invocation));
+                senderInvocations = copy;
+            }
+        }
+
+        // removes invocations of GC'd senders
+        synchronized void removeReleasedSenders() {
+            while (releasedSenders.poll() != null) {
+                // drain the queue, all released keys are removed below
+            }
+
+            Map<SenderKey, Invocation[]> copy = new HashMap<>(senderInvocations);
+            copy.keySet().removeIf(key -> key.get() == null);
+            senderInvocations = copy;
+        }
+
+        synchronized boolean removeInvocations(Object listener, Object sender) {
+            return removeInvocations(i -> i.getTarget() == listener, sender);
+        }
+
+        // removes a given set of invocations, as well as invocations of GC'd listeners
+        synchronized void removeInvocations(Collection<Invocation> invalid) {
+            removeInvocations(i -> i.getTarget() == null || invalid.contains(i), null);
+        }
+
+        private boolean removeInvocations(Predicate<Invocation> filter, Object sender) {
+            boolean didRemove = false;
+
+            if (sender == null) {
+                Invocation[] filtered = filter(anySenderInvocations, filter);
+                didRemove = filtered.length < anySenderInvocations.length;
+                anySenderInvocations = filtered;
+            }
+
+            if (!senderInvocations.isEmpty()) {
+                Map<SenderKey, Invocation[]> copy = new HashMap<>();
+                for (Map.Entry<SenderKey, Invocation[]> e : senderInvocations.entrySet()) {
+                    Object keySender = e.getKey().get();
+                    if (keySender == null) {
+                        continue;
+                    }
+
+                    Invocation[] invocations = e.getValue();
+                    if (sender == null || sender.equals(keySender)) {
+                        Invocation[] filtered = filter(invocations, filter);
+                        didRemove = didRemove || filtered.length < invocations.length;
+                        invocations = filtered;
+                    }
+
+                    if (invocations.length > 0) {
+                        copy.put(e.getKey(), invocations);
+                    }
+                }
+                senderInvocations = copy;
+            }
+
+            return didRemove;
+        }
+
+        void dispatch(EventObject[] eventArgument, boolean inDispatchThread) {
+            List<Invocation> invalid = dispatch(anySenderInvocations, eventArgument, inDispatchThread, null);
+
+            Map<SenderKey, Invocation[]> senderInvocations = this.senderInvocations;
+            if (!senderInvocations.isEmpty()) {
+                Object source = eventArgument[0].getSource();
+                Invocation[] invocations = source != null ? senderInvocations.get(new SenderKey(source, null)) : null;
+                if (invocations != null) {
+                    invalid = dispatch(invocations, eventArgument, inDispatchThread, invalid);
+                }
+
+                // ReferenceQueue.poll() doesn't lock when the queue is empty
+                if (releasedSenders.poll() != null) {
+                    removeReleasedSenders();
+                }
+            }
+
+            // clean up GC'd and failed invocations, same as DefaultEventManager does
+            if (invalid != null) {
+                removeInvocations(invalid);
+            }
+        }
+
+        private List<Invocation> dispatch(
+                Invocation[] invocations,
+                EventObject[] eventArgument,
+                boolean inDispatchThread,
+                List<Invocation> invalid) {
+
+            for (Invocation invocation : invocations) {
+                boolean valid;
+                if (invocation.getTarget() == null) {
+                    valid = false;
+                } else if (!inDispatchThread && invocation instanceof NonBlockingInvocation) {
+                    enqueue(() -> invocation.fire(eventArgument));
+                    valid = true;
+                } else {
+                    valid = invocation.fire(eventArgument);
+                }
+
+                if (!valid) {
+                    if (invalid == null) {
+                        invalid = new ArrayList<>(2);
+                    }
+                    invalid.add(invocation);
+                }
+            }
+
+            return invalid;
+        }
+
+        void enqueue(Runnable task) {
+            if (stopped) {
+                return;
+            }
+
+            queue.add(task);
+            if (draining.compareAndSet(false, true)) {
+                submitDrain();
+            }
+        }
+
+        private void submitDrain() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // executor is shut down
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                for (int i = 0; i < MAX_DRAIN_BATCH; i++) {
+                    Runnable task = queue.poll();
+                    if (task == null || stopped) {
+                        break;
+                    }
+
+                    // prevent dispatch errors from killing the dispatch thread
+                    try {
+                        task.run();
+                    } catch (Throwable th) {
+                        // ignoring exception
+                    }
+                }
+
+                if (stopped) {
+                    queue.clear();
+                    draining.set(false);
+                    return;
+                }
+
+                if (!queue.isEmpty()) {
+                    // reschedule to give way to the other subjects, keeping the "draining" flag
+                    submitDrain();
+                    return;
+                }
+
+                draining.set(false);
+
+                // recheck for the events added after the queue was found empty, but before the flag was reset
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Invocation[] append(Invocation[] invocations, Invocation invocation) {
+        List<Invocation> copy = new ArrayList<>(invocations.length + 1);
+        for (Invocation i : invocations) {
+            // skip GC'd listeners, same invocation registered twice
+            if (i.getTarget() != null && !i.equals(invocation)) {
+                copy.add(i);
+            }
+        }
+
+        copy.add(invocation);
+        return copy.toArray(NO_INVOCATIONS);
+    }
+
+    // removes invocations matching the filter
+    private static Invocation[] filter(Invocation[] invocations, Predicate<Invocation> filter) {
+        Invocation[] filtered = Arrays.stream(invocations)
+                .filter(filter.negate())
+                .toArray(Invocation[]::new);
+
+        return filtered.length == invocations.length ? invocations : filtered;
+    }
+
+    // a weak reference to a sender, matching other keys by sender equality, same as WeakHashMap in DispatchQueue does
+    static final class SenderKey extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        SenderKey(Object sender, ReferenceQueue<Object> queue) {
+            super(sender, queue);
+            this.hashCode = sender.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+
+            if (!(object instanceof SenderKey)) {
+                return false;
+            }
+
+            Object sender = get();
+            return sender != null && sender.equals(((SenderKey) object).get());
+        }
+    }
+
+    // tags invocations that should be dispatched in a separate thread
+    static final class NonBlockingInvocation extends Invocation {
+
+        NonBlockingInvocation(Object target, String methodName, Class<?> parameterType) throws NoSuchMethodException {
+            super(target, methodName, parameterType);
+        }
+    }
+}
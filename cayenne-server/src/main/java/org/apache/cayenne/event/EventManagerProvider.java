@@ -39,6 +39,12 @@ public class EventManagerProvider implements Provider<EventManager> {
     public EventManager get() throws ConfigurationException {
         boolean sync = properties.getBoolean(Constants.SERVER_CONTEXTS_SYNC_PROPERTY, false);
 
-        return sync ? new DefaultEventManager() : new NoopEventManager();
+        if (!sync) {
+            return new NoopEventManager();
+        }
+
+        return properties.getBoolean(Constants.SERVER_CONCURRENT_EVENT_MANAGER_PROPERTY, false)
+                ? new ConcurrentEventManager()
+                : new DefaultEventManager();
     }
 }
@@ -31,6 +31,7 @@ import java.util.function.Function;
 import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.configuration.ConfigurationNodeVisitor;
 import org.apache.cayenne.exp.parser.ASTScalar;
+import org.apache.cayenne.exp.parser.ExpressionCompiler;
 import org.apache.cayenne.util.ConversionUtil;
 import org.apache.cayenne.util.HashCodeBuilder;
 import org.apache.cayenne.util.Util;
@@ -477,12 +478,27 @@ public abstract class Expression implements Serializable, XMLSerializable {
 		return ConversionUtil.toBoolean(evaluate(o));
 	}
 
+	/**
+	 * Compiles this expression for repeated in-memory evaluation. The
+	 * returned object is much faster than this expression when evaluated
+	 * against many objects and can be used as a {@link java.util.function.Predicate}.
+	 *
+	 * @since 4.3
+	 */
+	public CompiledExpression compile() {
+		return ExpressionCompiler.compile(this);
+	}
+
 	/**
 	 * Returns the first object in the list that matches the expression.
 	 * 
 	 * @since 3.1
 	 */
 	public <T> T first(List<T> objects) {
+		if (objects.size() > 1) {
+			return compile().first(objects);
+		}
+
 		for (T o : objects) {
 			if (match(o)) {
 				return o;
@@ -511,8 +527,9 @@ public abstract class Expression implements Serializable, XMLSerializable {
 	 * @since 1.1
 	 */
 	public <T> Collection<?> filter(Collection<T> source, Collection<T> target) {
+		CompiledExpression compiled = source.size() > 1 ? compile() : this::evaluate;
 		for (T o : source) {
-			if (match(o)) {
+			if (compiled.match(o)) {
 				target.add(o);
 			}
 		}
@@ -99,6 +99,12 @@ public class ExpressionFactory {
 
 	private static final int PARSE_BUFFER_MAX_SIZE = 4096;
 
+	// max number of parsed expression strings reused by exp(..)
+	private static final int TEMPLATE_CACHE_SIZE = 1000;
+
+	static final ExpressionTemplateCache TEMPLATE_CACHE = new ExpressionTemplateCache(TEMPLATE_CACHE_SIZE,
+			PARSE_BUFFER_MAX_SIZE);
+
 	static {
 		// make sure all types are small integers, then we can use them as indexes in lookup array
 		int[] allTypes = new int[] { Expression.AND, Expression.OR, Expression.NOT, Expression.EQUAL_TO,
@@ -1382,11 +1388,18 @@ public class ExpressionFactory {
 	 * <p>
 	 * Binding of parameters by name (as opposed to binding by position) can be
 	 * achieved by chaining this call with {@link Expression#params(Map)}.
+	 * <p>
+	 * Parsed expressions are cached by expression string, so repeated calls
+	 * with the same string and different parameters only copy the parsed tree.
 	 * 
 	 * @since 4.0
 	 */
 	public static Expression exp(String expressionString, Object... parameters) {
-		Expression e = fromString(expressionString);
+		if (expressionString == null) {
+			throw new NullPointerException("Null expression string.");
+		}
+
+		Expression e = TEMPLATE_CACHE.get(expressionString, ExpressionFactory::fromString);
 
 		if (parameters != null && parameters.length > 0) {
 			// apply parameters in-place... it is wasteful to clone the
@@ -0,0 +1,116 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.exp;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.cayenne.exp.parser.ASTScalar;
+import org.apache.cayenne.exp.parser.Node;
+import org.apache.cayenne.exp.parser.SimpleNode;
+import org.apache.cayenne.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+
+/**
+ * A bounded cache of parsed expression templates keyed by expression string. Cached templates are never exposed to
+ * the callers, that get their own copies instead. Copying a parsed tree is much cheaper than parsing it again.
+ *
+ * @since 4.3
+ */
+class ExpressionTemplateCache {
+
+	private final Map<String, Expression> templates;
+	private final int maxLength;
+
+	/**
+	 * @param capacity  max number of cached templates
+	 * @param maxLength max length of a cached expression string, longer strings are parsed on every call
+	 */
+	ExpressionTemplateCache(int capacity, int maxLength) {
+		this.templates = new ConcurrentLinkedHashMap.Builder<String, Expression>()
+				.maximumWeightedCapacity(capacity)
+				.build();
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Returns a new copy of the parsed expression, parsing the expression string only if there is no cached template
+	 * for it.
+	 */
+	Expression get(String expressionString, Function<String, Expression> parser) {
+		if (expressionString.length() > maxLength) {
+			return parser.apply(expressionString);
+		}
+
+		Expression template = templates.get(expressionString);
+		if (template == null) {
+			template = parser.apply(expressionString);
+			templates.put(expressionString, template);
+		}
+
+		return copy(template);
+	}
+
+	int size() {
+		return templates.size();
+	}
+
+	void clear() {
+		templates.clear();
+	}
+
+	/**
+	 * Creates a deep copy of the parsed expression tree. Unlike {@link Expression#deepCopy()} it preserves the types
+	 * of scalar nodes, e.g. enum constants that are resolved lazily.
+	 */
+	static Expression copy(Expression expression) {
+		if (!(expression instanceof SimpleNode)) {
+			return expression.deepCopy();
+		}
+
+		SimpleNode node = (SimpleNode) expression;
+		Expression copy = node.shallowCopy();
+		int len = node.jjtGetNumChildren();
+
+		if (len == 0) {
+			// leaf nodes like paths or lists keep their operands outside of children,
+			// scalars are fully copied by shallowCopy()
+			if (!(node instanceof ASTScalar)) {
+				int operands = node.getOperandCount();
+				for (int i = 0; i < operands; i++) {
+					copy.setOperand(i, node.getOperand(i));
+				}
+			}
+
+			return copy;
+		}
+
+		SimpleNode nodeCopy = (SimpleNode) copy;
+		for (int i = 0; i < len; i++) {
+			Node child = node.jjtGetChild(i);
+			Node childCopy = child != null ? (Node) copy((Expression) child) : null;
+			nodeCopy.jjtAddChild(childCopy, i);
+			if (childCopy != null) {
+				childCopy.jjtSetParent(nodeCopy);
+			}
+		}
+
+		return nodeCopy;
+	}
+}
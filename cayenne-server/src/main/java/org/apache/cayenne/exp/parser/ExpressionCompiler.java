@@ -0,0 +1,381 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.exp.parser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.cayenne.BaseDataObject;
+import org.apache.cayenne.Cayenne;
+import org.apache.cayenne.DataObject;
+import org.apache.cayenne.exp.CompiledExpression;
+import org.apache.cayenne.exp.Expression;
+import org.apache.cayenne.exp.ExpressionException;
+import org.apache.cayenne.map.Entity;
+import org.apache.cayenne.reflect.Accessor;
+import org.apache.cayenne.reflect.PropertyUtils;
+import org.apache.cayenne.util.ConversionUtil;
+import org.apache.cayenne.util.Util;
+
+/**
+ * Compiles expressions to a tree of evaluation functions that skip per-object AST processing. Conditions, functions
+ * and math nodes reuse the evaluation logic of the corresponding expression nodes, so the results are the same as
+ * the ones of {@link Expression#evaluate(Object)}. Nodes with custom evaluation logic are evaluated as is.
+ *
+ * @since 4.3
+ */
+public final class ExpressionCompiler {
+
+	private static final ClassValue<Class<?>> EVALUATE_NODE_OWNER = new ClassValue<Class<?>>() {
+		@Override
+		protected Class<?> computeValue(Class<?> type) {
+			for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+				try {
+					c.getDeclaredMethod("evaluateNode", Object.class);
+					return c;
+				} catch (NoSuchMethodException e) {
+					// keep looking
+				}
+			}
+			return null;
+		}
+	};
+
+	private ExpressionCompiler() {
+	}
+
+	/**
+	 * Compiles a copy of the expression, so that later changes to the expression don't affect the compiled result.
+	 */
+	public static CompiledExpression compile(Expression expression) {
+		Expression copy = expression.deepCopy();
+		Evaluation evaluation = compileNode(copy);
+		String label = copy.toString();
+
+		return o -> {
+			try {
+				return evaluation.evaluate(o);
+			} catch (Throwable th) {
+				throw new ExpressionException("Error evaluating expression '%s'", label, Util.unwindException(th),
+						label);
+			}
+		};
+	}
+
+	@FunctionalInterface
+	interface Evaluation {
+		Object evaluate(Object o) throws Exception;
+	}
+
+	static Evaluation compileNode(Object node) {
+		if (node == null) {
+			return o -> null;
+		}
+
+		if (!(node instanceof SimpleNode)) {
+			Expression expression = (Expression) node;
+			return expression::evaluate;
+		}
+
+		SimpleNode simpleNode = (SimpleNode) node;
+		Class<?> type = node.getClass();
+
+		if (type == ASTScalar.class || type == ASTList.class) {
+			Object value = simpleNode.evaluate(null);
+			return o -> value;
+		}
+
+		if (type == ASTObjPath.class) {
+			return compilePath((ASTObjPath) node);
+		}
+
+		if (type == ASTAnd.class) {
+			return compileAnd(compileChildren(simpleNode));
+		}
+
+		if (type == ASTOr.class) {
+			return compileOr(compileChildren(simpleNode));
+		}
+
+		if (type == ASTNot.class && simpleNode.jjtGetNumChildren() > 0) {
+			Evaluation child = compileNode(simpleNode.jjtGetChild(0));
+			return o -> {
+				Object value = child.evaluate(o);
+				return value == null ? null : ConversionUtil.toBoolean(value) ? Boolean.FALSE : Boolean.TRUE;
+			};
+		}
+
+		Class<?> owner = EVALUATE_NODE_OWNER.get(type);
+		if (owner == ConditionNode.class) {
+			return compileCondition((ConditionNode) node);
+		}
+
+		if (owner == EvaluatedNode.class) {
+			return compileEvaluated((EvaluatedNode) node);
+		}
+
+		return simpleNode::evaluate;
+	}
+
+	private static Evaluation[] compileChildren(SimpleNode node) {
+		int len = node.jjtGetNumChildren();
+		Evaluation[] children = new Evaluation[len];
+		for (int i = 0; i < len; i++) {
+			children[i] = compileNode(node.jjtGetChild(i));
+		}
+		return children;
+	}
+
+	private static Evaluation compileAnd(Evaluation[] children) {
+		if (children.length == 0) {
+			return o -> Boolean.FALSE;
+		}
+
+		return o -> {
+			boolean unknown = false;
+			for (Evaluation child : children) {
+				Object value = child.evaluate(o);
+				if (value == null) {
+					unknown = true;
+				} else if (!ConversionUtil.toBoolean(value)) {
+					return Boolean.FALSE;
+				}
+			}
+			return unknown ? null : Boolean.TRUE;
+		};
+	}
+
+	private static Evaluation compileOr(Evaluation[] children) {
+		if (children.length == 0) {
+			return o -> Boolean.FALSE;
+		}
+
+		return o -> {
+			boolean unknown = false;
+			for (Evaluation child : children) {
+				Object value = child.evaluate(o);
+				if (value == null) {
+					unknown = true;
+				} else if (ConversionUtil.toBoolean(value)) {
+					return Boolean.TRUE;
+				}
+			}
+			return unknown ? null : Boolean.FALSE;
+		};
+	}
+
+	// follows ConditionNode.evaluateNode()
+	private static Evaluation compileCondition(ConditionNode node) {
+		int requiredLen = node.getRequiredChildrenCount();
+		if (node.jjtGetNumChildren() != requiredLen) {
+			return o -> Boolean.FALSE;
+		}
+
+		if (requiredLen == 0) {
+			return o -> node.evaluateSubNode(null, null);
+		}
+
+		Evaluation[] children = compileChildren(node);
+		return o -> {
+			Object[] evaluatedChildren = new Object[children.length];
+			for (int i = 0; i < children.length; i++) {
+				evaluatedChildren[i] = children[i].evaluate(o);
+			}
+
+			Object firstChild = evaluatedChildren[0];
+			if (firstChild instanceof Map) {
+				firstChild = ((Map<?, ?>) firstChild).values();
+			}
+
+			if (firstChild instanceof Collection) {
+				for (Object c : (Collection<?>) firstChild) {
+					if (node.evaluateSubNode(c, evaluatedChildren) == Boolean.TRUE) {
+						return Boolean.TRUE;
+					}
+				}
+				return Boolean.FALSE;
+			}
+
+			return node.evaluateSubNode(firstChild, evaluatedChildren);
+		};
+	}
+
+	// follows EvaluatedNode.evaluateNode()
+	private static Evaluation compileEvaluated(EvaluatedNode node) {
+		int requiredLen = node.getRequiredChildrenCount();
+		if (node.jjtGetNumChildren() < requiredLen) {
+			return o -> null;
+		}
+
+		if (requiredLen == 0) {
+			return o -> node.evaluateSubNode(null, null);
+		}
+
+		Evaluation[] children = compileChildren(node);
+		return o -> {
+			Object[] evaluatedChildren = new Object[children.length];
+			for (int i = 0; i < children.length; i++) {
+				evaluatedChildren[i] = children[i].evaluate(o);
+			}
+
+			Object firstChild = evaluatedChildren[0];
+			if (firstChild instanceof Map) {
+				Map<?, ?> child = (Map<?, ?>) firstChild;
+				Map<Object, Object> result = new HashMap<>(child.size());
+				for (Map.Entry<?, ?> entry : child.entrySet()) {
+					result.put(entry.getKey(), node.evaluateSubNode(entry.getValue(), evaluatedChildren));
+				}
+				return result;
+			}
+
+			if (firstChild instanceof Collection) {
+				Collection<?> child = (Collection<?>) firstChild;
+				Collection<Object> result = new ArrayList<>(child.size());
+				for (Object c : child) {
+					result.add(node.evaluateSubNode(c, evaluatedChildren));
+				}
+				return result;
+			}
+
+			return node.evaluateSubNode(firstChild, evaluatedChildren);
+		};
+	}
+
+	private static Evaluation compilePath(ASTObjPath node) {
+		String path = node.getPath();
+		if (path == null || path.isEmpty() || path.startsWith(".") || path.endsWith(".") || path.contains("..")) {
+			// let the node report an invalid path
+			return node::evaluate;
+		}
+
+		return new PathEvaluation(node, path);
+	}
+
+	/**
+	 * Follows the path resolution logic of {@link ASTObjPath}, {@link BaseDataObject#readNestedProperty(String)}
+	 * and {@link PropertyUtils#getProperty(Object, String)}, caching segment accessors per object class.
+	 */
+	static final class PathEvaluation implements Evaluation {
+
+		private final ASTObjPath node;
+		private final String[] segments;
+		private final String[] beanSegments;
+		private final String[] remainingPaths;
+		private final SegmentAccessor[] accessors;
+
+		PathEvaluation(ASTObjPath node, String path) {
+			this.node = node;
+			this.segments = path.split("\\.");
+
+			int len = segments.length;
+			this.beanSegments = new String[len];
+			this.remainingPaths = new String[len];
+			this.accessors = new SegmentAccessor[len];
+
+			int offset = 0;
+			for (int i = 0; i < len; i++) {
+				String segment = segments[i];
+				remainingPaths[i] = path.substring(offset);
+				offset += segment.length() + 1;
+
+				// trim outer join component, except for the last DataObject segment
+				if (segment.endsWith(Entity.OUTER_JOIN_INDICATOR)) {
+					beanSegments[i] = segment.substring(0, segment.length() - 1);
+					if (i < len - 1) {
+						segments[i] = beanSegments[i];
+					}
+				} else {
+					beanSegments[i] = segment;
+				}
+			}
+		}
+
+		@Override
+		public Object evaluate(Object o) throws Exception {
+			if (o instanceof DataObject) {
+				return readDataObjectPath(o);
+			} else if (o instanceof Entity) {
+				return node.evaluate(o);
+			} else {
+				return readBeanPath(o, 0);
+			}
+		}
+
+		private Object readDataObjectPath(Object o) {
+			int last = segments.length - 1;
+			Object object = o;
+
+			for (int i = 0; ; i++) {
+				if (!(object instanceof BaseDataObject)) {
+					return ((DataObject) object).readNestedProperty(remainingPaths[i]);
+				}
+
+				// same as BaseDataObject.readSimpleProperty(..)
+				Object value = ((BaseDataObject) object).readProperty(segments[i]);
+				if (value == null) {
+					value = readBeanProperty(object, i);
+				}
+
+				if (i == last || value == null) {
+					return value;
+				}
+
+				if (!(value instanceof DataObject)) {
+					return Cayenne.readNestedProperty(value, remainingPaths[i + 1]);
+				}
+
+				object = value;
+			}
+		}
+
+		private Object readBeanPath(Object o, int from) {
+			Object object = o;
+			for (int i = from; i < beanSegments.length && object != null; i++) {
+				object = readBeanProperty(object, i);
+			}
+			return object;
+		}
+
+		private Object readBeanProperty(Object object, int i) {
+			Class<?> type = object.getClass();
+			SegmentAccessor accessor = accessors[i];
+			if (accessor == null || accessor.type != type) {
+				accessor = new SegmentAccessor(type, PropertyUtils.accessor(type, beanSegments[i]));
+				accessors[i] = accessor;
+			}
+
+			return accessor.accessor.getValue(object);
+		}
+	}
+
+	// immutable, so can be safely shared between threads via a plain array
+	private static final class SegmentAccessor {
+
+		final Class<?> type;
+		final Accessor accessor;
+
+		SegmentAccessor(Class<?> type, Accessor accessor) {
+			this.type = type;
+			this.accessor = accessor;
+		}
+	}
+}
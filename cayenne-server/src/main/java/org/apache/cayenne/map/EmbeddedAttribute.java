@@ -66,6 +66,7 @@ public class EmbeddedAttribute extends ObjAttribute {
         setDbAttributePath(other.getDbAttributePath());
         setUsedForLocking(other.isUsedForLocking());
         setLazy(other.isLazy());
+        setLazyGroup(other.getLazyGroup());
         attributeOverrides = other.getAttributeOverrides();
     }
 
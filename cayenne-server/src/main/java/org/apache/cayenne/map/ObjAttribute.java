@@ -40,6 +40,10 @@ public class ObjAttribute extends Attribute<ObjEntity, ObjAttribute, ObjRelation
      * @since 4.2
      */
     protected boolean lazy;
+    /**
+     * @since 4.3
+     */
+    protected String lazyGroup;
     protected String dbAttributePath;
 
     public ObjAttribute() {
@@ -67,6 +71,7 @@ public class ObjAttribute extends Attribute<ObjEntity, ObjAttribute, ObjRelation
         setDbAttributePath(attribute.getDbAttributePath());
         setUsedForLocking(attribute.isUsedForLocking());
         setLazy(attribute.isLazy());
+        setLazyGroup(attribute.getLazyGroup());
     }
 
     @Override
@@ -110,6 +115,7 @@ public class ObjAttribute extends Attribute<ObjEntity, ObjAttribute, ObjRelation
                 .attribute("type", getType())
                 .attribute("lock", isUsedForLocking())
                 .attribute("lazy", isLazy())
+                .attribute("lazy-group", getLazyGroup())
                 .attribute("db-attribute-path", getDbAttributePath());
 
         delegate.visitObjAttribute(this);
@@ -178,6 +184,25 @@ public class ObjAttribute extends Attribute<ObjEntity, ObjAttribute, ObjRelation
         this.lazy = lazy;
     }
 
+    /**
+     * Returns a name of the fetch group of this attribute. Lazy attributes of the same entity that belong to the same
+     * group are fetched together when any of them is accessed. Lazy attributes with no group are fetched one by one.
+     *
+     * @since 4.3
+     */
+    public String getLazyGroup() {
+        return lazyGroup;
+    }
+
+    /**
+     * Sets a name of the fetch group of this attribute. Has no effect unless the attribute is lazy.
+     *
+     * @since 4.3
+     */
+    public void setLazyGroup(String lazyGroup) {
+        this.lazyGroup = lazyGroup;
+    }
+
     /**
      * Returns a DbAttribute mapped by this ObjAttribute.
      */
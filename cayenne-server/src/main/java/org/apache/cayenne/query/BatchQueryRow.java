@@ -18,11 +18,13 @@
  ****************************************************************/
 package org.apache.cayenne.query;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.access.types.InternalUnsupportedTypeFactory;
 import org.apache.cayenne.map.DbAttribute;
 
 /**
@@ -44,6 +46,17 @@ public abstract class BatchQueryRow {
 
     public abstract Object getValue(int i);
 
+    /**
+     * Returns true if some of the row values are deferred and can't be resolved yet. This happens when a value comes
+     * from a generated key of another object that is not inserted yet. Unlike {@link #getValue(int)}, this method
+     * doesn't change the state of the row.
+     *
+     * @since 4.3
+     */
+    public boolean hasUnresolvedValues() {
+        return false;
+    }
+
     public Map<String, Object> getQualifier() {
         return qualifier;
     }
@@ -52,6 +65,37 @@ public abstract class BatchQueryRow {
         return objectId;
     }
 
+    /**
+     * Used by subclasses to check whether any of the deferred values can't be resolved yet. Generated attributes
+     * are not checked, as their values are not bound.
+     *
+     * @since 4.3
+     */
+    protected boolean hasUnresolvedValues(Map<String, Object> valueMap, Collection<DbAttribute> attributes) {
+        for (DbAttribute attribute : attributes) {
+            if (attribute.isGenerated()) {
+                continue;
+            }
+
+            Object value = valueMap.get(attribute.getName());
+            if (!(value instanceof Supplier)) {
+                continue;
+            }
+
+            int safeguard = 0;
+            while (value instanceof Supplier && safeguard++ < MAX_NESTED_SUPPLIER_LEVEL) {
+                value = ((Supplier<?>) value).get();
+            }
+
+            // keys that are not generated yet are represented either by null or by an internal marker value
+            if (value == null || value instanceof InternalUnsupportedTypeFactory.Marker) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Used by subclasses to resolve deferred values on demand. This is useful
      * when a certain value comes from a generated key of another master object.
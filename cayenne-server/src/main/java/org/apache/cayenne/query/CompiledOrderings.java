@@ -0,0 +1,160 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.query;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.apache.cayenne.exp.CompiledExpression;
+import org.apache.cayenne.exp.ExpressionException;
+import org.apache.cayenne.reflect.UnresolvablePathException;
+import org.apache.cayenne.util.ConversionUtil;
+
+/**
+ * A comparator over a list of orderings with compiled sort expressions. Sorts lists by evaluating sort keys once per
+ * object instead of once per comparison. Secondary keys are only evaluated for the objects that are compared on them.
+ *
+ * @since 4.3
+ */
+class CompiledOrderings implements Comparator<Object> {
+
+	private static final Object UNRESOLVED = new Object();
+
+	private final Ordering[] orderings;
+	private final CompiledExpression[] sortSpecs;
+
+	CompiledOrderings(List<? extends Ordering> orderings) {
+		int len = orderings.size();
+		this.orderings = orderings.toArray(new Ordering[len]);
+		this.sortSpecs = new CompiledExpression[len];
+		for (int i = 0; i < len; i++) {
+			sortSpecs[i] = this.orderings[i].getSortSpec().compile();
+		}
+	}
+
+	/**
+	 * Returns whether orderings can be compiled, i.e. none of them customizes comparison logic.
+	 */
+	static boolean canCompile(List<? extends Ordering> orderings) {
+		for (Ordering ordering : orderings) {
+			if (ordering.getClass() != Ordering.class) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int compare(Object o1, Object o2) {
+		for (int i = 0; i < orderings.length; i++) {
+			int result = compareKeys(i, key(i, o1), key(i, o2));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	void sort(List<?> objects) {
+		int len = objects.size();
+		if (len < 2) {
+			return;
+		}
+
+		SortEntry[] entries = new SortEntry[len];
+		int i = 0;
+		for (Object object : objects) {
+			entries[i++] = new SortEntry(object, orderings.length);
+		}
+
+		Arrays.sort(entries, this::compareEntries);
+
+		ListIterator<Object> it = (ListIterator<Object>) objects.listIterator();
+		for (SortEntry entry : entries) {
+			it.next();
+			it.set(entry.object);
+		}
+	}
+
+	private int compareEntries(SortEntry e1, SortEntry e2) {
+		for (int i = 0; i < orderings.length; i++) {
+			int result = compareKeys(i, e1.key(this, i), e2.key(this, i));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	// follows Ordering.compare()
+	Object key(int i, Object object) {
+		Object value;
+		try {
+			value = sortSpecs[i].evaluate(object);
+		} catch (ExpressionException e) {
+			if (orderings[i].isPathExceptionSuppressed() && e.getCause() instanceof UnresolvablePathException) {
+				return null;
+			}
+			throw e;
+		}
+
+		return value != null && orderings[i].isCaseInsensitive() ? ConversionUtil.toUpperCase(value) : value;
+	}
+
+	// follows Ordering.compare()
+	@SuppressWarnings("unchecked")
+	private int compareKeys(int i, Object value1, Object value2) {
+		Ordering ordering = orderings[i];
+		if (value1 == null && value2 == null) {
+			return 0;
+		} else if (value1 == null) {
+			return ordering.isNullSortedFirst() ? -1 : 1;
+		} else if (value2 == null) {
+			return ordering.isNullSortedFirst() ? 1 : -1;
+		}
+
+		int result = ConversionUtil.toComparable(value1).compareTo(ConversionUtil.toComparable(value2));
+		return ordering.isAscending() ? result : -result;
+	}
+
+	private static final class SortEntry {
+
+		final Object object;
+		final Object[] keys;
+
+		SortEntry(Object object, int keyCount) {
+			this.object = object;
+			this.keys = new Object[keyCount];
+			Arrays.fill(keys, UNRESOLVED);
+		}
+
+		Object key(CompiledOrderings orderings, int i) {
+			Object key = keys[i];
+			if (key == UNRESOLVED) {
+				key = orderings.key(i, object);
+				keys[i] = key;
+			}
+			return key;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.query;
+
+import java.util.Arrays;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.QueryResponse;
+import org.apache.cayenne.exp.Expression;
+import org.apache.cayenne.exp.ExpressionFactory;
+import org.apache.cayenne.map.DataMap;
+import org.apache.cayenne.map.EntityResolver;
+import org.apache.cayenne.map.ObjEntity;
+import org.apache.cayenne.util.ToStringBuilder;
+
+/**
+ * Base class for {@link ObjectUpdate} and {@link ObjectDelete}, queries that change all entity rows matching the
+ * qualifier with a single SQL statement, without fetching and registering the objects.
+ * <p>
+ * As the query doesn't know which rows were changed, it invalidates all cached snapshots of the entity after the
+ * statement is executed, so that the objects are refetched on next access. Committed objects of the entity
+ * registered in the calling context are invalidated as well. Query cache groups passed to
+ * {@link #invalidateCacheGroups(String...)} are removed from the query cache.
+ *
+ * @since 4.3
+ */
+public abstract class FluentBulkQuery<T, Q extends FluentBulkQuery<T, Q>> implements Query {
+
+    private static final long serialVersionUID = 4424478738547364935L;
+
+    protected Class<?> entityType;
+    protected String entityName;
+    protected Expression where;
+    protected String[] cacheGroups;
+
+    protected FluentBulkQuery(Class<?> entityType, String entityName) {
+        this.entityType = entityType;
+        this.entityName = entityName;
+    }
+
+    /**
+     * Appends a qualifier expression of this query. Only the rows matching the qualifier are changed, if no
+     * qualifier is set, the query changes all the rows of the entity.
+     *
+     * @return this object
+     */
+    public Q where(Expression expression) {
+        if (expression != null) {
+            this.where = where != null ? where.andExp(expression) : expression;
+        }
+        return castSelf();
+    }
+
+    /**
+     * Appends a qualifier expression of this query, using provided expression String and an array of position
+     * parameters.
+     *
+     * @return this object
+     */
+    public Q where(String expressionString, Object... parameters) {
+        return where(ExpressionFactory.exp(expressionString, parameters));
+    }
+
+    /**
+     * AND's provided expressions to the existing WHERE clause expression.
+     *
+     * @return this object
+     */
+    public Q and(Expression... expressions) {
+        if (expressions != null && expressions.length > 0) {
+            where(ExpressionFactory.and(Arrays.asList(expressions)));
+        }
+        return castSelf();
+    }
+
+    /**
+     * Sets query cache groups to remove from the query cache after the query is executed, e.g. the groups of the
+     * cached queries that select the entity.
+     *
+     * @return this object
+     */
+    public Q invalidateCacheGroups(String... cacheGroups) {
+        this.cacheGroups = cacheGroups;
+        return castSelf();
+    }
+
+    public Expression getWhere() {
+        return where;
+    }
+
+    /**
+     * Returns query cache groups to remove after the query execution, never null.
+     */
+    public String[] getCacheGroups() {
+        return cacheGroups != null ? cacheGroups : new String[0];
+    }
+
+    /**
+     * Executes the query, returning a number of changed rows.
+     */
+    public int execute(ObjectContext context) {
+        QueryResponse response = context.performGenericQuery(this);
+
+        int count = 0;
+        for (response.reset(); response.next(); ) {
+            if (!response.isList()) {
+                for (int c : response.currentUpdateCount()) {
+                    count += c;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public QueryMetadata getMetaData(EntityResolver resolver) {
+        BaseQueryMetadata md = new BaseQueryMetadata();
+        md.resolve(resolveRoot(resolver), resolver);
+        return md;
+    }
+
+    @Override
+    public void route(QueryRouter router, EntityResolver resolver, Query substitutedQuery) {
+        DataMap map = getMetaData(resolver).getDataMap();
+        if (map == null) {
+            throw new CayenneRuntimeException("No DataMap found, can't route query %s", this);
+        }
+
+        router.route(router.engineForDataMap(map), this, substitutedQuery);
+    }
+
+    @Override
+    public SQLAction createSQLAction(SQLActionVisitor visitor) {
+        return visitor.bulkAction(this);
+    }
+
+    protected ObjEntity resolveRoot(EntityResolver resolver) {
+        ObjEntity entity = entityType != null
+                ? resolver.getObjEntity(entityType)
+                : resolver.getObjEntity(entityName);
+
+        if (entity == null) {
+            throw new CayenneRuntimeException("Unrecognized entity: %s", entityType != null ? entityType : entityName);
+        }
+
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Q castSelf() {
+        return (Q) this;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("root", entityType != null ? entityType : entityName)
+                .append("where", where)
+                .toString();
+    }
+}
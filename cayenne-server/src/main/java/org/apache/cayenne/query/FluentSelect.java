@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.ObjectContext;
@@ -510,6 +511,22 @@ public abstract class FluentSelect<T, S extends FluentSelect<T, S>> extends Abst
         return context.batchIterator(this, size);
     }
 
+    /**
+     * @since 4.3
+     */
+    @Override
+    public Stream<T> stream(ObjectContext context) {
+        return context.stream(this);
+    }
+
+    /**
+     * @since 4.3
+     */
+    @Override
+    public Stream<T> stream(ObjectContext context, int batchSize) {
+        return context.stream(this, batchSize);
+    }
+
     @Override
     public SQLAction createSQLAction(SQLActionVisitor visitor) {
         return visitor.objectSelectAction(this);
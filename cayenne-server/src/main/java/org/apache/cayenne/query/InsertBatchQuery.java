@@ -62,6 +62,11 @@ public class InsertBatchQuery extends BatchQuery {
             public Object getValue(int i) {
                 return getValue(snapshot, dbAttributes.get(i));
             }
+
+            @Override
+            public boolean hasUnresolvedValues() {
+                return hasUnresolvedValues(snapshot, dbAttributes);
+            }
         });
     }
 
@@ -21,6 +21,7 @@ package org.apache.cayenne.query;
 import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.ObjectContext;
@@ -180,6 +181,22 @@ public class MappedSelect<T> extends AbstractMappedQuery implements Select<T> {
         return context.batchIterator(this, size);
     }
 
+    /**
+     * @since 4.3
+     */
+    @Override
+    public Stream<T> stream(ObjectContext context) {
+        return context.stream(this);
+    }
+
+    /**
+     * @since 4.3
+     */
+    @Override
+    public Stream<T> stream(ObjectContext context, int batchSize) {
+        return context.stream(this, batchSize);
+    }
+
     @Override
     protected Query createReplacementQuery(EntityResolver resolver) {
         QueryDescriptor descriptor = resolver.getQueryDescriptor(queryName);
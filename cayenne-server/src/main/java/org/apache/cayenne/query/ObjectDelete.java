@@ -0,0 +1,57 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.query;
+
+/**
+ * A query that deletes all entity rows matching a qualifier with a single SQL DELETE statement, without fetching
+ * the objects. Delete rules and lifecycle callbacks of the entity are not applied. E.g.:
+ * <pre>
+ * {@code
+ * int deleted = ObjectDelete.query(Artist.class)
+ *      .where(Artist.DATE_OF_BIRTH.lt(date))
+ *      .execute(context);
+ * }
+ * </pre>
+ *
+ * @see FluentBulkQuery
+ * @since 4.3
+ */
+public class ObjectDelete<T> extends FluentBulkQuery<T, ObjectDelete<T>> {
+
+    private static final long serialVersionUID = -1830963722283950431L;
+
+    /**
+     * Creates a query that deletes rows of a given persistent class.
+     */
+    public static <T> ObjectDelete<T> query(Class<T> entityType) {
+        return new ObjectDelete<>(entityType, null);
+    }
+
+    /**
+     * Creates a query that deletes rows of an entity with a given name.
+     */
+    public static ObjectDelete<Object> query(String entityName) {
+        return new ObjectDelete<>(null, entityName);
+    }
+
+    protected ObjectDelete(Class<?> entityType, String entityName) {
+        super(entityType, entityName);
+    }
+}
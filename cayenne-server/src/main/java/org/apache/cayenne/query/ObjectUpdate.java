@@ -0,0 +1,93 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.cayenne.exp.property.Property;
+
+/**
+ * A query that updates all entity rows matching a qualifier with a single SQL UPDATE statement, without fetching
+ * the objects. Updated properties must be attributes or to-one relationships of the entity itself. E.g.:
+ * <pre>
+ * {@code
+ * int updated = ObjectUpdate.query(Painting.class)
+ *      .where(Painting.TO_ARTIST.dot(Artist.ARTIST_NAME).eq("Picasso"))
+ *      .set(Painting.ESTIMATED_PRICE, price)
+ *      .execute(context);
+ * }
+ * </pre>
+ *
+ * @see FluentBulkQuery
+ * @since 4.3
+ */
+public class ObjectUpdate<T> extends FluentBulkQuery<T, ObjectUpdate<T>> {
+
+    private static final long serialVersionUID = 2553563512440718582L;
+
+    /**
+     * Creates a query that updates rows of a given persistent class.
+     */
+    public static <T> ObjectUpdate<T> query(Class<T> entityType) {
+        return new ObjectUpdate<>(entityType, null);
+    }
+
+    /**
+     * Creates a query that updates rows of an entity with a given name.
+     */
+    public static ObjectUpdate<Object> query(String entityName) {
+        return new ObjectUpdate<>(null, entityName);
+    }
+
+    protected Map<Property<?>, Object> values;
+
+    protected ObjectUpdate(Class<?> entityType, String entityName) {
+        super(entityType, entityName);
+        this.values = new LinkedHashMap<>();
+    }
+
+    /**
+     * Sets a new value of the property for all the matching rows. To-one relationships are set by updating their
+     * foreign keys, so the value must be one of:
+     * <ul>
+     *     <li>a committed object or null;</li>
+     *     <li>an ObjectId of a committed object;</li>
+     *     <li>a map of the target column values, keyed by the DB names of the columns the relationship joins to;</li>
+     *     <li>a raw target column value, only for the relationships with a single column join.</li>
+     * </ul>
+     * ObjectId, map and raw values don't match the type of a typed relationship property, so pass them via a
+     * raw-typed property, e.g. {@code PropertyFactory.createBase("toArtist", Object.class)}.
+     *
+     * @return this object
+     */
+    public <E> ObjectUpdate<T> set(Property<E> property, E value) {
+        values.put(property, value);
+        return this;
+    }
+
+    /**
+     * Returns an unmodifiable map of the updated properties and their values.
+     */
+    public Map<Property<?>, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+}
@@ -69,11 +69,38 @@ public class Ordering implements Comparator<Object>, Serializable, XMLSerializab
 		if(objects == null || orderings == null || orderings.isEmpty()) {
 			return;
 		}
+
+		// compiled orderings evaluate sort keys only once per object
+		if(CompiledOrderings.canCompile(orderings)) {
+			new CompiledOrderings(orderings).sort(objects);
+			return;
+		}
+
+		objects.sort(comparator(orderings));
+	}
+
+	/**
+	 * Returns a comparator applying a List of Orderings according the
+	 * default iteration order of the Orderings list, with sort expressions
+	 * compiled for fast repeated evaluation.
+	 *
+	 * @param orderings list of Orderings to be applied
+	 * @since 4.3
+	 */
+	public static Comparator<Object> comparator(List<? extends Ordering> orderings) {
+		if(orderings.isEmpty()) {
+			return (o1, o2) -> 0;
+		}
+
+		if(CompiledOrderings.canCompile(orderings)) {
+			return new CompiledOrderings(orderings);
+		}
+
 		Comparator<Object> comparator = orderings.get(0);
 		for(int i=1; i<orderings.size(); i++) {
 			comparator = comparator.thenComparing(orderings.get(i));
 		}
-		objects.sort(comparator);
+		return comparator;
 	}
 
 	/**
@@ -372,7 +399,7 @@ public class Ordering implements Comparator<Object>, Serializable, XMLSerializab
 	 *            a List of objects to be sorted
 	 */
 	public void orderList(List<?> objects) {
-		Collections.sort(objects, this);
+		orderList(objects, Collections.singletonList(this));
 	}
 
 	/**
@@ -57,4 +57,11 @@ public interface SQLActionVisitor {
      * Creates an action to execute EJBQL query.
      */
     SQLAction ejbqlAction(EJBQLQuery query);
+
+    /**
+     * Creates an action to execute a bulk UPDATE or DELETE query.
+     *
+     * @since 4.3
+     */
+    SQLAction bulkAction(FluentBulkQuery<?, ?> query);
 }
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.apache.cayenne.CayenneRuntimeException;
 import org.apache.cayenne.DataRow;
@@ -229,6 +230,22 @@ public class SQLSelect<T> extends IndirectQuery implements Select<T> {
 		return context.batchIterator(this, size);
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public Stream<T> stream(ObjectContext context) {
+		return context.stream(this);
+	}
+
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public Stream<T> stream(ObjectContext context, int batchSize) {
+		return context.stream(this, batchSize);
+	}
+
 	public boolean isFetchingDataRows() {
 		return isFetchingDataRows;
 	}
@@ -25,6 +25,7 @@ import org.apache.cayenne.ResultIterator;
 import org.apache.cayenne.ResultIteratorCallback;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A common interface for grouping together different kinds of queries that
@@ -110,4 +111,28 @@ public interface Select<T> extends Query {
 	 * @since 4.0
 	 */
 	ResultBatchIterator<T> batchIterator(ObjectContext context, int size);
+
+	/**
+	 * Creates a lazy sequential Stream over the query results. The stream is
+	 * backed by an open result set, so the caller must close it explicitly
+	 * (e.g. with try-with-resources), unless it is always read to the end.
+	 * <p>
+	 * Essentially the inversion of "ObjectContext.stream(Select)".
+	 *
+	 * @since 4.3
+	 */
+	Stream<T> stream(ObjectContext context);
+
+	/**
+	 * Creates a lazy sequential Stream over the query results that reads and
+	 * converts result rows in batches of a given size. Persistent objects may
+	 * be registered in a temporary context replaced for each batch, so that
+	 * processing of large results preserves a constant memory footprint. The
+	 * caller must close the stream explicitly, unless it is read to the end.
+	 * <p>
+	 * Essentially the inversion of "ObjectContext.stream(Select, int)".
+	 *
+	 * @since 4.3
+	 */
+	Stream<T> stream(ObjectContext context, int batchSize);
 }
@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.apache.cayenne.exp.ExpressionFactory.*;
 
@@ -208,6 +209,22 @@ public class SelectById<T> extends IndirectQuery implements Select<T> {
 		return context.batchIterator(this, size);
 	}
 
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public Stream<T> stream(ObjectContext context) {
+		return context.stream(this);
+	}
+
+	/**
+	 * @since 4.3
+	 */
+	@Override
+	public Stream<T> stream(ObjectContext context, int batchSize) {
+		return context.stream(this, batchSize);
+	}
+
 	/**
 	 * Instructs Cayenne to look for query results in the "local" cache when
 	 * running the query. This is a short-hand notation for:
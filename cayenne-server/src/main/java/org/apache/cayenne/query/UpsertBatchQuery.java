@@ -0,0 +1,68 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.query;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.map.DbEntity;
+
+/**
+ * Batched "upsert" query. Inserts multiple snapshots (DataRows) for a given DbEntity, updating the existing rows with
+ * the same primary key instead of failing on them. Like {@link InsertBatchQuery}, is normally created internally by
+ * DataContext when committing objects marked for upsert.
+ *
+ * @since 4.3
+ */
+public class UpsertBatchQuery extends BatchQuery {
+
+    /**
+     * Creates new UpsertBatchQuery for a given DbEntity and estimated capacity.
+     */
+    public UpsertBatchQuery(DbEntity entity, int batchCapacity) {
+        super(entity, new ArrayList<>(entity.getAttributes()), batchCapacity);
+    }
+
+    /**
+     * Adds a snapshot to batch. A shortcut for "add(snapshot, null)".
+     */
+    public void add(Map<String, Object> snapshot) {
+        add(snapshot, null);
+    }
+
+    /**
+     * Adds a snapshot to batch, optionally storing the object id for the snapshot. As with inserts, snapshot values
+     * can be instances of java.util.Supplier, resolved to the actual values on the spot.
+     */
+    public void add(final Map<String, Object> snapshot, ObjectId id) {
+        rows.add(new BatchQueryRow(id, null) {
+            @Override
+            public Object getValue(int i) {
+                return getValue(snapshot, dbAttributes.get(i));
+            }
+
+            @Override
+            public boolean hasUnresolvedValues() {
+                return hasUnresolvedValues(snapshot, dbAttributes);
+            }
+        });
+    }
+}
@@ -38,8 +38,8 @@ public class FieldEmbeddableDescriptor implements EmbeddableDescriptor {
                                      String ownerProperty, String embeddedPropertyProperty) {
         this.embeddable = embeddable;
         this.embeddableClass = objectFactory.getJavaClass(embeddable.getClassName());
-        this.ownerAccessor = new FieldAccessor(embeddableClass, ownerProperty, Persistent.class);
-        this.embeddedPropertyAccessor = new FieldAccessor(embeddableClass, embeddedPropertyProperty, String.class);
+        this.ownerAccessor = new MethodHandleFieldAccessor(embeddableClass, ownerProperty, Persistent.class);
+        this.embeddedPropertyAccessor = new MethodHandleFieldAccessor(embeddableClass, embeddedPropertyProperty, String.class);
     }
 
     public Object createObject(Object owner, String embeddedProperty) {
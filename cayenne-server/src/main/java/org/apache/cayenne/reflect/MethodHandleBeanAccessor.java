@@ -0,0 +1,135 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.reflect;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A JavaBean property accessor that calls getters and setters via functions generated with {@link LambdaMetafactory}
+ * instead of reflection. Such calls can be inlined by the JIT like regular method calls. If a function can't be
+ * generated for a method, e.g. because its class is not accessible, the accessor falls back to reflection.
+ *
+ * @since 4.3
+ */
+public class MethodHandleBeanAccessor extends BeanAccessor {
+
+	private static final long serialVersionUID = -4139466734337591085L;
+
+	private transient Function<Object, Object> reader;
+	private transient BiConsumer<Object, Object> writer;
+
+	public MethodHandleBeanAccessor(Class<?> objectClass, String propertyName, Class<?> propertyType) {
+		super(objectClass, propertyName, propertyType);
+		this.reader = createReader(readMethod);
+		this.writer = writeMethod != null ? createWriter(writeMethod) : null;
+	}
+
+	@Override
+	public Object getValue(Object object) throws PropertyException {
+		Function<Object, Object> reader = this.reader;
+		if (reader == null) {
+			return super.getValue(object);
+		}
+
+		try {
+			return reader.apply(object);
+		} catch (Throwable th) {
+			throw new PropertyException("Error reading property: " + propertyName, this, object, th);
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	public void setValue(Object object, Object newValue) throws PropertyException {
+		BiConsumer<Object, Object> writer = this.writer;
+		if (writer == null) {
+			super.setValue(object, newValue);
+			return;
+		}
+
+		Class type = writeMethod.getParameterTypes()[0];
+		Converter<?> converter = ConverterFactory.factory.getConverter(type);
+		try {
+			newValue = (converter != null) ? converter.convert(newValue, type) : newValue;
+
+			// this will take care of primitives.
+			if (newValue == null) {
+				newValue = this.nullValue;
+			}
+
+			writer.accept(object, newValue);
+		} catch (Throwable th) {
+			throw new PropertyException("Error writing property: " + propertyName, this, object, th);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> createReader(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		Class<?> returnType = PropertyUtils.normalizeType(method.getReturnType());
+
+		try {
+			MethodHandles.Lookup lookup = lookup(declaringClass);
+			MethodHandle handle = lookup.unreflect(method);
+			return (Function<Object, Object>) LambdaMetafactory.metafactory(
+					lookup,
+					"apply",
+					MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class),
+					handle,
+					MethodType.methodType(returnType, declaringClass)).getTarget().invokeExact();
+		} catch (Throwable th) {
+			// not accessible, will use reflection
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static BiConsumer<Object, Object> createWriter(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		Class<?> parameterType = PropertyUtils.normalizeType(method.getParameterTypes()[0]);
+
+		try {
+			MethodHandles.Lookup lookup = lookup(declaringClass);
+			MethodHandle handle = lookup.unreflect(method);
+			return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(
+					lookup,
+					"accept",
+					MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(Void.TYPE, Object.class, Object.class),
+					handle,
+					MethodType.methodType(Void.TYPE, declaringClass, parameterType)).getTarget().invokeExact();
+		} catch (Throwable th) {
+			// not accessible, will use reflection
+			return null;
+		}
+	}
+
+	private static MethodHandles.Lookup lookup(Class<?> declaringClass) throws IllegalAccessException {
+		// generated functions are defined next to the target class, so they can call methods of non-public classes
+		return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+	}
+}
@@ -0,0 +1,110 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * A field accessor that reads and writes fields via {@link MethodHandle}s instead of reflection. Falls back to
+ * reflection if the field can't be accessed via method handles, or if a value requires a widening conversion.
+ *
+ * @since 4.3
+ */
+public class MethodHandleFieldAccessor extends FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
+    private transient MethodHandle getter;
+    private transient MethodHandle setter;
+
+    public MethodHandleFieldAccessor(Class<?> objectClass, String propertyName, Class<?> propertyType) {
+        super(objectClass, propertyName, propertyType);
+
+        // the field is already made accessible by the superclass
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.getter = createHandle(() -> lookup.unreflectGetter(field).asType(GETTER_TYPE));
+        this.setter = createHandle(() -> lookup.unreflectSetter(field).asType(SETTER_TYPE));
+    }
+
+    @Override
+    public Object getValue(Object object) throws PropertyException {
+        if (getter == null) {
+            return super.getValue(object);
+        }
+
+        try {
+            return (Object) getter.invokeExact(object);
+        }
+        catch (Throwable th) {
+            throw new PropertyException(
+                    "Error reading field: " + field.getName(),
+                    this,
+                    object,
+                    th);
+        }
+    }
+
+    @Override
+    public void setValue(Object object, Object newValue) throws PropertyException {
+        if (setter == null) {
+            super.setValue(object, newValue);
+            return;
+        }
+
+        // this will take care of primitives.
+        if (newValue == null) {
+            newValue = this.nullValue;
+        }
+
+        try {
+            setter.invokeExact(object, newValue);
+        }
+        catch (ClassCastException e) {
+            // method handles only unbox values of the exact wrapper type, while reflection
+            // also performs widening conversions (e.g. Integer to long), so let it handle the value
+            super.setValue(object, newValue);
+        }
+        catch (Throwable th) {
+            throw new PropertyException(
+                    "Error writing field: " + field.getName(),
+                    this,
+                    object,
+                    th);
+        }
+    }
+
+    private static MethodHandle createHandle(HandleSupplier supplier) {
+        try {
+            return supplier.get();
+        }
+        catch (IllegalAccessException e) {
+            // e.g. a final field, will use reflection
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface HandleSupplier {
+        MethodHandle get() throws IllegalAccessException;
+    }
+}
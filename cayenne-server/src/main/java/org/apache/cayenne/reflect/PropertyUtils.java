@@ -43,7 +43,7 @@ public class PropertyUtils {
     /**
      * Factory for accessor, can be customized by {@link #installAccessorFactory(AccessorFactory)}
      */
-	private static AccessorFactory accessorFactory = BeanAccessor::new;
+	private static AccessorFactory accessorFactory = new MethodHandleAccessorFactory();
 
 	/**
 	 * Compiles an accessor that can be used for fast access for the nested
@@ -71,6 +71,16 @@ public class PropertyUtils {
 		return compilePathAccessor(nestedPropertyName);
 	}
 
+	/**
+	 * Returns an accessor for a single (non-nested) property of the objects of
+	 * a given class. Accessors are cached per class.
+	 *
+	 * @since 4.3
+	 */
+	public static Accessor accessor(Class<?> objectClass, String propertyName) {
+		return getOrCreateSegmentAccessor(objectClass, propertyName);
+	}
+
 	static Accessor compilePathAccessor(String path) {
 
 		Accessor accessor = PATH_ACCESSORS.get(path);
@@ -206,7 +216,8 @@ public class PropertyUtils {
     /**
      * This method installs custom accessor factory to be used by property utils.
      * <p>
-     * A factory that produces {@link BeanAccessor} is used by default.
+     * {@link MethodHandleAccessorFactory} is used by default. Install a factory that produces {@link BeanAccessor}
+     * to use plain reflection instead.
      *
      * @param accessorFactory new factory to use
      * @since 4.1
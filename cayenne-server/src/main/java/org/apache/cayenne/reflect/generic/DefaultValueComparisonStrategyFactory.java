@@ -23,6 +23,7 @@ import org.apache.cayenne.access.types.ValueObjectType;
 import org.apache.cayenne.access.types.ValueObjectTypeRegistry;
 import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.map.ObjAttribute;
+import org.apache.cayenne.value.LobValue;
 
 import java.io.Serializable;
 import java.util.Objects;
@@ -33,6 +34,7 @@ import java.util.Objects;
 public class DefaultValueComparisonStrategyFactory implements ValueComparisonStrategyFactory {
 
     private static final ValueComparisonStrategy<Object> DEFAULT_STRATEGY = new DefaultValueComparisonStrategy();
+    private static final ValueComparisonStrategy<Object> IDENTITY_STRATEGY = new IdentityValueComparisonStrategy();
 
     private final ValueObjectTypeRegistry valueObjectTypeRegistry;
 
@@ -42,7 +44,14 @@ public class DefaultValueComparisonStrategyFactory implements ValueComparisonStr
 
     @Override
     public ValueComparisonStrategy<Object> getStrategy(ObjAttribute attribute) {
-        ValueObjectType<?, ?> valueObjectType = valueObjectTypeRegistry.getValueType(attribute.getJavaClass());
+        Class<?> javaClass = attribute.getJavaClass();
+
+        // comparing LOB content would require reading it, so a LOB value is only considered changed when replaced
+        if(javaClass != null && LobValue.class.isAssignableFrom(javaClass)) {
+            return IDENTITY_STRATEGY;
+        }
+
+        ValueObjectType<?, ?> valueObjectType = valueObjectTypeRegistry.getValueType(javaClass);
         if(valueObjectType == null) {
             return DEFAULT_STRATEGY;
         } else {
@@ -73,4 +82,11 @@ public class DefaultValueComparisonStrategyFactory implements ValueComparisonStr
             return Objects.equals(a, b);
         }
     }
+
+    static class IdentityValueComparisonStrategy implements ValueComparisonStrategy<Object>, Serializable {
+        @Override
+        public boolean equals(Object a, Object b) {
+            return a == b;
+        }
+    }
 }
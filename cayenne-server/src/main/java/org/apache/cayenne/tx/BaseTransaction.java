@@ -27,8 +27,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
 
 import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.util.ThreadBinding;
 
 /**
  * A Cayenne transaction. Currently supports managing JDBC connections.
@@ -38,9 +40,9 @@ import org.apache.cayenne.CayenneRuntimeException;
 public abstract class BaseTransaction implements Transaction {
 
     /**
-     * A ThreadLocal that stores current thread transaction.
+     * A binding that stores current thread transaction.
      */
-    static final ThreadLocal<Transaction> CURRENT_TRANSACTION = new InheritableThreadLocal<>();
+    private static volatile ThreadBinding<Transaction> threadBinding = ThreadBinding.threadLocal();
 
     protected static final int STATUS_ACTIVE = 1;
     protected static final int STATUS_COMMITTING = 2;
@@ -81,7 +83,7 @@ public abstract class BaseTransaction implements Transaction {
      * Binds a Transaction to the current thread.
      */
     public static void bindThreadTransaction(Transaction transaction) {
-        CURRENT_TRANSACTION.set(transaction);
+        threadBinding.bind(transaction);
     }
 
     /**
@@ -89,7 +91,28 @@ public abstract class BaseTransaction implements Transaction {
      * there is no such Transaction.
      */
     public static Transaction getThreadTransaction() {
-        return CURRENT_TRANSACTION.get();
+        return threadBinding.get();
+    }
+
+    /**
+     * Returns a strategy used to bind transactions to the current thread.
+     *
+     * @since 4.3
+     */
+    public static ThreadBinding<Transaction> getThreadBinding() {
+        return threadBinding;
+    }
+
+    /**
+     * Sets a strategy used to bind transactions to the current thread. Default is a plain ThreadLocal, so the
+     * transaction is not visible in the threads started from the transaction thread. Use
+     * {@link ThreadBinding#inheritableThreadLocal()} to share transactions with the child threads started by the
+     * application. Cayenne's own background threads never inherit the transaction.
+     *
+     * @since 4.3
+     */
+    public static void setThreadBinding(ThreadBinding<Transaction> threadBinding) {
+        BaseTransaction.threadBinding = Objects.requireNonNull(threadBinding);
     }
 
     /**
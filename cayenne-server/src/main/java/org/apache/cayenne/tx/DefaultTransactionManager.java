@@ -121,15 +121,8 @@ public class DefaultTransactionManager implements TransactionManager {
 
         @Override
         protected <T> T handle(TransactionalOperation<T> op, TransactionListener callback, TransactionDescriptor descriptor) {
-            Transaction currentTx = BaseTransaction.getThreadTransaction();
-            try {
-                return performInNewTransaction(op, callback, descriptor);
-            } finally {
-                if(currentTx != null) {
-                    // restore old transaction, if where set
-                    BaseTransaction.bindThreadTransaction(currentTx);
-                }
-            }
+            // outer transaction, if any, is restored once the new one is done
+            return performInNewTransaction(op, callback, descriptor);
         }
     }
 
@@ -147,12 +140,12 @@ public class DefaultTransactionManager implements TransactionManager {
 
         protected <T> T performInNewTransaction(TransactionalOperation<T> op, TransactionListener callback, TransactionDescriptor descriptor) {
             Transaction tx = txFactory.createTransaction(descriptor);
-            BaseTransaction.bindThreadTransaction(tx);
             try {
-                T result = performInTransaction(tx, op, callback);
-                tx.commit();
-                return result;
-
+                return BaseTransaction.getThreadBinding().callWith(tx, () -> {
+                    T result = performInTransaction(tx, op, callback);
+                    tx.commit();
+                    return result;
+                });
             } catch (CayenneRuntimeException ex) {
                 tx.setRollbackOnly();
                 throw ex;
@@ -160,8 +153,6 @@ public class DefaultTransactionManager implements TransactionManager {
                 tx.setRollbackOnly();
                 throw new CayenneRuntimeException(ex);
             } finally {
-                BaseTransaction.bindThreadTransaction(null);
-
                 if (tx.isRollbackOnly()) {
                     try {
                         tx.rollback();
@@ -0,0 +1,53 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.util;
+
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe variant of {@link WeakValueMap}, backed by a {@link ConcurrentHashMap}. Reads do not
+ * block, and the map can be safely accessed by multiple threads without external synchronization.
+ *
+ * @since 4.3
+ */
+public class ConcurrentWeakValueMap<K, V> extends WeakValueMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = -2731474930291874412L;
+
+    public ConcurrentWeakValueMap() {
+        super();
+    }
+
+    public ConcurrentWeakValueMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    public ConcurrentWeakValueMap(Map<? extends K, ? extends V> m) {
+        super(m);
+    }
+
+    @Override
+    Map<K, WeakReference<V>> newStorage(int initialCapacity) {
+        return new ConcurrentHashMap<>(initialCapacity);
+    }
+}
@@ -61,7 +61,8 @@ abstract class ReferenceMap<K, V, R extends Reference<V>> extends AbstractMap<K,
 
     /*
      * Implementation notes:
-     *  - internally data stored in HashMap thus this class and all implementations are not thread safe;
+     *  - internally data stored in HashMap thus this class and all implementations are not thread safe,
+     *  unless a concurrent storage is provided by overriding newStorage(int) method;
      *  - to track references that were cleared ReferenceQueue is used;
      *  - this map is abstract, all that required for the concrete implementation is
      *  to define newReference(Object) method;
@@ -73,7 +74,7 @@ abstract class ReferenceMap<K, V, R extends Reference<V>> extends AbstractMap<K,
     /**
      * This is a main data storage used for most operations
      */
-    protected transient HashMap<K, R> map;
+    protected transient Map<K, R> map;
 
     protected transient ReferenceQueue<V> referenceQueue;
 
@@ -83,12 +84,12 @@ abstract class ReferenceMap<K, V, R extends Reference<V>> extends AbstractMap<K,
     protected transient Set<Entry<K, V>> entrySet;
 
     public ReferenceMap() {
-        map = new HashMap<>();
+        map = newStorage(16);
         referenceQueue = new ReferenceQueue<>();
     }
 
     public ReferenceMap(int initialCapacity) {
-        map = new HashMap<>(initialCapacity);
+        map = newStorage(initialCapacity);
         referenceQueue = new ReferenceQueue<>();
     }
 
@@ -238,16 +239,10 @@ abstract class ReferenceMap<K, V, R extends Reference<V>> extends AbstractMap<K,
             return;
         }
 
-        Collection<K> keysToRemove = new ArrayList<>(valuesToRemove.size());
-        for(Map.Entry<K, R> entry : map.entrySet()) {
-            if(valuesToRemove.contains(entry.getValue())) {
-                keysToRemove.add(entry.getKey());
-            }
-        }
-
-        for(K keyToRemove : keysToRemove) {
-            map.remove(keyToRemove);
-        }
+        // entry is only removed if it still holds the cleared reference,
+        // so a value concurrently put under the same key is preserved
+        Collection<Reference<? extends V>> removed = valuesToRemove;
+        map.entrySet().removeIf(entry -> removed.contains(entry.getValue()));
     }
 
     private void resetReferenceQueue() {
@@ -257,6 +252,18 @@ abstract class ReferenceMap<K, V, R extends Reference<V>> extends AbstractMap<K,
         }
     }
 
+    /**
+     * Creates internal storage for the references. Returns a {@link HashMap} by default, subclasses may override it
+     * to return a concurrent map.
+     *
+     * @param initialCapacity initial capacity of the storage
+     * @return new empty storage map
+     * @since 4.3
+     */
+    Map<K, R> newStorage(int initialCapacity) {
+        return new HashMap<>(initialCapacity);
+    }
+
     /**
      * This method should be implemented by concrete implementations of this abstract class.
      *
@@ -282,7 +289,7 @@ abstract class ReferenceMap<K, V, R extends Reference<V>> extends AbstractMap<K,
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         @SuppressWarnings("unchecked")
         Map<K, V> replacement = (Map<K, V>) in.readObject();
-        map = new HashMap<>(replacement.size());
+        map = newStorage(replacement.size());
         referenceQueue = new ReferenceQueue<>();
         putAll(replacement);
     }
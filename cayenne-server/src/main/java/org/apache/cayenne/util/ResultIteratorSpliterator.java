@@ -0,0 +1,139 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.cayenne.ResultIterator;
+
+/**
+ * A sequential {@link Spliterator} over an open {@link ResultIterator}. Rows are read lazily, optionally
+ * in batches that are converted with a batch function before being passed downstream. The underlying
+ * iterator is closed as soon as it is exhausted, when reading fails or when the stream is closed.
+ *
+ * @since 4.3
+ */
+public class ResultIteratorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final ResultIterator<?> rows;
+    private final int batchSize;
+    private final Function<List<Object>, List<T>> batchConverter;
+
+    private Iterator<T> batch;
+    private boolean closed;
+
+    /**
+     * Creates a stream of the iterator rows. The caller must close the stream to release the iterator
+     * resources, unless the stream is read till the end.
+     */
+    public static <T> Stream<T> stream(ResultIterator<T> rows) {
+        return stream(new ResultIteratorSpliterator<>(rows, 1, null));
+    }
+
+    /**
+     * Creates a stream that reads the iterator rows in batches of a given size and converts each batch with
+     * a provided function before passing it downstream.
+     */
+    public static <T> Stream<T> stream(ResultIterator<?> rows, int batchSize, Function<List<Object>, List<T>> batchConverter) {
+        return stream(new ResultIteratorSpliterator<>(rows, batchSize, batchConverter));
+    }
+
+    private static <T> Stream<T> stream(ResultIteratorSpliterator<T> spliterator) {
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    protected ResultIteratorSpliterator(ResultIterator<?> rows, int batchSize, Function<List<Object>, List<T>> batchConverter) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        this.rows = rows;
+        this.batchSize = batchSize;
+        this.batchConverter = batchConverter;
+        this.batch = Collections.emptyIterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+
+        try {
+            if (batchConverter == null) {
+                if (!rows.hasNextRow()) {
+                    close();
+                    return false;
+                }
+
+                action.accept((T) rows.nextRow());
+                return true;
+            }
+
+            if (!batch.hasNext()) {
+                // release the previous batch before reading the next one
+                batch = Collections.emptyIterator();
+                List<Object> next = readBatch();
+                if (next.isEmpty()) {
+                    close();
+                    return false;
+                }
+                batch = batchConverter.apply(next).iterator();
+            }
+        } catch (RuntimeException | Error e) {
+            close();
+            throw e;
+        }
+
+        if (!batch.hasNext()) {
+            return tryAdvance(action);
+        }
+
+        action.accept(batch.next());
+        return true;
+    }
+
+    private List<Object> readBatch() {
+        List<Object> next = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize && rows.hasNextRow(); i++) {
+            next.add(rows.nextRow());
+        }
+        return next;
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            batch = Collections.emptyIterator();
+            rows.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.util;
+
+import java.util.function.Supplier;
+
+/**
+ * A strategy of binding a value to the current thread of execution, e.g. a transaction or an ObjectContext. Allows
+ * to replace the default ThreadLocal-based storage with the one that better suits the environment, e.g. the one
+ * that doesn't propagate values to the child threads or the one that is backed by a framework-specific scope.
+ *
+ * @since 4.3
+ */
+public interface ThreadBinding<T> {
+
+    /**
+     * Returns a binding backed by a new ThreadLocal. Bound values are not visible in the child threads.
+     */
+    static <T> ThreadBinding<T> threadLocal() {
+        return new ThreadLocalBinding<>(new ThreadLocal<>());
+    }
+
+    /**
+     * Returns a binding backed by a new InheritableThreadLocal. Bound values are visible in the threads started by the
+     * current thread while the value is bound. Values are never propagated to the threads of the framework executors,
+     * see {@link ThreadBindings}, so this only affects the threads started by the application.
+     */
+    static <T> ThreadBinding<T> inheritableThreadLocal() {
+        return new ThreadLocalBinding<>(new InheritableThreadLocal<>());
+    }
+
+    /**
+     * Returns a binding backed by the provided ThreadLocal.
+     */
+    static <T> ThreadBinding<T> threadLocal(ThreadLocal<T> threadLocal) {
+        return new ThreadLocalBinding<>(threadLocal);
+    }
+
+    /**
+     * Returns a value bound to the current thread or null if there's no such value.
+     */
+    T get();
+
+    /**
+     * Binds the value to the current thread. Null value unbinds the currently bound value.
+     */
+    void bind(T value);
+
+    /**
+     * Performs an operation with the value bound to the current thread, restoring the previously bound value
+     * afterwards, even if the operation fails.
+     */
+    default <R> R callWith(T value, Supplier<R> operation) {
+        T previous = get();
+        bind(value);
+        try {
+            return operation.get();
+        } finally {
+            bind(previous);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.cayenne.BaseContext;
+import org.apache.cayenne.configuration.CayenneRuntime;
+import org.apache.cayenne.tx.BaseTransaction;
+
+/**
+ * Utilities to run framework tasks in background threads isolated from the thread bindings of the caller. Cayenne
+ * transactions, ObjectContexts and Injectors bound to a thread belong to that thread only. Even with an inheritable
+ * {@link ThreadBinding}, they must never leak into the pooled threads that the framework creates lazily from whatever
+ * thread happens to need them first, and that outlive the caller. So the framework executors create their threads
+ * with {@link #daemonThreadFactory(String)} and run tasks that access the database via
+ * {@link #callUnbound(Supplier)}, opening their own transactions if needed.
+ *
+ * @since 4.3
+ */
+public final class ThreadBindings {
+
+    private ThreadBindings() {
+    }
+
+    /**
+     * Performs an operation with no transaction, ObjectContext or Injector bound to the current thread, restoring
+     * the previous bindings afterwards.
+     */
+    public static <R> R callUnbound(Supplier<R> operation) {
+        return BaseTransaction.getThreadBinding().callWith(null,
+                () -> BaseContext.getThreadObjectContextBinding().callWith(null,
+                        () -> CayenneRuntime.getThreadInjectorBinding().callWith(null, operation)));
+    }
+
+    /**
+     * Returns a task that runs the provided task via {@link #callUnbound(Supplier)}.
+     */
+    public static Runnable unbound(Runnable task) {
+        return () -> callUnbound(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns a factory of daemon threads named with the provided prefix and a sequential number. Threads are created
+     * with no bindings, so that they don't inherit the bindings of the thread that created them.
+     */
+    public static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> callUnbound(() -> {
+            Thread thread = new Thread(r, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.util;
+
+/**
+ * A {@link ThreadBinding} over a ThreadLocal. Unbinding removes the ThreadLocal entry, so that threads without a bound
+ * value don't keep any per-thread state.
+ *
+ * @since 4.3
+ */
+class ThreadLocalBinding<T> implements ThreadBinding<T> {
+
+    private final ThreadLocal<T> threadLocal;
+
+    ThreadLocalBinding(ThreadLocal<T> threadLocal) {
+        this.threadLocal = threadLocal;
+    }
+
+    @Override
+    public T get() {
+        return threadLocal.get();
+    }
+
+    @Override
+    public void bind(T value) {
+        if (value != null) {
+            threadLocal.set(value);
+        } else {
+            threadLocal.remove();
+        }
+    }
+}
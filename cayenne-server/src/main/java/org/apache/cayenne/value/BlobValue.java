@@ -0,0 +1,143 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.value;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A Cayenne-supported value object of a BLOB column, that can be read and written as a stream.
+ *
+ * @see LobValue
+ * @since 4.3
+ */
+public class BlobValue extends LobValue<InputStream, byte[]> {
+
+    protected BlobValue(Source<InputStream> source, long length, boolean repeatable) {
+        super(source, length, repeatable);
+    }
+
+    /**
+     * Creates a value over a byte array.
+     */
+    public static BlobValue of(byte[] bytes) {
+        return new BlobValue(() -> new ByteArrayInputStream(bytes), bytes.length, true);
+    }
+
+    /**
+     * Creates a value over the file content. The file is read each time the value is read.
+     */
+    public static BlobValue of(Path file) throws IOException {
+        return new BlobValue(() -> new FileInputStream(file.toFile()), Files.size(file), true);
+    }
+
+    /**
+     * Creates a value that can be read only once from the stream.
+     *
+     * @param length stream length in bytes, or -1 if unknown
+     */
+    public static BlobValue of(InputStream in, long length) {
+        return new BlobValue(() -> in, length, false);
+    }
+
+    /**
+     * Creates a value, that opens a new stream from the source each time it is read.
+     *
+     * @param length stream length in bytes, or -1 if unknown
+     */
+    public static BlobValue of(Source<InputStream> source, long length) {
+        return new BlobValue(source, length, true);
+    }
+
+    /**
+     * Reads the stream content, keeping in memory up to the threshold number of bytes and spooling the rest of it to
+     * a temporary file, that is deleted once the value is garbage collected.
+     */
+    public static BlobValue spool(InputStream in, int memoryThreshold) throws IOException {
+        byte[] buffer = new byte[BUF_SIZE];
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            memory.write(buffer, 0, read);
+            if (memory.size() > memoryThreshold) {
+                return spoolToFile(memory, buffer, in);
+            }
+        }
+
+        return of(memory.toByteArray());
+    }
+
+    private static BlobValue spoolToFile(ByteArrayOutputStream memory, byte[] buffer, InputStream in) throws IOException {
+        Path file = createTempFile();
+        long length = memory.size();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            memory.writeTo(out);
+
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                length += read;
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+
+        // FileInputStream releases its descriptor when garbage collected, in case a reader doesn't close it
+        return deleteOnCleanup(new BlobValue(() -> new FileInputStream(file.toFile()), length, true), file);
+    }
+
+    /**
+     * Opens a new stream over the value content. The caller is responsible for closing the stream.
+     */
+    public InputStream openStream() throws IOException {
+        return openContent();
+    }
+
+    /**
+     * Returns the value content, reading the whole of it in memory on the first call.
+     */
+    public byte[] getBytes() {
+        return materialize();
+    }
+
+    @Override
+    protected byte[] readValue(InputStream in) throws IOException {
+        return in.readAllBytes();
+    }
+
+    @Override
+    protected InputStream openValue(byte[] value) {
+        return new ByteArrayInputStream(value);
+    }
+
+    @Override
+    public String toString() {
+        long length = getLength();
+        return length >= 0 ? "BLOB value: " + length + " bytes" : "BLOB value";
+    }
+}
@@ -0,0 +1,144 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.value;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A Cayenne-supported value object of a CLOB column, that can be read and written as a character stream.
+ *
+ * @see LobValue
+ * @since 4.3
+ */
+public class ClobValue extends LobValue<Reader, String> {
+
+    protected ClobValue(Source<Reader> source, long length, boolean repeatable) {
+        super(source, length, repeatable);
+    }
+
+    /**
+     * Creates a value over a string.
+     */
+    public static ClobValue of(String string) {
+        return new ClobValue(() -> new StringReader(string), string.length(), true);
+    }
+
+    /**
+     * Creates a value that can be read only once from the reader.
+     *
+     * @param length reader length in chars, or -1 if unknown
+     */
+    public static ClobValue of(Reader reader, long length) {
+        return new ClobValue(() -> reader, length, false);
+    }
+
+    /**
+     * Creates a value, that opens a new reader from the source each time it is read.
+     *
+     * @param length reader length in chars, or -1 if unknown
+     */
+    public static ClobValue of(Source<Reader> source, long length) {
+        return new ClobValue(source, length, true);
+    }
+
+    /**
+     * Reads the reader content, keeping in memory up to the threshold number of chars and spooling the rest of it to
+     * a temporary file, that is deleted once the value is garbage collected.
+     */
+    public static ClobValue spool(Reader reader, int memoryThreshold) throws IOException {
+        char[] buffer = new char[BUF_SIZE];
+        StringWriter memory = new StringWriter();
+
+        int read;
+        while ((read = reader.read(buffer)) >= 0) {
+            memory.write(buffer, 0, read);
+            if (memory.getBuffer().length() > memoryThreshold) {
+                return spoolToFile(memory, buffer, reader);
+            }
+        }
+
+        return of(memory.toString());
+    }
+
+    private static ClobValue spoolToFile(StringWriter memory, char[] buffer, Reader reader) throws IOException {
+        Path file = createTempFile();
+        long length = memory.getBuffer().length();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.append(memory.getBuffer());
+
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                length += read;
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+
+        // FileInputStream releases its descriptor when garbage collected, in case a reader doesn't close it
+        return deleteOnCleanup(new ClobValue(
+                () -> new BufferedReader(new InputStreamReader(new FileInputStream(file.toFile()), StandardCharsets.UTF_8)),
+                length,
+                true), file);
+    }
+
+    /**
+     * Opens a new reader over the value content. The caller is responsible for closing the reader.
+     */
+    public Reader openReader() throws IOException {
+        return openContent();
+    }
+
+    /**
+     * Returns the value content, reading the whole of it in memory on the first call.
+     */
+    public String getString() {
+        return materialize();
+    }
+
+    @Override
+    protected String readValue(Reader in) throws IOException {
+        StringWriter out = new StringWriter();
+        in.transferTo(out);
+        return out.toString();
+    }
+
+    @Override
+    protected Reader openValue(String value) {
+        return new StringReader(value);
+    }
+
+    @Override
+    public String toString() {
+        long length = getLength();
+        return length >= 0 ? "CLOB value: " + length + " chars" : "CLOB value";
+    }
+}
@@ -0,0 +1,161 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.value;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.cayenne.CayenneRuntimeException;
+
+/**
+ * A base of the Cayenne-supported values that allow to read and write BLOB and CLOB columns as streams, without
+ * keeping the whole value in memory. The content is read from its source only when requested, either as a stream or
+ * as a materialized value that is cached softly. Values read from the database are spooled to a temporary file,
+ * unless they are smaller than the threshold configured in the corresponding ExtendedType.
+ * <p>
+ * LOB values are compared by identity and are never cached in the shared snapshot cache, so a value of an object
+ * refreshed from the cache is read from the database on first access.
+ *
+ * @param <S> type of the content stream
+ * @param <V> type of the materialized content
+ * @since 4.3
+ */
+public abstract class LobValue<S extends Closeable, V> {
+
+    /**
+     * A source of the LOB content.
+     */
+    @FunctionalInterface
+    public interface Source<S> {
+
+        S open() throws IOException;
+    }
+
+    static final int BUF_SIZE = 8 * 1024;
+
+    private static final Cleaner TEMP_FILE_CLEANER = Cleaner.create();
+
+    private final Source<S> source;
+    private final long length;
+    private final boolean repeatable;
+
+    private boolean consumed;
+    // content of a materialized stream based value, has to be held strongly as the stream can't be read again
+    private V value;
+    private SoftReference<V> cachedValue;
+
+    protected LobValue(Source<S> source, long length, boolean repeatable) {
+        this.source = source;
+        this.length = length;
+        this.repeatable = repeatable;
+    }
+
+    /**
+     * Returns the length of the value, in bytes for BLOBs and in chars for CLOBs, or -1 if the length is unknown.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns whether the content can be read more than once. Values created from a stream can only be read once,
+     * unless materialized before that.
+     */
+    public synchronized boolean isRepeatable() {
+        return repeatable || value != null;
+    }
+
+    /**
+     * Opens a new stream over the value content. The caller is responsible for closing the stream.
+     */
+    protected synchronized S openContent() throws IOException {
+        V materialized = materializedValue();
+        if (materialized != null) {
+            return openValue(materialized);
+        }
+
+        if (!repeatable) {
+            if (consumed) {
+                throw new CayenneRuntimeException("LOB stream was already consumed: %s", this);
+            }
+            consumed = true;
+        }
+
+        return source.open();
+    }
+
+    /**
+     * Returns the content of the value, reading it from the source on first call.
+     */
+    protected synchronized V materialize() {
+        V materialized = materializedValue();
+        if (materialized != null) {
+            return materialized;
+        }
+
+        try (S in = openContent()) {
+            materialized = readValue(in);
+        } catch (IOException e) {
+            throw new CayenneRuntimeException("Error reading LOB value", e);
+        }
+
+        if (repeatable) {
+            cachedValue = new SoftReference<>(materialized);
+        } else {
+            value = materialized;
+        }
+        return materialized;
+    }
+
+    private V materializedValue() {
+        if (value != null) {
+            return value;
+        }
+        return cachedValue != null ? cachedValue.get() : null;
+    }
+
+    protected abstract V readValue(S in) throws IOException;
+
+    protected abstract S openValue(V value);
+
+    static Path createTempFile() throws IOException {
+        return Files.createTempFile("cayenne-lob", ".tmp");
+    }
+
+    /**
+     * Deletes the temporary file when the value owning it is garbage collected.
+     */
+    static <T extends LobValue<?, ?>> T deleteOnCleanup(T owner, Path file) {
+        TEMP_FILE_CLEANER.register(owner, () -> deleteQuietly(file));
+        return owner;
+    }
+
+    static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // nothing we can do about it...
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.cayenne.util.Util;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactDataRowTest {
+
+    private static CompactDataRow createRow() {
+        CompactDataRow.ColumnIndex index = new CompactDataRow.ColumnIndex(new String[]{"A", "B", "C"});
+        return new CompactDataRow(index, new Object[]{1, "x", null});
+    }
+
+    @Test
+    public void testColumnIndexDuplicates() {
+        CompactDataRow.ColumnIndex index = new CompactDataRow.ColumnIndex(new String[]{"A", "B", "A"});
+        assertEquals(2, index.size());
+        assertEquals(0, index.columnPosition(0));
+        assertEquals(1, index.columnPosition(1));
+        assertEquals(0, index.columnPosition(2));
+        assertEquals(-1, index.position("C"));
+        assertEquals("B", index.key(1));
+    }
+
+    @Test
+    public void testMapReads() {
+        CompactDataRow row = createRow();
+
+        assertEquals(3, row.size());
+        assertEquals(1, row.get("A"));
+        assertEquals("x", row.get("B"));
+        assertNull(row.get("C"));
+        assertNull(row.get("D"));
+        assertTrue(row.containsKey("C"));
+        assertFalse(row.containsKey("D"));
+        assertTrue(row.containsValue("x"));
+        assertTrue(row.containsValue(null));
+        assertNull(row.getOrDefault("C", 5));
+        assertEquals(5, row.getOrDefault("D", 5));
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("A", 1);
+        expected.put("B", "x");
+        expected.put("C", null);
+
+        assertEquals(expected, row);
+        assertEquals(row, expected);
+        assertEquals(expected.hashCode(), row.hashCode());
+        assertEquals(expected, new HashMap<>(row));
+        assertEquals(expected.keySet(), row.keySet());
+        assertTrue(row.isCompact());
+    }
+
+    @Test
+    public void testPutKnownKey() {
+        CompactDataRow row = createRow();
+
+        assertEquals("x", row.put("B", "y"));
+        assertEquals("y", row.get("B"));
+        assertEquals(3, row.size());
+        assertTrue(row.isCompact());
+
+        row.entrySet().iterator().next().setValue(2);
+        assertEquals(2, row.get("A"));
+        assertTrue(row.isCompact());
+    }
+
+    @Test
+    public void testPutUnknownKey() {
+        CompactDataRow row = createRow();
+        long version = row.getVersion();
+
+        assertNull(row.put("D", 4));
+        assertFalse(row.isCompact());
+        assertEquals(4, row.size());
+        assertEquals(1, row.get("A"));
+        assertEquals("x", row.get("B"));
+        assertTrue(row.containsKey("C"));
+        assertEquals(4, row.get("D"));
+        assertEquals(version, row.getVersion());
+    }
+
+    @Test
+    public void testRemove() {
+        CompactDataRow row = createRow();
+
+        assertEquals("x", row.remove("B"));
+        assertFalse(row.isCompact());
+        assertEquals(2, row.size());
+        assertFalse(row.containsKey("B"));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        CompactDataRow row = createRow();
+
+        Iterator<String> it = row.keySet().iterator();
+        while (it.hasNext()) {
+            if ("A".equals(it.next())) {
+                it.remove();
+            }
+        }
+
+        assertEquals(2, row.size());
+        assertFalse(row.containsKey("A"));
+        assertTrue(row.containsKey("B"));
+    }
+
+    @Test
+    public void testClone() {
+        CompactDataRow row = createRow();
+        row.setEntityName("E1");
+
+        CompactDataRow clone = (CompactDataRow) row.clone();
+        clone.put("A", 5);
+
+        assertEquals(1, row.get("A"));
+        assertEquals(5, clone.get("A"));
+        assertEquals("E1", clone.getEntityName());
+        assertEquals(row.getVersion(), clone.getVersion());
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        CompactDataRow row = createRow();
+        row.setEntityName("E1");
+        row.setReplacesVersion(7);
+
+        Object clone = Util.<Serializable>cloneViaSerialization(row);
+        assertEquals(DataRow.class, clone.getClass());
+
+        DataRow deserialized = (DataRow) clone;
+        assertEquals(row, deserialized);
+        assertEquals("E1", deserialized.getEntityName());
+        assertEquals(row.getVersion(), deserialized.getVersion());
+        assertEquals(7, deserialized.getReplacesVersion());
+    }
+}
@@ -20,12 +20,14 @@
 package org.apache.cayenne;
 
 import java.sql.Types;
+import java.util.List;
 
 import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.query.ObjectSelect;
 import org.apache.cayenne.test.jdbc.DBHelper;
 import org.apache.cayenne.test.jdbc.TableHelper;
 import org.apache.cayenne.testdo.lazy.Lazyblob;
+import org.apache.cayenne.unit.di.DataChannelInterceptor;
 import org.apache.cayenne.unit.di.server.CayenneProjects;
 import org.apache.cayenne.unit.di.server.ServerCase;
 import org.apache.cayenne.unit.di.server.UseServerRuntime;
@@ -49,6 +51,9 @@ public class LazyAttributesIT extends ServerCase {
     @Inject
     private DBHelper dbHelper;
 
+    @Inject
+    private DataChannelInterceptor queryInterceptor;
+
     @Before
     public void setup() throws Exception {
         TableHelper th = new TableHelper(dbHelper, "LAZYBLOB")
@@ -116,4 +121,52 @@ public class LazyAttributesIT extends ServerCase {
         assertEquals("updated_name", lazyblob2.getName());
         assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, lazyblob2.getLazyData());
     }
+
+    @Test
+    public void testReadGroup() throws Exception {
+        TableHelper th = new TableHelper(dbHelper, "LAZYBLOB")
+                .setColumns("ID", "NAME", "LAZY_TEXT", "LAZY_DESCR");
+        th.deleteAll();
+        th.insert(1, "n1", "t1", "d1");
+        th.insert(2, "n2", "t2", "d2");
+        th.insert(3, "n3", "t3", "d3");
+
+        List<Lazyblob> objects = ObjectSelect.query(Lazyblob.class).orderBy(Lazyblob.NAME.asc()).select(context);
+        assertEquals(3, objects.size());
+        for (Lazyblob object : objects) {
+            assertThat(object.readPropertyDirectly("lazyText"), instanceOf(Fault.class));
+            assertThat(object.readPropertyDirectly("lazyDescr"), instanceOf(Fault.class));
+        }
+
+        // a single query resolves the whole group for all the objects
+        int queries = queryInterceptor.runWithQueryCounter(() -> assertEquals("t2", objects.get(1).getLazyText()));
+        assertEquals(1, queries);
+
+        queryInterceptor.runWithQueriesBlocked(() -> {
+            for (int i = 0; i < objects.size(); i++) {
+                assertEquals("t" + (i + 1), objects.get(i).getLazyText());
+                assertEquals("d" + (i + 1), objects.get(i).getLazyDescr());
+            }
+        });
+
+        // attributes outside of the group are still not resolved
+        assertThat(objects.get(0).readPropertyDirectly("lazyData"), instanceOf(Fault.class));
+    }
+
+    @Test
+    public void testReadGroup_KeepsChanges() throws Exception {
+        TableHelper th = new TableHelper(dbHelper, "LAZYBLOB")
+                .setColumns("ID", "NAME", "LAZY_TEXT", "LAZY_DESCR");
+        th.deleteAll();
+        th.insert(1, "n1", "t1", "d1");
+        th.insert(2, "n2", "t2", "d2");
+
+        List<Lazyblob> objects = ObjectSelect.query(Lazyblob.class).orderBy(Lazyblob.NAME.asc()).select(context);
+        objects.get(0).setLazyDescr("changed");
+
+        assertEquals("t2", objects.get(1).getLazyText());
+        assertEquals("d2", objects.get(1).getLazyDescr());
+        assertEquals("t1", objects.get(0).getLazyText());
+        assertEquals("changed", objects.get(0).getLazyDescr());
+    }
 }
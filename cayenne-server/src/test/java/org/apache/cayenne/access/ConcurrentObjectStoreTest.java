@@ -0,0 +1,161 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.access;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.PersistenceState;
+import org.apache.cayenne.Persistent;
+import org.apache.cayenne.event.EventManager;
+import org.apache.cayenne.event.EventSubject;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @since 4.3
+ */
+public class ConcurrentObjectStoreTest {
+
+    private ObjectStore objectStore;
+
+    @Before
+    public void before() {
+        DataRowStore sharedCache = mock(DataRowStore.class);
+        this.objectStore = new ConcurrentObjectStore(sharedCache, new ConcurrentHashMap<>());
+    }
+
+    @Test
+    public void testRegisterNode() {
+
+        ObjectId id = ObjectId.of("E1", "ID", 500);
+        Persistent object = mock(Persistent.class);
+
+        objectStore.registerNode(id, object);
+        assertSame(object, objectStore.getNode(id));
+        assertEquals(1, objectStore.registeredObjectsCount());
+    }
+
+    @Test
+    public void testUnregisterNode() {
+
+        ObjectId id = ObjectId.of("E1", "ID", 500);
+        Persistent object = mock(Persistent.class);
+        when(object.getObjectId()).thenReturn(id);
+
+        objectStore.registerNode(id, object);
+        Object unregistered = objectStore.unregisterNode(id);
+        assertSame(object, unregistered);
+
+        verify(object, times(0)).setObjectId(null);
+        verify(object).setObjectContext(null);
+        verify(object).setPersistenceState(PersistenceState.TRANSIENT);
+    }
+
+    @Test
+    public void testObjectsInState() {
+        Persistent committed = mock(Persistent.class);
+        when(committed.getPersistenceState()).thenReturn(PersistenceState.COMMITTED);
+        Persistent hollow = mock(Persistent.class);
+        when(hollow.getPersistenceState()).thenReturn(PersistenceState.HOLLOW);
+
+        objectStore.registerNode(ObjectId.of("E1", "ID", 1), committed);
+        objectStore.registerNode(ObjectId.of("E1", "ID", 2), hollow);
+
+        List<Persistent> objects = objectStore.objectsInState(PersistenceState.HOLLOW);
+        assertEquals(1, objects.size());
+        assertSame(hollow, objects.get(0));
+    }
+
+    @Test
+    public void testCallWithNodeLock_Atomic() throws Exception {
+        ObjectId id = ObjectId.of("E1", "ID", 500);
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return objectStore.callWithNodeLock(id, () -> {
+                        Object existing = objectStore.getNode(id);
+                        if (existing != null) {
+                            return existing;
+                        }
+
+                        Persistent object = mock(Persistent.class);
+                        objectStore.registerNode(id, object);
+                        return object;
+                    });
+                }));
+            }
+
+            start.countDown();
+
+            // every thread must get the same object
+            Object first = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Object> f : futures) {
+                assertSame(first, f.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSyncWithDataRowCache() {
+        EventManager eventManager = mock(EventManager.class);
+        DataRowStore sharedCache = mock(DataRowStore.class);
+        when(sharedCache.getEventManager()).thenReturn(eventManager);
+        when(sharedCache.getSnapshotEventSubject()).thenReturn(EventSubject.getSubject(getClass(), "test"));
+
+        ObjectStore syncStore = new ConcurrentObjectStore(sharedCache, new ConcurrentHashMap<>(), true);
+        verify(eventManager).addNonBlockingListener(
+                any(), anyString(), any(), any(EventSubject.class), any());
+        assertSame(sharedCache, syncStore.getDataRowCache());
+
+        EventManager noSyncEventManager = mock(EventManager.class);
+        DataRowStore noSyncCache = mock(DataRowStore.class);
+        when(noSyncCache.getEventManager()).thenReturn(noSyncEventManager);
+
+        ObjectStore noSyncStore = new ConcurrentObjectStore(noSyncCache, new ConcurrentHashMap<>(), false);
+        verify(noSyncEventManager, never()).addNonBlockingListener(
+                any(), anyString(), any(), any(EventSubject.class), any());
+        assertSame(noSyncCache, noSyncStore.getDataRowCache());
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.cayenne.access;
 
 import org.apache.cayenne.DataRow;
+import org.apache.cayenne.ObjectContext;
 import org.apache.cayenne.ResultBatchIterator;
 import org.apache.cayenne.ResultIterator;
 import org.apache.cayenne.di.Inject;
@@ -34,11 +35,17 @@ import org.apache.cayenne.unit.di.server.UseServerRuntime;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
 public class DataContextIteratedQueryIT extends ServerCase {
@@ -153,6 +160,80 @@ public class DataContextIteratedQueryIT extends ServerCase {
     }
 
 
+    @Test
+    public void testStream() throws Exception {
+        createArtistsDataSet();
+
+        List<String> names;
+        try (Stream<Artist> stream = ObjectSelect.query(Artist.class).orderBy(Artist.ARTIST_NAME.asc()).stream(context)) {
+            names = stream.map(Artist::getArtistName).collect(Collectors.toList());
+        }
+
+        assertEquals(7, names.size());
+        assertEquals("artist1", names.get(0));
+        assertEquals(7, context.getObjectStore().registeredObjectsCount());
+    }
+
+    @Test
+    public void testStream_Columns() throws Exception {
+        createArtistsDataSet();
+
+        long count = ObjectSelect.columnQuery(Artist.class, Artist.ARTIST_NAME)
+                .where(Artist.ARTIST_NAME.like("artist1%"))
+                .stream(context)
+                .count();
+
+        assertEquals(2, count);
+    }
+
+    @Test
+    public void testStream_ShortCircuit() throws Exception {
+        createArtistsDataSet();
+
+        try (Stream<Artist> stream = ObjectSelect.query(Artist.class).stream(context)) {
+            assertTrue(stream.findFirst().isPresent());
+        }
+
+        // the connection must be released, so the next query works normally
+        assertNull(BaseTransaction.getThreadTransaction());
+        assertEquals(7, ObjectSelect.query(Artist.class).select(context).size());
+    }
+
+    @Test
+    public void testStream_Batches() throws Exception {
+        createLargeArtistsDataSet();
+
+        Set<ObjectContext> batchContexts = new HashSet<>();
+        List<String> names;
+        try (Stream<Artist> stream = ObjectSelect.query(Artist.class)
+                .orderBy(Artist.ARTIST_ID_PK_PROPERTY.asc())
+                .statementFetchSize(5)
+                .stream(context, 7)) {
+            names = stream
+                    .peek(a -> batchContexts.add(a.getObjectContext()))
+                    .map(Artist::getArtistName)
+                    .collect(Collectors.toList());
+        }
+
+        assertEquals(20, names.size());
+        assertEquals("artist1", names.get(0));
+        assertEquals("artist20", names.get(19));
+
+        // each batch is resolved in its own context, leaving the main context empty
+        assertEquals(3, batchContexts.size());
+        assertFalse(batchContexts.contains(context));
+        assertEquals(0, context.getObjectStore().registeredObjectsCount());
+    }
+
+    @Test
+    public void testStream_BatchesDataRows() throws Exception {
+        createLargeArtistsDataSet();
+
+        try (Stream<DataRow> stream = ObjectSelect.dataRowQuery(Artist.class).stream(context, 7)) {
+            assertEquals(20, stream.filter(r -> r.get("ARTIST_NAME") != null).count());
+        }
+    }
+
     @Test
     public void testPerformIteratedQuery_Count() throws Exception {
         createArtistsDataSet();
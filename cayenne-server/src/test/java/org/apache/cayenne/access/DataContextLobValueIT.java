@@ -0,0 +1,223 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.apache.cayenne.Cayenne;
+import org.apache.cayenne.DataRow;
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.PersistenceState;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.query.ObjectSelect;
+import org.apache.cayenne.query.ObjectUpdate;
+import org.apache.cayenne.test.parallel.ParallelTestContainer;
+import org.apache.cayenne.testdo.lob.BlobValueTestEntity;
+import org.apache.cayenne.testdo.lob.ClobValueTestEntity;
+import org.apache.cayenne.unit.UnitDbAdapter;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCaseContextsSync;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.apache.cayenne.value.BlobValue;
+import org.apache.cayenne.value.ClobValue;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@UseServerRuntime(CayenneProjects.LOB_PROJECT)
+public class DataContextLobValueIT extends ServerCaseContextsSync {
+
+    // larger than the default memory threshold, so that the values read from the DB are spooled to a file
+    private static final int LARGE_SIZE = 100 * 1024;
+
+    @Inject
+    private DataContext context;
+
+    @Inject
+    private ServerRuntime runtime;
+
+    @Inject
+    private UnitDbAdapter accessStackAdapter;
+
+    @Before
+    public void checkLobs() {
+        Assume.assumeTrue(accessStackAdapter.supportsLobs());
+    }
+
+    @Test
+    public void testInsertFromStream() {
+        byte[] bytes = bytes(LARGE_SIZE);
+
+        BlobValueTestEntity object = context.newObject(BlobValueTestEntity.class);
+        BlobValue value = BlobValue.of(new ByteArrayInputStream(bytes), bytes.length);
+        object.setBlobCol(value);
+        context.commitChanges();
+
+        // the stream was consumed by the commit, the value must be read from the DB
+        assertNotSame(value, object.getBlobCol());
+        assertEquals(-1, object.getBlobCol().getLength());
+        assertArrayEquals(bytes, object.getBlobCol().getBytes());
+
+        // not read with the object, so the length is unknown
+        BlobValueTestEntity fetched = ObjectSelect.query(BlobValueTestEntity.class).selectOne(runtime.newContext());
+        assertEquals(-1, fetched.getBlobCol().getLength());
+        assertArrayEquals(bytes, fetched.getBlobCol().getBytes());
+    }
+
+    @Test
+    public void testInsertFromStream_UnknownLength() {
+        char[] chars = new char[LARGE_SIZE];
+        Arrays.fill(chars, 'x');
+        String string = new String(chars);
+
+        ClobValueTestEntity object = context.newObject(ClobValueTestEntity.class);
+        object.setClobCol(ClobValue.of(new StringReader(string), -1));
+        context.commitChanges();
+
+        ClobValueTestEntity fetched = ObjectSelect.query(ClobValueTestEntity.class).selectOne(runtime.newContext());
+        assertEquals(string, fetched.getClobCol().getString());
+        assertEquals(string, object.getClobCol().getString());
+    }
+
+    @Test
+    public void testNullValue() {
+        BlobValueTestEntity object = context.newObject(BlobValueTestEntity.class);
+        context.commitChanges();
+
+        ObjectContext context2 = runtime.newContext();
+        BlobValueTestEntity fetched = ObjectSelect.query(BlobValueTestEntity.class).selectOne(context2);
+        assertNull(fetched.getBlobCol());
+
+        DataRow snapshot = context.getObjectStore().getDataRowCache().getCachedSnapshot(object.getObjectId());
+        assertTrue(snapshot.containsKey("BLOB_COL"));
+    }
+
+    @Test
+    public void testFetchDefersLobRead() {
+        BlobValueTestEntity object = context.newObject(BlobValueTestEntity.class);
+        object.setBlobCol(BlobValue.of(bytes(10)));
+        context.commitChanges();
+
+        ObjectContext context2 = runtime.newContext();
+        BlobValueTestEntity fetched = ObjectSelect.query(BlobValueTestEntity.class).selectOne(context2);
+
+        // changed in the DB after the fetch, but before the first access
+        byte[] updated = bytes(20);
+        ObjectUpdate.query(BlobValueTestEntity.class).set(BlobValueTestEntity.BLOB_COL, BlobValue.of(updated)).execute(context);
+        assertArrayEquals(updated, fetched.getBlobCol().getBytes());
+
+        // data rows still have the value itself
+        DataRow row = ObjectSelect.dataRowQuery(BlobValueTestEntity.class).selectOne(context2);
+        assertArrayEquals(updated, ((BlobValue) row.get("BLOB_COL")).getBytes());
+    }
+
+    @Test
+    public void testSnapshotExcludesLobValue() {
+        BlobValueTestEntity object = context.newObject(BlobValueTestEntity.class);
+        object.setBlobCol(BlobValue.of(bytes(10)));
+        context.commitChanges();
+
+        DataRow snapshot = context.getObjectStore().getDataRowCache().getCachedSnapshot(object.getObjectId());
+        assertNotNull(snapshot);
+        assertFalse(snapshot.containsKey("BLOB_COL"));
+
+        ObjectContext context2 = runtime.newContext();
+        ObjectSelect.query(BlobValueTestEntity.class).select(context2);
+        snapshot = context.getObjectStore().getDataRowCache().getCachedSnapshot(object.getObjectId());
+        assertFalse(snapshot.containsKey("BLOB_COL"));
+    }
+
+    @Test
+    public void testResolveFromCachedSnapshot() {
+        byte[] bytes = bytes(10);
+        BlobValueTestEntity object = context.newObject(BlobValueTestEntity.class);
+        object.setBlobCol(BlobValue.of(bytes));
+        context.commitChanges();
+
+        // resolved from the shared cache, that has no LOB value
+        ObjectContext context2 = runtime.newContext();
+        BlobValueTestEntity cached = Cayenne.objectForPK(context2, BlobValueTestEntity.class, Cayenne.intPKForObject(object));
+        assertEquals(PersistenceState.COMMITTED, cached.getPersistenceState());
+        assertArrayEquals(bytes, cached.getBlobCol().getBytes());
+    }
+
+    @Test
+    public void testComparedByIdentity() {
+        BlobValueTestEntity object = context.newObject(BlobValueTestEntity.class);
+        object.setBlobCol(BlobValue.of(bytes(10)));
+        context.commitChanges();
+
+        DataContext context2 = (DataContext) runtime.newContext();
+        BlobValueTestEntity fetched = ObjectSelect.query(BlobValueTestEntity.class).selectOne(context2);
+        BlobValue value = fetched.getBlobCol();
+
+        fetched.setBlobCol(value);
+        assertTrue(context2.getObjectStore().getChangesByObjectId().get(fetched.getObjectId()).isNoop());
+
+        BlobValue sameContent = BlobValue.of(bytes(10));
+        assertNotSame(value, sameContent);
+        fetched.setBlobCol(sameContent);
+        assertFalse(context2.getObjectStore().getChangesByObjectId().get(fetched.getObjectId()).isNoop());
+    }
+
+    @Test
+    public void testUpdateRefreshesPeers() throws Exception {
+        BlobValueTestEntity object = context.newObject(BlobValueTestEntity.class);
+        object.setBlobCol(BlobValue.of(bytes(10)));
+        context.commitChanges();
+
+        ObjectContext context2 = runtime.newContext();
+        BlobValueTestEntity peer = ObjectSelect.query(BlobValueTestEntity.class).selectOne(context2);
+        assertArrayEquals(bytes(10), peer.getBlobCol().getBytes());
+
+        // only the LOB is changed, so the snapshot diff has no changes
+        byte[] updated = bytes(LARGE_SIZE);
+        object.setBlobCol(BlobValue.of(new ByteArrayInputStream(updated), updated.length));
+        context.commitChanges();
+
+        ParallelTestContainer helper = new ParallelTestContainer() {
+
+            @Override
+            protected void assertResult() {
+                assertArrayEquals(updated, peer.getBlobCol().getBytes());
+            }
+        };
+        helper.runTest(3000);
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i % 127);
+        }
+        return bytes;
+    }
+}
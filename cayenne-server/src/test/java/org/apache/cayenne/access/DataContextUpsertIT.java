@@ -0,0 +1,202 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.access;
+
+import java.util.List;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.PersistenceState;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.query.ObjectSelect;
+import org.apache.cayenne.test.jdbc.DBHelper;
+import org.apache.cayenne.test.jdbc.TableHelper;
+import org.apache.cayenne.testdo.meaningful_pk.MeaningfulPKTest1;
+import org.apache.cayenne.testdo.meaningful_pk.MeaningfulPk;
+import org.apache.cayenne.unit.UnitDbAdapter;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@UseServerRuntime(CayenneProjects.MEANINGFUL_PK_PROJECT)
+public class DataContextUpsertIT extends ServerCase {
+
+    @Inject
+    private DataContext context;
+
+    @Inject
+    private ServerRuntime runtime;
+
+    @Inject
+    private DBHelper dbHelper;
+
+    @Inject
+    private UnitDbAdapter unitAdapter;
+
+    private TableHelper tMeaningfulPKTest1;
+
+    @Before
+    public void setUp() throws Exception {
+        Assume.assumeTrue(unitAdapter.supportsUpsert());
+
+        tMeaningfulPKTest1 = new TableHelper(dbHelper, "MEANINGFUL_PK_TEST1");
+        tMeaningfulPKTest1.setColumns("PK_ATTRIBUTE", "DESCR", "INT_ATTRIBUTE");
+        tMeaningfulPKTest1.insert(1, "d1", 10);
+    }
+
+    @Test
+    public void testCommitChangesWithUpsert() throws Exception {
+        MeaningfulPKTest1 existing = context.newObject(MeaningfulPKTest1.class);
+        existing.setPkAttribute(1);
+        existing.setDescr("d1_new");
+        existing.setIntAttribute(11);
+
+        MeaningfulPKTest1 created = context.newObject(MeaningfulPKTest1.class);
+        created.setPkAttribute(2);
+        created.setDescr("d2");
+        created.setIntAttribute(20);
+
+        context.commitChangesWithUpsert();
+
+        assertEquals(PersistenceState.COMMITTED, existing.getPersistenceState());
+        assertEquals(PersistenceState.COMMITTED, created.getPersistenceState());
+        assertEquals(2, tMeaningfulPKTest1.getRowCount());
+
+        List<MeaningfulPKTest1> objects = ObjectSelect.query(MeaningfulPKTest1.class)
+                .orderBy(MeaningfulPKTest1.PK_ATTRIBUTE.asc())
+                .select(runtime.newContext());
+        assertEquals(2, objects.size());
+        assertEquals("d1_new", objects.get(0).getDescr());
+        assertEquals(11, objects.get(0).getIntAttribute());
+        assertEquals("d2", objects.get(1).getDescr());
+        assertEquals(20, objects.get(1).getIntAttribute());
+    }
+
+    @Test
+    public void testMarkForUpsert() throws Exception {
+        MeaningfulPKTest1 upserted = context.newObject(MeaningfulPKTest1.class);
+        upserted.setPkAttribute(1);
+        upserted.setDescr("d1_new");
+        upserted.setIntAttribute(11);
+        context.markForUpsert(upserted);
+
+        MeaningfulPKTest1 inserted = context.newObject(MeaningfulPKTest1.class);
+        inserted.setPkAttribute(3);
+        inserted.setDescr("d3");
+        inserted.setIntAttribute(30);
+
+        context.commitChanges();
+
+        assertEquals(2, tMeaningfulPKTest1.getRowCount());
+        MeaningfulPKTest1 reloaded = ObjectSelect.query(MeaningfulPKTest1.class)
+                .where(MeaningfulPKTest1.PK_ATTRIBUTE.eq(1))
+                .selectOne(runtime.newContext());
+        assertEquals("d1_new", reloaded.getDescr());
+
+        // the mark is gone after commit, so the same key fails as a plain insert
+        MeaningfulPKTest1 duplicate = context.newObject(MeaningfulPKTest1.class);
+        duplicate.setPkAttribute(3);
+        duplicate.setDescr("d3_new");
+        duplicate.setIntAttribute(31);
+        try {
+            context.commitChanges();
+            fail("Duplicate key insert must fail");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMarkForUpsert_NotNew() throws Exception {
+        MeaningfulPKTest1 object = ObjectSelect.query(MeaningfulPKTest1.class).selectOne(context);
+        try {
+            context.markForUpsert(object);
+            fail("Only new objects can be upserted");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testUpsert_PkOnly() throws Exception {
+        TableHelper tMeaningfulPk = new TableHelper(dbHelper, "MEANINGFUL_PK", "PK");
+        tMeaningfulPk.insert("pk1");
+
+        MeaningfulPk existing = context.newObject(MeaningfulPk.class);
+        existing.setPk("pk1");
+        MeaningfulPk created = context.newObject(MeaningfulPk.class);
+        created.setPk("pk2");
+
+        context.commitChangesWithUpsert();
+
+        assertEquals(2, tMeaningfulPk.getRowCount());
+    }
+
+    @Test
+    public void testUpsert_NestedContext() throws Exception {
+        DataContext child = (DataContext) runtime.newContext(context);
+
+        MeaningfulPKTest1 object = child.newObject(MeaningfulPKTest1.class);
+        object.setPkAttribute(1);
+        object.setDescr("d1_child");
+        object.setIntAttribute(12);
+        child.markForUpsert(object);
+
+        child.commitChanges();
+
+        assertEquals(1, tMeaningfulPKTest1.getRowCount());
+        assertEquals("d1_child", tMeaningfulPKTest1.getString("DESCR"));
+        assertEquals(12, tMeaningfulPKTest1.getInt("INT_ATTRIBUTE"));
+    }
+
+    @Test
+    public void testCommitChangesWithUpsert_FailureResetsMarks() throws Exception {
+        MeaningfulPKTest1 object = context.newObject(MeaningfulPKTest1.class);
+        object.setPkAttribute(1);
+        object.setIntAttribute(11);
+        // DESCR is limited to 50 chars, so the commit fails validation
+        object.setDescr(String.format("%051d", 0));
+
+        try {
+            context.commitChangesWithUpsert();
+            fail("Commit must fail validation");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+
+        object.setDescr("d1_new");
+        try {
+            context.commitChanges();
+            fail("Upsert mark must be reset after a failed commit");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+
+        ObjectContext peer = runtime.newContext();
+        MeaningfulPKTest1 reloaded = ObjectSelect.query(MeaningfulPKTest1.class).selectOne(peer);
+        assertEquals("d1", reloaded.getDescr());
+    }
+}
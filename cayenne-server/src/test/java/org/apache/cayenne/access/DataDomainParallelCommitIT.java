@@ -0,0 +1,213 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.access.flush.DataDomainFlushActionFactory;
+import org.apache.cayenne.access.flush.DefaultDataDomainFlushActionFactory;
+import org.apache.cayenne.configuration.Constants;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.log.JdbcEventLogger;
+import org.apache.cayenne.query.ObjectSelect;
+import org.apache.cayenne.test.jdbc.DBHelper;
+import org.apache.cayenne.test.jdbc.TableHelper;
+import org.apache.cayenne.testdo.db1.CrossdbM1E1;
+import org.apache.cayenne.testdo.db2.CrossdbM2E1;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@UseServerRuntime(CayenneProjects.MULTINODE_PROJECT)
+public class DataDomainParallelCommitIT extends ServerCase {
+
+    @Inject
+    private ServerRuntime runtime;
+
+    @Inject
+    private DataContext context;
+
+    @Inject
+    private DBHelper dbHelper;
+
+    private DataDomainFlushActionFactory defaultFactory;
+    private ExecutorService executor;
+    private Set<String> commitThreads;
+    private boolean runtimeShutdown;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        commitThreads = ConcurrentHashMap.newKeySet();
+
+        DefaultDataDomainFlushActionFactory factory = new DefaultDataDomainFlushActionFactory() {
+            @Override
+            protected Executor getCommitExecutor() {
+                return task -> executor.execute(() -> {
+                    commitThreads.add(Thread.currentThread().getName());
+                    task.run();
+                });
+            }
+        };
+        runtime.getInjector().injectMembers(factory);
+
+        DataDomain domain = runtime.getDataDomain();
+        defaultFactory = domain.flushActionFactory;
+        domain.flushActionFactory = factory;
+    }
+
+    @After
+    public void tearDown() {
+        if (!runtimeShutdown) {
+            runtime.getDataDomain().flushActionFactory = defaultFactory;
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCommit() {
+        CrossdbM1E1 o1 = context.newObject(CrossdbM1E1.class);
+        o1.setName("o1");
+        CrossdbM2E1 o2 = context.newObject(CrossdbM2E1.class);
+        o2.setName("o2");
+
+        context.commitChanges();
+
+        assertEquals(2, commitThreads.size());
+        assertFalse(commitThreads.contains(Thread.currentThread().getName()));
+
+        ObjectContext context2 = runtime.newContext();
+        assertEquals("o1", ObjectSelect.columnQuery(CrossdbM1E1.class, CrossdbM1E1.NAME).selectOne(context2));
+        assertEquals("o2", ObjectSelect.columnQuery(CrossdbM2E1.class, CrossdbM2E1.NAME).selectOne(context2));
+    }
+
+    @Test
+    public void testCommit_SingleNode() {
+        CrossdbM1E1 o1 = context.newObject(CrossdbM1E1.class);
+        o1.setName("o1");
+
+        context.commitChanges();
+
+        assertEquals(0, commitThreads.size());
+    }
+
+    @Test
+    public void testCommit_FailureRollsBackAllNodes() throws Exception {
+        new TableHelper(dbHelper, "CROSSDB_M1E1").setColumns("ID", "NAME").insert(1, "existing");
+
+        // duplicate PK fails the commit in the first node
+        CrossdbM1E1 o1 = context.newObject(CrossdbM1E1.class);
+        o1.setName("o1");
+        o1.getObjectId().getReplacementIdMap().put("ID", 1);
+        CrossdbM2E1 o2 = context.newObject(CrossdbM2E1.class);
+        o2.setName("o2");
+
+        try {
+            context.commitChanges();
+            fail("Commit with a duplicate PK must fail");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+
+        assertEquals(2, commitThreads.size());
+        assertEquals(1, new TableHelper(dbHelper, "CROSSDB_M1E1").getRowCount());
+        assertEquals(0, new TableHelper(dbHelper, "CROSSDB_M2E1").getRowCount());
+    }
+
+    @Test
+    public void testCommit_ParallelCommitThreadsProperty() throws Exception {
+        DataDomain domain = runtime.getDataDomain();
+        domain.flushActionFactory = defaultFactory;
+
+        // a single thread pool: the first node is committed by the pool thread, that is held busy until the caller
+        // thread commits the second node
+        Set<Thread> insertThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch callerInserted = new CountDownLatch(1);
+        JdbcEventLogger logger = mock(JdbcEventLogger.class);
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            if (sql.startsWith("INSERT")) {
+                Thread thread = Thread.currentThread();
+                insertThreads.add(thread);
+                if (thread.getName().startsWith("cayenne-commit-")) {
+                    callerInserted.await(5, TimeUnit.SECONDS);
+                } else {
+                    callerInserted.countDown();
+                }
+            }
+            return null;
+        }).when(logger).log(anyString());
+
+        Collection<DataNode> nodes = domain.getDataNodes();
+        for (DataNode node : nodes) {
+            node.setJdbcEventLogger(logger);
+        }
+
+        System.setProperty(Constants.SERVER_PARALLEL_COMMIT_THREADS_PROPERTY, "1");
+        try {
+            CrossdbM1E1 o1 = context.newObject(CrossdbM1E1.class);
+            o1.setName("o1");
+            CrossdbM2E1 o2 = context.newObject(CrossdbM2E1.class);
+            o2.setName("o2");
+
+            context.commitChanges();
+        } finally {
+            System.clearProperty(Constants.SERVER_PARALLEL_COMMIT_THREADS_PROPERTY);
+        }
+
+        assertEquals(2, insertThreads.size());
+        assertTrue(insertThreads.contains(Thread.currentThread()));
+
+        Thread poolThread = insertThreads.stream()
+                .filter(t -> t.getName().startsWith("cayenne-commit-"))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(poolThread);
+        assertTrue(poolThread.isAlive());
+
+        // runtime shutdown must stop the pool
+        runtimeShutdown = true;
+        runtime.shutdown();
+        poolThread.join(5000);
+        assertFalse(poolThread.isAlive());
+    }
+}
@@ -0,0 +1,186 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.access;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cayenne.DataRow;
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.access.event.SnapshotEvent;
+import org.apache.cayenne.configuration.Constants;
+import org.apache.cayenne.configuration.DefaultRuntimeProperties;
+import org.apache.cayenne.event.EventManager;
+import org.apache.cayenne.event.EventSubject;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class DataRowStoreTest {
+
+    private DataRowStore store;
+
+    @After
+    public void shutdownStore() {
+        if (store != null) {
+            store.shutdown();
+            store = null;
+        }
+    }
+
+    private DataRowStore createStore(EventManager eventManager, long window, int size) {
+        Map<String, String> props = new HashMap<>();
+        props.put(Constants.SNAPSHOT_EVENTS_COALESCE_WINDOW_PROPERTY, String.valueOf(window));
+        props.put(Constants.SNAPSHOT_EVENTS_COALESCE_SIZE_PROPERTY, String.valueOf(size));
+        return new DataRowStore("cacheXYZ", new DefaultRuntimeProperties(props), eventManager);
+    }
+
+    private static void delete(DataRowStore store, Object postedBy, int id) {
+        store.processSnapshotChanges(
+                postedBy,
+                Collections.emptyMap(),
+                Collections.singletonList(ObjectId.of("Artist", "ARTIST_ID", id)),
+                Collections.emptyList(),
+                Collections.emptyList());
+    }
+
+    @Test
+    public void testNoCoalescing() {
+        EventManager eventManager = mock(EventManager.class);
+        store = createStore(eventManager, 0, 1000);
+        assertFalse(store.isEventCoalescingEnabled());
+
+        delete(store, this, 1);
+        delete(store, this, 2);
+
+        verify(eventManager, times(2)).postEvent(any(SnapshotEvent.class), any(EventSubject.class));
+        assertEquals(2, store.getEventMetrics().getChangeSetCount());
+        assertEquals(2, store.getEventMetrics().getEventCount());
+        assertEquals(1d, store.getEventMetrics().getCoalescingRatio(), 0.0001);
+    }
+
+    @Test
+    public void testCoalescing() {
+        EventManager eventManager = mock(EventManager.class);
+        store = createStore(eventManager, 60000, 1000);
+        assertTrue(store.isEventCoalescingEnabled());
+
+        Object sender1 = new Object();
+        Object sender2 = new Object();
+
+        delete(store, sender1, 1);
+        delete(store, sender1, 2);
+        delete(store, sender2, 3);
+
+        verify(eventManager, never()).postEvent(any(SnapshotEvent.class), any(EventSubject.class));
+
+        store.flushEvents();
+
+        ArgumentCaptor<SnapshotEvent> captor = ArgumentCaptor.forClass(SnapshotEvent.class);
+        verify(eventManager, times(2)).postEvent(captor.capture(), any(EventSubject.class));
+
+        List<SnapshotEvent> events = captor.getAllValues();
+        assertSame(sender1, events.get(0).getPostedBy());
+        assertEquals(2, events.get(0).getDeletedIds().size());
+        assertSame(sender2, events.get(1).getPostedBy());
+        assertEquals(1, events.get(1).getDeletedIds().size());
+
+        assertEquals(3, store.getEventMetrics().getChangeSetCount());
+        assertEquals(2, store.getEventMetrics().getEventCount());
+        assertEquals(1.5d, store.getEventMetrics().getCoalescingRatio(), 0.0001);
+    }
+
+    @Test
+    public void testCoalescing_SizeThreshold() {
+        EventManager eventManager = mock(EventManager.class);
+        store = createStore(eventManager, 60000, 2);
+
+        delete(store, this, 1);
+        verify(eventManager, never()).postEvent(any(SnapshotEvent.class), any(EventSubject.class));
+
+        delete(store, this, 2);
+        verify(eventManager, times(1)).postEvent(any(SnapshotEvent.class), any(EventSubject.class));
+    }
+
+    @Test
+    public void testCoalescing_Window() throws Exception {
+        EventManager eventManager = mock(EventManager.class);
+        store = createStore(eventManager, 10, 1000);
+
+        delete(store, this, 1);
+        delete(store, this, 2);
+
+        verify(eventManager, timeout(5000).times(1)).postEvent(any(SnapshotEvent.class), any(EventSubject.class));
+    }
+
+    @Test
+    public void testCoalescing_SharedTimer() throws Exception {
+        EventManager eventManager = mock(EventManager.class);
+        store = createStore(eventManager, 10, 1000);
+        DataRowStore store2 = createStore(eventManager, 10, 1000);
+        try {
+            delete(store, this, 1);
+            delete(store2, this, 2);
+            verify(eventManager, timeout(5000).times(2)).postEvent(any(SnapshotEvent.class), any(EventSubject.class));
+
+            // stores that are never shut down must not hold their own threads
+            assertTrue(SnapshotEventCoalescer.TimerHolder.TIMER.allowsCoreThreadTimeOut());
+            assertTrue(SnapshotEventCoalescer.TimerHolder.TIMER.getLargestPoolSize() <= 1);
+        } finally {
+            store2.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchMerge() {
+        ObjectId id1 = ObjectId.of("Artist", "ARTIST_ID", 1);
+        ObjectId id2 = ObjectId.of("Artist", "ARTIST_ID", 2);
+
+        DataRow diff1 = new DataRow(2);
+        diff1.put("A", 1);
+        diff1.put("B", 1);
+
+        DataRow diff2 = new DataRow(2);
+        diff2.put("B", 2);
+
+        SnapshotEventCoalescer.Batch batch = new SnapshotEventCoalescer.Batch(this);
+        batch.merge(Collections.singletonMap(id1, diff1), null, null, null);
+        batch.merge(Collections.singletonMap(id1, diff2), null, null, null);
+        batch.merge(Collections.singletonMap(id2, diff2), null, null, null);
+        batch.merge(null, Collections.singletonList(id2), null, null);
+
+        assertEquals(1, batch.diffs.size());
+        assertEquals(1, batch.diffs.get(id1).get("A"));
+        assertEquals(2, batch.diffs.get(id1).get("B"));
+        assertEquals(Collections.singleton(id2), batch.deletedIds);
+    }
+}
@@ -0,0 +1,139 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.access;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cayenne.Cayenne;
+import org.apache.cayenne.DataRow;
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.dba.JdbcAdapter;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.query.ObjectSelect;
+import org.apache.cayenne.testdo.generated.GeneratedColumnTestEntity;
+import org.apache.cayenne.testdo.generated.GeneratedReflexive;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@UseServerRuntime(CayenneProjects.GENERATED_PROJECT)
+public class MultiRowInsertIT extends ServerCase {
+
+    @Inject
+    protected ObjectContext context;
+
+    @Inject
+    protected DataNode node;
+
+    private JdbcAdapter adapter;
+
+    @Before
+    public void enableMultiRowInsert() {
+        DbAdapter nodeAdapter = node.getAdapter().unwrap();
+        Assume.assumeTrue(nodeAdapter instanceof JdbcAdapter);
+
+        adapter = (JdbcAdapter) nodeAdapter;
+        adapter.setMultiRowInsert(true);
+    }
+
+    @After
+    public void disableMultiRowInsert() {
+        if (adapter != null) {
+            adapter.setMultiRowInsert(false);
+        }
+    }
+
+    @Test
+    public void testInsert_GeneratedKeys() {
+        Assume.assumeTrue(adapter.getMaxMultiRowInsertSize(1) > 1);
+        Assume.assumeTrue(adapter.supportsGeneratedKeysForBatchInserts());
+
+        // more than a single statement can insert, so the last chunk is smaller than the others
+        int count = adapter.getMaxMultiRowInsertSize(1) + 5;
+        List<GeneratedColumnTestEntity> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GeneratedColumnTestEntity object = context.newObject(GeneratedColumnTestEntity.class);
+            object.setName("n_" + i);
+            objects.add(object);
+        }
+        context.commitChanges();
+
+        // check that generated keys were matched with the inserted rows
+        Map<String, Integer> idsByName = new HashMap<>();
+        for (DataRow row : ObjectSelect.dataRowQuery(GeneratedColumnTestEntity.class).select(context)) {
+            idsByName.put((String) row.get("NAME"),
+                    ((Number) row.get(GeneratedColumnTestEntity.GENERATED_COLUMN_PK_COLUMN)).intValue());
+        }
+        assertEquals(count, idsByName.size());
+
+        for (GeneratedColumnTestEntity object : objects) {
+            assertEquals(idsByName.get(object.getName()), Integer.valueOf(Cayenne.intPKForObject(object)));
+        }
+    }
+
+    @Test
+    public void testInsert_Reflexive() {
+        Assume.assumeTrue(adapter.getMaxMultiRowInsertSize(2) > 1);
+        Assume.assumeTrue(adapter.supportsGeneratedKeysForBatchInserts());
+
+        // chains of three objects, each object referencing a key generated for another one
+        int chains = 10;
+        List<GeneratedReflexive> objects = new ArrayList<>(chains * 3);
+        for (int i = 0; i < chains; i++) {
+            GeneratedReflexive next = null;
+            for (int j = 0; j < 3; j++) {
+                GeneratedReflexive object = context.newObject(GeneratedReflexive.class);
+                object.setName(i + "_" + j);
+                object.setNext(next);
+                objects.add(object);
+                next = object;
+            }
+        }
+        context.commitChanges();
+
+        Map<String, DataRow> rowsByName = new HashMap<>();
+        for (DataRow row : ObjectSelect.dataRowQuery(GeneratedReflexive.class).select(context)) {
+            rowsByName.put((String) row.get("NAME"), row);
+        }
+        assertEquals(chains * 3, rowsByName.size());
+
+        for (GeneratedReflexive object : objects) {
+            DataRow row = rowsByName.get(object.getName());
+            assertEquals(Cayenne.intPKForObject(object), ((Number) row.get("ID")).intValue());
+
+            Object nextId = row.get("REF_ID");
+            if (object.getNext() == null) {
+                assertNull(nextId);
+            } else {
+                assertEquals(Cayenne.intPKForObject(object.getNext()), ((Number) nextId).intValue());
+            }
+        }
+    }
+}
@@ -19,6 +19,8 @@
 
 package org.apache.cayenne.access;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 
 import org.apache.cayenne.ObjectId;
@@ -27,10 +29,13 @@ import org.apache.cayenne.Persistent;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @since 4.0
@@ -68,4 +73,21 @@ public class ObjectStoreTest {
         verify(object, times(0)).setObjectId(null);
         verify(object).setObjectContext(null);
         verify(object).setPersistenceState(PersistenceState.TRANSIENT);    }
+
+    @Test
+    public void testObjectsWithAttributeFaults() {
+        Persistent e1 = mock(Persistent.class);
+        when(e1.getObjectId()).thenReturn(ObjectId.of("E1", "ID", 1));
+        Persistent e2 = mock(Persistent.class);
+        when(e2.getObjectId()).thenReturn(ObjectId.of("E2", "ID", 2));
+
+        assertTrue(objectStore.objectsWithAttributeFaults("E1").isEmpty());
+
+        objectStore.attributeFaultInstalled(e1);
+        objectStore.attributeFaultInstalled(e2);
+        objectStore.attributeFaultInstalled(e1);
+
+        assertEquals(Collections.singletonList(e1), new ArrayList<>(objectStore.objectsWithAttributeFaults("E1")));
+        assertEquals(Collections.singletonList(e2), new ArrayList<>(objectStore.objectsWithAttributeFaults("E2")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,229 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.access;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cayenne.ValueHolder;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.query.ObjectSelect;
+import org.apache.cayenne.test.jdbc.DBHelper;
+import org.apache.cayenne.test.jdbc.TableHelper;
+import org.apache.cayenne.testdo.testmap.Artist;
+import org.apache.cayenne.testdo.testmap.Painting;
+import org.apache.cayenne.tx.BaseTransaction;
+import org.apache.cayenne.tx.Transaction;
+import org.apache.cayenne.tx.TransactionDescriptor;
+import org.apache.cayenne.tx.TransactionListener;
+import org.apache.cayenne.tx.TransactionManager;
+import org.apache.cayenne.tx.TransactionalOperation;
+import org.apache.cayenne.unit.di.DataChannelInterceptor;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+@UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
+public class ParallelPrefetchIT extends ServerCase {
+
+    @Inject
+    private DataContext context;
+
+    @Inject
+    private ServerRuntime runtime;
+
+    @Inject
+    private DBHelper dbHelper;
+
+    @Inject
+    private DataChannelInterceptor queryInterceptor;
+
+    @Before
+    public void setUp() throws Exception {
+        runtime.getDataDomain().setParallelPrefetchThreads(4);
+
+        TableHelper tArtist = new TableHelper(dbHelper, "ARTIST");
+        tArtist.setColumns("ARTIST_ID", "ARTIST_NAME");
+
+        TableHelper tGallery = new TableHelper(dbHelper, "GALLERY");
+        tGallery.setColumns("GALLERY_ID", "GALLERY_NAME");
+
+        TableHelper tPainting = new TableHelper(dbHelper, "PAINTING");
+        tPainting.setColumns("PAINTING_ID", "ARTIST_ID", "GALLERY_ID", "PAINTING_TITLE");
+
+        TableHelper tPaintingInfo = new TableHelper(dbHelper, "PAINTING_INFO");
+        tPaintingInfo.setColumns("PAINTING_ID", "TEXT_REVIEW");
+
+        tArtist.insert(1, "a1");
+        tArtist.insert(2, "a2");
+        tGallery.insert(1, "g1");
+        tGallery.insert(2, "g2");
+
+        for (int i = 1; i <= 6; i++) {
+            tPainting.insert(i, i % 2 + 1, i % 2 + 1, "p" + i);
+            tPaintingInfo.insert(i, "r" + i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        runtime.getDataDomain().setParallelPrefetchThreads(0);
+    }
+
+    @Test
+    public void testDisjointSiblings() {
+        List<Painting> paintings = ObjectSelect.query(Painting.class)
+                .prefetch(Painting.TO_ARTIST.disjoint())
+                .prefetch(Painting.TO_GALLERY.disjoint())
+                .prefetch(Painting.TO_PAINTING_INFO.disjoint())
+                .orderBy(Painting.PAINTING_TITLE.asc())
+                .select(context);
+
+        assertPaintings(paintings);
+    }
+
+    @Test
+    public void testDisjointByIdSiblings() {
+        List<Painting> paintings = ObjectSelect.query(Painting.class)
+                .prefetch(Painting.TO_ARTIST.disjointById())
+                .prefetch(Painting.TO_GALLERY.disjointById())
+                .prefetch(Painting.TO_PAINTING_INFO.disjointById())
+                .orderBy(Painting.PAINTING_TITLE.asc())
+                .select(context);
+
+        assertPaintings(paintings);
+    }
+
+    @Test
+    public void testDisjointByIdMultistep() {
+        List<Artist> artists = ObjectSelect.query(Artist.class)
+                .prefetch(Artist.PAINTING_ARRAY.disjointById())
+                .prefetch(Artist.PAINTING_ARRAY.dot(Painting.TO_PAINTING_INFO).disjointById())
+                .prefetch(Artist.PAINTING_ARRAY.dot(Painting.TO_GALLERY).disjointById())
+                .orderBy(Artist.ARTIST_NAME.asc())
+                .select(context);
+
+        queryInterceptor.runWithQueriesBlocked(() -> {
+            assertEquals(2, artists.size());
+            for (Artist artist : artists) {
+                List<Painting> paintings = artist.getPaintingArray();
+                assertFalse(((ValueHolder) paintings).isFault());
+                assertEquals(3, paintings.size());
+
+                for (Painting painting : paintings) {
+                    assertNotNull(painting.getToPaintingInfo());
+                    assertEquals("r" + painting.getPaintingTitle().substring(1),
+                            painting.getToPaintingInfo().getTextReview());
+                    assertEquals(artist.getArtistName().substring(1),
+                            painting.getToGallery().getGalleryName().substring(1));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testInTransaction() {
+        List<Painting> paintings = runtime.performInTransaction(() -> ObjectSelect.query(Painting.class)
+                .prefetch(Painting.TO_ARTIST.disjoint())
+                .prefetch(Painting.TO_GALLERY.disjointById())
+                .prefetch(Painting.TO_PAINTING_INFO.disjointById())
+                .orderBy(Painting.PAINTING_TITLE.asc())
+                .select(context));
+
+        assertPaintings(paintings);
+    }
+
+    @Test
+    public void testPrefetchesInOwnTransactions() {
+        // with a single thread some prefetches are run by the calling thread
+        runtime.getDataDomain().setParallelPrefetchThreads(1);
+
+        List<Transaction> transactions = Collections.synchronizedList(new ArrayList<>());
+        TransactionManager txManager = runtime.getDataDomain().transactionManager;
+        runtime.getDataDomain().transactionManager = new TransactionManager() {
+
+            @Override
+            public <T> T performInTransaction(TransactionalOperation<T> op) {
+                return txManager.performInTransaction(() -> {
+                    transactions.add(BaseTransaction.getThreadTransaction());
+                    return op.perform();
+                });
+            }
+
+            @Override
+            public <T> T performInTransaction(TransactionalOperation<T> op, TransactionListener callback) {
+                return txManager.performInTransaction(op, callback);
+            }
+
+            @Override
+            public <T> T performInTransaction(TransactionalOperation<T> op, TransactionDescriptor descriptor) {
+                return txManager.performInTransaction(op, descriptor);
+            }
+
+            @Override
+            public <T> T performInTransaction(TransactionalOperation<T> op, TransactionListener callback,
+                                              TransactionDescriptor descriptor) {
+                return txManager.performInTransaction(op, callback, descriptor);
+            }
+        };
+
+        List<Painting> paintings;
+        try {
+            paintings = ObjectSelect.query(Painting.class)
+                    .prefetch(Painting.TO_ARTIST.disjoint())
+                    .prefetch(Painting.TO_GALLERY.disjoint())
+                    .prefetch(Painting.TO_PAINTING_INFO.disjointById())
+                    .prefetch(Painting.TO_ARTIST.dot(Artist.PAINTING_ARRAY).disjointById())
+                    .orderBy(Painting.PAINTING_TITLE.asc())
+                    .select(context);
+        } finally {
+            runtime.getDataDomain().transactionManager = txManager;
+        }
+
+        // main query, two disjoint and two disjoint by id prefetches, each in its own transaction
+        assertEquals(5, transactions.size());
+        assertEquals(5, transactions.stream().map(System::identityHashCode).distinct().count());
+        assertPaintings(paintings);
+    }
+
+    private void assertPaintings(List<Painting> paintings) {
+        queryInterceptor.runWithQueriesBlocked(() -> {
+            assertEquals(6, paintings.size());
+            for (int i = 0; i < paintings.size(); i++) {
+                Painting painting = paintings.get(i);
+                int id = i + 1;
+                String group = String.valueOf(id % 2 + 1);
+
+                assertEquals("p" + id, painting.getPaintingTitle());
+                assertEquals("a" + group, painting.getToArtist().getArtistName());
+                assertEquals("g" + group, painting.getToGallery().getGalleryName());
+                assertEquals("r" + id, painting.getToPaintingInfo().getTextReview());
+            }
+        });
+    }
+}
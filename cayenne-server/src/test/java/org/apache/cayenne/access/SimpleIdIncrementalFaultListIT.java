@@ -19,12 +19,18 @@
 
 package org.apache.cayenne.access;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.cayenne.DataObject;
 import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.exp.Expression;
 import org.apache.cayenne.query.ObjectSelect;
 import org.apache.cayenne.query.SortOrder;
 import org.apache.cayenne.test.jdbc.DBHelper;
@@ -271,6 +277,74 @@ public class SimpleIdIncrementalFaultListIT extends ServerCase {
         assertTrue(list.elements.get(8) instanceof Artist);
     }
 
+    @Test
+    public void testIdsQualifier() throws Exception {
+        SimpleIdIncrementalFaultList<?> list = prepareList(6);
+
+        Expression qualifier = list.buildIdsQualifier(Arrays.asList(33001L, 33002L, 33003L));
+        assertEquals(Expression.IN, qualifier.getType());
+    }
+
+    @Test
+    public void testReadAhead() throws Exception {
+        SimpleIdIncrementalFaultList<?> list = prepareList(6);
+        list.setReadAhead(true);
+        assertTrue(list.isReadAhead());
+
+        assertTrue(list.get(0) instanceof Artist);
+        int registered = context.getObjectStore().registeredObjectsCount();
+
+        // rows of the next page are fetched in background without touching the context
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!readAheadDone(list, 1) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(readAheadDone(list, 1));
+        assertTrue(list.elements.get(6) instanceof Long);
+        assertEquals(registered, context.getObjectStore().registeredObjectsCount());
+
+        // the page is resolved from the rows fetched in background
+        tArtist.deleteAll();
+        assertTrue(list.get(6) instanceof Artist);
+        assertTrue(list.elements.get(11) instanceof Artist);
+        assertTrue(list.elements.get(12) instanceof Long);
+        assertEquals(13, list.getUnfetchedObjects());
+        assertEquals(registered + 6, context.getObjectStore().registeredObjectsCount());
+    }
+
+    private static boolean readAheadDone(IncrementalFaultList<?> list, int pageIndex) {
+        IncrementalFaultList.PageReadAhead readAhead = list.pageReadAheads != null
+                ? list.pageReadAheads.get(pageIndex)
+                : null;
+        return readAhead != null && readAhead.rows.isDone();
+    }
+
+    @Test
+    public void testConcurrentGet() throws Exception {
+        SimpleIdIncrementalFaultList<?> list = prepareList(6);
+        list.setReadAhead(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    for (Object object : list) {
+                        assertTrue(object instanceof Artist);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, list.getUnfetchedObjects());
+    }
+
     @Test
     public void testIndexOf() throws Exception {
         SimpleIdIncrementalFaultList<?> list = prepareList(6);
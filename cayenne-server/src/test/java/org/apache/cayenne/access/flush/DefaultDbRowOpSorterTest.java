@@ -21,8 +21,11 @@ package org.apache.cayenne.access.flush;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.apache.cayenne.ObjectId;
 import org.apache.cayenne.PersistenceState;
@@ -35,6 +38,7 @@ import org.apache.cayenne.access.flush.operation.DbRowOpSorter;
 import org.apache.cayenne.access.flush.operation.DeleteDbRowOp;
 import org.apache.cayenne.access.flush.operation.InsertDbRowOp;
 import org.apache.cayenne.access.flush.operation.UpdateDbRowOp;
+import org.apache.cayenne.map.DataMap;
 import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.map.DbEntity;
 import org.apache.cayenne.map.EntityResolver;
@@ -57,18 +61,12 @@ public class DefaultDbRowOpSorterTest {
     @Before
     public void createSorter() {
         entitySorter = mock(EntitySorter.class);
-        EntityResolver entityResolver = mock(EntityResolver.class);
-
         when(entitySorter.getDbEntityComparator())
                 .thenReturn(Comparator.comparing(DbEntity::getName));
         when(entitySorter.isReflexive(argThat(ent -> ent.getName().equals("reflexive"))))
                 .thenReturn(true);
 
-        DataDomain dataDomain = mock(DataDomain.class);
-        when(dataDomain.getEntitySorter()).thenReturn(entitySorter);
-        when(dataDomain.getEntityResolver()).thenReturn(entityResolver);
-
-        sorter = new DefaultDbRowOpSorter(() -> dataDomain);
+        sorter = createSorter(entitySorter, Collections.emptyList());
     }
 
     @Test
@@ -196,6 +194,104 @@ public class DefaultDbRowOpSorterTest {
                 .sortObjectsForEntity(isNull(), any(List.class), eq(false));
     }
 
+    @Test
+    public void sortByEntityOrder() {
+        // "cycle1" and "cycle2" are in the same dependency cycle, so are equal for the sorter
+        EntitySorter cycleSorter = mock(EntitySorter.class);
+        when(cycleSorter.getDbEntityComparator())
+                .thenReturn(Comparator.comparing(e -> e.getName().startsWith("cycle") ? "cycle" : e.getName()));
+
+        List<DbEntity> entities = Arrays.asList(
+                mockEntity("test3"), mockEntity("cycle2"), mockEntity("test1"), mockEntity("cycle1"));
+        DbRowOpSorter comparatorSorter = createSorter(cycleSorter, Collections.emptyList());
+        DbRowOpSorter orderSorter = createSorter(cycleSorter, entities);
+
+        Random random = new Random(42);
+        List<DbRowOp> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            DbEntity entity = entities.get(random.nextInt(entities.size()));
+            ObjectId id = ObjectId.of(entity.getName(), "id", i);
+            Persistent object = mockObject(id);
+            switch (random.nextInt(3)) {
+                case 0:
+                    rows.add(new InsertDbRowOp(object, entity, id));
+                    break;
+                case 1:
+                    rows.add(new UpdateDbRowOp(object, entity, id));
+                    break;
+                default:
+                    rows.add(new DeleteDbRowOp(object, entity, id));
+            }
+        }
+
+        List<DbRowOp> expected = comparatorSorter.sort(new ArrayList<>(rows));
+        List<DbRowOp> sorted = orderSorter.sort(new ArrayList<>(rows));
+        assertEquals(expected, sorted);
+    }
+
+    @Test
+    public void sortByEntityOrderUnknownEntity() {
+        ObjectId id1 = ObjectId.of("test2", "id", 1);
+        ObjectId id2 = ObjectId.of("test1", "id", 2);
+        ObjectId id3 = ObjectId.of("test3", "id", 3);
+
+        DbEntity test1 = mockEntity("test1");
+        DbEntity test2 = mockEntity("test2");
+        // entity missing in the resolver
+        DbEntity test3 = mockEntity("test3");
+        DbRowOpSorter orderSorter = createSorter(entitySorter, Arrays.asList(test2, test1));
+
+        DbRowOp op1 = new InsertDbRowOp(mockObject(id1), test2, id1);
+        DbRowOp op2 = new InsertDbRowOp(mockObject(id2), test1, id2);
+        DbRowOp op3 = new InsertDbRowOp(mockObject(id3), test3, id3);
+
+        assertEquals(Arrays.asList(op2, op1), orderSorter.sort(new ArrayList<>(Arrays.asList(op1, op2))));
+        assertEquals(Arrays.asList(op2, op1, op3), orderSorter.sort(new ArrayList<>(Arrays.asList(op3, op1, op2))));
+    }
+
+    @Test
+    public void sortByEntityOrderAfterDataMapAdded() {
+        ObjectId id1 = ObjectId.of("test1", "id", 1);
+        ObjectId id2 = ObjectId.of("test2", "id", 2);
+
+        DbEntity test1 = mockEntity("test1");
+        DbEntity test2 = mockEntity("test2");
+
+        // same sorter instance, reindexed when a DataMap is added
+        EntitySorter reindexedSorter = mock(EntitySorter.class);
+        when(reindexedSorter.getDbEntityComparator()).thenReturn(Comparator.comparing(DbEntity::getName));
+
+        List<DataMap> dataMaps = new ArrayList<>();
+        dataMaps.add(new DataMap("map1"));
+        EntityResolver entityResolver = mock(EntityResolver.class);
+        when(entityResolver.getDbEntities()).thenReturn(Arrays.asList(test1, test2));
+        when(entityResolver.getDataMaps()).thenReturn(dataMaps);
+
+        DataDomain dataDomain = mock(DataDomain.class);
+        when(dataDomain.getEntitySorter()).thenReturn(reindexedSorter);
+        when(dataDomain.getEntityResolver()).thenReturn(entityResolver);
+        DbRowOpSorter orderSorter = new DefaultDbRowOpSorter(() -> dataDomain);
+
+        DbRowOp op1 = new InsertDbRowOp(mockObject(id1), test1, id1);
+        DbRowOp op2 = new InsertDbRowOp(mockObject(id2), test2, id2);
+        assertEquals(Arrays.asList(op1, op2), orderSorter.sort(new ArrayList<>(Arrays.asList(op2, op1))));
+
+        dataMaps.add(new DataMap("map2"));
+        when(reindexedSorter.getDbEntityComparator()).thenReturn(Comparator.comparing(DbEntity::getName).reversed());
+        assertEquals(Arrays.asList(op2, op1), orderSorter.sort(new ArrayList<>(Arrays.asList(op1, op2))));
+    }
+
+    private DbRowOpSorter createSorter(EntitySorter entitySorter, Collection<DbEntity> entities) {
+        EntityResolver entityResolver = mock(EntityResolver.class);
+        when(entityResolver.getDbEntities()).thenReturn(entities);
+
+        DataDomain dataDomain = mock(DataDomain.class);
+        when(dataDomain.getEntitySorter()).thenReturn(entitySorter);
+        when(dataDomain.getEntityResolver()).thenReturn(entityResolver);
+
+        return new DefaultDbRowOpSorter(() -> dataDomain);
+    }
+
     private Persistent mockObject(ObjectId id) {
         Persistent persistent = mock(Persistent.class);
         when(persistent.getObjectId()).thenReturn(id);
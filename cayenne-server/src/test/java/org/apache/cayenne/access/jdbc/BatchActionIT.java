@@ -19,13 +19,18 @@
 
 package org.apache.cayenne.access.jdbc;
 
+import com.mockrunner.mock.jdbc.MockConnection;
 import org.apache.cayenne.access.DataNode;
+import org.apache.cayenne.access.MockOperationObserver;
+import org.apache.cayenne.access.OperationObserver;
 import org.apache.cayenne.access.jdbc.reader.RowReaderFactory;
+import org.apache.cayenne.access.translator.batch.BatchTranslator;
 import org.apache.cayenne.configuration.server.ServerRuntime;
 import org.apache.cayenne.dba.JdbcAdapter;
 import org.apache.cayenne.di.AdhocObjectFactory;
 import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.map.EntityResolver;
+import org.apache.cayenne.query.BatchQueryRow;
 import org.apache.cayenne.query.InsertBatchQuery;
 import org.apache.cayenne.testdo.testmap.Artist;
 import org.apache.cayenne.unit.di.server.CayenneProjects;
@@ -33,6 +38,13 @@ import org.apache.cayenne.unit.di.server.ServerCase;
 import org.apache.cayenne.unit.di.server.UseServerRuntime;
 import org.junit.Test;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.mock;
 
@@ -77,6 +89,55 @@ public class BatchActionIT extends ServerCase {
         assertFalse(new BatchAction(batch2, node, false).hasGeneratedKeys());
     }
 
+    @Test
+    public void testPerformAction_UsesQueryHooks() throws Exception {
+        EntityResolver resolver = runtime.getChannel().getEntityResolver();
+
+        DataNode node = new DataNode();
+        node.setAdapter(buildAdapter(true));
+        node.setEntityResolver(resolver);
+        node.setRowReaderFactory(mock(RowReaderFactory.class));
+
+        InsertBatchQuery batch = new InsertBatchQuery(resolver.getObjEntity(Artist.class).getDbEntity(), 5);
+        for (int i = 1; i <= 2; i++) {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("ARTIST_ID", i);
+            snapshot.put("ARTIST_NAME", "a" + i);
+            batch.add(snapshot);
+        }
+
+        List<String> calls = new ArrayList<>();
+        BatchAction action = new BatchAction(batch, node, true) {
+
+            @Override
+            protected BatchTranslator createTranslator() {
+                return mock(BatchTranslator.class);
+            }
+
+            @Override
+            protected boolean canRunAsBatch() {
+                calls.add("canRunAsBatch");
+                return false;
+            }
+
+            @Override
+            protected void runAsIndividualQueries(Connection connection, BatchTranslator translator,
+                                                  OperationObserver delegate, boolean generatesKeys) {
+                calls.add("runAsIndividualQueries");
+            }
+
+            @Override
+            protected void runAsIndividualQueries(Connection connection, BatchTranslator translator,
+                                                  OperationObserver delegate, boolean generatesKeys,
+                                                  List<BatchQueryRow> rows) {
+                calls.add("runAsIndividualQueries(rows)");
+            }
+        };
+
+        action.performAction(new MockConnection(), new MockOperationObserver());
+        assertEquals(List.of("canRunAsBatch", "runAsIndividualQueries"), calls);
+    }
+
     JdbcAdapter buildAdapter(boolean supportGeneratedKeys) {
         JdbcAdapter adapter = objectFactory.newInstance(JdbcAdapter.class, JdbcAdapter.class.getName());
         adapter.setSupportsGeneratedKeys(supportGeneratedKeys);
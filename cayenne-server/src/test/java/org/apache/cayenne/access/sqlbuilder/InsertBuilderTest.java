@@ -103,4 +103,24 @@ public class InsertBuilderTest extends BaseSqlBuilderTest  {
         assertSQL("INSERT INTO test( col1, col2, col3) VALUES( 1, 'test', NULL)", node);
     }
 
+    @Test
+    public void testInsertMultiRow() {
+        InsertBuilder builder = new InsertBuilder("test");
+        builder
+                .column(column("col1"))
+                .column(column("col2"))
+                .value(value(1))
+                .value(value("test1"))
+                .nextRow()
+                .value(value(2))
+                .value(value("test2"))
+                .nextRow()
+                .value(value(3))
+                .value(value(null));
+        Node node = builder.build();
+
+        assertThat(node, instanceOf(InsertNode.class));
+        assertSQL("INSERT INTO test( col1, col2) VALUES( 1, 'test1'),( 2, 'test2'),( 3, NULL)", node);
+    }
+
 }
\ No newline at end of file
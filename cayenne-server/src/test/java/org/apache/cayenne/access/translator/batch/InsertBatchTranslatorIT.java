@@ -79,6 +79,28 @@ public class InsertBatchTranslatorIT extends ServerCase {
                 generatedSql);
     }
 
+    @Test
+    public void testCreateMultiRowSqlString() {
+        DbEntity entity = runtime.getDataDomain().getEntityResolver()
+                .getObjEntity(SimpleLockingTestEntity.class)
+                .getDbEntity();
+
+        DbAdapter adapter = objectFactory.newInstance(DbAdapter.class, JdbcAdapter.class.getName());
+        InsertBatchQuery insertQuery = new InsertBatchQuery(entity, 3);
+        InsertBatchTranslator builder = new InsertBatchTranslator(insertQuery, adapter);
+        assertEquals(5, builder.getParametersPerRow());
+
+        String generatedSql = builder.getSql(3);
+        assertEquals("INSERT INTO " + entity.getName() + "( DESCRIPTION, INT_COLUMN_NOTNULL, INT_COLUMN_NULL, LOCKING_TEST_ID, NAME) " +
+                        "VALUES( ?, ?, ?, ?, ?),( ?, ?, ?, ?, ?),( ?, ?, ?, ?, ?)",
+                generatedSql);
+        assertEquals(15, builder.getBindings().length);
+
+        // translating again must not accumulate bindings
+        builder.getSql(2);
+        assertEquals(10, builder.getBindings().length);
+    }
+
     @Test
     public void testCreateSqlStringWithIdentifiersQuote() {
         DbEntity entity = runtime.getDataDomain().getEntityResolver().getObjEntity(SimpleLockingTestEntity.class)
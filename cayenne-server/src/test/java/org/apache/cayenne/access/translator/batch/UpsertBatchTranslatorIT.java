@@ -0,0 +1,135 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.access.translator.batch;
+
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.dba.DbAdapter;
+import org.apache.cayenne.dba.JdbcAdapter;
+import org.apache.cayenne.dba.hsqldb.HSQLDBAdapter;
+import org.apache.cayenne.dba.mysql.MySQLAdapter;
+import org.apache.cayenne.dba.oracle.OracleAdapter;
+import org.apache.cayenne.dba.postgres.PostgresAdapter;
+import org.apache.cayenne.di.AdhocObjectFactory;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.map.DbEntity;
+import org.apache.cayenne.query.UpsertBatchQuery;
+import org.apache.cayenne.testdo.locking.SimpleLockingTestEntity;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@UseServerRuntime(CayenneProjects.LOCKING_PROJECT)
+public class UpsertBatchTranslatorIT extends ServerCase {
+
+    @Inject
+    private ServerRuntime runtime;
+
+    @Inject
+    private AdhocObjectFactory objectFactory;
+
+    @Test
+    public void testOnConflict() {
+        DbEntity entity = entity();
+        UpsertBatchQuery query = new UpsertBatchQuery(entity, 1);
+
+        UpsertBatchTranslator translator = new OnConflictUpsertBatchTranslator(query, adapter(PostgresAdapter.class));
+        assertEquals("INSERT INTO " + entity.getName()
+                        + "( DESCRIPTION, INT_COLUMN_NOTNULL, INT_COLUMN_NULL, LOCKING_TEST_ID, NAME) VALUES( ?, ?, ?, ?, ?)"
+                        + " ON CONFLICT( LOCKING_TEST_ID) DO UPDATE SET DESCRIPTION = excluded.DESCRIPTION,"
+                        + " INT_COLUMN_NOTNULL = excluded.INT_COLUMN_NOTNULL, INT_COLUMN_NULL = excluded.INT_COLUMN_NULL,"
+                        + " NAME = excluded.NAME",
+                translator.getSql());
+        assertEquals(5, translator.getBindings().length);
+
+        // translating again must not accumulate bindings
+        translator.getSql();
+        assertEquals(5, translator.getBindings().length);
+    }
+
+    @Test
+    public void testOnDuplicateKey() {
+        DbEntity entity = entity();
+        UpsertBatchQuery query = new UpsertBatchQuery(entity, 1);
+
+        UpsertBatchTranslator translator = new OnDuplicateKeyUpsertBatchTranslator(query, adapter(MySQLAdapter.class));
+        assertEquals("INSERT INTO " + entity.getName()
+                        + "( DESCRIPTION, INT_COLUMN_NOTNULL, INT_COLUMN_NULL, LOCKING_TEST_ID, NAME) VALUES( ?, ?, ?, ?, ?)"
+                        + " ON DUPLICATE KEY UPDATE DESCRIPTION = VALUES( DESCRIPTION),"
+                        + " INT_COLUMN_NOTNULL = VALUES( INT_COLUMN_NOTNULL), INT_COLUMN_NULL = VALUES( INT_COLUMN_NULL),"
+                        + " NAME = VALUES( NAME)",
+                translator.getSql());
+        assertEquals(5, translator.getBindings().length);
+    }
+
+    @Test
+    public void testMerge() {
+        DbEntity entity = entity();
+        UpsertBatchQuery query = new UpsertBatchQuery(entity, 1);
+
+        UpsertBatchTranslator translator = new MergeUpsertBatchTranslator(query, adapter(HSQLDBAdapter.class));
+        assertEquals("MERGE INTO " + entity.getName() + " t0 USING ( VALUES( ?, ?, ?, ?, ?)) s0"
+                        + "( DESCRIPTION, INT_COLUMN_NOTNULL, INT_COLUMN_NULL, LOCKING_TEST_ID, NAME)"
+                        + " ON ( t0.LOCKING_TEST_ID = s0.LOCKING_TEST_ID)"
+                        + " WHEN MATCHED THEN UPDATE SET DESCRIPTION = s0.DESCRIPTION,"
+                        + " INT_COLUMN_NOTNULL = s0.INT_COLUMN_NOTNULL, INT_COLUMN_NULL = s0.INT_COLUMN_NULL,"
+                        + " NAME = s0.NAME"
+                        + " WHEN NOT MATCHED THEN INSERT( DESCRIPTION, INT_COLUMN_NOTNULL, INT_COLUMN_NULL, LOCKING_TEST_ID, NAME)"
+                        + " VALUES( s0.DESCRIPTION, s0.INT_COLUMN_NOTNULL, s0.INT_COLUMN_NULL, s0.LOCKING_TEST_ID, s0.NAME)",
+                translator.getSql());
+        assertEquals(5, translator.getBindings().length);
+    }
+
+    @Test
+    public void testOracleMerge() {
+        DbEntity entity = entity();
+        UpsertBatchQuery query = new UpsertBatchQuery(entity, 1);
+
+        DbAdapter adapter = adapter(OracleAdapter.class);
+        String sql = adapter.getUpsertTranslator(query).getSql();
+        assertEquals("MERGE INTO " + entity.getName() + " t0 USING (SELECT ? DESCRIPTION, ? INT_COLUMN_NOTNULL,"
+                        + " ? INT_COLUMN_NULL, ? LOCKING_TEST_ID, ? NAME FROM DUAL) s0"
+                        + " ON ( t0.LOCKING_TEST_ID = s0.LOCKING_TEST_ID)"
+                        + " WHEN MATCHED THEN UPDATE SET DESCRIPTION = s0.DESCRIPTION,"
+                        + " INT_COLUMN_NOTNULL = s0.INT_COLUMN_NOTNULL, INT_COLUMN_NULL = s0.INT_COLUMN_NULL,"
+                        + " NAME = s0.NAME"
+                        + " WHEN NOT MATCHED THEN INSERT( DESCRIPTION, INT_COLUMN_NOTNULL, INT_COLUMN_NULL, LOCKING_TEST_ID, NAME)"
+                        + " VALUES( s0.DESCRIPTION, s0.INT_COLUMN_NOTNULL, s0.INT_COLUMN_NULL, s0.LOCKING_TEST_ID, s0.NAME)",
+                sql);
+    }
+
+    @Test
+    public void testNotSupported() {
+        UpsertBatchQuery query = new UpsertBatchQuery(entity(), 1);
+        assertNull(adapter(JdbcAdapter.class).getUpsertTranslator(query));
+    }
+
+    private DbEntity entity() {
+        return runtime.getDataDomain().getEntityResolver()
+                .getObjEntity(SimpleLockingTestEntity.class)
+                .getDbEntity();
+    }
+
+    private DbAdapter adapter(Class<? extends DbAdapter> type) {
+        return objectFactory.newInstance(DbAdapter.class, type.getName());
+    }
+}
@@ -22,6 +22,7 @@ package org.apache.cayenne.access.translator.select;
 import java.sql.Types;
 
 import org.apache.cayenne.access.sqlbuilder.sqltree.ColumnNode;
+import org.apache.cayenne.access.types.LobFlagType;
 import org.apache.cayenne.access.types.ValueObjectTypeRegistry;
 import org.apache.cayenne.di.spi.DefaultAdhocObjectFactory;
 import org.apache.cayenne.di.spi.DefaultClassLoaderManager;
@@ -31,9 +32,11 @@ import org.apache.cayenne.map.EntityResolver;
 import org.apache.cayenne.map.ObjAttribute;
 import org.apache.cayenne.map.ObjEntity;
 import org.apache.cayenne.reflect.generic.DefaultValueComparisonStrategyFactory;
+import org.apache.cayenne.value.BlobValue;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -102,4 +105,49 @@ public class DescriptorColumnExtractorTest extends BaseColumnExtractorTest {
         assertNotNull(descriptor1.getDbAttribute());
         assertEquals(Types.BIGINT, descriptor1.getJdbcType());
     }
+
+    @Test
+    public void testExtractLobFlag() {
+        DbEntity mockDbEntity = createMockDbEntity("mock");
+        TranslatableQueryWrapper wrapper = new MockQueryWrapperBuilder()
+                .withMetaData(new MockQueryMetadataBuilder()
+                        .withDbEntity(mockDbEntity)
+                        .build())
+                .build();
+
+        TranslatorContext context = new MockTranslatorContext(wrapper);
+
+        DataMap dataMap = new DataMap();
+        dataMap.addDbEntity(mockDbEntity);
+
+        ObjEntity entity = new ObjEntity();
+        entity.setName("mock");
+        entity.setDataMap(dataMap);
+        entity.setDbEntity(mockDbEntity);
+
+        ObjAttribute attribute = new ObjAttribute();
+        attribute.setName("blob");
+        attribute.setDbAttributePath("name");
+        attribute.setType(BlobValue.class.getName());
+        entity.addAttribute(attribute);
+
+        dataMap.addObjEntity(entity);
+
+        EntityResolver resolver = new EntityResolver();
+        resolver.addDataMap(dataMap);
+        resolver.setValueComparisonStrategyFactory(new DefaultValueComparisonStrategyFactory(mock(ValueObjectTypeRegistry.class)));
+        resolver.setObjectFactory(new DefaultAdhocObjectFactory(null, new DefaultClassLoaderManager()));
+
+        DescriptorColumnExtractor extractor = new DescriptorColumnExtractor(context, resolver.getClassDescriptor("mock"));
+        extractor.extract();
+
+        assertEquals(2, context.getResultNodeList().size());
+
+        // the LOB column itself is not selected, only a flag of its NULL value
+        ResultNodeDescriptor descriptor0 = context.getResultNodeList().get(0);
+        assertThat(descriptor0.getNode(), not(instanceOf(ColumnNode.class)));
+        assertThat(descriptor0.getNode().getChild(1), instanceOf(ColumnNode.class));
+        assertEquals("name", descriptor0.getDataRowKey());
+        assertEquals(LobFlagType.class.getName(), descriptor0.getJavaType());
+    }
 }
\ No newline at end of file
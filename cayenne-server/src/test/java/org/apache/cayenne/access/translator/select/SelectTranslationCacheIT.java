@@ -0,0 +1,184 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.access.translator.select;
+
+import java.util.List;
+
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.access.DataContext;
+import org.apache.cayenne.access.DataNode;
+import org.apache.cayenne.access.translator.DbAttributeBinding;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.exp.ExpressionFactory;
+import org.apache.cayenne.query.FluentSelect;
+import org.apache.cayenne.query.ObjectSelect;
+import org.apache.cayenne.test.jdbc.DBHelper;
+import org.apache.cayenne.test.jdbc.TableHelper;
+import org.apache.cayenne.testdo.testmap.Artist;
+import org.apache.cayenne.testdo.testmap.Painting;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+@UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
+public class SelectTranslationCacheIT extends ServerCase {
+
+	@Inject
+	private DataContext context;
+
+	@Inject
+	private DataNode dataNode;
+
+	@Inject
+	private DBHelper dbHelper;
+
+	private SelectTranslationCache cache;
+
+	private SelectTranslatorFactory defaultFactory;
+
+	@Before
+	public void before() {
+		cache = new SelectTranslationCache(10);
+		defaultFactory = dataNode.getSelectTranslatorFactory();
+	}
+
+	@After
+	public void after() {
+		dataNode.setSelectTranslatorFactory(defaultFactory);
+	}
+
+	private SelectTranslator translate(ObjectSelect<?> query) throws Exception {
+		SelectTranslator translator = cache.translator(query, dataNode.getAdapter(), dataNode.getEntityResolver());
+		translator.getSql();
+		return translator;
+	}
+
+	@Test
+	public void testRebindParameters() throws Exception {
+		String name1 = "a1";
+		String name2 = "b2";
+
+		SelectTranslator t1 = translate(ObjectSelect.query(Artist.class)
+				.where(Artist.ARTIST_NAME.eq(name1))
+				.orderBy(Artist.DATE_OF_BIRTH.asc()));
+		SelectTranslator t2 = translate(ObjectSelect.query(Artist.class)
+				.where(Artist.ARTIST_NAME.eq(name2))
+				.orderBy(Artist.DATE_OF_BIRTH.asc()));
+
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+
+		assertEquals(t1.getSql(), t2.getSql());
+		assertEquals(t1.getResultColumns().length, t2.getResultColumns().length);
+
+		DbAttributeBinding[] bindings = t2.getBindings();
+		assertEquals(1, bindings.length);
+		assertSame(name2, bindings[0].getValue());
+		assertEquals(1, bindings[0].getStatementPosition());
+		assertEquals("ARTIST_NAME", bindings[0].getAttribute().getName());
+	}
+
+	@Test
+	public void testNullValueChangesShape() throws Exception {
+		SelectTranslator t1 = translate(ObjectSelect.query(Artist.class).where(Artist.ARTIST_NAME.eq("a1")));
+		SelectTranslator t2 = translate(ObjectSelect.query(Artist.class).where(Artist.ARTIST_NAME.isNull()));
+
+		assertEquals(2, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertNotEquals(t1.getSql(), t2.getSql());
+	}
+
+	@Test
+	public void testLimitChangesShape() throws Exception {
+		translate(ObjectSelect.query(Artist.class).where(Artist.ARTIST_NAME.eq("a1")).limit(5));
+		translate(ObjectSelect.query(Artist.class).where(Artist.ARTIST_NAME.eq("a2")).limit(10));
+		translate(ObjectSelect.query(Artist.class).where(Artist.ARTIST_NAME.eq("a3")).limit(10));
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testNotCached_ObjectIdValue() throws Exception {
+		translate(ObjectSelect.query(Painting.class)
+				.where(ExpressionFactory.matchExp(Painting.TO_ARTIST.getName(),
+						ObjectId.of("Artist", Artist.ARTIST_ID_PK_COLUMN, 5))));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testNotCached_SameValueInstance() throws Exception {
+		String name = "a1";
+		translate(ObjectSelect.query(Artist.class)
+				.where(Artist.ARTIST_NAME.eq(name).orExp(Artist.ARTIST_NAME.likeIgnoreCase(name))));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testSelect() throws Exception {
+		TableHelper tArtist = new TableHelper(dbHelper, "ARTIST");
+		tArtist.setColumns("ARTIST_ID", "ARTIST_NAME");
+		tArtist.insert(1, "a1");
+		tArtist.insert(2, "a2");
+		tArtist.insert(3, "b1");
+
+		dataNode.setSelectTranslatorFactory((query, adapter, resolver) ->
+				cache.translator((FluentSelect<?, ?>) query, adapter, resolver));
+
+		List<Artist> artists = ObjectSelect.query(Artist.class)
+				.where(Artist.ARTIST_NAME.like("a%"))
+				.orderBy(Artist.ARTIST_NAME.asc())
+				.select(context);
+		assertEquals(2, artists.size());
+		assertEquals("a2", artists.get(1).getArtistName());
+
+		artists = ObjectSelect.query(Artist.class)
+				.where(Artist.ARTIST_NAME.like("b%"))
+				.orderBy(Artist.ARTIST_NAME.asc())
+				.select(context);
+		assertEquals(1, artists.size());
+		assertEquals("b1", artists.get(0).getArtistName());
+
+		List<String> names = ObjectSelect.columnQuery(Artist.class, Artist.ARTIST_NAME)
+				.where(Artist.ARTIST_NAME.like("a%"))
+				.orderBy(Artist.ARTIST_NAME.desc())
+				.select(context);
+		assertEquals(2, names.size());
+		assertEquals("a2", names.get(0));
+
+		names = ObjectSelect.columnQuery(Artist.class, Artist.ARTIST_NAME)
+				.where(Artist.ARTIST_NAME.like("b%"))
+				.orderBy(Artist.ARTIST_NAME.desc())
+				.select(context);
+		assertEquals(1, names.size());
+		assertEquals("b1", names.get(0));
+
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getHitCount());
+	}
+}
@@ -0,0 +1,81 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.cayenne.ConfigurationException;
+import org.apache.cayenne.configuration.Constants;
+import org.apache.cayenne.configuration.DefaultRuntimeProperties;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MapQueryCacheProviderTest {
+
+    @Test
+    public void testDefaults() {
+        MapQueryCache cache = (MapQueryCache) provider(new HashMap<>()).get();
+
+        assertEquals(QueryCacheWeigher.ENTRY, cache.getWeigher());
+        assertEquals(0, cache.getTtlMs());
+        assertEquals(MapQueryCache.DEFAULT_CACHE_SIZE, cache.getGroupSize("g1"));
+        assertEquals(0, cache.getGroupTtlMs("g1"));
+    }
+
+    @Test
+    public void testGroupSettings() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.QUERY_CACHE_SIZE_PROPERTY, "500");
+        properties.put(Constants.QUERY_CACHE_WEIGHER_PROPERTY, "size");
+        properties.put(Constants.QUERY_CACHE_TTL_PROPERTY, "10000");
+        properties.put(Constants.QUERY_CACHE_GROUP_SIZE_PROPERTY, "g1:100000, g2:20");
+        properties.put(Constants.QUERY_CACHE_GROUP_TTL_PROPERTY, "g2:0,g3:300");
+
+        MapQueryCache cache = (MapQueryCache) provider(properties).get();
+
+        assertEquals(QueryCacheWeigher.SIZE, cache.getWeigher());
+        assertEquals(100000, cache.getGroupSize("g1"));
+        assertEquals(20, cache.getGroupSize("g2"));
+        assertEquals(500, cache.getGroupSize("g3"));
+        assertEquals(10000, cache.getGroupTtlMs("g1"));
+        assertEquals(0, cache.getGroupTtlMs("g2"));
+        assertEquals(300, cache.getGroupTtlMs("g3"));
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidWeigher() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.QUERY_CACHE_WEIGHER_PROPERTY, "rows");
+        provider(properties).get();
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidGroupSize() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Constants.QUERY_CACHE_GROUP_SIZE_PROPERTY, "g1");
+        provider(properties).get();
+    }
+
+    private static MapQueryCacheProvider provider(Map<String, String> properties) {
+        return new MapQueryCacheProvider(new DefaultRuntimeProperties(properties));
+    }
+}
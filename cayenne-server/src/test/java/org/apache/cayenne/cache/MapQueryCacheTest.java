@@ -19,13 +19,26 @@
 package org.apache.cayenne.cache;
 
 import org.apache.cayenne.query.MockQueryMetadata;
+import org.apache.cayenne.query.QueryCacheStrategy;
 import org.apache.cayenne.util.Util;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class MapQueryCacheTest {
 
@@ -47,4 +60,216 @@ public class MapQueryCacheTest {
         assertNotNull(deserialized);
         assertEquals(1, deserialized.size());
     }
+
+    @Test
+    public void testGet_ConcurrentLoadsCollapsed() throws Exception {
+        MapQueryCache cache = new MapQueryCache(5);
+        MockQueryMetadata metadata = metadata("key");
+
+        List<Object> loaded = Collections.singletonList("result");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        QueryCacheEntryFactory factory = () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loaded;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.get(metadata, factory)));
+            }
+
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<List> result : results) {
+                assertSame(loaded, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertSame(loaded, cache.get(metadata));
+    }
+
+    @Test
+    public void testGet_StaleWhileRevalidate() throws Exception {
+        MapQueryCache cache = new MapQueryCache(5, 1);
+        MockQueryMetadata metadata = metadata("key", QueryCacheStrategy.SHARED_CACHE);
+
+        List<Object> stale = Collections.singletonList("stale");
+        List<Object> fresh = Collections.singletonList("fresh");
+        cache.put(metadata, stale);
+        Thread.sleep(10);
+
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        QueryCacheEntryFactory factory = () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return fresh;
+        };
+
+        // stale value is returned while a single refresh is running
+        assertSame(stale, cache.get(metadata, factory));
+        assertSame(stale, cache.get(metadata, factory));
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.get(metadata) != fresh && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertSame(fresh, cache.get(metadata));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testGet_NoRefreshByDefault() throws Exception {
+        MapQueryCache cache = new MapQueryCache(5);
+        MockQueryMetadata metadata = metadata("key");
+
+        List<Object> cached = Collections.singletonList("cached");
+        cache.put(metadata, cached);
+        Thread.sleep(10);
+
+        assertSame(cached, cache.get(metadata, () -> {
+            throw new AssertionError("Unexpected factory call");
+        }));
+        assertTrue(cache.getStaleAfterMs() <= 0);
+    }
+
+    @Test
+    public void testGet_LocalCacheNotRefreshed() throws Exception {
+        MapQueryCache cache = new MapQueryCache(5, 1);
+        MockQueryMetadata metadata = metadata("key", QueryCacheStrategy.LOCAL_CACHE);
+
+        List<Object> cached = Collections.singletonList("cached");
+        cache.put(metadata, cached);
+        Thread.sleep(10);
+
+        assertSame(cached, cache.get(metadata, () -> {
+            throw new AssertionError("Unexpected factory call");
+        }));
+    }
+
+    @Test
+    public void testTtl() throws Exception {
+        MapQueryCache cache = new MapQueryCache(5);
+        cache.setGroupTtlMs("g1", 1);
+        MockQueryMetadata m1 = metadata("key1", "g1");
+        MockQueryMetadata m2 = metadata("key2", "g2");
+
+        List<Object> r1 = Collections.singletonList("r1");
+        List<Object> r2 = Collections.singletonList("r2");
+        cache.put(m1, r1);
+        cache.put(m2, r2);
+        Thread.sleep(10);
+
+        // expired entry is removed on access, the other group has no TTL
+        assertNull(cache.get(m1));
+        assertSame(r2, cache.get(m2));
+        assertEquals(1, cache.size());
+
+        cache.setGroupTtlMs("g1", 60000);
+        cache.put(m1, r1);
+        assertSame(r1, cache.get(m1));
+        assertSame(r1, cache.get(m1, () -> {
+            throw new AssertionError("Unexpected factory call");
+        }));
+    }
+
+    @Test
+    public void testWeigher_Size() {
+        MapQueryCache cache = new MapQueryCache(10);
+        cache.setWeigher(QueryCacheWeigher.SIZE);
+        cache.setGroupSize("g2", 100);
+
+        cache.put(metadata("key1", "g1"), Arrays.asList(1, 2, 3, 4, 5, 6));
+        cache.put(metadata("key2", "g1"), Arrays.asList(1, 2, 3, 4, 5, 6));
+        cache.put(metadata("key1", "g2"), Arrays.asList(1, 2, 3, 4, 5, 6));
+        cache.put(metadata("key2", "g2"), Arrays.asList(1, 2, 3, 4, 5, 6));
+
+        // group "g1" can hold at most 10 objects
+        assertNull(cache.get(metadata("key1", "g1")));
+        assertNotNull(cache.get(metadata("key2", "g1")));
+        assertNotNull(cache.get(metadata("key1", "g2")));
+        assertNotNull(cache.get(metadata("key2", "g2")));
+    }
+
+    @Test
+    public void testWeigher_Bytes() {
+        List<?> small = Collections.singletonList("a");
+        List<?> large = Arrays.asList(new byte[10000], "abcdefghij");
+
+        int smallWeight = QueryCacheWeigher.BYTES.weightOf(small);
+        int largeWeight = QueryCacheWeigher.BYTES.weightOf(large);
+        assertTrue(smallWeight > 0);
+        assertTrue(largeWeight > 10000);
+        assertTrue(QueryCacheWeigher.BYTES.weightOf(Collections.emptyList()) >= 1);
+        assertEquals(1, QueryCacheWeigher.SIZE.weightOf(Collections.emptyList()));
+        assertEquals(1, QueryCacheWeigher.ENTRY.weightOf(large));
+        assertEquals(2, QueryCacheWeigher.SIZE.weightOf(large));
+    }
+
+    @Test
+    public void testSerializability_Ttl() throws Exception {
+        MapQueryCache cache = new MapQueryCache(5);
+        cache.setTtlMs(60000);
+        cache.setWeigher(QueryCacheWeigher.SIZE);
+
+        List<Object> results = new ArrayList<>(Arrays.asList("a", "b"));
+        cache.put(metadata("key"), results);
+
+        MapQueryCache deserialized = (MapQueryCache) Util.cloneViaSerialization(cache);
+        assertEquals(results, deserialized.get(metadata("key")));
+        assertEquals(60000, deserialized.getTtlMs());
+        assertEquals(QueryCacheWeigher.SIZE, deserialized.getWeigher());
+    }
+
+    private static MockQueryMetadata metadata(String key, String group) {
+        return new MockQueryMetadata() {
+
+            @Override
+            public String getCacheKey() {
+                return key;
+            }
+
+            @Override
+            public String getCacheGroup() {
+                return group;
+            }
+        };
+    }
+
+    private static MockQueryMetadata metadata(String key) {
+        return metadata(key, QueryCacheStrategy.SHARED_CACHE);
+    }
+
+    private static MockQueryMetadata metadata(String key, QueryCacheStrategy strategy) {
+        return new MockQueryMetadata() {
+
+            @Override
+            public String getCacheKey() {
+                return key;
+            }
+
+            @Override
+            public QueryCacheStrategy getCacheStrategy() {
+                return strategy;
+            }
+        };
+    }
 }
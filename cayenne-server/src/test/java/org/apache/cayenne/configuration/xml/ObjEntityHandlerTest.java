@@ -57,12 +57,16 @@ public class ObjEntityHandlerTest extends BaseHandlerTest {
         assertEquals("NAME", attribute.getDbAttributeName());
         assertEquals("java.lang.String", attribute.getType());
         assertTrue(attribute.isUsedForLocking());
+        assertFalse(attribute.isLazy());
+        assertNull(attribute.getLazyGroup());
 
         attribute = entity.getAttribute("dateOfBirth");
         assertNotNull(attribute);
         assertNull(attribute.getDbAttributeName());
         assertEquals("java.util.Date", attribute.getType());
         assertFalse(attribute.isUsedForLocking());
+        assertTrue(attribute.isLazy());
+        assertEquals("details", attribute.getLazyGroup());
 
         attribute = entity.getAttribute("embeddable1");
         assertNotNull(attribute);
@@ -0,0 +1,145 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.datasource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ConcurrentConnectionBagTest {
+
+	private ConcurrentConnectionBag bag;
+
+	@Before
+	public void before() {
+		bag = new ConcurrentConnectionBag();
+	}
+
+	@Test
+	public void testOfferPoll() {
+		PoolAwareConnection c1 = mock(PoolAwareConnection.class);
+		PoolAwareConnection c2 = mock(PoolAwareConnection.class);
+
+		assertNull(bag.poll());
+
+		assertTrue(bag.offer(c1));
+		assertTrue(bag.offer(c2));
+		assertEquals(2, bag.size());
+
+		// the last connection returned by this thread is preferred
+		assertSame(c2, bag.poll());
+		assertEquals(1, bag.size());
+		assertSame(c1, bag.poll());
+		assertEquals(0, bag.size());
+		assertNull(bag.poll());
+	}
+
+	@Test
+	public void testOffer_Twice() {
+		PoolAwareConnection c1 = mock(PoolAwareConnection.class);
+
+		assertTrue(bag.offer(c1));
+		assertTrue(bag.offer(c1));
+		assertEquals(1, bag.size());
+
+		assertSame(c1, bag.poll());
+		assertNull(bag.poll());
+	}
+
+	@Test
+	public void testReserve() {
+		PoolAwareConnection c1 = mock(PoolAwareConnection.class);
+		PoolAwareConnection c2 = mock(PoolAwareConnection.class);
+
+		assertFalse(bag.reserve(c1));
+
+		bag.offer(c1);
+		bag.offer(c2);
+
+		assertTrue(bag.reserve(c1));
+		assertFalse(bag.reserve(c1));
+		assertEquals(1, bag.size());
+		assertSame(c2, bag.poll());
+		assertNull(bag.poll());
+	}
+
+	@Test
+	public void testRemove() {
+		PoolAwareConnection c1 = mock(PoolAwareConnection.class);
+
+		bag.offer(c1);
+		assertSame(c1, bag.poll());
+
+		bag.remove(c1);
+		assertEquals(0, bag.size());
+		assertNull(bag.poll());
+	}
+
+	@Test
+	public void testClear() {
+		bag.offer(mock(PoolAwareConnection.class));
+		bag.offer(mock(PoolAwareConnection.class));
+
+		bag.clear();
+		assertEquals(0, bag.size());
+		assertNull(bag.poll());
+	}
+
+	@Test
+	public void testPoll_Timeout() throws Exception {
+		long t0 = System.currentTimeMillis();
+		assertNull(bag.poll(100));
+		assertTrue(System.currentTimeMillis() - t0 >= 100);
+	}
+
+	@Test
+	public void testPoll_Handoff() throws Exception {
+		PoolAwareConnection c1 = mock(PoolAwareConnection.class);
+		bag.offer(c1);
+		assertSame(c1, bag.poll());
+
+		AtomicReference<PoolAwareConnection> received = new AtomicReference<>();
+		CountDownLatch started = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			started.countDown();
+			try {
+				received.set(bag.poll(5000));
+			} catch (InterruptedException e) {
+				// ignore
+			}
+		});
+		waiter.start();
+		started.await();
+
+		assertTrue(bag.offer(c1));
+		waiter.join(5000);
+
+		assertFalse(waiter.isAlive());
+		assertSame(c1, received.get());
+	}
+}
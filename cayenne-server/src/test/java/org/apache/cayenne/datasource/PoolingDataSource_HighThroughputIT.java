@@ -0,0 +1,101 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.datasource;
+
+import java.sql.Connection;
+
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs {@link PoolingDataSourceIT} tests against a high-throughput pool.
+ */
+@UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
+public class PoolingDataSource_HighThroughputIT extends PoolingDataSourceIT {
+
+	@Override
+	protected PoolingDataSourceParameters createParameters() {
+		PoolingDataSourceParameters params = super.createParameters();
+		params.setHighThroughput(true);
+		params.setValidationQuery("SELECT count(1) FROM ARTIST");
+		return params;
+	}
+
+	@Test
+	public void testGetConnection_ThreadAffinity() throws Exception {
+		assertTrue(dataSource.isHighThroughput());
+
+		Connection c1 = dataSource.getConnection();
+		c1.close();
+
+		// the same thread should get the connection it just returned
+		Connection c2 = dataSource.getConnection();
+		assertSame(c1, c2);
+		c2.close();
+	}
+
+	@Test
+	public void testMetrics() throws Exception {
+		PoolingDataSourceMetrics metrics = dataSource.getMetrics();
+		assertEquals(2, metrics.getCreatedCount());
+
+		for (int i = 0; i < 5; i++) {
+			dataSource.getConnection().close();
+		}
+
+		assertEquals(5, metrics.getWaitTime().getCount());
+		assertEquals(5, metrics.getUsageTime().getCount());
+		assertEquals(0, metrics.getTimeoutCount());
+	}
+
+	@Test
+	public void testValidateIdle() throws Exception {
+		assertEquals(2, dataSource.availableSize());
+
+		dataSource.validateIdle();
+
+		assertEquals(2, dataSource.poolSize());
+		assertEquals(2, dataSource.availableSize());
+	}
+
+	@Test
+	public void testValidateIdle_BrokenConnection() throws Exception {
+		PoolAwareConnection c1 = (PoolAwareConnection) dataSource.getConnection();
+		PoolAwareConnection c2 = (PoolAwareConnection) dataSource.getConnection();
+
+		// break the connection that is not the first one to be polled by this thread
+		c2.getConnection().close();
+		c2.close();
+		c1.close();
+
+		dataSource.validateIdle();
+
+		assertEquals(1, dataSource.poolSize());
+		assertEquals(1, dataSource.availableSize());
+
+		Connection c3 = dataSource.getConnection();
+		assertSame(c1, c3);
+		c3.close();
+	}
+}
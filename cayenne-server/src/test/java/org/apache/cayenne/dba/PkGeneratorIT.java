@@ -20,20 +20,31 @@
 package org.apache.cayenne.dba;
 
 import org.apache.cayenne.access.DataNode;
+import org.apache.cayenne.configuration.server.ServerRuntime;
 import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.map.DbAttribute;
 import org.apache.cayenne.map.DbEntity;
+import org.apache.cayenne.tx.BaseTransaction;
+import org.apache.cayenne.tx.Transaction;
 import org.apache.cayenne.unit.UnitDbAdapter;
 import org.apache.cayenne.unit.di.server.CayenneProjects;
 import org.apache.cayenne.unit.di.server.ServerCase;
 import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.apache.cayenne.util.ThreadBinding;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 @UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
@@ -45,6 +56,9 @@ public class PkGeneratorIT extends ServerCase {
     @Inject
     private DataNode node;
 
+    @Inject
+    private ServerRuntime runtime;
+
     private PkGenerator pkGenerator;
     private DbEntity paintingEntity;
 
@@ -88,4 +102,87 @@ public class PkGeneratorIT extends ServerCase {
             pkList.add(pk);
         }
     }
+
+    @Test
+    public void testGeneratePkForDbEntity_Prefetch() throws Exception {
+        if (!(pkGenerator instanceof JdbcPkGenerator)) {
+            return;
+        }
+
+        JdbcPkGenerator jdbcPkGenerator = (JdbcPkGenerator) pkGenerator;
+        assertFalse(jdbcPkGenerator.isPkPrefetch());
+
+        jdbcPkGenerator.setPkPrefetch(true);
+        try {
+            Set<Object> pks = new HashSet<>();
+            int testSize = Math.max(jdbcPkGenerator.getPkCacheSize() * 10, 100);
+            for (int i = 0; i < testSize; i++) {
+                Object pk = pkGenerator.generatePk(node, paintingEntity.getPrimaryKeys().iterator().next());
+                assertNotNull(pk);
+
+                // keys may not be continuous when fetched in the background, but still must be unique
+                assertTrue(pks.add(pk));
+            }
+        } finally {
+            jdbcPkGenerator.setPkPrefetch(false);
+            jdbcPkGenerator.reset();
+        }
+    }
+
+    @Test
+    public void testGeneratePkForDbEntity_PrefetchInSeparateTransaction() throws Exception {
+        if (!(pkGenerator instanceof JdbcPkGenerator)) {
+            return;
+        }
+
+        // an inheritable binding is the worst case, as the prefetch thread is started from the commit thread
+        ThreadBinding<Transaction> defaultBinding = BaseTransaction.getThreadBinding();
+        BaseTransaction.setThreadBinding(ThreadBinding.inheritableThreadLocal());
+
+        RecordingPkGenerator generator = new RecordingPkGenerator(((JdbcPkGenerator) pkGenerator).getAdapter());
+        generator.setPkPrefetch(true);
+        try {
+            DbAttribute pk = paintingEntity.getPrimaryKeys().iterator().next();
+
+            // consume enough keys to trigger the prefetch, but not to exhaust the first range
+            Transaction commitTransaction = runtime.performInTransaction(() -> {
+                for (int i = 0; i < generator.getPkCacheSize() * 3 / 4; i++) {
+                    try {
+                        generator.generatePk(node, pk);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return BaseTransaction.getThreadTransaction();
+            });
+
+            assertTrue(generator.prefetched.await(5, TimeUnit.SECONDS));
+            assertNotNull(generator.prefetchTransaction);
+            assertNotSame(commitTransaction, generator.prefetchTransaction);
+        } finally {
+            generator.shutdown();
+            BaseTransaction.setThreadBinding(defaultBinding);
+        }
+    }
+
+    static class RecordingPkGenerator extends JdbcPkGenerator {
+
+        final CountDownLatch prefetched = new CountDownLatch(1);
+        final Thread callerThread = Thread.currentThread();
+        volatile Transaction prefetchTransaction;
+
+        RecordingPkGenerator(JdbcAdapter adapter) {
+            super(adapter);
+        }
+
+        @Override
+        protected long longPkFromDatabase(DataNode node, DbEntity entity) throws Exception {
+            long pk = super.longPkFromDatabase(node, entity);
+            if (Thread.currentThread() != callerThread) {
+                prefetchTransaction = BaseTransaction.getThreadTransaction();
+                prefetched.countDown();
+            }
+            return pk;
+        }
+    }
 }
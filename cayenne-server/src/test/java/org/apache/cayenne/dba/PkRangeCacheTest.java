@@ -0,0 +1,120 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.dba;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PkRangeCacheTest {
+
+    @Test
+    public void testNext_Empty() {
+        PkRangeCache cache = new PkRangeCache(20, 4);
+        assertEquals(PkRangeCache.EMPTY, cache.next());
+        assertEquals(0, cache.available());
+    }
+
+    @Test
+    public void testNext() {
+        PkRangeCache cache = new PkRangeCache(3, 4);
+        cache.addRange(200, 203);
+        cache.addRange(500, 503);
+        assertEquals(6, cache.available());
+
+        assertEquals(200, cache.next());
+        assertEquals(201, cache.next());
+        assertEquals(202, cache.next());
+        assertEquals(500, cache.next());
+        assertEquals(2, cache.available());
+        assertEquals(501, cache.next());
+        assertEquals(502, cache.next());
+        assertEquals(PkRangeCache.EMPTY, cache.next());
+    }
+
+    @Test
+    public void testAddRange_Grow() {
+        PkRangeCache cache = new PkRangeCache(2, 1);
+        for (int i = 0; i < 10; i++) {
+            cache.addRange(i * 10, i * 10 + 2);
+        }
+        assertEquals(20, cache.available());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 10, cache.next());
+            assertEquals(i * 10 + 1, cache.next());
+        }
+        assertEquals(PkRangeCache.EMPTY, cache.next());
+    }
+
+    @Test
+    public void testAddRange_EmptyRange() {
+        PkRangeCache cache = new PkRangeCache(1, 4);
+        cache.addRange(201, 201);
+        assertEquals(0, cache.available());
+        assertEquals(PkRangeCache.EMPTY, cache.next());
+    }
+
+    @Test
+    public void testStartRefill() {
+        PkRangeCache cache = new PkRangeCache(20, 2);
+
+        // nothing available, refill is needed
+        assertTrue(cache.startRefill());
+
+        // only one refill at a time
+        assertFalse(cache.startRefill());
+        cache.addRange(200, 220);
+        cache.refillDone();
+
+        // above the low watermark of a half of a block
+        assertFalse(cache.startRefill());
+
+        for (int i = 0; i < 10; i++) {
+            cache.next();
+        }
+        assertTrue(cache.startRefill());
+        cache.addRange(220, 240);
+        cache.addRange(240, 260);
+        cache.refillDone();
+
+        // max ranges ahead are already queued
+        for (int i = 0; i < 10; i++) {
+            cache.next();
+        }
+        assertFalse(cache.startRefill());
+    }
+
+    @Test
+    public void testLowWatermark() {
+        PkRangeCache cache = new PkRangeCache(20, 4);
+        assertEquals(10, cache.lowWatermark());
+
+        // very slow database, the watermark is capped by the max number of ranges ahead
+        cache.recordFetchLatency(Long.MAX_VALUE / 4);
+        cache.addRange(0, 20);
+        cache.addRange(20, 40);
+        for (int i = 0; i < 21; i++) {
+            cache.next();
+        }
+        assertEquals(80, cache.lowWatermark());
+    }
+}
@@ -0,0 +1,81 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.dba.mysql;
+
+import org.apache.cayenne.access.sqlbuilder.SQLGenerationVisitor;
+import org.apache.cayenne.access.sqlbuilder.StringBuilderAppendable;
+import org.apache.cayenne.access.sqlbuilder.sqltree.Node;
+import org.apache.cayenne.map.DbAttribute;
+import org.junit.Test;
+
+import java.sql.Types;
+
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.column;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.delete;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.select;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.table;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.update;
+import static org.apache.cayenne.access.sqlbuilder.SQLBuilder.value;
+import static org.junit.Assert.assertEquals;
+
+public class MySQLTreeProcessorTest {
+
+    private static final DbAttribute ID = new DbAttribute("id", Types.INTEGER, null);
+    private static final DbAttribute NAME = new DbAttribute("name", Types.VARCHAR, null);
+
+    @Test
+    public void testDeleteWithSubquery() {
+        Node node = delete("t")
+                .where(column("id").attribute(ID).in(select(column("id").attribute(ID))
+                        .from(table("t").as("t0"))
+                        .where(column("name").attribute(NAME).eq(value("a").attribute(NAME)))))
+                .build();
+
+        assertEquals("DELETE FROM t WHERE id IN (SELECT * FROM (SELECT id FROM t t0 WHERE name = 'a') bulk_ids)",
+                toSQL(MySQLTreeProcessor.getInstance().process(node)));
+    }
+
+    @Test
+    public void testUpdateWithSubquery() {
+        Node node = update("t")
+                .set(column("name").attribute(NAME).eq(value("b").attribute(NAME)))
+                .where(column("id").attribute(ID).in(select(column("id").attribute(ID)).from(table("t").as("t0"))))
+                .build();
+
+        assertEquals("UPDATE t SET name = 'b' WHERE id IN (SELECT * FROM (SELECT id FROM t t0) bulk_ids)",
+                toSQL(MySQLTreeProcessor.getInstance().process(node)));
+    }
+
+    @Test
+    public void testSelectWithSubquery_NotWrapped() {
+        Node node = select(column("id").attribute(ID))
+                .from(table("t"))
+                .where(column("id").attribute(ID).in(select(column("id").attribute(ID)).from(table("t2"))))
+                .build();
+
+        assertEquals("SELECT id FROM t WHERE id IN (SELECT id FROM t2)",
+                toSQL(MySQLTreeProcessor.getInstance().process(node)));
+    }
+
+    private static String toSQL(Node node) {
+        SQLGenerationVisitor visitor = new SQLGenerationVisitor(new StringBuilderAppendable());
+        node.visit(visitor);
+        return visitor.getSQLString();
+    }
+}
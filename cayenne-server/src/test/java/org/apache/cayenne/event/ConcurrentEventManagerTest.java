@@ -0,0 +1,230 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.event;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentEventManagerTest {
+
+    private ConcurrentEventManager eventManager;
+
+    @Before
+    public void setUp() {
+        eventManager = new ConcurrentEventManager();
+    }
+
+    @After
+    public void tearDown() {
+        eventManager.shutdown();
+    }
+
+    @Test
+    public void testPostEvent() {
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener1 = new Listener(0);
+        Listener listener2 = new Listener(0);
+
+        eventManager.addListener(listener1, "seeNotification", CayenneEvent.class, subject);
+        eventManager.addListener(listener2, "seeNotification", CayenneEvent.class, subject, this);
+        eventManager.addListener(listener2, "seeNotification", CayenneEvent.class, subject, "other");
+
+        eventManager.postEvent(new CayenneEvent(this), subject);
+
+        assertEquals(1, listener1.received.size());
+        assertEquals(1, listener2.received.size());
+    }
+
+    @Test
+    public void testPostEvent_DuplicateListener() {
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener = new Listener(0);
+
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject);
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject);
+
+        eventManager.postEvent(new CayenneEvent(this), subject);
+        assertEquals(1, listener.received.size());
+    }
+
+    @Test
+    public void testPostEvent_WrongEventClass() {
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener = new Listener(0);
+
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject);
+
+        // incompatible event causes listener removal
+        eventManager.postEvent(new EventObject(this), subject);
+        assertFalse(eventManager.removeListener(listener));
+    }
+
+    @Test
+    public void testNonBlockingListener() throws Exception {
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener = new Listener(100);
+
+        eventManager.addNonBlockingListener(listener, "seeNotification", CayenneEvent.class, subject);
+
+        List<CayenneEvent> posted = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            CayenneEvent event = new CayenneEvent(this);
+            posted.add(event);
+            eventManager.postEvent(event, subject);
+        }
+
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+
+        // events of the same subject must be delivered in order
+        assertEquals(posted, listener.received);
+    }
+
+    @Test
+    public void testPostNonBlockingEvent() throws Exception {
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener = new Listener(1);
+
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject);
+        eventManager.postNonBlockingEvent(new CayenneEvent(this), subject);
+
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertFalse(listener.threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void testCustomExecutor() throws Exception {
+        List<Runnable> tasks = Collections.synchronizedList(new ArrayList<>());
+        ConcurrentEventManager manager = new ConcurrentEventManager(tasks::add);
+
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener = new Listener(1);
+        manager.addNonBlockingListener(listener, "seeNotification", CayenneEvent.class, subject);
+
+        manager.postEvent(new CayenneEvent(this), subject);
+        manager.postEvent(new CayenneEvent(this), subject);
+
+        // both events are drained by a single task
+        assertEquals(1, tasks.size());
+        assertEquals(0, listener.received.size());
+
+        tasks.get(0).run();
+        assertEquals(2, listener.received.size());
+    }
+
+    @Test
+    public void testSingleThreaded() {
+        ConcurrentEventManager manager = new ConcurrentEventManager(0);
+        assertTrue(manager.isSingleThreaded());
+
+        try {
+            manager.addNonBlockingListener(new Listener(0), "seeNotification", CayenneEvent.class,
+                    EventSubject.getSubject(getClass(), "XXX"));
+            fail("Non-blocking listeners are not allowed in single-threaded mode");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRemoveListener() {
+        EventSubject subject1 = EventSubject.getSubject(getClass(), "XXX1");
+        EventSubject subject2 = EventSubject.getSubject(getClass(), "XXX2");
+        Listener listener = new Listener(0);
+
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject1);
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject2, this);
+
+        assertFalse(eventManager.removeListener(listener, subject2, "foo"));
+        assertTrue(eventManager.removeListener(listener, subject2, this));
+        assertTrue(eventManager.removeListener(listener));
+        assertFalse(eventManager.removeListener(listener));
+
+        eventManager.postEvent(new CayenneEvent(this), subject1);
+        eventManager.postEvent(new CayenneEvent(this), subject2);
+        assertEquals(0, listener.received.size());
+    }
+
+    @Test
+    public void testRemoveAllListeners() {
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener = new Listener(0);
+
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject);
+        assertTrue(eventManager.removeAllListeners(subject));
+        assertFalse(eventManager.removeAllListeners(subject));
+        assertFalse(eventManager.removeListener(listener));
+    }
+
+    @Test
+    public void testSenderReferencedWeakly() throws Exception {
+        EventSubject subject = EventSubject.getSubject(getClass(), "XXX");
+        Listener listener = new Listener(0);
+
+        Object sender = new Object();
+        WeakReference<Object> senderRef = new WeakReference<>(sender);
+        eventManager.addListener(listener, "seeNotification", CayenneEvent.class, subject, sender);
+
+        eventManager.postEvent(new CayenneEvent(sender), subject);
+        assertEquals(1, listener.received.size());
+
+        listener.received.clear();
+        sender = null;
+        for (int i = 0; i < 10 && senderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull(senderRef.get());
+
+        // triggers cleanup of the released sender
+        eventManager.postEvent(new CayenneEvent(this), subject);
+        assertFalse(eventManager.removeListener(listener));
+    }
+
+    public static class Listener {
+
+        final List<CayenneEvent> received = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch;
+
+        Listener(int expectedEvents) {
+            this.latch = new CountDownLatch(expectedEvents);
+        }
+
+        public void seeNotification(CayenneEvent event) {
+            received.add(event);
+            threads.add(Thread.currentThread());
+            latch.countDown();
+        }
+    }
+}
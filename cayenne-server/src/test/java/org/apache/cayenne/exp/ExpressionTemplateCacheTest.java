@@ -0,0 +1,124 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.exp;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.cayenne.exp.parser.ASTEnum;
+import org.apache.cayenne.exp.parser.ASTEqual;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExpressionTemplateCacheTest {
+
+    @Test
+    public void testGet_ParsesOnce() {
+        ExpressionTemplateCache cache = new ExpressionTemplateCache(10, 100);
+        AtomicInteger parseCount = new AtomicInteger();
+        Function<String, Expression> parser = s -> {
+            parseCount.incrementAndGet();
+            return ExpressionFactory.exp(s);
+        };
+
+        Expression e1 = cache.get("a = $x", parser);
+        Expression e2 = cache.get("a = $x", parser);
+        Expression e3 = cache.get("b = $x", parser);
+
+        assertEquals(2, parseCount.get());
+        assertEquals(2, cache.size());
+        assertNotSame(e1, e2);
+        assertEquals(e1, e2);
+        assertEquals("b = $x", e3.toString());
+    }
+
+    @Test
+    public void testGet_LongStringNotCached() {
+        ExpressionTemplateCache cache = new ExpressionTemplateCache(10, 5);
+        cache.get("abc = 1", ExpressionFactory::exp);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testGet_Capacity() {
+        ExpressionTemplateCache cache = new ExpressionTemplateCache(2, 100);
+        for (int i = 0; i < 5; i++) {
+            cache.get("a = " + i, ExpressionFactory::exp);
+        }
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testCopy() {
+        String[] expressions = {
+                "a = 'x' and (b.c > 5 or db:d like 'y%')",
+                "not (a in ('x', 'y', $z))",
+                "a between $lo and $hi",
+                "upper(a.b) = 'X' and length(c) > 2",
+                "a + 2 * b > -c",
+                "a.b+.c = null",
+                "x = enum:org.apache.cayenne.exp.ExpEnum1.ONE"
+        };
+
+        for (String string : expressions) {
+            Expression parsed = ExpressionFactory.exp(string);
+            Expression copy = ExpressionTemplateCache.copy(parsed);
+
+            assertNotSame(parsed, copy);
+            assertEquals(string, parsed, copy);
+            assertEquals(string, parsed.toString(), copy.toString());
+        }
+    }
+
+    @Test
+    public void testCopy_PreservesEnum() {
+        Expression parsed = ExpressionFactory.exp("x = enum:org.apache.cayenne.exp.ExpEnum1.ONE");
+        Expression copy = ExpressionTemplateCache.copy(parsed);
+
+        ASTEqual equal = (ASTEqual) copy;
+        assertTrue(equal.jjtGetChild(1) instanceof ASTEnum);
+        assertSame(ExpEnum1.ONE, equal.getOperand(1));
+    }
+
+    @Test
+    public void testExp_BindsCopies() {
+        Expression e1 = ExpressionFactory.exp("a = $x and b in ($y, $z)", 1, 2, 3);
+        Expression e2 = ExpressionFactory.exp("a = $x and b in ($y, $z)", "p", "q", "r");
+        Expression e3 = ExpressionFactory.exp("a = $x and b in ($y, $z)");
+
+        assertEquals("(a = 1) and (b in (2, 3))", e1.toString());
+        assertEquals("(a = \"p\") and (b in (\"q\", \"r\"))", e2.toString());
+        assertEquals("(a = $x) and (b in ($y, $z))", e3.toString());
+    }
+
+    @Test
+    public void testExp_ResultIsIndependent() {
+        Expression e1 = ExpressionFactory.exp("a = $x", 1);
+        e1.setOperand(1, 5);
+
+        Expression e2 = ExpressionFactory.exp("a = $x", 2);
+        assertEquals("a = 2", e2.toString());
+        assertEquals("a = $x", ExpressionFactory.exp("a = $x").toString());
+    }
+}
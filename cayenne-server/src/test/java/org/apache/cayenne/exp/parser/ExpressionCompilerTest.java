@@ -0,0 +1,173 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.exp.parser;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.cayenne.exp.CompiledExpression;
+import org.apache.cayenne.exp.Expression;
+import org.apache.cayenne.exp.ExpressionException;
+import org.apache.cayenne.testdo.testmap.Artist;
+import org.apache.cayenne.testdo.testmap.Painting;
+import org.apache.cayenne.unit.util.TstBean;
+import org.junit.Test;
+
+import static org.apache.cayenne.exp.ExpressionFactory.exp;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ExpressionCompilerTest {
+
+	@Test
+	public void testEvaluate_DataObjects() {
+		Artist a1 = artist("a1", "p1", "p2");
+		Artist a2 = artist("B2", "p3");
+		Artist a3 = artist(null);
+		List<Object> objects = Arrays.asList(a1, a2, a3);
+
+		assertSameResults(objects, "artistName = 'a1'");
+		assertSameResults(objects, "artistName like 'a%'");
+		assertSameResults(objects, "artistName likeIgnoreCase 'b%'");
+		assertSameResults(objects, "artistName in ('a1', 'B2')");
+		assertSameResults(objects, "artistName != null and artistName <> 'a1'");
+		assertSameResults(objects, "artistName = 'a1' or artistName = 'x'");
+		assertSameResults(objects, "not (artistName = 'a1')");
+		assertSameResults(objects, "upper(artistName) = 'B2'");
+		assertSameResults(objects, "length(artistName) > 1");
+		assertSameResults(objects, "artistName");
+		assertSameResults(objects, "paintingArray.paintingTitle = 'p3'");
+		assertSameResults(objects, "paintingArray+.paintingTitle in ('p1', 'p3')");
+		assertSameResults(objects, "paintingArray.paintingTitle");
+		assertSameResults(objects, "paintingArray.estimatedPrice > 1");
+	}
+
+	@Test
+	public void testEvaluate_ToOne() {
+		Artist a1 = artist("a1", "p1", "p2");
+		Artist a2 = artist("a2", "p3");
+		List<Object> objects = new ArrayList<>(a1.getPaintingArray());
+		objects.addAll(a2.getPaintingArray());
+		objects.add(new Painting());
+
+		assertSameResults(objects, "toArtist.artistName = 'a2'");
+		assertSameResults(objects, "toArtist+.artistName like 'a%'");
+		assertSameResults(objects, "toArtist.paintingArray.paintingTitle = 'p2'");
+		assertSameResults(objects, "estimatedPrice * 2 > 3");
+		assertSameResults(objects, "estimatedPrice between 1 and 2");
+		assertSameResults(objects, "toArtist = null");
+	}
+
+	@Test
+	public void testEvaluate_JavaBeans() {
+		TstBean b1 = new TstBean("a", 1);
+		TstBean b2 = new TstBean("b", 2);
+		b2.setRelatedBean(b1);
+		TstBean b3 = new TstBean(null, 3);
+		b3.setRelatedBean(b2);
+		List<Object> objects = Arrays.asList(b1, b2, b3);
+
+		assertSameResults(objects, "string = 'a'");
+		assertSameResults(objects, "integer >= 2 and string != null");
+		assertSameResults(objects, "relatedBean.string = 'a'");
+		assertSameResults(objects, "relatedBean.relatedBean.integer");
+		assertSameResults(objects, "relatedBean+.integer + integer");
+	}
+
+	@Test
+	public void testEvaluate_MixedTypes() {
+		List<Object> objects = Arrays.asList(artist("a"), new TstBean("a", 1), artist("b"), new TstBean("b", 2));
+
+		CompiledExpression compiled = exp("artistName = 'a'").compile();
+		assertTrue(compiled.match(objects.get(0)));
+		assertFalse(compiled.match(objects.get(2)));
+
+		compiled = exp("string = 'b'").compile();
+		assertTrue(compiled.match(objects.get(3)));
+		assertFalse(compiled.match(objects.get(1)));
+	}
+
+	@Test
+	public void testCompile_CopiesExpression() {
+		Expression e = exp("artistName = 'a1'");
+		CompiledExpression compiled = e.compile();
+
+		e.setOperand(1, "a2");
+		assertTrue(compiled.match(artist("a1")));
+		assertFalse(compiled.match(artist("a2")));
+	}
+
+	@Test
+	public void testEvaluate_Exception() {
+		CompiledExpression compiled = exp("noSuchProperty = 'a'").compile();
+		try {
+			compiled.evaluate(new TstBean("a", 1));
+			fail("Evaluating a missing property must throw");
+		} catch (ExpressionException e) {
+			assertTrue(e.getMessage().contains("noSuchProperty"));
+		}
+	}
+
+	@Test
+	public void testFilterObjects() {
+		Artist a1 = artist("a1");
+		Artist a2 = artist("a2");
+		Artist b1 = artist("b1");
+		List<Artist> artists = Arrays.asList(a1, b1, a2);
+
+		CompiledExpression compiled = Artist.ARTIST_NAME.like("a%").compile();
+		assertEquals(Arrays.asList(a1, a2), compiled.filterObjects(artists));
+		assertEquals(a1, compiled.first(artists));
+		assertEquals(Arrays.asList(a1, a2), artists.stream().filter(compiled).collect(Collectors.toList()));
+		assertNull(Artist.ARTIST_NAME.like("c%").compile().first(artists));
+	}
+
+	private static void assertSameResults(List<Object> objects, String expression) {
+		Expression e = exp(expression);
+		CompiledExpression compiled = e.compile();
+
+		for (Object o : objects) {
+			assertEquals(expression + " for " + o, e.evaluate(o), compiled.evaluate(o));
+		}
+	}
+
+	private static Artist artist(String name, String... paintings) {
+		Artist artist = new Artist();
+		artist.setArtistName(name);
+
+		// no context to maintain reverse relationships, so set both sides directly
+		List<Painting> paintingArray = new ArrayList<>();
+		for (int i = 0; i < paintings.length; i++) {
+			Painting painting = new Painting();
+			painting.setPaintingTitle(paintings[i]);
+			painting.setEstimatedPrice(new BigDecimal(i + 1));
+			painting.writePropertyDirectly(Painting.TO_ARTIST.getName(), artist);
+			paintingArray.add(painting);
+		}
+		artist.writePropertyDirectly(Artist.PAINTING_ARRAY.getName(), paintingArray);
+
+		return artist;
+	}
+}
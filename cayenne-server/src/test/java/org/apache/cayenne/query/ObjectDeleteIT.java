@@ -0,0 +1,129 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.query;
+
+import java.math.BigDecimal;
+
+import org.apache.cayenne.Cayenne;
+import org.apache.cayenne.PersistenceState;
+import org.apache.cayenne.access.DataContext;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.test.jdbc.DBHelper;
+import org.apache.cayenne.test.jdbc.TableHelper;
+import org.apache.cayenne.testdo.testmap.Artist;
+import org.apache.cayenne.testdo.testmap.Painting;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
+public class ObjectDeleteIT extends ServerCase {
+
+    @Inject
+    private DataContext context;
+
+    @Inject
+    private DBHelper dbHelper;
+
+    private TableHelper tArtist;
+    private TableHelper tPainting;
+
+    @Before
+    public void createDataSet() throws Exception {
+        tArtist = new TableHelper(dbHelper, "ARTIST");
+        tArtist.setColumns("ARTIST_ID", "ARTIST_NAME");
+        tArtist.insert(1, "a1");
+        tArtist.insert(2, "a2");
+        tArtist.insert(3, "b3");
+
+        tPainting = new TableHelper(dbHelper, "PAINTING");
+        tPainting.setColumns("PAINTING_ID", "PAINTING_TITLE", "ARTIST_ID", "ESTIMATED_PRICE");
+        for (int i = 1; i <= 6; i++) {
+            tPainting.insert(i, "p" + i, i % 2 + 1, i * 10);
+        }
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        int deleted = ObjectDelete.query(Artist.class)
+                .where(Artist.ARTIST_NAME.like("b%"))
+                .execute(context);
+
+        assertEquals(1, deleted);
+        assertEquals(2, tArtist.getRowCount());
+    }
+
+    @Test
+    public void testDelete_NoQualifier() throws Exception {
+        int deleted = ObjectDelete.query(Painting.class).execute(context);
+
+        assertEquals(6, deleted);
+        assertEquals(0, tPainting.getRowCount());
+    }
+
+    @Test
+    public void testDelete_JoinQualifier() throws Exception {
+        int deleted = ObjectDelete.query(Painting.class)
+                .where(Painting.TO_ARTIST.dot(Artist.ARTIST_NAME).eq("a1"))
+                .and(Painting.ESTIMATED_PRICE.gt(new BigDecimal(20)))
+                .execute(context);
+
+        assertEquals(2, deleted);
+        assertEquals(4, tPainting.getRowCount());
+    }
+
+    @Test
+    public void testDelete_StringQualifier() throws Exception {
+        int deleted = ObjectDelete.query("Painting")
+                .where("paintingTitle in ($t1, $t2)", "p1", "p2")
+                .execute(context);
+
+        assertEquals(2, deleted);
+        assertEquals(4, tPainting.getRowCount());
+    }
+
+    @Test
+    public void testDelete_InvalidatesContextObjects() {
+        Artist a3 = Cayenne.objectForPK(context, Artist.class, 3);
+        assertEquals(PersistenceState.COMMITTED, a3.getPersistenceState());
+
+        ObjectDelete.query(Artist.class).where(Artist.ARTIST_NAME.eq("b3")).execute(context);
+
+        assertEquals(PersistenceState.HOLLOW, a3.getPersistenceState());
+        assertNull(ObjectSelect.query(Artist.class, Artist.ARTIST_NAME.eq("b3")).selectOne(context));
+    }
+
+    @Test
+    public void testDelete_InvalidatesCacheGroups() {
+        ObjectSelect<Artist> cachedQuery = ObjectSelect.query(Artist.class).localCache("artists");
+        assertEquals(3, cachedQuery.select(context).size());
+
+        ObjectDelete.query(Artist.class)
+                .where(Artist.ARTIST_NAME.eq("b3"))
+                .invalidateCacheGroups("artists")
+                .execute(context);
+        assertEquals(2, cachedQuery.select(context).size());
+    }
+}
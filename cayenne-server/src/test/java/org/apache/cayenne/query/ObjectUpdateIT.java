@@ -0,0 +1,272 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.query;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.apache.cayenne.Cayenne;
+import org.apache.cayenne.ObjectContext;
+import org.apache.cayenne.ObjectId;
+import org.apache.cayenne.PersistenceState;
+import org.apache.cayenne.access.DataContext;
+import org.apache.cayenne.configuration.server.ServerRuntime;
+import org.apache.cayenne.di.Inject;
+import org.apache.cayenne.exp.ExpressionFactory;
+import org.apache.cayenne.exp.property.PropertyFactory;
+import org.apache.cayenne.test.jdbc.DBHelper;
+import org.apache.cayenne.test.jdbc.TableHelper;
+import org.apache.cayenne.testdo.testmap.Artist;
+import org.apache.cayenne.testdo.testmap.Gallery;
+import org.apache.cayenne.testdo.testmap.Painting;
+import org.apache.cayenne.unit.di.server.CayenneProjects;
+import org.apache.cayenne.unit.di.server.ServerCase;
+import org.apache.cayenne.unit.di.server.UseServerRuntime;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+@UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
+public class ObjectUpdateIT extends ServerCase {
+
+    @Inject
+    private DataContext context;
+
+    @Inject
+    private ServerRuntime runtime;
+
+    @Inject
+    private DBHelper dbHelper;
+
+    @Before
+    public void createDataSet() throws Exception {
+        TableHelper tArtist = new TableHelper(dbHelper, "ARTIST");
+        tArtist.setColumns("ARTIST_ID", "ARTIST_NAME");
+        tArtist.insert(1, "a1");
+        tArtist.insert(2, "a2");
+
+        TableHelper tGallery = new TableHelper(dbHelper, "GALLERY");
+        tGallery.setColumns("GALLERY_ID", "GALLERY_NAME");
+        tGallery.insert(1, "g1");
+        tGallery.insert(2, "g2");
+
+        TableHelper tPainting = new TableHelper(dbHelper, "PAINTING");
+        tPainting.setColumns("PAINTING_ID", "PAINTING_TITLE", "ARTIST_ID", "GALLERY_ID", "ESTIMATED_PRICE");
+        for (int i = 1; i <= 6; i++) {
+            tPainting.insert(i, "p" + i, i % 2 + 1, 1, i * 10);
+        }
+    }
+
+    @Test
+    public void testUpdate() {
+        int updated = ObjectUpdate.query(Painting.class)
+                .where(Painting.ESTIMATED_PRICE.gt(new BigDecimal(30)))
+                .set(Painting.PAINTING_DESCRIPTION, "expensive")
+                .execute(context);
+        assertEquals(3, updated);
+
+        List<Painting> paintings = ObjectSelect.query(Painting.class)
+                .where(Painting.PAINTING_DESCRIPTION.eq("expensive"))
+                .orderBy(Painting.PAINTING_ID_PK_PROPERTY.asc())
+                .select(runtime.newContext());
+        assertEquals(3, paintings.size());
+        assertEquals("p4", paintings.get(0).getPaintingTitle());
+    }
+
+    @Test
+    public void testUpdate_NoQualifier() {
+        int updated = ObjectUpdate.query(Painting.class)
+                .set(Painting.PAINTING_DESCRIPTION, "d")
+                .set(Painting.ESTIMATED_PRICE, null)
+                .execute(context);
+        assertEquals(6, updated);
+
+        assertEquals(6, ObjectSelect.query(Painting.class)
+                .where(Painting.PAINTING_DESCRIPTION.eq("d"))
+                .and(Painting.ESTIMATED_PRICE.isNull())
+                .selectCount(runtime.newContext()));
+    }
+
+    @Test
+    public void testUpdate_JoinQualifier() {
+        int updated = ObjectUpdate.query(Painting.class)
+                .where(Painting.TO_ARTIST.dot(Artist.ARTIST_NAME).eq("a2"))
+                .set(Painting.PAINTING_DESCRIPTION, "by a2")
+                .execute(context);
+        assertEquals(3, updated);
+
+        assertEquals(3, ObjectSelect.query(Painting.class)
+                .where(Painting.PAINTING_DESCRIPTION.eq("by a2"))
+                .and(Painting.TO_ARTIST.dot(Artist.ARTIST_NAME).eq("a2"))
+                .selectCount(runtime.newContext()));
+    }
+
+    @Test
+    public void testUpdate_ToOne() {
+        Gallery g2 = Cayenne.objectForPK(context, Gallery.class, 2);
+
+        int updated = ObjectUpdate.query(Painting.class)
+                .where(Painting.PAINTING_TITLE.in("p1", "p2"))
+                .set(Painting.TO_GALLERY, g2)
+                .set(Painting.TO_ARTIST, null)
+                .execute(context);
+        assertEquals(2, updated);
+
+        ObjectContext verifyContext = runtime.newContext();
+        Painting p1 = ObjectSelect.query(Painting.class, Painting.PAINTING_TITLE.eq("p1")).selectOne(verifyContext);
+        assertEquals("g2", p1.getToGallery().getGalleryName());
+        assertNull(p1.getToArtist());
+    }
+
+    @Test
+    public void testUpdate_ToOneIdValues() {
+        int updated = ObjectUpdate.query(Painting.class)
+                .where(Painting.PAINTING_TITLE.eq("p1"))
+                .set(PropertyFactory.createBase("toGallery", Object.class), 2)
+                .set(PropertyFactory.createBase("toArtist", Object.class), Collections.singletonMap("ARTIST_ID", 1))
+                .execute(context);
+        assertEquals(1, updated);
+
+        updated = ObjectUpdate.query(Painting.class)
+                .where(Painting.PAINTING_TITLE.eq("p2"))
+                .set(PropertyFactory.createBase("toGallery", Object.class), ObjectId.of("Gallery", "GALLERY_ID", 2))
+                .execute(context);
+        assertEquals(1, updated);
+
+        ObjectContext verifyContext = runtime.newContext();
+        Painting p1 = ObjectSelect.query(Painting.class, Painting.PAINTING_TITLE.eq("p1")).selectOne(verifyContext);
+        assertEquals("g2", p1.getToGallery().getGalleryName());
+        assertEquals("a1", p1.getToArtist().getArtistName());
+
+        Painting p2 = ObjectSelect.query(Painting.class, Painting.PAINTING_TITLE.eq("p2")).selectOne(verifyContext);
+        assertEquals("g2", p2.getToGallery().getGalleryName());
+    }
+
+    @Test
+    public void testUpdate_ToOneInvalidIdValues() {
+        try {
+            ObjectUpdate.query(Painting.class)
+                    .set(PropertyFactory.createBase("toArtist", Object.class), Collections.singletonMap("X", 1))
+                    .execute(context);
+            fail("Map without the FK target column must fail");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+
+        try {
+            ObjectUpdate.query(Painting.class)
+                    .set(PropertyFactory.createBase("toArtist", Object.class), context.newObject(Artist.class))
+                    .execute(context);
+            fail("Uncommitted object must fail");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testUpdate_DbProperty() {
+        int updated = ObjectUpdate.query(Painting.class)
+                .where(Painting.PAINTING_TITLE.eq("p1"))
+                .set(PropertyFactory.createBase(ExpressionFactory.dbPathExp("ARTIST_ID"), Object.class), 1)
+                .execute(context);
+        assertEquals(1, updated);
+
+        Painting p1 = ObjectSelect.query(Painting.class, Painting.PAINTING_TITLE.eq("p1")).selectOne(runtime.newContext());
+        assertEquals("a1", p1.getToArtist().getArtistName());
+    }
+
+    @Test
+    public void testUpdate_InvalidatesContextObjects() {
+        Painting p1 = ObjectSelect.query(Painting.class, Painting.PAINTING_TITLE.eq("p1")).selectOne(context);
+        assertEquals(PersistenceState.COMMITTED, p1.getPersistenceState());
+
+        ObjectUpdate.query(Painting.class)
+                .where(Painting.PAINTING_TITLE.eq("p1"))
+                .set(Painting.PAINTING_TITLE, "p1_new")
+                .execute(context);
+
+        assertEquals(PersistenceState.HOLLOW, p1.getPersistenceState());
+        assertEquals("p1_new", p1.getPaintingTitle());
+    }
+
+    @Test
+    public void testUpdate_InvalidatesCacheGroups() {
+        ObjectSelect<Painting> cachedQuery = ObjectSelect.query(Painting.class)
+                .where(Painting.PAINTING_DESCRIPTION.eq("x"))
+                .sharedCache("paintings");
+        assertEquals(0, cachedQuery.select(context).size());
+
+        ObjectUpdate.query(Painting.class)
+                .set(Painting.PAINTING_DESCRIPTION, "x")
+                .execute(context);
+        assertEquals(0, cachedQuery.select(context).size());
+
+        ObjectUpdate.query(Painting.class)
+                .set(Painting.PAINTING_DESCRIPTION, "x")
+                .invalidateCacheGroups("paintings")
+                .execute(context);
+        assertEquals(6, cachedQuery.select(context).size());
+    }
+
+    @Test
+    public void testUpdate_EntityName() {
+        int updated = ObjectUpdate.query("Artist")
+                .where(Artist.ARTIST_NAME.eq("a1"))
+                .set(Artist.ARTIST_NAME, "a1_new")
+                .execute(context);
+        assertEquals(1, updated);
+
+        Artist a1 = Cayenne.objectForPK(runtime.newContext(), Artist.class, 1);
+        assertEquals("a1_new", a1.getArtistName());
+    }
+
+    @Test
+    public void testUpdate_NoValues() {
+        try {
+            ObjectUpdate.query(Painting.class).execute(context);
+            fail("Update without values must fail");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testUpdate_ToManyNotSupported() {
+        try {
+            ObjectUpdate.query(Artist.class).set(Artist.PAINTING_ARRAY, null).execute(context);
+            fail("To-many relationships can't be updated in bulk");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGetValues() {
+        ObjectUpdate<Painting> update = ObjectUpdate.query(Painting.class)
+                .set(Painting.PAINTING_TITLE, "t");
+        assertSame("t", update.getValues().get(Painting.PAINTING_TITLE));
+    }
+}
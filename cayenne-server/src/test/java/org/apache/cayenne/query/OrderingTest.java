@@ -28,6 +28,7 @@ import org.junit.Test;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 
@@ -240,6 +241,50 @@ public class OrderingTest {
         assertEquals(list.get(0), orderedList.get(5));
     }
 
+    @Test
+    public void testOrderList_Static_NullsCaseInsensitive() {
+        List<TstBean> list = new ArrayList<>(5);
+
+        list.add(new TstBean("b", 1));
+        list.add(new TstBean(null, 2));
+        list.add(new TstBean("A", 3));
+        list.add(new TstBean("a", 4));
+        list.add(new TstBean("C", 5));
+
+        Ordering nullsLast = new Ordering("string", SortOrder.ASCENDING_INSENSITIVE);
+        nullsLast.setNullSortedFirst(false);
+
+        List<TstBean> orderedList = new ArrayList<>(list);
+        Ordering.orderList(orderedList, asList(nullsLast, new Ordering("integer", SortOrder.DESCENDING)));
+
+        assertEquals(list.get(3), orderedList.get(0));
+        assertEquals(list.get(2), orderedList.get(1));
+        assertEquals(list.get(0), orderedList.get(2));
+        assertEquals(list.get(4), orderedList.get(3));
+        assertEquals(list.get(1), orderedList.get(4));
+    }
+
+    @Test
+    public void testComparator_Static() {
+        TstBean b1 = new TstBean("c", 1);
+        TstBean b2 = new TstBean("a", 5);
+        TstBean b3 = new TstBean("a", 7);
+
+        List<Ordering> orderings = asList(
+                new Ordering("string", SortOrder.ASCENDING),
+                new Ordering("integer", SortOrder.DESCENDING));
+
+        Comparator<Object> comparator = Ordering.comparator(orderings);
+        assertTrue(comparator.compare(b1, b2) > 0);
+        assertTrue(comparator.compare(b2, b3) > 0);
+        assertTrue(comparator.compare(b3, b1) < 0);
+        assertEquals(0, comparator.compare(b1, new TstBean("c", 1)));
+
+        List<TstBean> sorted = new ArrayList<>(asList(b1, b2, b3));
+        sorted.sort(comparator);
+        assertEquals(asList(b3, b2, b1), sorted);
+    }
+
     @Test
     public void testOrderedList() {
         Collection<TstBean> set = new HashSet<>(6);
@@ -0,0 +1,133 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.reflect;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MethodHandleBeanAccessorTest {
+
+    @Test
+    public void testStringProperty() {
+        MethodHandleBeanAccessor accessor = new MethodHandleBeanAccessor(TstJavaBean.class, "stringField", String.class);
+        TstJavaBean o1 = new TstJavaBean();
+
+        assertNull(accessor.getValue(o1));
+        accessor.setValue(o1, "ABC");
+        assertEquals("ABC", o1.getStringField());
+        assertEquals("ABC", accessor.getValue(o1));
+    }
+
+    @Test
+    public void testPrimitiveProperty() {
+        MethodHandleBeanAccessor accessor = new MethodHandleBeanAccessor(TstJavaBean.class, "intField", Integer.TYPE);
+        TstJavaBean o1 = new TstJavaBean();
+
+        accessor.setValue(o1, 5);
+        assertEquals(5, o1.getIntField());
+        assertEquals(5, accessor.getValue(o1));
+
+        accessor.setValue(o1, null);
+        assertEquals(0, o1.getIntField());
+
+        // converted value
+        accessor.setValue(o1, "6");
+        assertEquals(6, o1.getIntField());
+    }
+
+    @Test
+    public void testBooleanProperty() {
+        MethodHandleBeanAccessor accessor = new MethodHandleBeanAccessor(TstJavaBean.class, "booleanField", Boolean.TYPE);
+        TstJavaBean o1 = new TstJavaBean();
+
+        accessor.setValue(o1, true);
+        assertTrue(o1.isBooleanField());
+        assertEquals(Boolean.TRUE, accessor.getValue(o1));
+    }
+
+    @Test
+    public void testNonPublicClass() {
+        MethodHandleBeanAccessor accessor = new MethodHandleBeanAccessor(PrivateBean.class, "value", Object.class);
+        PrivateBean bean = new PrivateBean();
+        Object value = new Object();
+
+        accessor.setValue(bean, value);
+        assertSame(value, bean.getValue());
+        assertSame(value, accessor.getValue(bean));
+    }
+
+    @Test
+    public void testNotWritable() {
+        MethodHandleBeanAccessor accessor = new MethodHandleBeanAccessor(ReadOnlyBean.class, "value", String.class);
+        assertEquals("x", accessor.getValue(new ReadOnlyBean()));
+
+        try {
+            accessor.setValue(new ReadOnlyBean(), "y");
+            fail("Read-only property must not be writable");
+        } catch (PropertyException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWrongObjectType() {
+        MethodHandleBeanAccessor accessor = new MethodHandleBeanAccessor(TstJavaBean.class, "stringField", String.class);
+
+        try {
+            accessor.getValue(new Object());
+            fail("Reading property of a wrong object must throw");
+        } catch (PropertyException e) {
+            assertFalse(e.getCause() instanceof PropertyException);
+        }
+    }
+
+    @Test
+    public void testFactory() {
+        Accessor accessor = new MethodHandleAccessorFactory().createAccessor(TstJavaBean.class, "stringField", null);
+        assertTrue(accessor instanceof MethodHandleBeanAccessor);
+        assertEquals("stringField", accessor.getName());
+    }
+
+    private static class PrivateBean {
+
+        private Object value;
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+    }
+
+    public static class ReadOnlyBean {
+
+        public String getValue() {
+            return "x";
+        }
+    }
+}
@@ -23,9 +23,13 @@ public abstract class _Lazyblob extends BaseDataObject {
     public static final String ID_PK_COLUMN = "ID";
 
     public static final BaseProperty<byte[]> LAZY_DATA = PropertyFactory.createBase("lazyData", byte[].class);
+    public static final StringProperty<String> LAZY_DESCR = PropertyFactory.createString("lazyDescr", String.class);
+    public static final StringProperty<String> LAZY_TEXT = PropertyFactory.createString("lazyText", String.class);
     public static final StringProperty<String> NAME = PropertyFactory.createString("name", String.class);
 
     protected Object lazyData;
+    protected Object lazyDescr;
+    protected Object lazyText;
     protected String name;
 
 
@@ -42,6 +46,32 @@ public abstract class _Lazyblob extends BaseDataObject {
         return (byte[])this.lazyData;
     }
 
+    public void setLazyDescr(String lazyDescr) {
+        beforePropertyWrite("lazyDescr", this.lazyDescr, lazyDescr);
+        this.lazyDescr = lazyDescr;
+    }
+
+    public String getLazyDescr() {
+        beforePropertyRead("lazyDescr");
+        if(this.lazyDescr instanceof Fault) {
+            this.lazyDescr = ((Fault) this.lazyDescr).resolveFault(this, "lazyDescr");
+        }
+        return (String)this.lazyDescr;
+    }
+
+    public void setLazyText(String lazyText) {
+        beforePropertyWrite("lazyText", this.lazyText, lazyText);
+        this.lazyText = lazyText;
+    }
+
+    public String getLazyText() {
+        beforePropertyRead("lazyText");
+        if(this.lazyText instanceof Fault) {
+            this.lazyText = ((Fault) this.lazyText).resolveFault(this, "lazyText");
+        }
+        return (String)this.lazyText;
+    }
+
     public void setName(String name) {
         beforePropertyWrite("name", this.name, name);
         this.name = name;
@@ -61,6 +91,10 @@ public abstract class _Lazyblob extends BaseDataObject {
         switch(propName) {
             case "lazyData":
                 return this.lazyData;
+            case "lazyDescr":
+                return this.lazyDescr;
+            case "lazyText":
+                return this.lazyText;
             case "name":
                 return this.name;
             default:
@@ -78,6 +112,12 @@ public abstract class _Lazyblob extends BaseDataObject {
             case "lazyData":
                 this.lazyData = val;
                 break;
+            case "lazyDescr":
+                this.lazyDescr = val;
+                break;
+            case "lazyText":
+                this.lazyText = val;
+                break;
             case "name":
                 this.name = (String)val;
                 break;
@@ -98,6 +138,8 @@ public abstract class _Lazyblob extends BaseDataObject {
     protected void writeState(ObjectOutputStream out) throws IOException {
         super.writeState(out);
         out.writeObject(this.lazyData);
+        out.writeObject(this.lazyDescr);
+        out.writeObject(this.lazyText);
         out.writeObject(this.name);
     }
 
@@ -105,6 +147,8 @@ public abstract class _Lazyblob extends BaseDataObject {
     protected void readState(ObjectInputStream in) throws IOException, ClassNotFoundException {
         super.readState(in);
         this.lazyData = in.readObject();
+        this.lazyDescr = in.readObject();
+        this.lazyText = in.readObject();
         this.name = (String)in.readObject();
     }
 
@@ -0,0 +1,91 @@
+package org.apache.cayenne.testdo.lob.auto;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apache.cayenne.BaseDataObject;
+import org.apache.cayenne.exp.ExpressionFactory;
+import org.apache.cayenne.exp.property.BaseProperty;
+import org.apache.cayenne.exp.property.NumericProperty;
+import org.apache.cayenne.exp.property.PropertyFactory;
+import org.apache.cayenne.value.ClobValue;
+
+/**
+ * Class _ClobValueTestEntity was generated by Cayenne.
+ * It is probably a good idea to avoid changing this class manually,
+ * since it may be overwritten next time code is regenerated.
+ * If you need to make any customizations, please use subclass.
+ */
+public abstract class _ClobValueTestEntity extends BaseDataObject {
+
+    private static final long serialVersionUID = 1L; 
+
+    public static final NumericProperty<Integer> ID_PK_PROPERTY = PropertyFactory.createNumeric(ExpressionFactory.dbPathExp("ID"), Integer.class);
+    public static final String ID_PK_COLUMN = "ID";
+
+    public static final BaseProperty<ClobValue> CLOB_COL = PropertyFactory.createBase("clobCol", ClobValue.class);
+
+    protected ClobValue clobCol;
+
+
+    public void setClobCol(ClobValue clobCol) {
+        beforePropertyWrite("clobCol", this.clobCol, clobCol);
+        this.clobCol = clobCol;
+    }
+
+    public ClobValue getClobCol() {
+        beforePropertyRead("clobCol");
+        return this.clobCol;
+    }
+
+    @Override
+    public Object readPropertyDirectly(String propName) {
+        if(propName == null) {
+            throw new IllegalArgumentException();
+        }
+
+        switch(propName) {
+            case "clobCol":
+                return this.clobCol;
+            default:
+                return super.readPropertyDirectly(propName);
+        }
+    }
+
+    @Override
+    public void writePropertyDirectly(String propName, Object val) {
+        if(propName == null) {
+            throw new IllegalArgumentException();
+        }
+
+        switch (propName) {
+            case "clobCol":
+                this.clobCol = (ClobValue)val;
+                break;
+            default:
+                super.writePropertyDirectly(propName, val);
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        writeSerialized(out);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        readSerialized(in);
+    }
+
+    @Override
+    protected void writeState(ObjectOutputStream out) throws IOException {
+        super.writeState(out);
+        out.writeObject(this.clobCol);
+    }
+
+    @Override
+    protected void readState(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        super.readState(in);
+        this.clobCol = (ClobValue)in.readObject();
+    }
+
+}
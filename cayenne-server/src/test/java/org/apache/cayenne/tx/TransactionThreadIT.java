@@ -19,6 +19,8 @@
 
 package org.apache.cayenne.tx;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.apache.cayenne.access.DataContext;
 import org.apache.cayenne.di.Inject;
 import org.apache.cayenne.log.JdbcEventLogger;
@@ -30,6 +32,8 @@ import org.apache.cayenne.unit.di.server.UseServerRuntime;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @UseServerRuntime(CayenneProjects.TESTMAP_PROJECT)
 public class TransactionThreadIT extends ServerCase {
@@ -60,4 +64,23 @@ public class TransactionThreadIT extends ServerCase {
             t.commit();
         }
     }
+
+    @Test
+    public void testTransactionNotVisibleInChildThread() throws Exception {
+        Transaction t = new CayenneTransaction(logger);
+        BaseTransaction.bindThreadTransaction(t);
+
+        try {
+            AtomicReference<Transaction> childTransaction = new AtomicReference<>(t);
+            Thread child = new Thread(() -> childTransaction.set(BaseTransaction.getThreadTransaction()));
+            child.start();
+            child.join();
+
+            assertNull(childTransaction.get());
+            assertSame(t, BaseTransaction.getThreadTransaction());
+        } finally {
+            BaseTransaction.bindThreadTransaction(null);
+            t.commit();
+        }
+    }
 }
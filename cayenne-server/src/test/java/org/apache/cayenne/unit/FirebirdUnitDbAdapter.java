@@ -56,4 +56,9 @@ public class FirebirdUnitDbAdapter extends UnitDbAdapter {
     public boolean supportsSelectBooleanExpression() {
         return false;
     }
+
+    @Override
+    public boolean supportsUpsert() {
+        return false;
+    }
 }
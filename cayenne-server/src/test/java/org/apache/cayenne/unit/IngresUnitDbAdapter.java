@@ -59,4 +59,9 @@ public class IngresUnitDbAdapter extends UnitDbAdapter {
     public boolean isLowerCaseNames() {
         return true;
     }
+
+    @Override
+    public boolean supportsUpsert() {
+        return false;
+    }
 }
@@ -384,6 +384,15 @@ public class UnitDbAdapter {
         return false;
     }
 
+    /**
+     * Returns whether the adapter can translate "upsert" batches.
+     *
+     * @since 4.3
+     */
+    public boolean supportsUpsert() {
+        return true;
+    }
+
     public boolean supportsEscapeInLike() {
         return true;
     }
@@ -30,12 +30,14 @@ import org.apache.cayenne.access.translator.batch.BatchTranslatorFactory;
 import org.apache.cayenne.access.types.BigDecimalType;
 import org.apache.cayenne.access.types.BigDecimalValueType;
 import org.apache.cayenne.access.types.BigIntegerValueType;
+import org.apache.cayenne.access.types.BlobValueType;
 import org.apache.cayenne.access.types.BooleanType;
 import org.apache.cayenne.access.types.ByteArrayType;
 import org.apache.cayenne.access.types.ByteType;
 import org.apache.cayenne.access.types.CalendarType;
 import org.apache.cayenne.access.types.CharType;
 import org.apache.cayenne.access.types.CharacterValueType;
+import org.apache.cayenne.access.types.ClobValueType;
 import org.apache.cayenne.access.types.DateType;
 import org.apache.cayenne.access.types.DefaultValueObjectTypeRegistry;
 import org.apache.cayenne.access.types.DoubleType;
@@ -43,6 +45,7 @@ import org.apache.cayenne.access.types.DurationType;
 import org.apache.cayenne.access.types.FloatType;
 import org.apache.cayenne.access.types.IntegerType;
 import org.apache.cayenne.access.types.InternalUnsupportedTypeFactory;
+import org.apache.cayenne.access.types.LobFlagType;
 import org.apache.cayenne.access.types.LocalDateTimeValueType;
 import org.apache.cayenne.access.types.LocalDateValueType;
 import org.apache.cayenne.access.types.LocalTimeValueType;
@@ -220,7 +223,10 @@ public class ServerCaseModule implements Module {
                 .add(new UtilDateType())
                 .add(new CalendarType<>(GregorianCalendar.class))
                 .add(new CalendarType<>(Calendar.class))
-                .add(new DurationType());
+                .add(new DurationType())
+                .add(new BlobValueType())
+                .add(new ClobValueType())
+                .add(new LobFlagType());
         ServerModule.contributeUserTypes(binder);
         ServerModule.contributeTypeFactories(binder)
                 .add(new InternalUnsupportedTypeFactory());
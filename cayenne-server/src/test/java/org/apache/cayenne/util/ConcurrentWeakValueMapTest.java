@@ -0,0 +1,104 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since 4.3
+ */
+public class ConcurrentWeakValueMapTest {
+
+    @Test
+    public void testSimpleOperations() {
+        ConcurrentWeakValueMap<String, Integer> map = new ConcurrentWeakValueMap<>();
+
+        map.put("key_1", 123);
+        map.put("key_2", 42);
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(42), map.get("key_2"));
+        assertTrue(map.containsValue(123));
+
+        assertEquals(Integer.valueOf(42), map.remove("key_2"));
+        assertNull(map.get("key_2"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testSerializationSupport() throws Exception {
+        ConcurrentWeakValueMap<String, Object> map = new ConcurrentWeakValueMap<>();
+        map.put("key_1", 123);
+        map.put("key_2", 42);
+
+        ConcurrentWeakValueMap<String, Object> clone = Util.cloneViaSerialization(map);
+
+        assertEquals(2, clone.size());
+        assertEquals(42, clone.get("key_2"));
+
+        // clone must remain concurrent
+        clone.put("key_3", 543);
+        assertEquals(543, clone.get("key_3"));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        ConcurrentWeakValueMap<Integer, Object> map = new ConcurrentWeakValueMap<>();
+
+        // hold references, so that GC won't clean them
+        Object[] values = new Object[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Object();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < values.length; i += 4) {
+                        map.put(i, values[i]);
+                        assertSame(values[i], map.get(i));
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures) {
+                f.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(values.length, map.size());
+        for (int i = 0; i < values.length; i++) {
+            assertSame(values[i], map.get(i));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+package org.apache.cayenne.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.cayenne.ResultIterator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResultIteratorSpliteratorTest {
+
+    @Test
+    public void testStream_ClosedWhenExhausted() {
+        TestIterator<Integer> rows = new TestIterator<>(Arrays.asList(1, 2, 3));
+
+        List<Integer> result = ResultIteratorSpliterator.stream(rows).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(1, 2, 3), result);
+        assertTrue(rows.closed);
+    }
+
+    @Test
+    public void testStream_ReadsLazily() {
+        TestIterator<Integer> rows = new TestIterator<>(Arrays.asList(1, 2, 3, 4, 5));
+
+        try (Stream<Integer> stream = ResultIteratorSpliterator.stream(rows)) {
+            assertEquals(Arrays.asList(1, 2), stream.limit(2).collect(Collectors.toList()));
+            assertEquals(2, rows.read);
+            assertFalse(rows.closed);
+        }
+
+        assertTrue(rows.closed);
+    }
+
+    @Test
+    public void testStream_Batches() {
+        TestIterator<Object> rows = new TestIterator<>(Arrays.asList(1, 2, 3, 4, 5));
+        List<List<Object>> batches = new ArrayList<>();
+
+        try (Stream<String> stream = ResultIteratorSpliterator.stream(rows, 2, batch -> {
+            batches.add(batch);
+            List<String> converted = new ArrayList<>();
+            for (Object o : batch) {
+                converted.add("v" + o);
+            }
+            return converted;
+        })) {
+            Iterator<String> it = stream.iterator();
+            assertEquals("v1", it.next());
+            assertEquals(1, batches.size());
+            assertEquals(2, rows.read);
+
+            List<String> rest = new ArrayList<>();
+            it.forEachRemaining(rest::add);
+            assertEquals(Arrays.asList("v2", "v3", "v4", "v5"), rest);
+        }
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Collections.singletonList(5)), batches);
+        assertTrue(rows.closed);
+    }
+
+    @Test
+    public void testStream_ClosedOnError() {
+        TestIterator<Object> rows = new TestIterator<>(Arrays.asList(1, 2, 3));
+
+        try {
+            ResultIteratorSpliterator.stream(rows, 2, batch -> {
+                throw new IllegalStateException("test");
+            }).count();
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertTrue(rows.closed);
+    }
+
+    private static class TestIterator<T> implements ResultIterator<T> {
+
+        private final List<T> values;
+        int read;
+        boolean closed;
+
+        TestIterator(List<T> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new ResultIteratorIterator<>(this);
+        }
+
+        @Override
+        public List<T> allRows() {
+            List<T> list = new ArrayList<>();
+            while (hasNextRow()) {
+                list.add(nextRow());
+            }
+            return list;
+        }
+
+        @Override
+        public boolean hasNextRow() {
+            if (closed) {
+                throw new IllegalStateException("Iterator is closed");
+            }
+            return read < values.size();
+        }
+
+        @Override
+        public T nextRow() {
+            return values.get(read++);
+        }
+
+        @Override
+        public void skipRow() {
+            read++;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                throw new IllegalStateException("Iterator is already closed");
+            }
+            closed = true;
+        }
+    }
+}
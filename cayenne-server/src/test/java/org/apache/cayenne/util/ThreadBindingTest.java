@@ -0,0 +1,96 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ThreadBindingTest {
+
+    @Test
+    public void testBind() {
+        ThreadBinding<String> binding = ThreadBinding.threadLocal();
+        assertNull(binding.get());
+
+        binding.bind("a");
+        assertEquals("a", binding.get());
+
+        binding.bind(null);
+        assertNull(binding.get());
+    }
+
+    @Test
+    public void testCallWith_RestoresPrevious() {
+        ThreadBinding<String> binding = ThreadBinding.threadLocal();
+        binding.bind("outer");
+
+        String result = binding.callWith("inner", binding::get);
+        assertEquals("inner", result);
+        assertEquals("outer", binding.get());
+
+        try {
+            binding.callWith("inner", () -> {
+                throw new IllegalStateException();
+            });
+            fail("Exception expected");
+        } catch (IllegalStateException e) {
+            assertEquals("outer", binding.get());
+        }
+
+        binding.bind(null);
+        binding.callWith("inner", binding::get);
+        assertNull(binding.get());
+    }
+
+    @Test
+    public void testThreadLocal_NotInherited() throws Exception {
+        ThreadBinding<String> binding = ThreadBinding.threadLocal();
+        binding.bind("a");
+        try {
+            assertNull(getInChildThread(binding));
+        } finally {
+            binding.bind(null);
+        }
+    }
+
+    @Test
+    public void testInheritableThreadLocal_Inherited() throws Exception {
+        ThreadBinding<String> binding = ThreadBinding.inheritableThreadLocal();
+        binding.bind("a");
+        try {
+            assertEquals("a", getInChildThread(binding));
+        } finally {
+            binding.bind(null);
+        }
+    }
+
+    private static <T> T getInChildThread(ThreadBinding<T> binding) throws InterruptedException {
+        AtomicReference<T> value = new AtomicReference<>();
+        Thread thread = new Thread(() -> value.set(binding.get()));
+        thread.start();
+        thread.join();
+        return value.get();
+    }
+}
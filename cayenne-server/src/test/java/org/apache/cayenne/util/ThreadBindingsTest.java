@@ -0,0 +1,77 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.cayenne.tx.BaseTransaction;
+import org.apache.cayenne.tx.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ThreadBindingsTest {
+
+    private ThreadBinding<Transaction> defaultBinding;
+
+    @Before
+    public void setInheritableBinding() {
+        defaultBinding = BaseTransaction.getThreadBinding();
+        BaseTransaction.setThreadBinding(ThreadBinding.inheritableThreadLocal());
+    }
+
+    @After
+    public void restoreBinding() {
+        BaseTransaction.bindThreadTransaction(null);
+        BaseTransaction.setThreadBinding(defaultBinding);
+    }
+
+    @Test
+    public void testCallUnbound() {
+        Transaction transaction = mock(Transaction.class);
+        BaseTransaction.bindThreadTransaction(transaction);
+
+        assertNull(ThreadBindings.callUnbound(BaseTransaction::getThreadTransaction));
+        assertSame(transaction, BaseTransaction.getThreadTransaction());
+    }
+
+    @Test
+    public void testDaemonThreadFactory_NotInherited() throws Exception {
+        Transaction transaction = mock(Transaction.class);
+        BaseTransaction.bindThreadTransaction(transaction);
+
+        AtomicReference<Transaction> inherited = new AtomicReference<>(transaction);
+        Thread thread = ThreadBindings.daemonThreadFactory("test-")
+                .newThread(() -> inherited.set(BaseTransaction.getThreadTransaction()));
+
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("test-"));
+        assertSame(transaction, BaseTransaction.getThreadTransaction());
+
+        thread.start();
+        thread.join();
+        assertNull(inherited.get());
+    }
+}
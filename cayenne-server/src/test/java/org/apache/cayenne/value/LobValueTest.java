@@ -0,0 +1,161 @@
+/*****************************************************************
+ *   Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ ****************************************************************/
+
+package org.apache.cayenne.value;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.apache.cayenne.CayenneRuntimeException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LobValueTest {
+
+    @Test
+    public void testBlobSpool_InMemory() throws Exception {
+        byte[] bytes = bytes(100);
+        BlobValue value = BlobValue.spool(new ByteArrayInputStream(bytes), 1000);
+
+        assertEquals(100, value.getLength());
+        assertTrue(value.isRepeatable());
+        assertArrayEquals(bytes, readAll(value));
+        assertArrayEquals(bytes, readAll(value));
+        assertArrayEquals(bytes, value.getBytes());
+    }
+
+    @Test
+    public void testBlobSpool_File() throws Exception {
+        byte[] bytes = bytes(100_000);
+        BlobValue value = BlobValue.spool(new ByteArrayInputStream(bytes), 1000);
+
+        assertEquals(100_000, value.getLength());
+        assertTrue(value.isRepeatable());
+        assertArrayEquals(bytes, readAll(value));
+        assertArrayEquals(bytes, readAll(value));
+        assertArrayEquals(bytes, value.getBytes());
+    }
+
+    @Test
+    public void testBlobStream_ReadOnce() throws Exception {
+        byte[] bytes = bytes(100);
+        BlobValue value = BlobValue.of(new ByteArrayInputStream(bytes), bytes.length);
+        assertFalse(value.isRepeatable());
+        assertArrayEquals(bytes, readAll(value));
+
+        try {
+            value.openStream();
+            fail("Stream based value can't be read twice");
+        } catch (CayenneRuntimeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBlobStream_Materialized() throws Exception {
+        byte[] bytes = bytes(100);
+        BlobValue value = BlobValue.of(new ByteArrayInputStream(bytes), -1);
+
+        byte[] materialized = value.getBytes();
+        assertArrayEquals(bytes, materialized);
+        assertSame(materialized, value.getBytes());
+        assertTrue(value.isRepeatable());
+        assertArrayEquals(bytes, readAll(value));
+    }
+
+    @Test
+    public void testBlobSource_Lazy() throws Exception {
+        int[] opened = new int[1];
+        BlobValue value = BlobValue.of(() -> {
+            opened[0]++;
+            return new ByteArrayInputStream(bytes(10));
+        }, 10);
+
+        assertEquals(0, opened[0]);
+        value.getBytes();
+        value.getBytes();
+        assertEquals(1, opened[0]);
+    }
+
+    @Test
+    public void testClobSpool() throws Exception {
+        String small = string(100);
+        ClobValue smallValue = ClobValue.spool(new StringReader(small), 1000);
+        assertEquals(100, smallValue.getLength());
+        assertEquals(small, readAll(smallValue));
+        assertEquals(small, smallValue.getString());
+
+        String large = string(100_000);
+        ClobValue largeValue = ClobValue.spool(new StringReader(large), 1000);
+        assertEquals(100_000, largeValue.getLength());
+        assertEquals(large, readAll(largeValue));
+        assertEquals(large, readAll(largeValue));
+        assertEquals(large, largeValue.getString());
+    }
+
+    @Test
+    public void testClobReader_Materialized() throws Exception {
+        ClobValue value = ClobValue.of(new StringReader("abc"), 3);
+        assertEquals("abc", value.getString());
+        assertEquals("abc", readAll(value));
+    }
+
+    private static byte[] readAll(BlobValue value) throws Exception {
+        try (InputStream in = value.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static String readAll(ClobValue value) throws Exception {
+        StringBuilder out = new StringBuilder();
+        try (Reader in = value.openReader()) {
+            char[] buffer = new char[1024];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.append(buffer, 0, read);
+            }
+        }
+        return out.toString();
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static String string(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'a');
+        // non-ASCII chars must survive spooling
+        chars[length / 2] = '\u00e9';
+        return new String(chars);
+    }
+}